@@ -48,7 +48,8 @@ CREATE TABLE IF NOT EXISTS clientes (
     email VARCHAR(100) NOT NULL CHECK (email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$'),
     tipo_cliente VARCHAR(50),
     fecha_alta TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    estado ENUM('activo', 'inactivo') DEFAULT 'activo'
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    version INT NOT NULL DEFAULT 0
 );
 -- ----------------------------------------------------------
 -- Tabla de Proveedores (fabricantes de pienso)
@@ -65,7 +66,8 @@ CREATE TABLE IF NOT EXISTS proveedores (
     telefono VARCHAR(9) NOT NULL CHECK (telefono REGEXP '^[6789][0-9]{8}$'),
     email VARCHAR(100) NOT NULL CHECK (email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$'),
     fecha_alta TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    estado ENUM('activo', 'inactivo') DEFAULT 'activo'
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    version INT NOT NULL DEFAULT 0
 );
 
 -- ----------------------------------------------------------
@@ -95,7 +97,7 @@ CREATE TABLE IF NOT EXISTS usuarios (
     id_usuario INT AUTO_INCREMENT PRIMARY KEY,
     id_empleado INT NOT NULL UNIQUE,
     nombre_usuario VARCHAR(50) NOT NULL UNIQUE,
-    contrasena VARCHAR(100) NOT NULL CHECK (contrasena REGEXP '^(?=.*[A-Z])(?=.*[a-zA-Z])(?=.*[0-9])[A-Za-z0-9]{6,100}$'),
+    contrasena VARCHAR(255) NOT NULL, -- hash PBKDF2; el formato de la contraseña se valida en la aplicación
     tipo ENUM('admin', 'usuario') DEFAULT 'usuario',
     estado ENUM('activo', 'inactivo') DEFAULT 'activo',
     FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE
@@ -122,8 +124,11 @@ CREATE TABLE IF NOT EXISTS productos (
     stock INT NOT NULL DEFAULT 0 CHECK (stock >= 0),
     stock_minimo INT DEFAULT 0 CHECK (stock_minimo >= 0),
     estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (id_proveedor) REFERENCES proveedores(id_proveedor) ON DELETE RESTRICT ON UPDATE CASCADE,
-    FOREIGN KEY (id_iva) REFERENCES ivas(id_iva) ON DELETE RESTRICT ON UPDATE CASCADE
+    FOREIGN KEY (id_iva) REFERENCES ivas(id_iva) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_productos_nombre (nombre),
+    INDEX idx_productos_proveedor_marca_formato (id_proveedor, marca, formato)
 );
 
 -- ----------------------------------------------------------
@@ -131,14 +136,16 @@ CREATE TABLE IF NOT EXISTS productos (
 -- ----------------------------------------------------------
 CREATE TABLE IF NOT EXISTS compras (
     id_compra INT AUTO_INCREMENT PRIMARY KEY,
-    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     id_proveedor INT NOT NULL,
     id_empleado INT NOT NULL,
     total_sin_iva DECIMAL(12,2),
     total_con_iva DECIMAL(12,2),
     estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (id_proveedor) REFERENCES proveedores(id_proveedor) ON DELETE RESTRICT ON UPDATE CASCADE,
-    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_compras_fecha (fecha)
 );
 
 -- ----------------------------------------------------------
@@ -164,14 +171,16 @@ CREATE TABLE IF NOT EXISTS detalles_compras (
 -- ----------------------------------------------------------
 CREATE TABLE IF NOT EXISTS ventas (
     id_venta INT AUTO_INCREMENT PRIMARY KEY,
-    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     id_cliente INT NOT NULL,
     id_empleado INT NOT NULL,
     total_sin_iva DECIMAL(12,2),
     total_con_iva DECIMAL(12,2),
     estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (id_cliente) REFERENCES clientes(id_cliente) ON DELETE RESTRICT ON UPDATE CASCADE,
-    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_ventas_fecha (fecha)
 );
 
 -- ----------------------------------------------------------
@@ -203,7 +212,8 @@ CREATE TABLE IF NOT EXISTS devoluciones_clientes (
     motivo VARCHAR(255),
     estado ENUM('activo', 'inactivo') DEFAULT 'activo',
     FOREIGN KEY (id_venta) REFERENCES ventas(id_venta) ON DELETE RESTRICT ON UPDATE CASCADE,
-    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_devoluciones_clientes_fecha (fecha)
 );
 
 CREATE TABLE IF NOT EXISTS detalles_devoluciones_clientes (
@@ -231,7 +241,8 @@ CREATE TABLE IF NOT EXISTS devoluciones_proveedores (
     motivo VARCHAR(255),
     estado ENUM('activo', 'inactivo') DEFAULT 'activo',
     FOREIGN KEY (id_compra) REFERENCES compras(id_compra) ON DELETE RESTRICT ON UPDATE CASCADE,
-    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_devoluciones_proveedores_fecha (fecha)
 );
 
 CREATE TABLE IF NOT EXISTS detalles_devoluciones_proveedores (
@@ -251,8 +262,15 @@ CREATE TABLE IF NOT EXISTS auditorias (
     id_auditoria INT AUTO_INCREMENT PRIMARY KEY,
     tabla_modificada VARCHAR(50),
     accion VARCHAR(50),
-    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    descripcion TEXT
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    descripcion TEXT,
+    INDEX idx_auditorias_fecha (fecha)
+);
+
+-- Generador de identificadores por bloques (Hibernate @TableGenerator, pooled-lo)
+CREATE TABLE IF NOT EXISTS secuencias (
+    nombre VARCHAR(50) PRIMARY KEY,
+    siguiente_valor BIGINT NOT NULL
 );
 
 -- -------------------------------------------------------------------------------------------------------------------------------------------------------------------
@@ -298,6 +316,7 @@ VALUES
 ('23456789D', 'Ana', 'Gomez', 'Ruiz', 'C/ Cuarta 4', 'Barcelona', '08004', 'España', '691234567', 'ana@empresa.com');
 
 -- ---- USUARIOS (relación 1:1 con empleados)
+-- Contraseñas iniciales en claro: la aplicación las sustituye por su hash en el primer login
 INSERT INTO usuarios (id_empleado, nombre_usuario, contrasena, tipo)
 VALUES
 (1, 'jonatan', 'Password123', 'admin'),
@@ -390,6 +409,14 @@ VALUES
 ('devoluciones_clientes', 'INSERT', 'Registro de devoluciones de clientes'),
 ('devoluciones_proveedores', 'INSERT', 'Registro de devoluciones a proveedores');
 
+-- ---- SECUENCIAS (siguiente identificador libre tras los datos de ejemplo)
+INSERT INTO secuencias (nombre, siguiente_valor)
+SELECT 'ventas', COALESCE(MAX(id_venta), 0) + 1 FROM ventas
+UNION ALL SELECT 'detalles_ventas', COALESCE(MAX(id_detalle_venta), 0) + 1 FROM detalles_ventas
+UNION ALL SELECT 'compras', COALESCE(MAX(id_compra), 0) + 1 FROM compras
+UNION ALL SELECT 'detalles_compras', COALESCE(MAX(id_detalle_compra), 0) + 1 FROM detalles_compras
+UNION ALL SELECT 'productos', COALESCE(MAX(id_producto), 0) + 1 FROM productos;
+
 
 -- -------------------------------------------------------------------------------------------------------------------------------------------------------------------
 
@@ -748,7 +775,7 @@ ORDER BY fecha DESC;
 -- --------------------------------------------------------------------------------------------------------------------------------------------------
 
 -- ==========================================================================================
--- 			6. TRIGGER DE AUDITORÍA DE CAMBIOS DE STOCK EN PRODUCTOS
+-- 			6. TRIGGERS DE AUDITORÍA DE CAMBIOS DE STOCK Y PRECIO EN PRODUCTOS
 -- ==========================================================================================
 --  Audita cualquier cambio de stock en la tabla productos (compras, ventas, devoluciones, ajustes, etc.)
 DELIMITER $$
@@ -767,4 +794,23 @@ BEGIN
 END $$
 DELIMITER ;
 
+--  Audita cualquier cambio de precio en la tabla productos (ediciones y revisiones masivas de precios)
+DELIMITER $$
+CREATE TRIGGER tr_auditoria_producto_precio
+AFTER UPDATE ON productos
+FOR EACH ROW
+BEGIN
+  IF OLD.precio_compra != NEW.precio_compra OR OLD.precio_venta != NEW.precio_venta THEN
+    INSERT INTO auditorias (tabla_modificada, accion, descripcion)
+    VALUES (
+      'productos',
+      'UPDATE PRECIO',
+      CONCAT('Precio de compra de ', OLD.precio_compra, ' a ', NEW.precio_compra,
+             ', precio de venta de ', OLD.precio_venta, ' a ', NEW.precio_venta,
+             ' para Producto ID: ', NEW.id_producto)
+    );
+  END IF;
+END $$
+DELIMITER ;
+
 
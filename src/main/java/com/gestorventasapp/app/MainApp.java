@@ -8,45 +8,68 @@ import com.gestorventasapp.controller.IvaController;
 import com.gestorventasapp.controller.ProductoController;
 import com.gestorventasapp.controller.ProveedorController;
 import com.gestorventasapp.controller.VentaController;
+import com.gestorventasapp.dao.AuditoriaDAOImpl;
 import com.gestorventasapp.dao.ClienteDAOImpl;
 
 import com.gestorventasapp.dao.CompraDAOImpl;
+import com.gestorventasapp.dao.EmpleadoDAOImpl;
 import com.gestorventasapp.dao.IvaDAOImpl;
 import com.gestorventasapp.dao.ProductoDAOImpl;
 import com.gestorventasapp.dao.ProveedorDAOImpl;
 import com.gestorventasapp.dao.VentaDAOImpl;
+import com.gestorventasapp.service.CatalogoProductos;
 import com.gestorventasapp.service.ClienteServiceImpl;
 import com.gestorventasapp.service.CompraServiceImpl;
+import com.gestorventasapp.service.CotejoClientes;
+import com.gestorventasapp.service.IndiceUnicidad;
 import com.gestorventasapp.service.IvaServiceImpl;
 import com.gestorventasapp.service.ProductoServiceImpl;
 import com.gestorventasapp.service.ProveedorServiceImpl;
+import com.gestorventasapp.service.RegistroIva;
 import com.gestorventasapp.service.VentaServiceImpl;
+import com.gestorventasapp.util.HibernateUtil;
 import com.gestorventasapp.view.LoginView;
 import com.gestorventasapp.view.VistaPrincipal;
 
 public class MainApp {
 	public static void main(String[] args) {
+		// La SessionFactory se construye mientras se pinta el login
+		HibernateUtil.iniciarEnSegundoPlano();
+
 		SwingUtilities.invokeLater(() -> {
+			// --- UNICIDAD DE CIF/NIF, DNI Y EMAILS ---
+			ClienteDAOImpl clienteDAO = new ClienteDAOImpl();
+			ProveedorDAOImpl proveedorDAO = new ProveedorDAOImpl();
+			IndiceUnicidad indiceUnicidad = new IndiceUnicidad(clienteDAO, proveedorDAO, new EmpleadoDAOImpl());
+			HibernateUtil.iniciarEnSegundoPlano().thenRun(indiceUnicidad::iniciarRecargaPeriodica);
+
 			// --- CLIENTES ---
-			ClienteController clienteController = new ClienteController(new ClienteServiceImpl(new ClienteDAOImpl()));
+			ClienteController clienteController = new ClienteController(
+					new ClienteServiceImpl(clienteDAO, indiceUnicidad, new CotejoClientes(clienteDAO)));
 
 			// --- PROVEEDORES ---
 			ProveedorController proveedorController = new ProveedorController(
-					new ProveedorServiceImpl(new ProveedorDAOImpl()));
+					new ProveedorServiceImpl(proveedorDAO, indiceUnicidad));
+
+			// --- IVA ---
+			IvaDAOImpl ivaDAO = new IvaDAOImpl();
+			IvaController ivaController = new IvaController(new IvaServiceImpl(ivaDAO, new RegistroIva(ivaDAO)));
 
 			// --- PRODUCTOS ---
-			ProductoServiceImpl productoService = new ProductoServiceImpl(new ProductoDAOImpl());
+			ProductoDAOImpl productoDAO = new ProductoDAOImpl();
+			CatalogoProductos catalogoProductos = new CatalogoProductos(productoDAO);
+			ProductoServiceImpl productoService = new ProductoServiceImpl(productoDAO, ivaDAO,
+					new AuditoriaDAOImpl(), catalogoProductos);
+			// El catálogo se carga en cuanto Hibernate está listo, mientras el usuario inicia sesión
+			HibernateUtil.iniciarEnSegundoPlano().thenRun(catalogoProductos::iniciarComprobacionPeriodica);
 			ProductoController productoController = new ProductoController(productoService);
 
-			// --- IVA ---
-			IvaController ivaController = new IvaController(new IvaServiceImpl(new IvaDAOImpl()));
-
 			// --- COMPRAS ---
 			CompraServiceImpl compraService = new CompraServiceImpl(new CompraDAOImpl(), productoService);
 			CompraController compraController = new CompraController(compraService);
 
 			// --- VENTAS ---
-			VentaServiceImpl ventaService = new VentaServiceImpl(new VentaDAOImpl());
+			VentaServiceImpl ventaService = new VentaServiceImpl(new VentaDAOImpl(), productoService);
 			VentaController ventaController = new VentaController(ventaService);
 
 			// --- LOGIN ---
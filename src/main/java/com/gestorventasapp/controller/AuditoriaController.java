@@ -39,6 +39,16 @@ public class AuditoriaController {
 		}
 	}
 
+	public String obtenerDescripcion(int idAuditoria) {
+		if (idAuditoria <= 0)
+			throw new ControllerException("El ID debe ser mayor que cero.");
+		try {
+			return auditoriaService.obtenerDescripcion(idAuditoria);
+		} catch (Exception e) {
+			throw new ControllerException("Error al obtener la descripción de la auditoría: " + e.getMessage(), e);
+		}
+	}
+
 	public List<Auditoria> listarTodas() {
 		try {
 			return auditoriaService.listarTodas();
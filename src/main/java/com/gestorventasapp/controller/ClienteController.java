@@ -1,5 +1,8 @@
 package com.gestorventasapp.controller;
 
+import com.gestorventasapp.dto.ClienteFila;
+import com.gestorventasapp.dto.CoincidenciaCliente;
+import com.gestorventasapp.dto.PosibleDuplicado;
 import com.gestorventasapp.model.Cliente;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.service.ClienteService;
@@ -123,6 +126,30 @@ public class ClienteController {
 		}
 	}
 
+	public List<CoincidenciaCliente> buscarSimilares(String texto, int limite) {
+		try {
+			return clienteService.buscarSimilares(texto, limite);
+		} catch (Exception e) {
+			throw new ControllerException("Error al buscar clientes parecidos: " + e.getMessage(), e);
+		}
+	}
+
+	public List<PosibleDuplicado> detectarDuplicados() {
+		try {
+			return clienteService.detectarDuplicados();
+		} catch (Exception e) {
+			throw new ControllerException("Error al buscar clientes duplicados: " + e.getMessage(), e);
+		}
+	}
+
+	public void actualizarCotejo() {
+		try {
+			clienteService.actualizarCotejo();
+		} catch (Exception e) {
+			throw new ControllerException("Error al cargar los datos de búsqueda de clientes: " + e.getMessage(), e);
+		}
+	}
+
 	/** Lista solo los clientes activos. */
 	public List<Cliente> listarActivos() {
 		try {
@@ -230,4 +257,13 @@ public class ClienteController {
 			throw new ControllerException("Error al buscar clientes por teléfono: " + e.getMessage(), e);
 		}
 	}
+
+	public List<ClienteFila> listarFilas() {
+		try {
+			return clienteService.listarFilas();
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar los clientes: " + e.getMessage(), e);
+		}
+	}
+
 }
@@ -1,5 +1,7 @@
 package com.gestorventasapp.controller;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.CompraFila;
 import com.gestorventasapp.model.Compra;
 import com.gestorventasapp.model.DetalleCompra;
 import com.gestorventasapp.enums.Estado;
@@ -8,6 +10,7 @@ import com.gestorventasapp.exceptions.ControllerException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -151,6 +154,16 @@ public class CompraController {
 		}
 	}
 
+	public List<Compra> buscarPorMes(YearMonth mes) {
+		if (mes == null)
+			throw new ControllerException("El mes es obligatorio.");
+		try {
+			return compraService.buscarPorMes(mes);
+		} catch (Exception e) {
+			throw new ControllerException("Error al buscar compras por mes: " + e.getMessage(), e);
+		}
+	}
+
 	public List<Compra> buscarPorTotalSinIvaEntre(BigDecimal min, BigDecimal max) {
 		if (min == null || max == null)
 			throw new ControllerException("Debe indicar el rango de totales sin IVA.");
@@ -191,4 +204,27 @@ public class CompraController {
 		}
 	}
 
+	public List<CompraFila> listarFilas() {
+		try {
+			return compraService.listarFilas();
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar las compras: " + e.getMessage(), e);
+		}
+	}
+	public List<CompraFila> listarFilasPagina(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		try {
+			return compraService.listarFilasPagina(ultimaFecha, ultimoId, limite);
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar las compras: " + e.getMessage(), e);
+		}
+	}
+
+	public long contar() {
+		try {
+			return compraService.contar();
+		} catch (Exception e) {
+			throw new ControllerException("Error al contar las compras: " + e.getMessage(), e);
+		}
+	}
+
 }
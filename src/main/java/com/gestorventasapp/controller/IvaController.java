@@ -1,6 +1,8 @@
 package com.gestorventasapp.controller;
 
+import com.gestorventasapp.dto.TipoIva;
 import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.service.IvaService;
 import com.gestorventasapp.exceptions.ControllerException;
@@ -123,6 +125,35 @@ public class IvaController {
 		}
 	}
 
+	/**
+	 * Lista los tipos de IVA activos ya preparados para calcular cuotas.
+	 * 
+	 * @return Tipos activos, de mayor a menor porcentaje.
+	 */
+	public List<TipoIva> listarTiposActivos() {
+		try {
+			return ivaService.listarTiposActivos();
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar los tipos de IVA: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Devuelve el tipo de IVA que corresponde a un producto.
+	 * 
+	 * @param producto Producto con su IVA cargado.
+	 * @return Tipo de IVA, o null si el producto no tiene.
+	 */
+	public TipoIva tipoDeProducto(Producto producto) {
+		if (producto == null)
+			throw new ControllerException("El producto no puede ser nulo.");
+		try {
+			return ivaService.tipoDeProducto(producto);
+		} catch (Exception e) {
+			throw new ControllerException("Error al obtener el IVA del producto: " + e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * Lista solo los IVAs inactivos.
 	 * 
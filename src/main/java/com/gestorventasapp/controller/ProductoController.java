@@ -1,12 +1,22 @@
 package com.gestorventasapp.controller;
 
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.dto.ResultadoImportacion;
+import com.gestorventasapp.dto.RevisionPrecios;
 import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.enums.TipoAnimal;
 import com.gestorventasapp.service.ProductoService;
 import com.gestorventasapp.exceptions.ControllerException;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -110,6 +120,14 @@ public class ProductoController {
 		}
 	}
 
+	public List<ProductoFila> buscarFilas(String texto) {
+		try {
+			return productoService.buscarFilas(texto);
+		} catch (Exception e) {
+			throw new ControllerException("Error al buscar productos: " + e.getMessage(), e);
+		}
+	}
+
 	public List<Producto> listarActivos() {
 		try {
 			return productoService.listarActivos();
@@ -266,4 +284,55 @@ public class ProductoController {
 			throw new ControllerException("Error al buscar productos por precio de compra: " + e.getMessage(), e);
 		}
 	}
+
+	public List<ProductoFila> listarFilas() {
+		try {
+			return productoService.listarFilas();
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar los productos: " + e.getMessage(), e);
+		}
+	}
+
+	public ResultadoImportacion importarCatalogo(Path fichero, Proveedor proveedor) {
+		if (fichero == null)
+			throw new ControllerException("Selecciona el fichero a importar.");
+		if (proveedor == null)
+			throw new ControllerException("El proveedor es obligatorio.");
+		try (Reader reader = Files.newBufferedReader(fichero, StandardCharsets.UTF_8)) {
+			return productoService.importarCatalogo(reader, proveedor);
+		} catch (IOException e) {
+			throw new ControllerException("No se pudo abrir el fichero: " + e.getMessage(), e);
+		} catch (Exception e) {
+			throw new ControllerException("Error al importar el catálogo: " + e.getMessage(), e);
+		}
+	}
+
+	public PrevisionRevisionPrecios previsualizarRevisionPrecios(RevisionPrecios revision) {
+		if (revision == null)
+			throw new ControllerException("La revisión de precios no puede ser nula.");
+		try {
+			return productoService.previsualizarRevisionPrecios(revision);
+		} catch (Exception e) {
+			throw new ControllerException("Error al calcular la vista previa: " + e.getMessage(), e);
+		}
+	}
+
+	public int revisarPrecios(RevisionPrecios revision) {
+		if (revision == null)
+			throw new ControllerException("La revisión de precios no puede ser nula.");
+		try {
+			return productoService.revisarPrecios(revision);
+		} catch (Exception e) {
+			throw new ControllerException("Error al revisar los precios: " + e.getMessage(), e);
+		}
+	}
+
+	public void comprobarCatalogo() {
+		try {
+			productoService.comprobarCatalogo();
+		} catch (Exception e) {
+			throw new ControllerException("Error al actualizar el catálogo de productos: " + e.getMessage(), e);
+		}
+	}
+
 }
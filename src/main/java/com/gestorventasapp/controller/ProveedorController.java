@@ -1,5 +1,6 @@
 package com.gestorventasapp.controller;
 
+import com.gestorventasapp.dto.ProveedorFila;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.service.ProveedorService;
@@ -230,4 +231,13 @@ public class ProveedorController {
 			throw new ControllerException("Error al buscar proveedores por teléfono: " + e.getMessage(), e);
 		}
 	}
+
+	public List<ProveedorFila> listarFilas() {
+		try {
+			return proveedorService.listarFilas();
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar los proveedores: " + e.getMessage(), e);
+		}
+	}
+
 }
@@ -177,4 +177,16 @@ public class UsuarioController {
 			throw new ControllerException("Error al validar login de usuario: " + e.getMessage(), e);
 		}
 	}
+
+	public Usuario autenticar(String nombreUsuario, String contrasena) {
+		if (nombreUsuario == null || nombreUsuario.trim().isEmpty())
+			throw new ControllerException("El nombre de usuario es obligatorio.");
+		if (contrasena == null || contrasena.trim().isEmpty())
+			throw new ControllerException("La contraseña es obligatoria.");
+		try {
+			return usuarioService.autenticar(nombreUsuario, contrasena);
+		} catch (Exception e) {
+			throw new ControllerException("Error al validar login de usuario: " + e.getMessage(), e);
+		}
+	}
 }
@@ -1,5 +1,7 @@
 package com.gestorventasapp.controller;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.VentaFila;
 import com.gestorventasapp.model.DetalleVenta;
 import com.gestorventasapp.model.Venta;
 import com.gestorventasapp.enums.Estado;
@@ -8,6 +10,7 @@ import com.gestorventasapp.exceptions.ControllerException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -151,6 +154,16 @@ public class VentaController {
 		}
 	}
 
+	public List<Venta> buscarPorMes(YearMonth mes) {
+		if (mes == null)
+			throw new ControllerException("El mes es obligatorio.");
+		try {
+			return ventaService.buscarPorMes(mes);
+		} catch (Exception e) {
+			throw new ControllerException("Error al buscar ventas por mes: " + e.getMessage(), e);
+		}
+	}
+
 	public List<Venta> buscarPorTotalSinIvaEntre(BigDecimal min, BigDecimal max) {
 		if (min == null || max == null)
 			throw new ControllerException("Debe indicar el rango de totales sin IVA.");
@@ -197,4 +210,27 @@ public class VentaController {
 		}
 	}
 
+	public List<VentaFila> listarFilas() {
+		try {
+			return ventaService.listarFilas();
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar las ventas: " + e.getMessage(), e);
+		}
+	}
+	public List<VentaFila> listarFilasPagina(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		try {
+			return ventaService.listarFilasPagina(ultimaFecha, ultimoId, limite);
+		} catch (Exception e) {
+			throw new ControllerException("Error al listar las ventas: " + e.getMessage(), e);
+		}
+	}
+
+	public long contar() {
+		try {
+			return ventaService.contar();
+		} catch (Exception e) {
+			throw new ControllerException("Error al contar las ventas: " + e.getMessage(), e);
+		}
+	}
+
 }
@@ -2,13 +2,16 @@ package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.Auditoria;
 import java.time.LocalDateTime;
+import com.gestorventasapp.util.RangoFechas;
 import java.util.List;
 
 public interface AuditoriaDAO {
 
 	void save(Auditoria auditoria); // Registrar nueva auditoría (log)
 
-	Auditoria findById(int idAuditoria); // Buscar registro por ID
+	Auditoria findById(int idAuditoria); // Buscar registro por ID (con descripción)
+
+	String findDescripcion(int idAuditoria); // Descripción de un registro de un listado (no se carga con él)
 
 	List<Auditoria> findAll(); // Listar todos los logs
 
@@ -20,6 +23,14 @@ public interface AuditoriaDAO {
 
 	List<Auditoria> findByFechaHoraRango(LocalDateTime desde, LocalDateTime hasta); // Buscar por rango de fecha/hora
 
+	List<Auditoria> findByRango(RangoFechas rango); // Buscar en el intervalo [desde, hasta) sobre el índice de fecha
+
 	List<Auditoria> findByDescripcionLike(String descripcion); // Buscar por texto parcial en descripción
 
+	List<Auditoria> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
+	List<Auditoria> findPageByFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite); // Página por (fecha, id) descendente
+
 }
@@ -1,111 +1,146 @@
 package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.Auditoria;
-import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.FetchPlans;
+import com.gestorventasapp.util.RangoFechas;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 
 public class AuditoriaDAOImpl implements AuditoriaDAO {
 
 	@Override
 	public void save(Auditoria auditoria) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(auditoria);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el registro de auditoría.", e);
-		}
+		}, "Error al guardar el registro de auditoría.");
 	}
 
+	/**
+	 * El detalle de un registro incluye la descripción, que en los listados no
+	 * se carga.
+	 */
 	@Override
 	public Auditoria findById(int idAuditoria) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Auditoria.class, idAuditoria);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar la auditoría por ID.", e);
-		}
+		return TransactionTemplate.query(
+				session -> FetchPlans.find(session, Auditoria.class, idAuditoria, Auditoria.GRAFO_CON_DESCRIPCION),
+				"Error al buscar la auditoría por ID.");
+	}
+
+	@Override
+	public String findDescripcion(int idAuditoria) {
+		return TransactionTemplate.query(session -> session.createNamedQuery("Auditoria.findDescripcion", String.class)
+				.setParameter("id", idAuditoria).uniqueResult(), "Error al obtener la descripción de la auditoría.");
 	}
 
 	@Override
 	public List<Auditoria> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Auditoria", Auditoria.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los registros de auditoría.", e);
-		}
+		return TransactionTemplate.query(session -> session.createNamedQuery("Auditoria.findAll", Auditoria.class).getResultList(),
+				"Error al listar todos los registros de auditoría.");
 	}
 
+	/**
+	 * La tabla auditorias no tiene columna de usuario: el usuario queda
+	 * reflejado en la descripción del registro, así que se busca ahí (y se
+	 * devuelve cargada).
+	 */
 	@Override
 	public List<Auditoria> findByUsuario(String usuario) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Auditoria a WHERE a.usuario = :usuario";
-			Query<Auditoria> query = session.createQuery(hql, Auditoria.class);
-			query.setParameter("usuario", usuario);
+		return TransactionTemplate.query(session -> {
+			Query<Auditoria> query = FetchPlans.createNamedQuery(session, "Auditoria.findByUsuario", Auditoria.class,
+					Auditoria.GRAFO_CON_DESCRIPCION);
+			query.setParameter("usuario", "%" + usuario + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar auditoría por usuario.", e);
-		}
+		}, "Error al buscar auditoría por usuario.");
 	}
 
 	@Override
 	public List<Auditoria> findByAccion(String accion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Auditoria a WHERE a.accion = :accion";
-			Query<Auditoria> query = session.createQuery(hql, Auditoria.class);
+		return TransactionTemplate.query(session -> {
+			Query<Auditoria> query = session.createNamedQuery("Auditoria.findByAccion", Auditoria.class);
 			query.setParameter("accion", accion);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar auditoría por acción.", e);
-		}
+		}, "Error al buscar auditoría por acción.");
 	}
 
+	/**
+	 * La entidad auditada es la tabla modificada.
+	 */
 	@Override
 	public List<Auditoria> findByEntidad(String entidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Auditoria a WHERE a.entidad = :entidad";
-			Query<Auditoria> query = session.createQuery(hql, Auditoria.class);
+		return TransactionTemplate.query(session -> {
+			Query<Auditoria> query = session.createNamedQuery("Auditoria.findByEntidad", Auditoria.class);
 			query.setParameter("entidad", entidad);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar auditoría por entidad.", e);
-		}
+		}, "Error al buscar auditoría por entidad.");
 	}
 
 	@Override
 	public List<Auditoria> findByFechaHoraRango(LocalDateTime desde, LocalDateTime hasta) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Auditoria a WHERE a.fechaHora BETWEEN :desde AND :hasta";
-			Query<Auditoria> query = session.createQuery(hql, Auditoria.class);
-			Date d = Date.from(desde.atZone(ZoneId.systemDefault()).toInstant());
-			Date h = Date.from(hasta.atZone(ZoneId.systemDefault()).toInstant());
-			query.setParameter("desde", d);
-			query.setParameter("hasta", h);
+		return findByRango(new RangoFechas(desde, hasta));
+	}
+
+	@Override
+	public List<Auditoria> findByRango(RangoFechas rango) {
+		return TransactionTemplate.query(session -> {
+			Query<Auditoria> query = session.createNamedQuery("Auditoria.findByRango", Auditoria.class);
+			query.setParameter("desde", rango.desde());
+			query.setParameter("hasta", rango.hasta());
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar auditoría por rango de fechas.", e);
-		}
+		}, "Error al buscar auditoría por rango de fechas.");
 	}
 
 	@Override
 	public List<Auditoria> findByDescripcionLike(String descripcion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Auditoria a WHERE a.descripcion LIKE :desc";
-			Query<Auditoria> query = session.createQuery(hql, Auditoria.class);
+		return TransactionTemplate.query(session -> {
+			Query<Auditoria> query = FetchPlans.createNamedQuery(session, "Auditoria.findByDescripcionLike",
+					Auditoria.class, Auditoria.GRAFO_CON_DESCRIPCION);
 			query.setParameter("desc", "%" + descripcion + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar auditoría por descripción.", e);
-		}
+		}, "Error al buscar auditoría por descripción.");
+	}
+
+	@Override
+	public List<Auditoria> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Auditoria.findPage" : "Auditoria.findPageAfter";
+			Query<Auditoria> query = session.createNamedQuery(nombre, Auditoria.class);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de registros de auditoría.");
+	}
+
+	/**
+	 * Sin caché de consultas, a diferencia del resto de conteos: los triggers de
+	 * MySQL insertan auditorías sin que Hibernate se entere, y el conteo cacheado
+	 * no se invalidaría.
+	 */
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Auditoria.count", Long.class).uniqueResult(),
+				"Error al contar registros de auditoría.");
+	}
+
+	/**
+	 * Paginación por clave compuesta (fecha, id), de la más reciente a la más
+	 * antigua. Se apoya en el índice sobre fecha (que incluye la clave primaria).
+	 */
+	@Override
+	public List<Auditoria> findPageByFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimaFecha == null || ultimoId == null ? "Auditoria.findPageByFecha" : "Auditoria.findPageByFechaAfter";
+			Query<Auditoria> query = session.createNamedQuery(nombre, Auditoria.class);
+			if (ultimaFecha != null && ultimoId != null) {
+				query.setParameter("ultimaFecha", ultimaFecha);
+				query.setParameter("ultimoId", ultimoId);
+			}
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de registros de auditoría por fecha.");
 	}
 }
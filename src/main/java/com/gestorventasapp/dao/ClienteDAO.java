@@ -1,5 +1,7 @@
 package com.gestorventasapp.dao;
 
+import com.gestorventasapp.dto.ClienteCotejo;
+import com.gestorventasapp.dto.ClienteFila;
 import com.gestorventasapp.model.Cliente;
 import com.gestorventasapp.enums.Estado;
 
@@ -41,5 +43,16 @@ public interface ClienteDAO {
 
 	boolean existsEmail(String email); // Validar existencia de email
 
+	List<String> findAllUniqueKeys(); // CIF/NIF de todos los clientes (carga del índice de unicidad)
+
 	List<Cliente> findByTelefono(String telefono); // Buscar por teléfono (por si quieres localizar desde llamada)
+
+	List<ClienteFila> findAllFilas(); // Listar filas de la tabla de clientes (proyección)
+
+	List<ClienteCotejo> findAllForMatching(); // Datos de cotejo de todos los clientes (búsqueda aproximada y duplicados)
+
+	List<Cliente> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
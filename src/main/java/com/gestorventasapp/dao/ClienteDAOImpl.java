@@ -1,11 +1,11 @@
 package com.gestorventasapp.dao;
 
+import com.gestorventasapp.dto.ClienteCotejo;
+import com.gestorventasapp.dto.ClienteFila;
 import com.gestorventasapp.model.Cliente;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
@@ -17,212 +17,191 @@ public class ClienteDAOImpl implements ClienteDAO {
 
 	@Override
 	public void save(Cliente cliente) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(cliente);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el cliente.", e);
-		}
+		}, "Error al guardar el cliente.");
 	}
 
 	@Override
 	public void update(Cliente cliente) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(cliente);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el cliente.", e);
-		}
+		}, "Error al actualizar el cliente.");
 	}
 
 	@Override
 	public void delete(int idCliente) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Cliente cliente = session.find(Cliente.class, idCliente);
 			if (cliente != null) {
 				cliente.setEstado(Estado.inactivo);
 				session.merge(cliente);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el cliente.", e);
-		}
+		}, "Error al dar de baja lógica el cliente.");
 	}
 
 	@Override
 	public Cliente findById(int idCliente) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Cliente.class, idCliente);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el cliente por ID.", e);
-		}
+		return TransactionTemplate.query(session -> session.find(Cliente.class, idCliente),
+				"Error al buscar el cliente por ID.");
 	}
 
 	@Override
 	public Cliente findByCifNif(String cifNif) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.cifNif = :cifNif";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByCifNif", Cliente.class);
 			query.setParameter("cifNif", cifNif);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el cliente por CIF/NIF.", e);
-		}
+		}, "Error al buscar el cliente por CIF/NIF.");
 	}
 
 	@Override
 	public Cliente findByEmail(String email) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.email = :email";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByEmail", Cliente.class);
 			query.setParameter("email", email);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el cliente por email.", e);
-		}
+		}, "Error al buscar el cliente por email.");
 	}
 
 	@Override
 	public List<Cliente> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Cliente", Cliente.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los clientes.", e);
-		}
+		return TransactionTemplate.query(session -> session.createNamedQuery("Cliente.findAll", Cliente.class).getResultList(),
+				"Error al listar todos los clientes.");
 	}
 
 	@Override
 	public List<Cliente> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.estado = :estado";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByEstado", Cliente.class);
 			query.setParameter("estado", Estado.activo);
+			query.setCacheable(true);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar clientes activos.", e);
-		}
+		}, "Error al listar clientes activos.");
 	}
 
 	@Override
 	public List<Cliente> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.estado = :estado";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByEstado", Cliente.class);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar clientes inactivos.", e);
-		}
+		}, "Error al listar clientes inactivos.");
 	}
 
 	@Override
 	public List<Cliente> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.estado = :estado";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByEstado", Cliente.class);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar clientes por estado.", e);
-		}
+		}, "Error al listar clientes por estado.");
 	}
 
 	@Override
 	public List<Cliente> findByRazonSocial(String razonSocial) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.razonSocial LIKE :razonSocial";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByRazonSocial", Cliente.class);
 			query.setParameter("razonSocial", "%" + razonSocial + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar clientes por razón social.", e);
-		}
+		}, "Error al buscar clientes por razón social.");
 	}
 
 	@Override
 	public List<Cliente> findByFormaJuridica(String formaJuridica) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.formaJuridica = :formaJuridica";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByFormaJuridica", Cliente.class);
 			query.setParameter("formaJuridica", formaJuridica);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar clientes por forma jurídica.", e);
-		}
+		}, "Error al buscar clientes por forma jurídica.");
 	}
 
 	@Override
 	public List<Cliente> findByLocalidad(String localidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.localidad LIKE :localidad";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByLocalidad", Cliente.class);
 			query.setParameter("localidad", "%" + localidad + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar clientes por localidad.", e);
-		}
+		}, "Error al buscar clientes por localidad.");
 	}
 
 	@Override
 	public List<Cliente> findByFechaAlta(LocalDate fechaInicio, LocalDate fechaFin) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.fechaAlta BETWEEN :inicio AND :fin";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByFechaAlta", Cliente.class);
 			Date inicio = Date.from(fechaInicio.atStartOfDay(ZoneId.systemDefault()).toInstant());
 			Date fin = Date.from(fechaFin.atStartOfDay(ZoneId.systemDefault()).toInstant());
 			query.setParameter("inicio", inicio);
 			query.setParameter("fin", fin);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar clientes por fecha de alta.", e);
-		}
+		}, "Error al buscar clientes por fecha de alta.");
 	}
 
 	@Override
 	public boolean existsCifNif(String cifNif) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(c) FROM Cliente c WHERE c.cifNif = :cifNif";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Cliente.existsCifNif", Long.class);
 			query.setParameter("cifNif", cifNif);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de CIF/NIF.", e);
-		}
+		}, "Error al comprobar existencia de CIF/NIF.");
 	}
 
 	@Override
 	public boolean existsEmail(String email) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(c) FROM Cliente c WHERE c.email = :email";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Cliente.existsEmail", Long.class);
 			query.setParameter("email", email);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de email.", e);
-		}
+		}, "Error al comprobar existencia de email.");
+	}
+
+	@Override
+	public List<String> findAllUniqueKeys() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Cliente.findClavesUnicas", String.class).getResultList();
+		}, "Error al leer los campos únicos de clientes.");
 	}
 
 	@Override
 	public List<Cliente> findByTelefono(String telefono) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Cliente c WHERE c.telefono = :telefono";
-			Query<Cliente> query = session.createQuery(hql, Cliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<Cliente> query = session.createNamedQuery("Cliente.findByTelefono", Cliente.class);
 			query.setParameter("telefono", telefono);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar clientes por teléfono.", e);
-		}
+		}, "Error al buscar clientes por teléfono.");
+	}
+
+	@Override
+	public List<ClienteFila> findAllFilas() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Cliente.findAllFilas", ClienteFila.class).getResultList();
+		}, "Error al listar las filas de clientes.");
+	}
+
+	@Override
+	public List<ClienteCotejo> findAllForMatching() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Cliente.findCotejo", ClienteCotejo.class).getResultList();
+		}, "Error al leer los datos de cotejo de clientes.");
+	}
+
+	@Override
+	public List<Cliente> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Cliente.findPage" : "Cliente.findPageAfter";
+			Query<Cliente> query = session.createNamedQuery(nombre, Cliente.class);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de clientes.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Cliente.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar clientes.");
 	}
 }
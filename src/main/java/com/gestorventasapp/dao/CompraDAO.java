@@ -1,9 +1,12 @@
 package com.gestorventasapp.dao;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.CompraFila;
 import com.gestorventasapp.model.Compra;
 import com.gestorventasapp.model.DetalleCompra;
 import com.gestorventasapp.enums.Estado;
 import java.time.LocalDate;
+import com.gestorventasapp.util.RangoFechas;
 import java.util.List;
 
 public interface CompraDAO {
@@ -16,8 +19,12 @@ public interface CompraDAO {
 
 	Compra findById(int idCompra); // Buscar compra por ID
 
+	Compra findById(int idCompra, String grafo); // Buscar por ID con un plan de carga concreto (null = sin asociaciones)
+
 	List<Compra> findAll(); // Listar todas las compras (activas e inactivas)
 
+	List<Compra> findAll(String grafo); // Listar todas con un plan de carga concreto (null = sin asociaciones)
+
 	List<Compra> findAllActivas(); // Listar solo compras activas
 
 	List<Compra> findAllInactivas(); // Listar solo compras inactivas
@@ -32,11 +39,21 @@ public interface CompraDAO {
 
 	List<Compra> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin); // Buscar compras en rango de fechas
 
+	List<Compra> findByRango(RangoFechas rango); // Buscar en el intervalo [desde, hasta) sobre el índice de fecha
+
 	List<Compra> findByTotalSinIvaBetween(double min, double max); // Buscar compras por rango de total sin IVA
 
 	List<Compra> findByTotalConIvaBetween(double min, double max); // Buscar compras por rango de total con IVA
 
 	void saveWithDetails(Compra compra, List<DetalleCompra> detallesCompra); // Guarda una compra y sus detalles en una única transacción.
 
-	
+	List<CompraFila> findAllFilas(); // Listar filas de la tabla de compras (proyección)
+
+	List<Compra> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
+	List<Compra> findPageByFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite); // Página por (fecha, id) descendente
+	List<CompraFila> findFilasPage(LocalDateTime ultimaFecha, Integer ultimoId, int limite); // Página de filas por (fecha, id) descendente
+
 }
@@ -1,220 +1,224 @@
 package com.gestorventasapp.dao;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.CompraFila;
 import com.gestorventasapp.model.Compra;
 import com.gestorventasapp.model.DetalleCompra;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.RangoFechas;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 
 public class CompraDAOImpl implements CompraDAO {
 
 	@Override
 	public void save(Compra compra) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(compra);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar la compra.", e);
-		}
+		}, "Error al guardar la compra.");
 	}
 
 	@Override
 	public void update(Compra compra) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(compra);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar la compra.", e);
-		}
+		}, "Error al actualizar la compra.");
 	}
 
 	@Override
 	public void delete(int idCompra) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Compra compra = session.find(Compra.class, idCompra);
 			if (compra != null) {
 				compra.setEstado(Estado.inactivo);
 				session.merge(compra);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica la compra.", e);
-		}
+		}, "Error al dar de baja lógica la compra.");
 	}
 
 	@Override
 	public Compra findById(int idCompra) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Compra.class, idCompra);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar la compra por ID.", e);
-		}
+		return findById(idCompra, Compra.GRAFO_LISTADO);
+	}
+
+	@Override
+	public Compra findById(int idCompra, String grafo) {
+		return TransactionTemplate.query(session -> FetchPlans.find(session, Compra.class, idCompra, grafo),
+				"Error al buscar la compra por ID.");
 	}
 
 	@Override
 	public List<Compra> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Compra", Compra.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todas las compras.", e);
-		}
+		return findAll(Compra.GRAFO_LISTADO);
+	}
+
+	@Override
+	public List<Compra> findAll(String grafo) {
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "Compra.findAll", Compra.class, grafo).getResultList(),
+				"Error al listar todas las compras.");
 	}
 
 	@Override
 	public List<Compra> findAllActivas() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.estado = :estado";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByEstado", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar compras activas.", e);
-		}
+		}, "Error al listar compras activas.");
 	}
 
 	@Override
 	public List<Compra> findAllInactivas() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.estado = :estado";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByEstado", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar compras inactivas.", e);
-		}
+		}, "Error al listar compras inactivas.");
 	}
 
 	@Override
 	public List<Compra> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.estado = :estado";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByEstado", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por estado.", e);
-		}
+		}, "Error al buscar compras por estado.");
 	}
 
 	@Override
 	public List<Compra> findByProveedor(int idProveedor) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.idProveedor = :idProveedor";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByProveedor", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("idProveedor", idProveedor);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por proveedor.", e);
-		}
+		}, "Error al buscar compras por proveedor.");
 	}
 
 	@Override
 	public List<Compra> findByEmpleado(int idEmpleado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.idEmpleado = :idEmpleado";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByEmpleado", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("idEmpleado", idEmpleado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por empleado.", e);
-		}
+		}, "Error al buscar compras por empleado.");
 	}
 
 	@Override
 	public List<Compra> findByFecha(LocalDate fecha) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE DATE(c.fecha) = :fecha";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
-			Date fechaSql = Date.from(fecha.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			query.setParameter("fecha", fechaSql);
-			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por fecha.", e);
-		}
+		return findByRango(RangoFechas.dia(fecha));
 	}
 
 	@Override
 	public List<Compra> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.fecha BETWEEN :inicio AND :fin";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
-			Date inicio = Date.from(fechaInicio.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			Date fin = Date.from(fechaFin.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			query.setParameter("inicio", inicio);
-			query.setParameter("fin", fin);
+		return findByRango(RangoFechas.dias(fechaInicio, fechaFin));
+	}
+
+	@Override
+	public List<Compra> findByRango(RangoFechas rango) {
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByRango", Compra.class, Compra.GRAFO_LISTADO);
+			query.setParameter("desde", rango.desde());
+			query.setParameter("hasta", rango.hasta());
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por rango de fechas.", e);
-		}
+		}, "Error al buscar compras por rango de fechas.");
 	}
 
 	@Override
 	public List<Compra> findByTotalSinIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.totalSinIva BETWEEN :min AND :max";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByTotalSinIvaBetween", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por rango de total sin IVA.", e);
-		}
+		}, "Error al buscar compras por rango de total sin IVA.");
 	}
 
 	@Override
 	public List<Compra> findByTotalConIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Compra c WHERE c.totalConIva BETWEEN :min AND :max";
-			Query<Compra> query = session.createQuery(hql, Compra.class);
+		return TransactionTemplate.query(session -> {
+			Query<Compra> query = FetchPlans.createNamedQuery(session, "Compra.findByTotalConIvaBetween", Compra.class, Compra.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar compras por rango de total con IVA.", e);
-		}
+		}, "Error al buscar compras por rango de total con IVA.");
 	}
 
 	@Override
 	public void saveWithDetails(Compra compra, List<DetalleCompra> detallesCompra) {
-		Transaction transaction = null;
-
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
-			session.persist(compra); // Guarda la compra y obtiene el id generado
-			session.flush(); // Asegura que el id se genere
+		TransactionTemplate.execute(session -> {
+			// El id sale del bloque reservado en memoria: las inserciones se envían por lotes al commit
+			session.persist(compra);
 
 			for (DetalleCompra detalle : detallesCompra) {
 				detalle.setCompra(compra); // Asigna la compra (id_compra FK)
 				session.persist(detalle);
 			}
 
-			transaction.commit();
-		} catch (Exception e) {
-			e.printStackTrace();
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar compra con detalles", e);
-		}
+		}, "Error al guardar compra con detalles");
 	}
 
+	@Override
+	public List<CompraFila> findAllFilas() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Compra.findAllFilas", CompraFila.class).getResultList();
+		}, "Error al listar las filas de compras.");
+	}
+
+	@Override
+	public List<Compra> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Compra.findPage" : "Compra.findPageAfter";
+			Query<Compra> query = FetchPlans.createNamedQuery(session, nombre, Compra.class, Compra.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de compras.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Compra.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar compras.");
+	}
+
+	/**
+	 * Paginación por clave compuesta (fecha, id), de la más reciente a la más
+	 * antigua. Se apoya en el índice sobre fecha (que incluye la clave primaria).
+	 */
+	@Override
+	public List<Compra> findPageByFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimaFecha == null || ultimoId == null ? "Compra.findPageByFecha" : "Compra.findPageByFechaAfter";
+			Query<Compra> query = FetchPlans.createNamedQuery(session, nombre, Compra.class, Compra.GRAFO_LISTADO);
+			if (ultimaFecha != null && ultimoId != null) {
+				query.setParameter("ultimaFecha", ultimaFecha);
+				query.setParameter("ultimoId", ultimoId);
+			}
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de compras por fecha.");
+	}
+
+	@Override
+	public List<CompraFila> findFilasPage(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			boolean primera = ultimaFecha == null || ultimoId == null;
+			String nombre = primera ? "Compra.findFilasPage" : "Compra.findFilasPageAfter";
+			Query<CompraFila> query = session.createNamedQuery(nombre, CompraFila.class);
+			if (!primera) {
+				query.setParameter("ultimaFecha", ultimaFecha);
+				query.setParameter("ultimoId", ultimoId);
+			}
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de filas de compras.");
+	}
 }
@@ -33,4 +33,9 @@ public interface DetalleCompraDAO {
 	List<DetalleCompra> findBySubtotalSinIvaBetween(double min, double max); // Filtro importe (solo activos)
 
 	List<DetalleCompra> findBySubtotalConIvaBetween(double min, double max); // Filtro importe (solo activos)
+
+	List<DetalleCompra> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
@@ -2,10 +2,9 @@ package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.DetalleCompra;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.util.List;
@@ -14,177 +13,146 @@ public class DetalleCompraDAOImpl implements DetalleCompraDAO {
 
 	@Override
 	public void save(DetalleCompra detalleCompra) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(detalleCompra);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el detalle de compra.", e);
-		}
+		}, "Error al guardar el detalle de compra.");
 	}
 
 	@Override
 	public void update(DetalleCompra detalleCompra) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(detalleCompra);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el detalle de compra.", e);
-		}
+		}, "Error al actualizar el detalle de compra.");
 	}
 
 	@Override
 	public void delete(int idDetalleCompra) {
 		// Baja lógica: estado = inactivo
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			DetalleCompra detalle = session.find(DetalleCompra.class, idDetalleCompra);
 			if (detalle != null && detalle.getEstado() != Estado.inactivo) {
 				detalle.setEstado(Estado.inactivo);
 				session.merge(detalle);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el detalle de compra.", e);
-		}
+		}, "Error al dar de baja lógica el detalle de compra.");
 	}
 
 	@Override
 	public DetalleCompra findById(int idDetalleCompra) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(DetalleCompra.class, idDetalleCompra);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el detalle de compra por ID.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.find(session, DetalleCompra.class, idDetalleCompra, DetalleCompra.GRAFO_LISTADO),
+				"Error al buscar el detalle de compra por ID.");
 	}
 
 	@Override
 	public List<DetalleCompra> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleCompra", DetalleCompra.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de compra.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "DetalleCompra.findAll", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO).getResultList(),
+				"Error al listar los detalles de compra.");
 	}
 
 	@Override
 	public List<DetalleCompra> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleCompra d WHERE d.estado = :estado", DetalleCompra.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleCompra.findByEstado", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO)
 					.setParameter("estado", Estado.activo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de compra activos.", e);
-		}
+		}, "Error al listar los detalles de compra activos.");
 	}
 
 	@Override
 	public List<DetalleCompra> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleCompra d WHERE d.estado = :estado", DetalleCompra.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleCompra.findByEstado", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO)
 					.setParameter("estado", Estado.inactivo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de compra inactivos.", e);
-		}
+		}, "Error al listar los detalles de compra inactivos.");
 	}
 
 	@Override
 	public List<DetalleCompra> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleCompra d WHERE d.estado = :estado", DetalleCompra.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleCompra.findByEstado", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO)
 					.setParameter("estado", estado).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de compra por estado.", e);
-		}
+		}, "Error al listar los detalles de compra por estado.");
 	}
 
 	@Override
 	public List<DetalleCompra> findByCompra(int idCompra) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleCompra d WHERE d.compra.idCompra = :idCompra AND d.estado = :estado";
-			Query<DetalleCompra> query = session.createQuery(hql, DetalleCompra.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, "DetalleCompra.findByCompra", DetalleCompra.class, DetalleCompra.GRAFO_CON_PRODUCTO);
 			query.setParameter("idCompra", idCompra);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por compra.", e);
-		}
+		}, "Error al buscar detalles por compra.");
 	}
 
 	@Override
 	public List<DetalleCompra> findByProducto(int idProducto) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleCompra d WHERE d.producto.idProducto = :idProducto AND d.estado = :estado";
-			Query<DetalleCompra> query = session.createQuery(hql, DetalleCompra.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, "DetalleCompra.findByProducto", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por producto.", e);
-		}
+		}, "Error al buscar detalles por producto.");
 	}
 
 	@Override
 	public DetalleCompra findByProductoAndCompra(int idProducto, int idCompra) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleCompra d WHERE d.producto.idProducto = :idProducto AND d.compra.idCompra = :idCompra AND d.estado = :estado";
-			Query<DetalleCompra> query = session.createQuery(hql, DetalleCompra.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, "DetalleCompra.findByProductoAndCompra", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("idCompra", idCompra);
 			query.setParameter("estado", Estado.activo);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalle por producto y compra.", e);
-		}
+		}, "Error al buscar detalle por producto y compra.");
 	}
 
 	@Override
 	public List<DetalleCompra> findByCantidadGreaterThan(int cantidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleCompra d WHERE d.cantidad > :cantidad AND d.estado = :estado";
-			Query<DetalleCompra> query = session.createQuery(hql, DetalleCompra.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, "DetalleCompra.findByCantidadGreaterThan", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO);
 			query.setParameter("cantidad", cantidad);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles con cantidad mayor a " + cantidad + ".", e);
-		}
+		}, "Error al buscar detalles con cantidad mayor a " + cantidad + ".");
 	}
 
 	@Override
 	public List<DetalleCompra> findBySubtotalSinIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleCompra d WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleCompra> query = session.createQuery(hql, DetalleCompra.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, "DetalleCompra.findBySubtotalSinIvaBetween", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal sin IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal sin IVA.");
 	}
 
 	@Override
 	public List<DetalleCompra> findBySubtotalConIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleCompra d WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleCompra> query = session.createQuery(hql, DetalleCompra.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, "DetalleCompra.findBySubtotalConIvaBetween", DetalleCompra.class, DetalleCompra.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal con IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal con IVA.");
+	}
+
+	@Override
+	public List<DetalleCompra> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "DetalleCompra.findPage" : "DetalleCompra.findPageAfter";
+			Query<DetalleCompra> query = FetchPlans.createNamedQuery(session, nombre, DetalleCompra.class, DetalleCompra.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de detalles de compra.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("DetalleCompra.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar detalles de compra.");
 	}
 }
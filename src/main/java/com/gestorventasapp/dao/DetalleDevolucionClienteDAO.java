@@ -37,4 +37,8 @@ public interface DetalleDevolucionClienteDAO {
 	List<DetalleDevolucionCliente> findBySubtotalConIvaBetween(double min, double max); // Filtro por subtotal con IVA
 																						// (solo activos)
 
+	List<DetalleDevolucionCliente> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
@@ -2,10 +2,9 @@ package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.DetalleDevolucionCliente;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.util.List;
@@ -14,177 +13,146 @@ public class DetalleDevolucionClienteDAOImpl implements DetalleDevolucionCliente
 
 	@Override
 	public void save(DetalleDevolucionCliente detalle) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(detalle);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el detalle de devolución de cliente.", e);
-		}
+		}, "Error al guardar el detalle de devolución de cliente.");
 	}
 
 	@Override
 	public void update(DetalleDevolucionCliente detalle) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(detalle);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el detalle de devolución de cliente.", e);
-		}
+		}, "Error al actualizar el detalle de devolución de cliente.");
 	}
 
 	@Override
 	public void delete(int idDetalle) {
 		// Baja lógica: estado = inactivo
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			DetalleDevolucionCliente detalle = session.find(DetalleDevolucionCliente.class, idDetalle);
 			if (detalle != null && detalle.getEstado() != Estado.inactivo) {
 				detalle.setEstado(Estado.inactivo);
 				session.merge(detalle);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el detalle de devolución de cliente.", e);
-		}
+		}, "Error al dar de baja lógica el detalle de devolución de cliente.");
 	}
 
 	@Override
 	public DetalleDevolucionCliente findById(int idDetalle) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(DetalleDevolucionCliente.class, idDetalle);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el detalle de devolución de cliente por ID.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.find(session, DetalleDevolucionCliente.class, idDetalle, DetalleDevolucionCliente.GRAFO_LISTADO),
+				"Error al buscar el detalle de devolución de cliente por ID.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionCliente", DetalleDevolucionCliente.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de devolución de cliente.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findAll", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO).getResultList(),
+				"Error al listar los detalles de devolución de cliente.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionCliente d WHERE d.estado = :estado",
-					DetalleDevolucionCliente.class).setParameter("estado", Estado.activo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de devolución de cliente activos.", e);
-		}
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByEstado",
+					DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO).setParameter("estado", Estado.activo).getResultList();
+		}, "Error al listar los detalles de devolución de cliente activos.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionCliente d WHERE d.estado = :estado",
-					DetalleDevolucionCliente.class).setParameter("estado", Estado.inactivo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de devolución de cliente inactivos.", e);
-		}
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByEstado",
+					DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO).setParameter("estado", Estado.inactivo).getResultList();
+		}, "Error al listar los detalles de devolución de cliente inactivos.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionCliente d WHERE d.estado = :estado",
-					DetalleDevolucionCliente.class).setParameter("estado", estado).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles de devolución de cliente por estado.", e);
-		}
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByEstado",
+					DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO).setParameter("estado", estado).getResultList();
+		}, "Error al buscar detalles de devolución de cliente por estado.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findByDevolucion(int idDevolucion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionCliente d WHERE d.devolucionCliente.idDevolucionCliente = :idDevolucion AND d.estado = :estado";
-			Query<DetalleDevolucionCliente> query = session.createQuery(hql, DetalleDevolucionCliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByDevolucion", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
 			query.setParameter("idDevolucion", idDevolucion);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por devolución.", e);
-		}
+		}, "Error al buscar detalles por devolución.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findByProducto(int idProducto) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionCliente d WHERE d.producto.idProducto = :idProducto AND d.estado = :estado";
-			Query<DetalleDevolucionCliente> query = session.createQuery(hql, DetalleDevolucionCliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByProducto", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por producto.", e);
-		}
+		}, "Error al buscar detalles por producto.");
 	}
 
 	@Override
 	public DetalleDevolucionCliente findByProductoAndDevolucion(int idProducto, int idDevolucion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionCliente d WHERE d.producto.idProducto = :idProducto AND d.devolucionCliente.idDevolucionCliente = :idDevolucion AND d.estado = :estado";
-			Query<DetalleDevolucionCliente> query = session.createQuery(hql, DetalleDevolucionCliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByProductoAndDevolucion", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("idDevolucion", idDevolucion);
 			query.setParameter("estado", Estado.activo);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalle concreto por producto y devolución.", e);
-		}
+		}, "Error al buscar detalle concreto por producto y devolución.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findByCantidadGreaterThan(int cantidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionCliente d WHERE d.cantidad > :cantidad AND d.estado = :estado";
-			Query<DetalleDevolucionCliente> query = session.createQuery(hql, DetalleDevolucionCliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findByCantidadGreaterThan", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
 			query.setParameter("cantidad", cantidad);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles con cantidad mayor a " + cantidad + ".", e);
-		}
+		}, "Error al buscar detalles con cantidad mayor a " + cantidad + ".");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findBySubtotalSinIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionCliente d WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleDevolucionCliente> query = session.createQuery(hql, DetalleDevolucionCliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findBySubtotalSinIvaBetween", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal sin IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal sin IVA.");
 	}
 
 	@Override
 	public List<DetalleDevolucionCliente> findBySubtotalConIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionCliente d WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleDevolucionCliente> query = session.createQuery(hql, DetalleDevolucionCliente.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionCliente.findBySubtotalConIvaBetween", DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal con IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal con IVA.");
+	}
+
+	@Override
+	public List<DetalleDevolucionCliente> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "DetalleDevolucionCliente.findPage" : "DetalleDevolucionCliente.findPageAfter";
+			Query<DetalleDevolucionCliente> query = FetchPlans.createNamedQuery(session, nombre, DetalleDevolucionCliente.class, DetalleDevolucionCliente.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de detalles de devolución de cliente.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("DetalleDevolucionCliente.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar detalles de devolución de cliente.");
 	}
 }
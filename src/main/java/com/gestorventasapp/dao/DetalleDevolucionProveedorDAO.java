@@ -39,4 +39,8 @@ public interface DetalleDevolucionProveedorDAO {
 	List<DetalleDevolucionProveedor> findBySubtotalConIvaBetween(double min, double max); // Filtro subtotal con IVA
 																							// (solo activos)
 
+	List<DetalleDevolucionProveedor> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
@@ -2,10 +2,9 @@ package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.DetalleDevolucionProveedor;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.util.List;
@@ -14,178 +13,148 @@ public class DetalleDevolucionProveedorDAOImpl implements DetalleDevolucionProve
 
 	@Override
 	public void save(DetalleDevolucionProveedor detalle) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(detalle);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el detalle de devolución a proveedor.", e);
-		}
+		}, "Error al guardar el detalle de devolución a proveedor.");
 	}
 
 	@Override
 	public void update(DetalleDevolucionProveedor detalle) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(detalle);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el detalle de devolución a proveedor.", e);
-		}
+		}, "Error al actualizar el detalle de devolución a proveedor.");
 	}
 
 	@Override
 	public void delete(int idDetalle) {
 		// Baja lógica: estado = inactivo
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			DetalleDevolucionProveedor detalle = session.find(DetalleDevolucionProveedor.class, idDetalle);
 			if (detalle != null && detalle.getEstado() != Estado.inactivo) {
 				detalle.setEstado(Estado.inactivo);
 				session.merge(detalle);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el detalle de devolución a proveedor.", e);
-		}
+		}, "Error al dar de baja lógica el detalle de devolución a proveedor.");
 	}
 
 	@Override
 	public DetalleDevolucionProveedor findById(int idDetalle) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(DetalleDevolucionProveedor.class, idDetalle);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el detalle de devolución a proveedor por ID.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.find(session, DetalleDevolucionProveedor.class, idDetalle, DetalleDevolucionProveedor.GRAFO_LISTADO),
+				"Error al buscar el detalle de devolución a proveedor por ID.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionProveedor", DetalleDevolucionProveedor.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findAll", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO)
 					.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de devolución a proveedor.", e);
-		}
+		}, "Error al listar los detalles de devolución a proveedor.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionProveedor d WHERE d.estado = :estado",
-					DetalleDevolucionProveedor.class).setParameter("estado", Estado.activo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de devolución a proveedor activos.", e);
-		}
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByEstado",
+					DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO).setParameter("estado", Estado.activo).getResultList();
+		}, "Error al listar los detalles de devolución a proveedor activos.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionProveedor d WHERE d.estado = :estado",
-					DetalleDevolucionProveedor.class).setParameter("estado", Estado.inactivo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de devolución a proveedor inactivos.", e);
-		}
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByEstado",
+					DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO).setParameter("estado", Estado.inactivo).getResultList();
+		}, "Error al listar los detalles de devolución a proveedor inactivos.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleDevolucionProveedor d WHERE d.estado = :estado",
-					DetalleDevolucionProveedor.class).setParameter("estado", estado).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles de devolución a proveedor por estado.", e);
-		}
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByEstado",
+					DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO).setParameter("estado", estado).getResultList();
+		}, "Error al buscar detalles de devolución a proveedor por estado.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findByDevolucion(int idDevolucion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionProveedor d WHERE d.devolucionProveedor.idDevolucionProveedor = :idDevolucion AND d.estado = :estado";
-			Query<DetalleDevolucionProveedor> query = session.createQuery(hql, DetalleDevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByDevolucion", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("idDevolucion", idDevolucion);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por devolución.", e);
-		}
+		}, "Error al buscar detalles por devolución.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findByProducto(int idProducto) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionProveedor d WHERE d.producto.idProducto = :idProducto AND d.estado = :estado";
-			Query<DetalleDevolucionProveedor> query = session.createQuery(hql, DetalleDevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByProducto", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por producto.", e);
-		}
+		}, "Error al buscar detalles por producto.");
 	}
 
 	@Override
 	public DetalleDevolucionProveedor findByProductoAndDevolucion(int idProducto, int idDevolucion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionProveedor d WHERE d.producto.idProducto = :idProducto AND d.devolucionProveedor.idDevolucionProveedor = :idDevolucion AND d.estado = :estado";
-			Query<DetalleDevolucionProveedor> query = session.createQuery(hql, DetalleDevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByProductoAndDevolucion", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("idDevolucion", idDevolucion);
 			query.setParameter("estado", Estado.activo);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalle concreto por producto y devolución.", e);
-		}
+		}, "Error al buscar detalle concreto por producto y devolución.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findByCantidadGreaterThan(int cantidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionProveedor d WHERE d.cantidad > :cantidad AND d.estado = :estado";
-			Query<DetalleDevolucionProveedor> query = session.createQuery(hql, DetalleDevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findByCantidadGreaterThan", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("cantidad", cantidad);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles con cantidad mayor a " + cantidad + ".", e);
-		}
+		}, "Error al buscar detalles con cantidad mayor a " + cantidad + ".");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findBySubtotalSinIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionProveedor d WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleDevolucionProveedor> query = session.createQuery(hql, DetalleDevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findBySubtotalSinIvaBetween", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal sin IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal sin IVA.");
 	}
 
 	@Override
 	public List<DetalleDevolucionProveedor> findBySubtotalConIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleDevolucionProveedor d WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleDevolucionProveedor> query = session.createQuery(hql, DetalleDevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DetalleDevolucionProveedor.findBySubtotalConIvaBetween", DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal con IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal con IVA.");
+	}
+
+	@Override
+	public List<DetalleDevolucionProveedor> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "DetalleDevolucionProveedor.findPage" : "DetalleDevolucionProveedor.findPageAfter";
+			Query<DetalleDevolucionProveedor> query = FetchPlans.createNamedQuery(session, nombre, DetalleDevolucionProveedor.class, DetalleDevolucionProveedor.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de detalles de devolución a proveedor.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("DetalleDevolucionProveedor.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar detalles de devolución a proveedor.");
 	}
 }
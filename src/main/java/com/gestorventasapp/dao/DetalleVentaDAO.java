@@ -33,4 +33,9 @@ public interface DetalleVentaDAO {
 	List<DetalleVenta> findBySubtotalSinIvaBetween(double min, double max); // Filtro importe (solo activos)
 
 	List<DetalleVenta> findBySubtotalConIvaBetween(double min, double max); // Filtro importe (solo activos)
+
+	List<DetalleVenta> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
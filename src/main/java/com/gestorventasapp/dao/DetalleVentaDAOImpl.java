@@ -2,10 +2,9 @@ package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.DetalleVenta;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.util.List;
@@ -14,177 +13,146 @@ public class DetalleVentaDAOImpl implements DetalleVentaDAO {
 
 	@Override
 	public void save(DetalleVenta detalleVenta) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(detalleVenta);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el detalle de venta.", e);
-		}
+		}, "Error al guardar el detalle de venta.");
 	}
 
 	@Override
 	public void update(DetalleVenta detalleVenta) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(detalleVenta);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el detalle de venta.", e);
-		}
+		}, "Error al actualizar el detalle de venta.");
 	}
 
 	@Override
 	public void delete(int idDetalleVenta) {
 		// Baja lógica: estado = inactivo
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			DetalleVenta detalle = session.find(DetalleVenta.class, idDetalleVenta);
 			if (detalle != null && detalle.getEstado() != Estado.inactivo) {
 				detalle.setEstado(Estado.inactivo);
 				session.merge(detalle);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el detalle de venta.", e);
-		}
+		}, "Error al dar de baja lógica el detalle de venta.");
 	}
 
 	@Override
 	public DetalleVenta findById(int idDetalleVenta) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(DetalleVenta.class, idDetalleVenta);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el detalle de venta por ID.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.find(session, DetalleVenta.class, idDetalleVenta, DetalleVenta.GRAFO_LISTADO),
+				"Error al buscar el detalle de venta por ID.");
 	}
 
 	@Override
 	public List<DetalleVenta> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleVenta", DetalleVenta.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de venta.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "DetalleVenta.findAll", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO).getResultList(),
+				"Error al listar los detalles de venta.");
 	}
 
 	@Override
 	public List<DetalleVenta> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleVenta d WHERE d.estado = :estado", DetalleVenta.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleVenta.findByEstado", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO)
 					.setParameter("estado", Estado.activo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de venta activos.", e);
-		}
+		}, "Error al listar los detalles de venta activos.");
 	}
 
 	@Override
 	public List<DetalleVenta> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleVenta d WHERE d.estado = :estado", DetalleVenta.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleVenta.findByEstado", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO)
 					.setParameter("estado", Estado.inactivo).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de venta inactivos.", e);
-		}
+		}, "Error al listar los detalles de venta inactivos.");
 	}
 
 	@Override
 	public List<DetalleVenta> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DetalleVenta d WHERE d.estado = :estado", DetalleVenta.class)
+		return TransactionTemplate.query(session -> {
+			return FetchPlans.createNamedQuery(session, "DetalleVenta.findByEstado", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO)
 					.setParameter("estado", estado).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar los detalles de venta por estado.", e);
-		}
+		}, "Error al listar los detalles de venta por estado.");
 	}
 
 	@Override
 	public List<DetalleVenta> findByVenta(int idVenta) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleVenta d WHERE d.venta.idVenta = :idVenta AND d.estado = :estado";
-			Query<DetalleVenta> query = session.createQuery(hql, DetalleVenta.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, "DetalleVenta.findByVenta", DetalleVenta.class, DetalleVenta.GRAFO_CON_PRODUCTO);
 			query.setParameter("idVenta", idVenta);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por venta.", e);
-		}
+		}, "Error al buscar detalles por venta.");
 	}
 
 	@Override
 	public List<DetalleVenta> findByProducto(int idProducto) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleVenta d WHERE d.producto.idProducto = :idProducto AND d.estado = :estado";
-			Query<DetalleVenta> query = session.createQuery(hql, DetalleVenta.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, "DetalleVenta.findByProducto", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por producto.", e);
-		}
+		}, "Error al buscar detalles por producto.");
 	}
 
 	@Override
 	public DetalleVenta findByProductoAndVenta(int idProducto, int idVenta) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleVenta d WHERE d.producto.idProducto = :idProducto AND d.venta.idVenta = :idVenta AND d.estado = :estado";
-			Query<DetalleVenta> query = session.createQuery(hql, DetalleVenta.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, "DetalleVenta.findByProductoAndVenta", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO);
 			query.setParameter("idProducto", idProducto);
 			query.setParameter("idVenta", idVenta);
 			query.setParameter("estado", Estado.activo);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalle por producto y venta.", e);
-		}
+		}, "Error al buscar detalle por producto y venta.");
 	}
 
 	@Override
 	public List<DetalleVenta> findByCantidadGreaterThan(int cantidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleVenta d WHERE d.cantidad > :cantidad AND d.estado = :estado";
-			Query<DetalleVenta> query = session.createQuery(hql, DetalleVenta.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, "DetalleVenta.findByCantidadGreaterThan", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO);
 			query.setParameter("cantidad", cantidad);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles con cantidad mayor a " + cantidad + ".", e);
-		}
+		}, "Error al buscar detalles con cantidad mayor a " + cantidad + ".");
 	}
 
 	@Override
 	public List<DetalleVenta> findBySubtotalSinIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleVenta d WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleVenta> query = session.createQuery(hql, DetalleVenta.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, "DetalleVenta.findBySubtotalSinIvaBetween", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal sin IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal sin IVA.");
 	}
 
 	@Override
 	public List<DetalleVenta> findBySubtotalConIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DetalleVenta d WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado";
-			Query<DetalleVenta> query = session.createQuery(hql, DetalleVenta.class);
+		return TransactionTemplate.query(session -> {
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, "DetalleVenta.findBySubtotalConIvaBetween", DetalleVenta.class, DetalleVenta.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar detalles por subtotal con IVA.", e);
-		}
+		}, "Error al buscar detalles por subtotal con IVA.");
+	}
+
+	@Override
+	public List<DetalleVenta> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "DetalleVenta.findPage" : "DetalleVenta.findPageAfter";
+			Query<DetalleVenta> query = FetchPlans.createNamedQuery(session, nombre, DetalleVenta.class, DetalleVenta.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de detalles de venta.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("DetalleVenta.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar detalles de venta.");
 	}
 }
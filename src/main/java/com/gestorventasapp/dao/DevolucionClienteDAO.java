@@ -3,6 +3,7 @@ package com.gestorventasapp.dao;
 import com.gestorventasapp.model.DevolucionCliente;
 import com.gestorventasapp.enums.Estado;
 import java.time.LocalDate;
+import com.gestorventasapp.util.RangoFechas;
 import java.util.List;
 
 public interface DevolucionClienteDAO {
@@ -32,6 +33,8 @@ public interface DevolucionClienteDAO {
 	List<DevolucionCliente> findByFecha(LocalDate fecha); // Buscar devoluciones por fecha exacta
 
 	List<DevolucionCliente> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin); // Buscar devoluciones en rango
+
+	List<DevolucionCliente> findByRango(RangoFechas rango); // Buscar en el intervalo [desde, hasta) sobre el índice de fecha
 																							// de fechas
 
 	List<DevolucionCliente> findByMotivo(String motivo); // Buscar devoluciones por motivo (error, defecto, cliente,
@@ -39,4 +42,8 @@ public interface DevolucionClienteDAO {
 
 	List<DevolucionCliente> findByTotalBetween(double min, double max); // Buscar devoluciones por importe total
 
+	List<DevolucionCliente> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
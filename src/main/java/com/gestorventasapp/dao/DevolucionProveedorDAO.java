@@ -3,6 +3,7 @@ package com.gestorventasapp.dao;
 import com.gestorventasapp.model.DevolucionProveedor;
 import com.gestorventasapp.enums.Estado;
 import java.time.LocalDate;
+import com.gestorventasapp.util.RangoFechas;
 import java.util.List;
 
 public interface DevolucionProveedorDAO {
@@ -32,10 +33,16 @@ public interface DevolucionProveedorDAO {
 	List<DevolucionProveedor> findByFecha(LocalDate fecha); // Buscar devoluciones por fecha exacta
 
 	List<DevolucionProveedor> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin); // Buscar devoluciones en
+
+	List<DevolucionProveedor> findByRango(RangoFechas rango); // Buscar en el intervalo [desde, hasta) sobre el índice de fecha
 																							// rango de fechas
 
 	List<DevolucionProveedor> findByMotivo(String motivo); // Buscar devoluciones por motivo
 
 	List<DevolucionProveedor> findByTotalBetween(double min, double max); // Buscar devoluciones por importe total
 
+	List<DevolucionProveedor> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
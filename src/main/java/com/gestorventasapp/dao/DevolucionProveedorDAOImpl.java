@@ -2,205 +2,165 @@ package com.gestorventasapp.dao;
 
 import com.gestorventasapp.model.DevolucionProveedor;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.RangoFechas;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 
 public class DevolucionProveedorDAOImpl implements DevolucionProveedorDAO {
 
 	@Override
 	public void save(DevolucionProveedor devolucion) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(devolucion);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar la devolución a proveedor.", e);
-		}
+		}, "Error al guardar la devolución a proveedor.");
 	}
 
 	@Override
 	public void update(DevolucionProveedor devolucion) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(devolucion);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar la devolución a proveedor.", e);
-		}
+		}, "Error al actualizar la devolución a proveedor.");
 	}
 
 	@Override
 	public void delete(int idDevolucion) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			DevolucionProveedor devolucion = session.find(DevolucionProveedor.class, idDevolucion);
 			if (devolucion != null) {
 				devolucion.setEstado(Estado.inactivo);
 				session.merge(devolucion);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica la devolución a proveedor.", e);
-		}
+		}, "Error al dar de baja lógica la devolución a proveedor.");
 	}
 
 	@Override
 	public DevolucionProveedor findById(int idDevolucion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(DevolucionProveedor.class, idDevolucion);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar la devolución a proveedor por ID.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.find(session, DevolucionProveedor.class, idDevolucion, DevolucionProveedor.GRAFO_LISTADO),
+				"Error al buscar la devolución a proveedor por ID.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM DevolucionProveedor", DevolucionProveedor.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todas las devoluciones a proveedor.", e);
-		}
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "DevolucionProveedor.findAll", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO).getResultList(),
+				"Error al listar todas las devoluciones a proveedor.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findAllActivas() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.estado = :estado";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByEstado", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar devoluciones activas a proveedor.", e);
-		}
+		}, "Error al listar devoluciones activas a proveedor.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findAllInactivas() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.estado = :estado";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByEstado", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar devoluciones inactivas a proveedor.", e);
-		}
+		}, "Error al listar devoluciones inactivas a proveedor.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.estado = :estado";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByEstado", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones a proveedor por estado.", e);
-		}
+		}, "Error al buscar devoluciones a proveedor por estado.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByProveedor(int idProveedor) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.idProveedor = :idProveedor";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByProveedor", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("idProveedor", idProveedor);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por proveedor.", e);
-		}
+		}, "Error al buscar devoluciones por proveedor.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByCompra(int idCompra) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.idCompra = :idCompra";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByCompra", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("idCompra", idCompra);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por compra.", e);
-		}
+		}, "Error al buscar devoluciones por compra.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByEmpleado(int idEmpleado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.idEmpleado = :idEmpleado";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByEmpleado", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("idEmpleado", idEmpleado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por empleado.", e);
-		}
+		}, "Error al buscar devoluciones por empleado.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByFecha(LocalDate fecha) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE DATE(d.fecha) = :fecha";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
-			Date fechaSql = Date.from(fecha.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			query.setParameter("fecha", fechaSql);
-			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por fecha.", e);
-		}
+		return findByRango(RangoFechas.dia(fecha));
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.fecha BETWEEN :inicio AND :fin";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
-			Date inicio = Date.from(fechaInicio.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			Date fin = Date.from(fechaFin.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			query.setParameter("inicio", inicio);
-			query.setParameter("fin", fin);
+		return findByRango(RangoFechas.dias(fechaInicio, fechaFin));
+	}
+
+	@Override
+	public List<DevolucionProveedor> findByRango(RangoFechas rango) {
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByRango", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
+			query.setParameter("desde", rango.desde());
+			query.setParameter("hasta", rango.hasta());
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por rango de fechas.", e);
-		}
+		}, "Error al buscar devoluciones por rango de fechas.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByMotivo(String motivo) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.motivo LIKE :motivo";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByMotivo", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("motivo", "%" + motivo + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por motivo.", e);
-		}
+		}, "Error al buscar devoluciones por motivo.");
 	}
 
 	@Override
 	public List<DevolucionProveedor> findByTotalBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM DevolucionProveedor d WHERE d.total BETWEEN :min AND :max";
-			Query<DevolucionProveedor> query = session.createQuery(hql, DevolucionProveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, "DevolucionProveedor.findByTotalBetween", DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
+			query.setParameter("estadoDetalle", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar devoluciones por importe total.", e);
-		}
+		}, "Error al buscar devoluciones por importe total.");
+	}
+
+	@Override
+	public List<DevolucionProveedor> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "DevolucionProveedor.findPage" : "DevolucionProveedor.findPageAfter";
+			Query<DevolucionProveedor> query = FetchPlans.createNamedQuery(session, nombre, DevolucionProveedor.class, DevolucionProveedor.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de devoluciones a proveedor.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("DevolucionProveedor.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar devoluciones a proveedor.");
 	}
 }
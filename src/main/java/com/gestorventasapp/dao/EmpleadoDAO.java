@@ -42,5 +42,12 @@ public interface EmpleadoDAO {
 
 	boolean existsEmail(String email); // Validar existencia de email
 
+	List<String> findAllUniqueKeys(); // DNI de todos los empleados (carga del índice de unicidad)
+
 	List<Empleado> findByTelefono(String telefono); // Buscar empleados por teléfono
+
+	List<Empleado> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
@@ -3,9 +3,7 @@ package com.gestorventasapp.dao;
 import com.gestorventasapp.model.Empleado;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
@@ -17,212 +15,177 @@ public class EmpleadoDAOImpl implements EmpleadoDAO {
 
 	@Override
 	public void save(Empleado empleado) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(empleado);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el empleado.", e);
-		}
+		}, "Error al guardar el empleado.");
 	}
 
 	@Override
 	public void update(Empleado empleado) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(empleado);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el empleado.", e);
-		}
+		}, "Error al actualizar el empleado.");
 	}
 
 	@Override
 	public void delete(int idEmpleado) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Empleado empleado = session.find(Empleado.class, idEmpleado);
 			if (empleado != null) {
 				empleado.setEstado(Estado.inactivo);
 				session.merge(empleado);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el empleado.", e);
-		}
+		}, "Error al dar de baja lógica el empleado.");
 	}
 
 	@Override
 	public Empleado findById(int idEmpleado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Empleado.class, idEmpleado);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el empleado por ID.", e);
-		}
+		return TransactionTemplate.query(session -> session.find(Empleado.class, idEmpleado),
+				"Error al buscar el empleado por ID.");
 	}
 
 	@Override
 	public Empleado findByDni(String dni) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.dni = :dni";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByDni", Empleado.class);
 			query.setParameter("dni", dni);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el empleado por DNI.", e);
-		}
+		}, "Error al buscar el empleado por DNI.");
 	}
 
 	@Override
 	public Empleado findByEmail(String email) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.email = :email";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByEmail", Empleado.class);
 			query.setParameter("email", email);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el empleado por email.", e);
-		}
+		}, "Error al buscar el empleado por email.");
 	}
 
 	@Override
 	public List<Empleado> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Empleado", Empleado.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los empleados.", e);
-		}
+		return TransactionTemplate.query(session -> session.createNamedQuery("Empleado.findAll", Empleado.class).getResultList(),
+				"Error al listar todos los empleados.");
 	}
 
 	@Override
 	public List<Empleado> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.estado = :estado";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByEstado", Empleado.class);
 			query.setParameter("estado", Estado.activo);
+			query.setCacheable(true);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar empleados activos.", e);
-		}
+		}, "Error al listar empleados activos.");
 	}
 
 	@Override
 	public List<Empleado> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.estado = :estado";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByEstado", Empleado.class);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar empleados inactivos.", e);
-		}
+		}, "Error al listar empleados inactivos.");
 	}
 
 	@Override
 	public List<Empleado> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.estado = :estado";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByEstado", Empleado.class);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar empleados por estado.", e);
-		}
+		}, "Error al listar empleados por estado.");
 	}
 
 	@Override
 	public List<Empleado> findByNombre(String nombre) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.nombre LIKE :nombre";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByNombre", Empleado.class);
 			query.setParameter("nombre", "%" + nombre + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar empleados por nombre.", e);
-		}
+		}, "Error al buscar empleados por nombre.");
 	}
 
 	@Override
 	public List<Empleado> findByApellido(String apellido) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.apellido1 LIKE :apellido OR e.apellido2 LIKE :apellido";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByApellido", Empleado.class);
 			query.setParameter("apellido", "%" + apellido + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar empleados por apellido.", e);
-		}
+		}, "Error al buscar empleados por apellido.");
 	}
 
 	@Override
 	public List<Empleado> findByLocalidad(String localidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.localidad LIKE :localidad";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByLocalidad", Empleado.class);
 			query.setParameter("localidad", "%" + localidad + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar empleados por localidad.", e);
-		}
+		}, "Error al buscar empleados por localidad.");
 	}
 
 	@Override
 	public List<Empleado> findByFechaAlta(LocalDate fechaInicio, LocalDate fechaFin) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.fechaAlta BETWEEN :inicio AND :fin";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByFechaAlta", Empleado.class);
 			Date inicio = Date.from(fechaInicio.atStartOfDay(ZoneId.systemDefault()).toInstant());
 			Date fin = Date.from(fechaFin.atStartOfDay(ZoneId.systemDefault()).toInstant());
 			query.setParameter("inicio", inicio);
 			query.setParameter("fin", fin);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar empleados por fecha de alta.", e);
-		}
+		}, "Error al buscar empleados por fecha de alta.");
 	}
 
 	@Override
 	public boolean existsDni(String dni) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(e) FROM Empleado e WHERE e.dni = :dni";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Empleado.existsDni", Long.class);
 			query.setParameter("dni", dni);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de DNI.", e);
-		}
+		}, "Error al comprobar existencia de DNI.");
 	}
 
 	@Override
 	public boolean existsEmail(String email) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(e) FROM Empleado e WHERE e.email = :email";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Empleado.existsEmail", Long.class);
 			query.setParameter("email", email);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de email.", e);
-		}
+		}, "Error al comprobar existencia de email.");
+	}
+
+	@Override
+	public List<String> findAllUniqueKeys() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Empleado.findClavesUnicas", String.class).getResultList();
+		}, "Error al leer los campos únicos de empleados.");
 	}
 
 	@Override
 	public List<Empleado> findByTelefono(String telefono) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Empleado e WHERE e.telefono = :telefono";
-			Query<Empleado> query = session.createQuery(hql, Empleado.class);
+		return TransactionTemplate.query(session -> {
+			Query<Empleado> query = session.createNamedQuery("Empleado.findByTelefono", Empleado.class);
 			query.setParameter("telefono", telefono);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar empleados por teléfono.", e);
-		}
+		}, "Error al buscar empleados por teléfono.");
+	}
+
+	@Override
+	public List<Empleado> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Empleado.findPage" : "Empleado.findPageAfter";
+			Query<Empleado> query = session.createNamedQuery(nombre, Empleado.class);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de empleados.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Empleado.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar empleados.");
 	}
 }
@@ -37,4 +37,8 @@ public interface IvaDAO {
 
 	boolean existsPorcentaje(BigDecimal porcentaje); // Validar si existe ese porcentaje
 
+	List<Iva> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
@@ -3,9 +3,7 @@ package com.gestorventasapp.dao;
 import com.gestorventasapp.model.Iva;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.math.BigDecimal;
@@ -15,174 +13,141 @@ public class IvaDAOImpl implements IvaDAO {
 
 	@Override
 	public void save(Iva iva) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(iva);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el IVA.", e);
-		}
+		}, "Error al guardar el IVA.");
 	}
 
 	@Override
 	public void update(Iva iva) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(iva);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el IVA.", e);
-		}
+		}, "Error al actualizar el IVA.");
 	}
 
 	@Override
 	public void delete(int idIva) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Iva iva = session.find(Iva.class, idIva);
 			if (iva != null) {
 				iva.setEstado(Estado.inactivo);
 				session.merge(iva);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el IVA.", e);
-		}
+		}, "Error al dar de baja lógica el IVA.");
 	}
 
 	@Override
 	public Iva findById(int idIva) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Iva.class, idIva);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el IVA por ID.", e);
-		}
+		return TransactionTemplate.query(session -> session.find(Iva.class, idIva),
+				"Error al buscar el IVA por ID.");
 	}
 
 	@Override
 	public Iva findByDescripcion(String descripcion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.descripcion = :desc";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByDescripcion", Iva.class);
 			query.setParameter("desc", descripcion);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar IVA por descripción.", e);
-		}
+		}, "Error al buscar IVA por descripción.");
 	}
 
 	@Override
 	public Iva findByPorcentaje(BigDecimal porcentaje) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.porcentaje = :porc";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByPorcentaje", Iva.class);
 			query.setParameter("porc", porcentaje);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar IVA por porcentaje.", e);
-		}
+		}, "Error al buscar IVA por porcentaje.");
 	}
 
 	@Override
 	public List<Iva> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Iva", Iva.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los IVAs.", e);
-		}
+		return TransactionTemplate.query(session -> session.createNamedQuery("Iva.findAll", Iva.class).getResultList(),
+				"Error al listar todos los IVAs.");
 	}
 
 	@Override
 	public List<Iva> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.estado = :estado";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByEstado", Iva.class);
 			query.setParameter("estado", Estado.activo);
+			query.setCacheable(true);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar IVAs activos.", e);
-		}
+		}, "Error al listar IVAs activos.");
 	}
 
 	@Override
 	public List<Iva> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.estado = :estado";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByEstado", Iva.class);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar IVAs inactivos.", e);
-		}
+		}, "Error al listar IVAs inactivos.");
 	}
 
 	@Override
 	public List<Iva> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.estado = :estado";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByEstado", Iva.class);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar IVAs por estado.", e);
-		}
+		}, "Error al listar IVAs por estado.");
 	}
 
 	@Override
 	public List<Iva> findByDescripcionLike(String descripcion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.descripcion LIKE :desc";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByDescripcionLike", Iva.class);
 			query.setParameter("desc", "%" + descripcion + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar IVAs por descripción similar.", e);
-		}
+		}, "Error al buscar IVAs por descripción similar.");
 	}
 
 	@Override
 	public List<Iva> findByPorcentajeRango(BigDecimal min, BigDecimal max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Iva i WHERE i.porcentaje BETWEEN :min AND :max";
-			Query<Iva> query = session.createQuery(hql, Iva.class);
+		return TransactionTemplate.query(session -> {
+			Query<Iva> query = session.createNamedQuery("Iva.findByPorcentajeRango", Iva.class);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar IVAs por rango de porcentaje.", e);
-		}
+		}, "Error al buscar IVAs por rango de porcentaje.");
 	}
 
 	@Override
 	public boolean existsDescripcion(String descripcion) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(i) FROM Iva i WHERE i.descripcion = :desc";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Iva.existsDescripcion", Long.class);
 			query.setParameter("desc", descripcion);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de descripción de IVA.", e);
-		}
+		}, "Error al comprobar existencia de descripción de IVA.");
 	}
 
 	@Override
 	public boolean existsPorcentaje(BigDecimal porcentaje) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(i) FROM Iva i WHERE i.porcentaje = :porc";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Iva.existsPorcentaje", Long.class);
 			query.setParameter("porc", porcentaje);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de porcentaje de IVA.", e);
-		}
+		}, "Error al comprobar existencia de porcentaje de IVA.");
+	}
+
+	@Override
+	public List<Iva> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Iva.findPage" : "Iva.findPageAfter";
+			Query<Iva> query = session.createNamedQuery(nombre, Iva.class);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de tipos de IVA.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Iva.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar tipos de IVA.");
 	}
 }
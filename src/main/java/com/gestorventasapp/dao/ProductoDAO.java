@@ -1,8 +1,15 @@
 package com.gestorventasapp.dao;
 
+import com.gestorventasapp.dto.ProductoConflicto;
+import com.gestorventasapp.dto.HuellaCatalogo;
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.dto.RevisionPrecios;
 import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.enums.Estado;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ProductoDAO {
 
@@ -14,8 +21,12 @@ public interface ProductoDAO {
 
 	Producto findById(int idProducto); // Buscar producto por ID
 
+	Producto findById(int idProducto, String grafo); // Buscar por ID con un plan de carga concreto (null = sin asociaciones)
+
 	List<Producto> findAll(); // Listar todos los productos (activos e inactivos)
 
+	List<Producto> findAll(String grafo); // Listar todos con un plan de carga concreto (null = sin asociaciones)
+
 	List<Producto> findAllActivos(); // Listar solo productos activos
 
 	List<Producto> findAllInactivos(); // Listar solo productos inactivos
@@ -41,10 +52,35 @@ public interface ProductoDAO {
 	boolean existsNombre(String nombre); // Validar existencia por nombre
 
 	boolean existsByMarcaAndFormatoAndProveedor(String marca, String formato, int idProveedor); // Validar combinación
+
+	List<ProductoConflicto> findConflictos(String nombre, int idProveedor, String marca, String formato); // Mismo nombre o misma combinación, en una consulta
+
+	void insertBatch(List<Producto> productos); // Alta masiva por lotes JDBC en una StatelessSession (todo o nada)
+
+	List<Producto> findByIds(Collection<Integer> ids); // Productos con proveedor e IVA, por lista de ids
+
+	HuellaCatalogo fingerprint(); // Número de productos y suma de versiones (detecta cambios sin leer filas)
+
+	PrevisionRevisionPrecios previewPriceRevision(RevisionPrecios revision); // Agregados antes/después sin modificar nada
+
+	int revisePrices(RevisionPrecios revision); // UPDATE masivo de precios de la selección; devuelve filas afectadas
 																								// única
 
 	List<Producto> findByPrecioVentaBetween(double min, double max); // Buscar productos por rango de precio de venta
 
 	List<Producto> findByPrecioCompraBetween(double min, double max); // Buscar productos por rango de precio de compra
 
+	Map<Integer, Integer> adjustStock(Map<Integer, Integer> ajustes); // Suma atómica de deltas (idProducto -> delta)
+																		// y devuelve el stock resultante
+
+	Map<Integer, Integer> decrementStockIfAvailable(Map<Integer, Integer> cantidades); // Resta solo si stock >= cantidad;
+																						// devuelve los que no tenían
+																						// stock suficiente
+
+	List<ProductoFila> findAllFilas(); // Listar filas de la tabla de productos (proyección)
+
+	List<Producto> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
@@ -1,266 +1,489 @@
 package com.gestorventasapp.dao;
 
+import com.gestorventasapp.dto.ProductoConflicto;
+import com.gestorventasapp.dto.HuellaCatalogo;
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.dto.RevisionPrecios;
 import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.PrecioRevisado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
+import com.gestorventasapp.util.TransactionTemplate;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Cache;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.query.CommonQueryContract;
 import org.hibernate.query.Query;
+import java.math.BigDecimal;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 
 public class ProductoDAOImpl implements ProductoDAO {
 
 	@Override
 	public void save(Producto producto) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(producto);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el producto.", e);
-		}
+		}, "Error al guardar el producto.");
 	}
 
 	@Override
 	public void update(Producto producto) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(producto);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el producto.", e);
-		}
+		}, "Error al actualizar el producto.");
 	}
 
 	@Override
 	public void delete(int idProducto) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Producto producto = session.find(Producto.class, idProducto);
 			if (producto != null) {
 				producto.setEstado(Estado.inactivo);
 				session.merge(producto);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el producto.", e);
-		}
+		}, "Error al dar de baja lógica el producto.");
 	}
 
 	@Override
 	public Producto findById(int idProducto) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Producto.class, idProducto);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el producto por ID.", e);
-		}
+		return findById(idProducto, Producto.GRAFO_LISTADO);
+	}
+
+	@Override
+	public Producto findById(int idProducto, String grafo) {
+		return TransactionTemplate.query(session -> FetchPlans.find(session, Producto.class, idProducto, grafo),
+				"Error al buscar el producto por ID.");
 	}
 
 	@Override
 	public List<Producto> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Producto", Producto.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los productos.", e);
-		}
+		return findAll(Producto.GRAFO_LISTADO);
+	}
+
+	@Override
+	public List<Producto> findAll(String grafo) {
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "Producto.findAll", Producto.class, grafo).getResultList(),
+				"Error al listar todos los productos.");
 	}
 
 	@Override
 	public List<Producto> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByEstado", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.activo);
+			query.setCacheable(true);
+			query.setCacheRegion(Producto.REGION_CONSULTAS);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar productos activos.", e);
-		}
+		}, "Error al listar productos activos.");
 	}
 
 	@Override
 	public List<Producto> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByEstado", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar productos inactivos.", e);
-		}
+		}, "Error al listar productos inactivos.");
 	}
 
 	@Override
 	public List<Producto> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByEstado", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar productos por estado.", e);
-		}
+		}, "Error al listar productos por estado.");
 	}
 
 	@Override
 	public List<Producto> findByNombre(String nombre) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.nombre LIKE :nombre";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByNombre", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("nombre", "%" + nombre + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por nombre.", e);
-		}
+		}, "Error al buscar productos por nombre.");
 	}
 
 	@Override
 	public List<Producto> findByTipoAnimal(String tipoAnimal) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.tipoAnimal = :tipoAnimal";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByTipoAnimal", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("tipoAnimal", tipoAnimal);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por tipo de animal.", e);
-		}
+		}, "Error al buscar productos por tipo de animal.");
 	}
 
 	@Override
 	public List<Producto> findByMarca(String marca) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.marca = :marca";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByMarca", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("marca", marca);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por marca.", e);
-		}
+		}, "Error al buscar productos por marca.");
 	}
 
 	@Override
 	public List<Producto> findByProveedor(int idProveedor) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.proveedor.idProveedor = :idProveedor";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByProveedor", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("idProveedor", idProveedor);
+			query.setCacheable(true);
+			query.setCacheRegion(Producto.REGION_CONSULTAS);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por proveedor.", e);
-		}
+		}, "Error al buscar productos por proveedor.");
 	}
 
 	@Override
 	public List<Producto> findByFormato(String formato) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.formato = :formato";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByFormato", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("formato", formato);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por formato.", e);
-		}
+		}, "Error al buscar productos por formato.");
 	}
 
 	@Override
 	public List<Producto> findByStockMinimo() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.stock <= p.stockMinimo AND p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByStockMinimo", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos con stock mínimo.", e);
-		}
+		}, "Error al buscar productos con stock mínimo.");
 	}
 
 	@Override
 	public List<Producto> findByStockMenorQue(int cantidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.stock < :cantidad AND p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByStockMenorQue", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("cantidad", cantidad);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos con stock menor que " + cantidad + ".", e);
-		}
+		}, "Error al buscar productos con stock menor que " + cantidad + ".");
 	}
 
 	@Override
 	public List<Producto> findByStockMayorQue(int cantidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.stock > :cantidad AND p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByStockMayorQue", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("cantidad", cantidad);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos con stock mayor que " + cantidad + ".", e);
-		}
+		}, "Error al buscar productos con stock mayor que " + cantidad + ".");
 	}
 
 	@Override
 	public boolean existsNombre(String nombre) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(p) FROM Producto p WHERE p.nombre = :nombre";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Producto.existsNombre", Long.class);
 			query.setParameter("nombre", nombre);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de producto por nombre.", e);
-		}
+		}, "Error al comprobar existencia de producto por nombre.");
 	}
 
 	@Override
 	public boolean existsByMarcaAndFormatoAndProveedor(String marca, String formato, int idProveedor) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(p) FROM Producto p WHERE p.marca = :marca AND p.formato = :formato AND p.proveedor.idProveedor = :idProveedor";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Producto.existsByMarcaAndFormatoAndProveedor", Long.class);
 			query.setParameter("marca", marca);
 			query.setParameter("formato", formato);
 			query.setParameter("idProveedor", idProveedor);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de producto por combinación.", e);
-		}
+		}, "Error al comprobar existencia de producto por combinación.");
+	}
+
+	/**
+	 * Todas las reglas de unicidad de producto en una sola consulta: cada rama
+	 * del OR usa su índice (nombre, y proveedor+marca+formato). La intercalación
+	 * de MySQL no distingue mayúsculas, igual que la validación del servicio.
+	 */
+	@Override
+	public List<ProductoConflicto> findConflictos(String nombre, int idProveedor, String marca, String formato) {
+		return TransactionTemplate.query(session -> {
+			Query<ProductoConflicto> query = session.createNamedQuery("Producto.findConflictos",
+					ProductoConflicto.class);
+			query.setParameter("nombre", nombre);
+			query.setParameter("idProveedor", idProveedor);
+			query.setParameter("marca", marca);
+			query.setParameter("formato", formato);
+			return query.getResultList();
+		}, "Error al comprobar duplicados de producto.");
+	}
+
+	@Override
+	public List<Producto> findByIds(Collection<Integer> ids) {
+		if (ids == null || ids.isEmpty())
+			return List.of();
+		return TransactionTemplate.query(session -> FetchPlans
+				.createNamedQuery(session, "Producto.findByIds", Producto.class, Producto.GRAFO_LISTADO)
+				.setParameter("ids", ids).getResultList(), "Error al buscar productos por id.");
+	}
+
+	/**
+	 * Sin caché de consultas a propósito: la huella sirve para detectar cambios
+	 * hechos desde otros terminales.
+	 */
+	@Override
+	public HuellaCatalogo fingerprint() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Producto.huellaCatalogo", HuellaCatalogo.class).getSingleResult(),
+				"Error al comprobar la versión del catálogo de productos.");
+	}
+
+	@Override
+	public PrevisionRevisionPrecios previewPriceRevision(RevisionPrecios revision) {
+		return TransactionTemplate.query(session -> parametrosRevision(
+				session.createNamedQuery("Producto.previewRevisionPrecios", PrevisionRevisionPrecios.class), revision)
+				.getSingleResult(), "Error al calcular la vista previa de la revisión de precios.");
+	}
+
+	/**
+	 * Un único UPDATE sobre toda la selección. Al ser HQL, Hibernate invalida
+	 * por sí mismo la caché de entidades y de consultas de productos.
+	 */
+	@Override
+	public int revisePrices(RevisionPrecios revision) {
+		return TransactionTemplate.call(
+				session -> parametrosRevision(session.createNamedMutationQuery("Producto.revisarPrecios"), revision)
+						.executeUpdate(),
+				"Error al aplicar la revisión de precios.");
+	}
+
+	private static <Q extends CommonQueryContract> Q parametrosRevision(Q query, RevisionPrecios revision) {
+		BigDecimal factor = revision.factor();
+		BigDecimal suma = revision.suma();
+		boolean directaEnVenta = revision.precio() != PrecioRevisado.COMPRA;
+		query.setParameter("factorCompra", revision.cambiaCompra() ? factor : BigDecimal.ONE);
+		query.setParameter("sumaCompra", revision.cambiaCompra() ? suma : BigDecimal.ZERO);
+		query.setParameter("factorVenta", directaEnVenta ? factor : BigDecimal.ONE);
+		query.setParameter("sumaVenta", directaEnVenta ? suma : BigDecimal.ZERO);
+		query.setParameter("mantenerMargen", revision.mantenerMargen());
+		query.setParameter("idProveedor", revision.idProveedor());
+		query.setParameter("marca", vacioANulo(revision.marca()));
+		query.setParameter("tipoAnimal", revision.tipoAnimal());
+		query.setParameter("formato", vacioANulo(revision.formato()));
+		return query;
+	}
+
+	private static String vacioANulo(String texto) {
+		return texto == null || texto.isBlank() ? null : texto.trim();
+	}
+
+	/**
+	 * Inserta los productos en una StatelessSession: sin contexto de
+	 * persistencia, con ids por bloques y lotes JDBC (hibernate.jdbc.batch_size).
+	 * Si una fila falla se deshace todo el lote. Los listados cacheados se
+	 * vacían porque la StatelessSession no pasa por la caché.
+	 */
+	@Override
+	public void insertBatch(List<Producto> productos) {
+		if (productos == null || productos.isEmpty())
+			return;
+		TransactionTemplate.callStateless(session -> {
+			for (Producto producto : productos) {
+				session.insert(producto);
+			}
+			return null;
+		}, "Error al insertar el lote de productos.");
+		HibernateUtil.getSessionFactory().getCache().evictQueryRegion(Producto.REGION_CONSULTAS);
 	}
 
 	@Override
 	public List<Producto> findByPrecioVentaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.precioVenta BETWEEN :min AND :max AND p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByPrecioVentaBetween", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por rango de precio de venta.", e);
-		}
+		}, "Error al buscar productos por rango de precio de venta.");
 	}
 
 	@Override
 	public List<Producto> findByPrecioCompraBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Producto p WHERE p.precioCompra BETWEEN :min AND :max AND p.estado = :estado";
-			Query<Producto> query = session.createQuery(hql, Producto.class);
+		return TransactionTemplate.query(session -> {
+			Query<Producto> query = FetchPlans.createNamedQuery(session, "Producto.findByPrecioCompraBetween", Producto.class, Producto.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar productos por rango de precio de compra.", e);
-		}
+		}, "Error al buscar productos por rango de precio de compra.");
+	}
+
+	/**
+	 * Aplica en base de datos un lote de ajustes de stock como incrementos
+	 * atómicos ({@code stock = stock + ?}), sin leer ni reescribir la fila
+	 * completa. Un delta positivo reactiva el producto. Las filas se actualizan
+	 * en orden de id para que dos terminales concurrentes no se bloqueen
+	 * mutuamente.
+	 *
+	 * Al ser SQL nativo, las instancias de Producto ya cargadas en la Session no
+	 * reflejan el nuevo stock; la caché de segundo nivel sí se invalida.
+	 *
+	 * @param ajustes Mapa idProducto -> delta (positivo suma, negativo resta).
+	 * @return Mapa idProducto -> stock resultante (solo productos existentes).
+	 */
+	@Override
+	public Map<Integer, Integer> adjustStock(Map<Integer, Integer> ajustes) {
+		if (ajustes == null || ajustes.isEmpty())
+			return new HashMap<>();
+		Map<Integer, Integer> ordenados = new TreeMap<>(ajustes);
+		return TransactionTemplate.call(session -> {
+			session.flush(); // Cambios pendientes de la unidad de trabajo antes del SQL nativo
+			invalidarCache(session, ordenados.keySet());
+			return session.doReturningWork(connection -> {
+				String sql = "UPDATE productos SET stock = stock + ?, version = version + 1, "
+						+ "estado = CASE WHEN ? > 0 THEN 'activo' ELSE estado END WHERE id_producto = ?";
+				try (PreparedStatement ps = connection.prepareStatement(sql)) {
+					for (Map.Entry<Integer, Integer> ajuste : ordenados.entrySet()) {
+						ps.setInt(1, ajuste.getValue());
+						ps.setInt(2, ajuste.getValue());
+						ps.setInt(3, ajuste.getKey());
+						ps.addBatch();
+					}
+					ps.executeBatch();
+				}
+
+				StringJoiner ids = new StringJoiner(",", "(", ")");
+				ordenados.keySet().forEach(id -> ids.add("?"));
+				Map<Integer, Integer> resultado = new HashMap<>();
+				try (PreparedStatement ps = connection
+						.prepareStatement("SELECT id_producto, stock FROM productos WHERE id_producto IN " + ids)) {
+					int i = 1;
+					for (Integer id : ordenados.keySet()) {
+						ps.setInt(i++, id);
+					}
+					try (ResultSet rs = ps.executeQuery()) {
+						while (rs.next()) {
+							resultado.put(rs.getInt(1), rs.getInt(2));
+						}
+					}
+				}
+				return resultado;
+			});
+		}, "Error al ajustar el stock de los productos.");
+	}
+
+	/**
+	 * Descuenta stock con una actualización condicional por producto
+	 * ({@code stock = stock - ? WHERE stock >= ?}), enviada como un único lote.
+	 * No se mantienen bloqueos entre la lectura y la escritura: si otro terminal
+	 * ha vendido antes, la fila simplemente no cumple la condición.
+	 *
+	 * Debe ejecutarse dentro de la unidad de trabajo de la venta para que un
+	 * fallo deshaga también los descuentos que sí se aplicaron.
+	 *
+	 * @param cantidades Mapa idProducto -> unidades a descontar (positivas).
+	 * @return Mapa idProducto -> stock actual de los productos que no tenían
+	 *         stock suficiente (vacío si todo se descontó). Un producto
+	 *         inexistente aparece con stock 0.
+	 */
+	@Override
+	public Map<Integer, Integer> decrementStockIfAvailable(Map<Integer, Integer> cantidades) {
+		if (cantidades == null || cantidades.isEmpty())
+			return new HashMap<>();
+		Map<Integer, Integer> ordenados = new TreeMap<>(cantidades);
+		return TransactionTemplate.call(session -> {
+			session.flush();
+			invalidarCache(session, ordenados.keySet());
+			return session.doReturningWork(connection -> {
+				Map<Integer, Integer> sinStock = new TreeMap<>();
+				String sql = "UPDATE productos SET stock = stock - ?, version = version + 1 "
+						+ "WHERE id_producto = ? AND stock >= ?";
+				try (PreparedStatement ps = connection.prepareStatement(sql)) {
+					for (Map.Entry<Integer, Integer> linea : ordenados.entrySet()) {
+						ps.setInt(1, linea.getValue());
+						ps.setInt(2, linea.getKey());
+						ps.setInt(3, linea.getValue());
+						ps.addBatch();
+					}
+					int[] filas = ps.executeBatch();
+					int i = 0;
+					for (Integer idProducto : ordenados.keySet()) {
+						if (filas[i++] == 0)
+							sinStock.put(idProducto, 0);
+					}
+				}
+				if (sinStock.isEmpty())
+					return sinStock;
+
+				StringJoiner ids = new StringJoiner(",", "(", ")");
+				sinStock.keySet().forEach(id -> ids.add("?"));
+				try (PreparedStatement ps = connection
+						.prepareStatement("SELECT id_producto, stock FROM productos WHERE id_producto IN " + ids)) {
+					int i = 1;
+					for (Integer id : sinStock.keySet()) {
+						ps.setInt(i++, id);
+					}
+					try (ResultSet rs = ps.executeQuery()) {
+						while (rs.next()) {
+							sinStock.put(rs.getInt(1), rs.getInt(2));
+						}
+					}
+				}
+				return sinStock;
+			});
+		}, "Error al descontar el stock de los productos.");
+	}
+
+	/**
+	 * Hibernate no ve las actualizaciones nativas de stock, así que se expulsan a
+	 * mano de la caché de segundo nivel los productos afectados y los listados
+	 * cacheados. Se repite al terminar la transacción para que ninguna lectura
+	 * concurrente deje en caché el stock anterior al commit.
+	 */
+	private static void invalidarCache(Session session, Collection<Integer> idsProducto) {
+		Cache cache = session.getSessionFactory().getCache();
+		Runnable expulsar = () -> {
+			idsProducto.forEach(id -> cache.evictEntityData(Producto.class, id));
+			cache.evictQueryRegion(Producto.REGION_CONSULTAS);
+		};
+		expulsar.run();
+		session.getTransaction().registerSynchronization(new Synchronization() {
+			@Override
+			public void beforeCompletion() {
+			}
+
+			@Override
+			public void afterCompletion(int estado) {
+				expulsar.run();
+			}
+		});
+	}
+
+	@Override
+	public List<ProductoFila> findAllFilas() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Producto.findAllFilas", ProductoFila.class).getResultList();
+		}, "Error al listar las filas de productos.");
+	}
+
+	@Override
+	public List<Producto> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Producto.findPage" : "Producto.findPageAfter";
+			Query<Producto> query = FetchPlans.createNamedQuery(session, nombre, Producto.class, Producto.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de productos.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Producto.count", Long.class).setCacheable(true)
+						.setCacheRegion(Producto.REGION_CONSULTAS).uniqueResult(),
+				"Error al contar productos.");
 	}
 }
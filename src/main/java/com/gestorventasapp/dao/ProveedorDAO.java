@@ -1,5 +1,6 @@
 package com.gestorventasapp.dao;
 
+import com.gestorventasapp.dto.ProveedorFila;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.enums.Estado;
 import java.time.LocalDate;
@@ -42,5 +43,14 @@ public interface ProveedorDAO {
 
 	boolean existsEmail(String email); // Validar existencia de email
 
+	List<String> findAllUniqueKeys(); // CIF/NIF de todos los proveedores (carga del índice de unicidad)
+
 	List<Proveedor> findByTelefono(String telefono); // Buscar por teléfono
+
+	List<ProveedorFila> findAllFilas(); // Listar filas de la tabla de proveedores (proyección)
+
+	List<Proveedor> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
+
 }
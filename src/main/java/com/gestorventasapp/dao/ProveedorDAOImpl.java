@@ -1,11 +1,10 @@
 package com.gestorventasapp.dao;
 
+import com.gestorventasapp.dto.ProveedorFila;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
@@ -17,212 +16,184 @@ public class ProveedorDAOImpl implements ProveedorDAO {
 
 	@Override
 	public void save(Proveedor proveedor) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(proveedor);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el proveedor.", e);
-		}
+		}, "Error al guardar el proveedor.");
 	}
 
 	@Override
 	public void update(Proveedor proveedor) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(proveedor);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el proveedor.", e);
-		}
+		}, "Error al actualizar el proveedor.");
 	}
 
 	@Override
 	public void delete(int idProveedor) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Proveedor proveedor = session.find(Proveedor.class, idProveedor);
 			if (proveedor != null) {
 				proveedor.setEstado(Estado.inactivo);
 				session.merge(proveedor);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el proveedor.", e);
-		}
+		}, "Error al dar de baja lógica el proveedor.");
 	}
 
 	@Override
 	public Proveedor findById(int idProveedor) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Proveedor.class, idProveedor);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el proveedor por ID.", e);
-		}
+		return TransactionTemplate.query(session -> session.find(Proveedor.class, idProveedor),
+				"Error al buscar el proveedor por ID.");
 	}
 
 	@Override
 	public Proveedor findByCifNif(String cifNif) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.cifNif = :cifNif";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByCifNif", Proveedor.class);
 			query.setParameter("cifNif", cifNif);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el proveedor por CIF/NIF.", e);
-		}
+		}, "Error al buscar el proveedor por CIF/NIF.");
 	}
 
 	@Override
 	public Proveedor findByEmail(String email) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.email = :email";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByEmail", Proveedor.class);
 			query.setParameter("email", email);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el proveedor por email.", e);
-		}
+		}, "Error al buscar el proveedor por email.");
 	}
 
 	@Override
 	public List<Proveedor> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Proveedor", Proveedor.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los proveedores.", e);
-		}
+		return TransactionTemplate.query(session -> session.createNamedQuery("Proveedor.findAll", Proveedor.class).getResultList(),
+				"Error al listar todos los proveedores.");
 	}
 
 	@Override
 	public List<Proveedor> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.estado = :estado";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByEstado", Proveedor.class);
 			query.setParameter("estado", Estado.activo);
+			query.setCacheable(true);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar proveedores activos.", e);
-		}
+		}, "Error al listar proveedores activos.");
 	}
 
 	@Override
 	public List<Proveedor> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.estado = :estado";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByEstado", Proveedor.class);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar proveedores inactivos.", e);
-		}
+		}, "Error al listar proveedores inactivos.");
 	}
 
 	@Override
 	public List<Proveedor> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.estado = :estado";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByEstado", Proveedor.class);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar proveedores por estado.", e);
-		}
+		}, "Error al listar proveedores por estado.");
 	}
 
 	@Override
 	public List<Proveedor> findByRazonSocial(String razonSocial) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.razonSocial LIKE :razonSocial";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByRazonSocial", Proveedor.class);
 			query.setParameter("razonSocial", "%" + razonSocial + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar proveedores por razón social.", e);
-		}
+		}, "Error al buscar proveedores por razón social.");
 	}
 
 	@Override
 	public List<Proveedor> findByFormaJuridica(String formaJuridica) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.formaJuridica = :formaJuridica";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByFormaJuridica", Proveedor.class);
 			query.setParameter("formaJuridica", formaJuridica);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar proveedores por forma jurídica.", e);
-		}
+		}, "Error al buscar proveedores por forma jurídica.");
 	}
 
 	@Override
 	public List<Proveedor> findByLocalidad(String localidad) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.localidad LIKE :localidad";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByLocalidad", Proveedor.class);
 			query.setParameter("localidad", "%" + localidad + "%");
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar proveedores por localidad.", e);
-		}
+		}, "Error al buscar proveedores por localidad.");
 	}
 
 	@Override
 	public List<Proveedor> findByFechaAlta(LocalDate fechaInicio, LocalDate fechaFin) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.fechaAlta BETWEEN :inicio AND :fin";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByFechaAlta", Proveedor.class);
 			Date inicio = Date.from(fechaInicio.atStartOfDay(ZoneId.systemDefault()).toInstant());
 			Date fin = Date.from(fechaFin.atStartOfDay(ZoneId.systemDefault()).toInstant());
 			query.setParameter("inicio", inicio);
 			query.setParameter("fin", fin);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar proveedores por fecha de alta.", e);
-		}
+		}, "Error al buscar proveedores por fecha de alta.");
 	}
 
 	@Override
 	public boolean existsCifNif(String cifNif) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(p) FROM Proveedor p WHERE p.cifNif = :cifNif";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Proveedor.existsCifNif", Long.class);
 			query.setParameter("cifNif", cifNif);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de CIF/NIF.", e);
-		}
+		}, "Error al comprobar existencia de CIF/NIF.");
 	}
 
 	@Override
 	public boolean existsEmail(String email) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(p) FROM Proveedor p WHERE p.email = :email";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Proveedor.existsEmail", Long.class);
 			query.setParameter("email", email);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de email.", e);
-		}
+		}, "Error al comprobar existencia de email.");
+	}
+
+	@Override
+	public List<String> findAllUniqueKeys() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Proveedor.findClavesUnicas", String.class).getResultList();
+		}, "Error al leer los campos únicos de proveedores.");
 	}
 
 	@Override
 	public List<Proveedor> findByTelefono(String telefono) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Proveedor p WHERE p.telefono = :telefono";
-			Query<Proveedor> query = session.createQuery(hql, Proveedor.class);
+		return TransactionTemplate.query(session -> {
+			Query<Proveedor> query = session.createNamedQuery("Proveedor.findByTelefono", Proveedor.class);
 			query.setParameter("telefono", telefono);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar proveedores por teléfono.", e);
-		}
+		}, "Error al buscar proveedores por teléfono.");
+	}
+
+	@Override
+	public List<ProveedorFila> findAllFilas() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Proveedor.findAllFilas", ProveedorFila.class).getResultList();
+		}, "Error al listar las filas de proveedores.");
+	}
+
+	@Override
+	public List<Proveedor> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Proveedor.findPage" : "Proveedor.findPageAfter";
+			Query<Proveedor> query = session.createNamedQuery(nombre, Proveedor.class);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de proveedores.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Proveedor.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar proveedores.");
 	}
 }
@@ -32,6 +32,12 @@ public interface UsuarioDAO {
 
 	boolean existsIdEmpleado(int idEmpleado); // Validar existencia de usuario para un empleado
 
-	boolean checkLogin(String nombreUsuario, String contrasena); // Validar login 
+	Usuario findParaLogin(String nombreUsuario); // Usuario con su empleado en una consulta (índice único de nombre_usuario)
+
+	void updateContrasena(int idUsuario, String hashContrasena); // Guardar un hash recalculado
+
+	List<Usuario> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
 
 }
@@ -3,9 +3,7 @@ package com.gestorventasapp.dao;
 import com.gestorventasapp.model.Usuario;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.util.List;
@@ -14,176 +12,152 @@ public class UsuarioDAOImpl implements UsuarioDAO {
 
 	@Override
 	public void save(Usuario usuario) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(usuario);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar el usuario.", e);
-		}
+		}, "Error al guardar el usuario.");
 	}
 
 	@Override
 	public void update(Usuario usuario) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(usuario);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar el usuario.", e);
-		}
+		}, "Error al actualizar el usuario.");
 	}
 
 	@Override
 	public void delete(int idUsuario) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Usuario usuario = session.find(Usuario.class, idUsuario);
 			if (usuario != null) {
 				usuario.setEstado(Estado.inactivo);
 				session.merge(usuario);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica el usuario.", e);
-		}
+		}, "Error al dar de baja lógica el usuario.");
 	}
 
 	@Override
 	public Usuario findById(int idUsuario) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Usuario.class, idUsuario);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el usuario por ID.", e);
-		}
+		return TransactionTemplate.query(session -> session.find(Usuario.class, idUsuario),
+				"Error al buscar el usuario por ID.");
 	}
 
 	@Override
 	public Usuario findByNombreUsuario(String nombreUsuario) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.nombreUsuario = :nombreUsuario";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findByNombreUsuario", Usuario.class);
 			query.setParameter("nombreUsuario", nombreUsuario);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el usuario por nombre de usuario.", e);
-		}
+		}, "Error al buscar el usuario por nombre de usuario.");
 	}
 
 	@Override
 	public Usuario findByIdEmpleado(int idEmpleado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.idEmpleado = :idEmpleado";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findByIdEmpleado", Usuario.class);
 			query.setParameter("idEmpleado", idEmpleado);
 			return query.uniqueResult();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar el usuario por ID de empleado.", e);
-		}
+		}, "Error al buscar el usuario por ID de empleado.");
 	}
 
 	@Override
 	public List<Usuario> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Usuario", Usuario.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todos los usuarios.", e);
-		}
+		return TransactionTemplate.query(session -> session.createNamedQuery("Usuario.findAll", Usuario.class).getResultList(),
+				"Error al listar todos los usuarios.");
 	}
 
 	@Override
 	public List<Usuario> findAllActivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.estado = :estado";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findByEstado", Usuario.class);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar usuarios activos.", e);
-		}
+		}, "Error al listar usuarios activos.");
 	}
 
 	@Override
 	public List<Usuario> findAllInactivos() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.estado = :estado";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findByEstado", Usuario.class);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar usuarios inactivos.", e);
-		}
+		}, "Error al listar usuarios inactivos.");
 	}
 
 	@Override
 	public List<Usuario> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.estado = :estado";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findByEstado", Usuario.class);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar usuarios por estado.", e);
-		}
+		}, "Error al listar usuarios por estado.");
 	}
 
 	@Override
 	public List<Usuario> findByTipo(String tipo) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.tipo = :tipo";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findByTipo", Usuario.class);
 			query.setParameter("tipo", tipo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar usuarios por tipo.", e);
-		}
+		}, "Error al buscar usuarios por tipo.");
 	}
 
 	@Override
 	public boolean existsNombreUsuario(String nombreUsuario) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(u) FROM Usuario u WHERE u.nombreUsuario = :nombreUsuario";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Usuario.existsNombreUsuario", Long.class);
 			query.setParameter("nombreUsuario", nombreUsuario);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de nombre de usuario.", e);
-		}
+		}, "Error al comprobar existencia de nombre de usuario.");
 	}
 
 	@Override
 	public boolean existsIdEmpleado(int idEmpleado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "SELECT count(u) FROM Usuario u WHERE u.idEmpleado = :idEmpleado";
-			Query<Long> query = session.createQuery(hql, Long.class);
+		return TransactionTemplate.query(session -> {
+			Query<Long> query = session.createNamedQuery("Usuario.existsIdEmpleado", Long.class);
 			query.setParameter("idEmpleado", idEmpleado);
 			return query.uniqueResult() > 0;
-		} catch (Exception e) {
-			throw new DAOException("Error al comprobar existencia de usuario para el empleado.", e);
-		}
+		}, "Error al comprobar existencia de usuario para el empleado.");
 	}
 
+	/**
+	 * Login en un solo viaje: búsqueda por el índice único de nombre_usuario
+	 * con el empleado traído en la misma SELECT. La contraseña no se compara en
+	 * la consulta: se verifica el hash en el servicio.
+	 */
 	@Override
-	public boolean checkLogin(String nombreUsuario, String contrasena) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Usuario u WHERE u.nombreUsuario = :nombreUsuario AND u.contrasena = :contrasena AND u.estado = :estado";
-			Query<Usuario> query = session.createQuery(hql, Usuario.class);
+	public Usuario findParaLogin(String nombreUsuario) {
+		return TransactionTemplate.query(session -> {
+			Query<Usuario> query = session.createNamedQuery("Usuario.findParaLogin", Usuario.class);
 			query.setParameter("nombreUsuario", nombreUsuario);
-			query.setParameter("contrasena", contrasena); // Ojo: Solo válido si guardas el hash, nunca la contraseña en
-															// claro
-			query.setParameter("estado", Estado.activo);
-			return query.uniqueResult() != null;
-		} catch (Exception e) {
-			throw new DAOException("Error al validar login del usuario.", e);
-		}
+			return query.uniqueResult();
+		}, "Error al validar login del usuario.");
+	}
+
+	@Override
+	public void updateContrasena(int idUsuario, String hashContrasena) {
+		TransactionTemplate.execute(session -> {
+			session.createNamedMutationQuery("Usuario.updateContrasena").setParameter("contrasena", hashContrasena)
+					.setParameter("idUsuario", idUsuario).executeUpdate();
+		}, "Error al actualizar la contraseña del usuario.");
+	}
+
+	@Override
+	public List<Usuario> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Usuario.findPage" : "Usuario.findPageAfter";
+			Query<Usuario> query = session.createNamedQuery(nombre, Usuario.class);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de usuarios.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Usuario.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar usuarios.");
 	}
 }
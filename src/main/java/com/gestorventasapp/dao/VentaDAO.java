@@ -1,9 +1,12 @@
 package com.gestorventasapp.dao;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.VentaFila;
 import com.gestorventasapp.model.DetalleVenta;
 import com.gestorventasapp.model.Venta;
 import com.gestorventasapp.enums.Estado;
 import java.time.LocalDate;
+import com.gestorventasapp.util.RangoFechas;
 import java.util.List;
 
 public interface VentaDAO {
@@ -16,8 +19,12 @@ public interface VentaDAO {
 
 	Venta findById(int idVenta); // Buscar venta por ID
 
+	Venta findById(int idVenta, String grafo); // Buscar por ID con un plan de carga concreto (null = sin asociaciones)
+
 	List<Venta> findAll(); // Listar todas las ventas (activas e inactivas)
 
+	List<Venta> findAll(String grafo); // Listar todas con un plan de carga concreto (null = sin asociaciones)
+
 	List<Venta> findAllActivas(); // Listar solo ventas activas
 
 	List<Venta> findAllInactivas(); // Listar solo ventas inactivas
@@ -32,12 +39,21 @@ public interface VentaDAO {
 
 	List<Venta> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin); // Buscar ventas en rango de fechas
 
+	List<Venta> findByRango(RangoFechas rango); // Buscar en el intervalo [desde, hasta) sobre el índice de fecha
+
 	List<Venta> findByTotalSinIvaBetween(double min, double max); // Buscar ventas por total sin IVA
 
 	List<Venta> findByTotalConIvaBetween(double min, double max); // Buscar ventas por total con IVA
 
 	void saveWithDetails(Venta venta, List<DetalleVenta> detallesVenta); // Guarda una venta junto con todos sus detalles en una sola transacción.
 
+	List<VentaFila> findAllFilas(); // Listar filas de la tabla de ventas (proyección)
+
+	List<Venta> findPage(Integer ultimoId, int limite); // Página por clave: id > ultimoId (null = primera página)
+
+	long count(); // Total de registros (consulta independiente de la paginación)
 
+	List<Venta> findPageByFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite); // Página por (fecha, id) descendente
+	List<VentaFila> findFilasPage(LocalDateTime ultimaFecha, Integer ultimoId, int limite); // Página de filas por (fecha, id) descendente
 
 }
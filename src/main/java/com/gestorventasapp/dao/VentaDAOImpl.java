@@ -1,218 +1,224 @@
 package com.gestorventasapp.dao;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.VentaFila;
 import com.gestorventasapp.model.DetalleVenta;
 import com.gestorventasapp.model.Venta;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.FetchPlans;
 import com.gestorventasapp.util.HibernateUtil;
-import com.gestorventasapp.exceptions.DAOException;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.gestorventasapp.util.RangoFechas;
+import com.gestorventasapp.util.TransactionTemplate;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 
 public class VentaDAOImpl implements VentaDAO {
 
 	@Override
 	public void save(Venta venta) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.persist(venta);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar la venta.", e);
-		}
+		}, "Error al guardar la venta.");
 	}
 
 	@Override
 	public void update(Venta venta) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			session.merge(venta);
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al actualizar la venta.", e);
-		}
+		}, "Error al actualizar la venta.");
 	}
 
 	@Override
 	public void delete(int idVenta) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
+		TransactionTemplate.execute(session -> {
 			Venta venta = session.find(Venta.class, idVenta);
 			if (venta != null) {
 				venta.setEstado(Estado.inactivo);
 				session.merge(venta);
 			}
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al dar de baja lógica la venta.", e);
-		}
+		}, "Error al dar de baja lógica la venta.");
 	}
 
 	@Override
 	public Venta findById(int idVenta) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.find(Venta.class, idVenta);
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar la venta por ID.", e);
-		}
+		return findById(idVenta, Venta.GRAFO_LISTADO);
+	}
+
+	@Override
+	public Venta findById(int idVenta, String grafo) {
+		return TransactionTemplate.query(session -> FetchPlans.find(session, Venta.class, idVenta, grafo),
+				"Error al buscar la venta por ID.");
 	}
 
 	@Override
 	public List<Venta> findAll() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			return session.createQuery("FROM Venta", Venta.class).getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar todas las ventas.", e);
-		}
+		return findAll(Venta.GRAFO_LISTADO);
+	}
+
+	@Override
+	public List<Venta> findAll(String grafo) {
+		return TransactionTemplate.query(session -> FetchPlans.createNamedQuery(session, "Venta.findAll", Venta.class, grafo).getResultList(),
+				"Error al listar todas las ventas.");
 	}
 
 	@Override
 	public List<Venta> findAllActivas() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.estado = :estado";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByEstado", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.activo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar ventas activas.", e);
-		}
+		}, "Error al listar ventas activas.");
 	}
 
 	@Override
 	public List<Venta> findAllInactivas() {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.estado = :estado";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByEstado", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("estado", Estado.inactivo);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al listar ventas inactivas.", e);
-		}
+		}, "Error al listar ventas inactivas.");
 	}
 
 	@Override
 	public List<Venta> findByEstado(Estado estado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.estado = :estado";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByEstado", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("estado", estado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por estado.", e);
-		}
+		}, "Error al buscar ventas por estado.");
 	}
 
 	@Override
 	public List<Venta> findByCliente(int idCliente) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.idCliente = :idCliente";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByCliente", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("idCliente", idCliente);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por cliente.", e);
-		}
+		}, "Error al buscar ventas por cliente.");
 	}
 
 	@Override
 	public List<Venta> findByEmpleado(int idEmpleado) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.idEmpleado = :idEmpleado";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByEmpleado", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("idEmpleado", idEmpleado);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por empleado.", e);
-		}
+		}, "Error al buscar ventas por empleado.");
 	}
 
 	@Override
 	public List<Venta> findByFecha(LocalDate fecha) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE DATE(v.fecha) = :fecha";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
-			Date fechaSql = Date.from(fecha.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			query.setParameter("fecha", fechaSql);
-			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por fecha.", e);
-		}
+		return findByRango(RangoFechas.dia(fecha));
 	}
 
 	@Override
 	public List<Venta> findByFechaRango(LocalDate fechaInicio, LocalDate fechaFin) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.fecha BETWEEN :inicio AND :fin";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
-			Date inicio = Date.from(fechaInicio.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			Date fin = Date.from(fechaFin.atStartOfDay(ZoneId.systemDefault()).toInstant());
-			query.setParameter("inicio", inicio);
-			query.setParameter("fin", fin);
+		return findByRango(RangoFechas.dias(fechaInicio, fechaFin));
+	}
+
+	@Override
+	public List<Venta> findByRango(RangoFechas rango) {
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByRango", Venta.class, Venta.GRAFO_LISTADO);
+			query.setParameter("desde", rango.desde());
+			query.setParameter("hasta", rango.hasta());
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por rango de fechas.", e);
-		}
+		}, "Error al buscar ventas por rango de fechas.");
 	}
 
 	@Override
 	public List<Venta> findByTotalSinIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.totalSinIva BETWEEN :min AND :max";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByTotalSinIvaBetween", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por rango de total sin IVA.", e);
-		}
+		}, "Error al buscar ventas por rango de total sin IVA.");
 	}
 
 	@Override
 	public List<Venta> findByTotalConIvaBetween(double min, double max) {
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			String hql = "FROM Venta v WHERE v.totalConIva BETWEEN :min AND :max";
-			Query<Venta> query = session.createQuery(hql, Venta.class);
+		return TransactionTemplate.query(session -> {
+			Query<Venta> query = FetchPlans.createNamedQuery(session, "Venta.findByTotalConIvaBetween", Venta.class, Venta.GRAFO_LISTADO);
 			query.setParameter("min", min);
 			query.setParameter("max", max);
 			return query.getResultList();
-		} catch (Exception e) {
-			throw new DAOException("Error al buscar ventas por rango de total con IVA.", e);
-		}
+		}, "Error al buscar ventas por rango de total con IVA.");
 	}
 
 	@Override
 	public void saveWithDetails(Venta venta, List<DetalleVenta> detallesVenta) {
-		Transaction transaction = null;
-		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-			transaction = session.beginTransaction();
-			session.persist(venta); // Guarda la venta y obtiene el id generado
-			session.flush(); // Asegura que el id se genere
+		TransactionTemplate.execute(session -> {
+			// El id sale del bloque reservado en memoria: las inserciones se envían por lotes al commit
+			session.persist(venta);
 
 			for (DetalleVenta detalle : detallesVenta) {
 				detalle.setVenta(venta); // Asigna la venta (id_venta FK)
 				session.persist(detalle);
 			}
 
-			transaction.commit();
-		} catch (Exception e) {
-			if (transaction != null)
-				transaction.rollback();
-			throw new DAOException("Error al guardar venta con detalles", e);
-		}
+		}, "Error al guardar venta con detalles");
+	}
+
+	@Override
+	public List<VentaFila> findAllFilas() {
+		return TransactionTemplate.query(session -> {
+			return session.createNamedQuery("Venta.findAllFilas", VentaFila.class).getResultList();
+		}, "Error al listar las filas de ventas.");
+	}
+
+	@Override
+	public List<Venta> findPage(Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimoId == null ? "Venta.findPage" : "Venta.findPageAfter";
+			Query<Venta> query = FetchPlans.createNamedQuery(session, nombre, Venta.class, Venta.GRAFO_LISTADO);
+			if (ultimoId != null)
+				query.setParameter("ultimoId", ultimoId);
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de ventas.");
+	}
+
+	@Override
+	public long count() {
+		return TransactionTemplate.query(
+				session -> session.createNamedQuery("Venta.count", Long.class).setCacheable(true)
+						.setCacheRegion(HibernateUtil.REGION_CONTEOS).uniqueResult(),
+				"Error al contar ventas.");
 	}
 
+	/**
+	 * Paginación por clave compuesta (fecha, id), de la más reciente a la más
+	 * antigua. Se apoya en el índice sobre fecha (que incluye la clave primaria).
+	 */
+	@Override
+	public List<Venta> findPageByFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			String nombre = ultimaFecha == null || ultimoId == null ? "Venta.findPageByFecha" : "Venta.findPageByFechaAfter";
+			Query<Venta> query = FetchPlans.createNamedQuery(session, nombre, Venta.class, Venta.GRAFO_LISTADO);
+			if (ultimaFecha != null && ultimoId != null) {
+				query.setParameter("ultimaFecha", ultimaFecha);
+				query.setParameter("ultimoId", ultimoId);
+			}
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de ventas por fecha.");
+	}
+
+	@Override
+	public List<VentaFila> findFilasPage(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		return TransactionTemplate.query(session -> {
+			boolean primera = ultimaFecha == null || ultimoId == null;
+			String nombre = primera ? "Venta.findFilasPage" : "Venta.findFilasPageAfter";
+			Query<VentaFila> query = session.createNamedQuery(nombre, VentaFila.class);
+			if (!primera) {
+				query.setParameter("ultimaFecha", ultimaFecha);
+				query.setParameter("ultimoId", ultimoId);
+			}
+			query.setMaxResults(limite);
+			return query.getResultList();
+		}, "Error al obtener la página de filas de ventas.");
+	}
 }
@@ -0,0 +1,12 @@
+package com.gestorventasapp.dto;
+
+import com.gestorventasapp.enums.Estado;
+
+/**
+ * Proyección con los datos de un cliente que sirven para reconocerlo aunque se
+ * haya escrito con erratas: razón social, CIF/NIF, código postal, localidad,
+ * teléfono y email.
+ */
+public record ClienteCotejo(Integer idCliente, String razonSocial, String cifNif, String codigoPostal,
+		String localidad, String telefono, String email, Estado estado) {
+}
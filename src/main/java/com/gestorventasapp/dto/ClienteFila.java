@@ -0,0 +1,14 @@
+package com.gestorventasapp.dto;
+
+import java.time.LocalDateTime;
+
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.FormaJuridica;
+
+/**
+ * Proyección de solo lectura con las columnas de la tabla de clientes.
+ */
+public record ClienteFila(Integer idCliente, String razonSocial, FormaJuridica formaJuridica, String cifNif,
+		String localidad, String telefono, String email, String tipoCliente, LocalDateTime fechaAlta,
+		Estado estado) {
+}
@@ -0,0 +1,10 @@
+package com.gestorventasapp.dto;
+
+/**
+ * Cliente encontrado por parecido con el texto buscado.
+ *
+ * @param cliente   Cliente encontrado.
+ * @param similitud Parecido entre 0 y 1 (1 = coincide exactamente).
+ */
+public record CoincidenciaCliente(ClienteCotejo cliente, double similitud) {
+}
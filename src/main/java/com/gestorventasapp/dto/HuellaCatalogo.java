@@ -0,0 +1,15 @@
+package com.gestorventasapp.dto;
+
+/**
+ * Huella barata del catálogo de productos: número de filas y suma de sus
+ * versiones. Toda escritura sobre un producto incrementa su versión y los
+ * productos no se borran físicamente, así que si la huella coincide con la de
+ * una instantánea en memoria, la instantánea sigue al día.
+ */
+public record HuellaCatalogo(long productos, long sumaVersiones) {
+
+	/** Constructor de la proyección HQL (los agregados llegan como Long, null sin filas). */
+	public HuellaCatalogo(Long productos, Long sumaVersiones) {
+		this(productos == null ? 0L : productos, sumaVersiones == null ? 0L : sumaVersiones);
+	}
+}
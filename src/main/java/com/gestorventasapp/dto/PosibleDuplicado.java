@@ -0,0 +1,14 @@
+package com.gestorventasapp.dto;
+
+/**
+ * Pareja de clientes que probablemente son el mismo, con la puntuación y los
+ * datos que coinciden.
+ *
+ * @param cliente       Cliente con el id menor.
+ * @param otro          Cliente con el id mayor.
+ * @param similitud     Puntuación entre 0 y 1.
+ * @param coincidencias Resumen legible (por ejemplo "nombre 96%, mismo
+ *                      teléfono").
+ */
+public record PosibleDuplicado(ClienteCotejo cliente, ClienteCotejo otro, double similitud, String coincidencias) {
+}
@@ -0,0 +1,42 @@
+package com.gestorventasapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Vista previa de una revisión de precios, calculada con una sola consulta de
+ * agregados sin modificar nada: productos afectados, suma de precios antes y
+ * después y el menor precio resultante (para detectar precios negativos).
+ */
+public record PrevisionRevisionPrecios(Long productos, BigDecimal compraActual, BigDecimal compraNueva,
+		BigDecimal ventaActual, BigDecimal ventaNueva, BigDecimal compraMinimaNueva, BigDecimal ventaMinimaNueva) {
+
+	public PrevisionRevisionPrecios {
+		// Sin productos afectados los agregados llegan a null
+		productos = productos == null ? 0L : productos;
+		compraActual = ceroSiNulo(compraActual);
+		compraNueva = ceroSiNulo(compraNueva);
+		ventaActual = ceroSiNulo(ventaActual);
+		ventaNueva = ceroSiNulo(ventaNueva);
+		compraMinimaNueva = ceroSiNulo(compraMinimaNueva);
+		ventaMinimaNueva = ceroSiNulo(ventaMinimaNueva);
+	}
+
+	/** @return true si algún producto acabaría con precio negativo. */
+	public boolean hayPreciosNegativos() {
+		return compraMinimaNueva.signum() < 0 || ventaMinimaNueva.signum() < 0;
+	}
+
+	/** Margen total (venta - compra) con los precios actuales. */
+	public BigDecimal margenActual() {
+		return ventaActual.subtract(compraActual);
+	}
+
+	/** Margen total (venta - compra) con los precios revisados. */
+	public BigDecimal margenNuevo() {
+		return ventaNueva.subtract(compraNueva);
+	}
+
+	private static BigDecimal ceroSiNulo(BigDecimal valor) {
+		return valor == null ? BigDecimal.ZERO : valor;
+	}
+}
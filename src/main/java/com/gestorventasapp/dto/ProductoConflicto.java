@@ -0,0 +1,19 @@
+package com.gestorventasapp.dto;
+
+import com.gestorventasapp.enums.Estado;
+
+/**
+ * Producto que choca con los datos de un alta o modificación: mismo nombre, o
+ * misma marca y formato del mismo proveedor. Lleva lo justo para decidir entre
+ * rechazar la operación o reactivar el producto (id y versión).
+ *
+ * Qué rama ha coincidido lo decide la propia consulta, con la intercalación de
+ * la base de datos (sin distinguir mayúsculas ni acentos): repetir la
+ * comparación en Java daría otro resultado para "Acána" y "Acana".
+ *
+ * @param mismaCombinacion true si es del mismo proveedor con la misma marca y
+ *                         formato; false si solo coincide el nombre.
+ */
+public record ProductoConflicto(Integer idProducto, String nombre, Integer idProveedor, String marca, String formato,
+		Estado estado, Integer version, boolean mismaCombinacion) {
+}
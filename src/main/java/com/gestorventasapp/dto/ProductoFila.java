@@ -0,0 +1,16 @@
+package com.gestorventasapp.dto;
+
+import java.math.BigDecimal;
+
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.TipoAnimal;
+
+/**
+ * Proyección de solo lectura con las columnas de la tabla de productos. El
+ * proveedor y el IVA llegan ya resueltos desde la consulta (razón social y
+ * porcentaje), sin cargar las entidades asociadas.
+ */
+public record ProductoFila(Integer idProducto, String nombre, TipoAnimal tipoAnimal, String marca, String formato,
+		BigDecimal precioVenta, BigDecimal precioCompra, String proveedor, BigDecimal porcentajeIva, Integer stock,
+		Integer stockMinimo, Estado estado) {
+}
@@ -0,0 +1,13 @@
+package com.gestorventasapp.dto;
+
+import java.time.LocalDateTime;
+
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.FormaJuridica;
+
+/**
+ * Proyección de solo lectura con las columnas de la tabla de proveedores.
+ */
+public record ProveedorFila(Integer idProveedor, String razonSocial, FormaJuridica formaJuridica, String cifNif,
+		String localidad, String telefono, String email, LocalDateTime fechaAlta, Estado estado) {
+}
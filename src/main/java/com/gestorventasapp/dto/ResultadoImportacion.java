@@ -0,0 +1,33 @@
+package com.gestorventasapp.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de importar un catálogo de productos: cuántas filas se leyeron,
+ * cuántas se dieron de alta y qué filas se rechazaron y por qué. Una fila con
+ * error no detiene la importación del resto.
+ *
+ * @param filasLeidas  Filas de datos leídas (sin contar la cabecera).
+ * @param importadas   Productos dados de alta.
+ * @param errores      Filas rechazadas, en orden de línea.
+ */
+public record ResultadoImportacion(int filasLeidas, int importadas, List<ErrorFila> errores) {
+
+	public ResultadoImportacion {
+		errores = List.copyOf(errores);
+	}
+
+	/**
+	 * Fila rechazada del fichero.
+	 *
+	 * @param linea   Número de línea en el fichero (la cabecera es la 1).
+	 * @param mensaje Motivo del rechazo.
+	 */
+	public record ErrorFila(int linea, String mensaje) {
+
+		@Override
+		public String toString() {
+			return "Línea " + linea + ": " + mensaje;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.gestorventasapp.dto;
+
+import java.math.BigDecimal;
+
+import com.gestorventasapp.enums.PrecioRevisado;
+import com.gestorventasapp.enums.TipoAjustePrecio;
+import com.gestorventasapp.enums.TipoAnimal;
+
+/**
+ * Revisión masiva de precios: qué productos (filtros opcionales, null = sin
+ * filtrar) y qué cambio se aplica.
+ *
+ * Con {@code mantenerMargen} solo se indica el cambio del precio de compra y
+ * el de venta se mueve en la misma proporción, conservando el margen
+ * porcentual de cada producto.
+ *
+ * @param idProveedor    Proveedor de los productos.
+ * @param marca          Marca.
+ * @param tipoAnimal     Tipo de animal.
+ * @param formato        Formato.
+ * @param tipoAjuste     Porcentaje o importe fijo.
+ * @param valor          Porcentaje (10 = +10 %) o importe a sumar; negativo
+ *                       para bajar precios.
+ * @param precio         Precio o precios a los que se aplica el cambio.
+ * @param mantenerMargen Mover el precio de venta con el de compra.
+ */
+public record RevisionPrecios(Integer idProveedor, String marca, TipoAnimal tipoAnimal, String formato,
+		TipoAjustePrecio tipoAjuste, BigDecimal valor, PrecioRevisado precio, boolean mantenerMargen) {
+
+	private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+	/**
+	 * @return true si se ha indicado al menos un filtro.
+	 */
+	public boolean tieneFiltro() {
+		return idProveedor != null || tipoAnimal != null || (marca != null && !marca.isBlank())
+				|| (formato != null && !formato.isBlank());
+	}
+
+	/** Factor multiplicativo del cambio (precio * factor + suma). */
+	public BigDecimal factor() {
+		return tipoAjuste == TipoAjustePrecio.PORCENTAJE ? BigDecimal.ONE.add(valor.divide(CIEN)) : BigDecimal.ONE;
+	}
+
+	/** Importe que se suma en el cambio (precio * factor + suma). */
+	public BigDecimal suma() {
+		return tipoAjuste == TipoAjustePrecio.IMPORTE ? valor : BigDecimal.ZERO;
+	}
+
+	/** @return true si cambia el precio de compra. */
+	public boolean cambiaCompra() {
+		return precio != PrecioRevisado.VENTA;
+	}
+
+	/** @return true si cambia el precio de venta (directamente o manteniendo el margen). */
+	public boolean cambiaVenta() {
+		return precio != PrecioRevisado.COMPRA || mantenerMargen;
+	}
+
+	/**
+	 * Texto para el registro de auditoría.
+	 */
+	public String describir() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(precio.getLabel()).append(' ');
+		sb.append(valor.signum() >= 0 ? "+" : "").append(valor.toPlainString());
+		sb.append(tipoAjuste == TipoAjustePrecio.PORCENTAJE ? " %" : " €");
+		if (mantenerMargen)
+			sb.append(", manteniendo margen");
+		sb.append(" [");
+		if (idProveedor != null)
+			sb.append(" proveedor=").append(idProveedor);
+		if (marca != null && !marca.isBlank())
+			sb.append(" marca=").append(marca);
+		if (tipoAnimal != null)
+			sb.append(" tipoAnimal=").append(tipoAnimal.name());
+		if (formato != null && !formato.isBlank())
+			sb.append(" formato=").append(formato);
+		return sb.append(" ]").toString();
+	}
+}
@@ -0,0 +1,48 @@
+package com.gestorventasapp.dto;
+
+import java.math.BigDecimal;
+
+import com.gestorventasapp.model.Iva;
+
+/**
+ * Tipo de IVA ya preparado para calcular: el porcentaje se convierte una sola
+ * vez en tanto por uno y en factor (1 + tanto por uno), así cada línea de
+ * venta o compra solo multiplica.
+ *
+ * @param idIva       Identificador del IVA.
+ * @param descripcion Descripción (General, Reducido...).
+ * @param porcentaje  Porcentaje tal como se guarda en las líneas (21.00).
+ * @param tanto       Tanto por uno (0.21).
+ * @param factor      Multiplicador del precio sin IVA (1.21).
+ */
+public record TipoIva(Integer idIva, String descripcion, BigDecimal porcentaje, BigDecimal tanto, BigDecimal factor) {
+
+	/**
+	 * @param iva IVA de la base de datos.
+	 * @return Tipo preparado para ese IVA.
+	 */
+	public static TipoIva de(Iva iva) {
+		BigDecimal tanto = iva.getPorcentaje().movePointLeft(2);
+		return new TipoIva(iva.getIdIva(), iva.getDescripcion(), iva.getPorcentaje(), tanto, BigDecimal.ONE.add(tanto));
+	}
+
+	/** Cuota de IVA de una base imponible. */
+	public BigDecimal cuota(BigDecimal base) {
+		return base.multiply(tanto);
+	}
+
+	/** Importe con IVA de una base imponible. */
+	public BigDecimal conIva(BigDecimal base) {
+		return base.multiply(factor);
+	}
+
+	/** Texto para combos y tablas, por ejemplo "21%". */
+	public String etiqueta() {
+		return porcentaje.stripTrailingZeros().toPlainString() + "%";
+	}
+
+	@Override
+	public String toString() {
+		return etiqueta();
+	}
+}
@@ -0,0 +1,14 @@
+package com.gestorventasapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.gestorventasapp.enums.Estado;
+
+/**
+ * Proyección de solo lectura con las columnas de la tabla de ventas (cliente y
+ * empleado resueltos en la consulta).
+ */
+public record VentaFila(Integer idVenta, LocalDateTime fecha, String cliente, String empleado,
+		BigDecimal totalSinIva, BigDecimal totalConIva, Estado estado) {
+}
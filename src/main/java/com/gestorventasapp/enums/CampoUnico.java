@@ -0,0 +1,9 @@
+package com.gestorventasapp.enums;
+
+/**
+ * Campos que no pueden repetirse dentro de su tabla. Un mismo CIF/NIF o email
+ * sí puede aparecer a la vez como cliente y como proveedor.
+ */
+public enum CampoUnico {
+	CIF_NIF_CLIENTE, EMAIL_CLIENTE, CIF_NIF_PROVEEDOR, EMAIL_PROVEEDOR, DNI_EMPLEADO, EMAIL_EMPLEADO
+}
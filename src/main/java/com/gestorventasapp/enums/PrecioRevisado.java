@@ -0,0 +1,18 @@
+package com.gestorventasapp.enums;
+
+public enum PrecioRevisado {
+
+	COMPRA("Precio de compra"),
+	VENTA("Precio de venta"),
+	AMBOS("Compra y venta");
+
+	private final String label;
+
+	PrecioRevisado(String label) {
+		this.label = label;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+}
@@ -0,0 +1,17 @@
+package com.gestorventasapp.enums;
+
+public enum TipoAjustePrecio {
+
+	PORCENTAJE("Porcentaje (%)"),
+	IMPORTE("Importe (€)");
+
+	private final String label;
+
+	TipoAjustePrecio(String label) {
+		this.label = label;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+}
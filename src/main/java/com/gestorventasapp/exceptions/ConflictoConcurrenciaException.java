@@ -0,0 +1,23 @@
+package com.gestorventasapp.exceptions;
+
+/**
+ * Excepción lanzada cuando otro terminal ha modificado el registro desde que se
+ * leyó (la columna de versión ya no coincide). Los cambios no se guardan: hay
+ * que recargar los datos y repetir la operación.
+ */
+public class ConflictoConcurrenciaException extends DAOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String MENSAJE = "El registro ha sido modificado por otro usuario. "
+			+ "Recarga los datos y vuelve a intentarlo.";
+
+	/**
+	 * Constructor con la causa original (fallo de bloqueo optimista de Hibernate).
+	 *
+	 * @param cause Causa original del error.
+	 */
+	public ConflictoConcurrenciaException(Throwable cause) {
+		super(MENSAJE, cause);
+	}
+}
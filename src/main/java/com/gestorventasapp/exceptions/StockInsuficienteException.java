@@ -0,0 +1,59 @@
+package com.gestorventasapp.exceptions;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.gestorventasapp.model.DetalleVenta;
+
+/**
+ * Excepción de negocio lanzada al registrar una venta cuando una o varias
+ * líneas piden más unidades de las que hay en stock. La venta no se guarda y
+ * la excepción indica exactamente qué líneas fallaron.
+ */
+public class StockInsuficienteException extends ServiceException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient List<LineaSinStock> lineasSinStock;
+
+	/**
+	 * Constructor con las líneas que no pudieron servirse.
+	 *
+	 * @param lineasSinStock Líneas de venta sin stock suficiente.
+	 */
+	public StockInsuficienteException(List<LineaSinStock> lineasSinStock) {
+		super(construirMensaje(lineasSinStock));
+		this.lineasSinStock = List.copyOf(lineasSinStock);
+	}
+
+	/**
+	 * @return Líneas de venta sin stock suficiente.
+	 */
+	public List<LineaSinStock> getLineasSinStock() {
+		return lineasSinStock;
+	}
+
+	private static String construirMensaje(List<LineaSinStock> lineas) {
+		return "Stock insuficiente en " + lineas.size() + " línea(s): " + lineas.stream()
+				.map(LineaSinStock::toString).collect(Collectors.joining("; "));
+	}
+
+	/**
+	 * Línea de venta rechazada por falta de stock.
+	 *
+	 * @param numeroLinea Posición de la línea en la venta (empezando en 1).
+	 * @param detalle     Detalle de venta rechazado.
+	 * @param disponible  Stock disponible del producto en el momento de la venta.
+	 */
+	public record LineaSinStock(int numeroLinea, DetalleVenta detalle, int disponible) {
+
+		@Override
+		public String toString() {
+			String producto = detalle.getProducto() != null && detalle.getProducto().getNombre() != null
+					? detalle.getProducto().getNombre()
+					: "producto " + (detalle.getProducto() != null ? detalle.getProducto().getIdProducto() : "?");
+			return "línea " + numeroLinea + " (" + producto + ": pedido " + detalle.getCantidad() + ", disponible "
+					+ disponible + ")";
+		}
+	}
+}
@@ -8,15 +8,33 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "auditorias")
+@Table(name = "auditorias", indexes = @Index(name = "idx_auditorias_fecha", columnList = "fecha"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedEntityGraph(name = "Auditoria.conDescripcion", attributeNodes = @NamedAttributeNode("descripcion"))
+@NamedQuery(name = "Auditoria.findByUsuario", query = "FROM Auditoria a WHERE a.descripcion LIKE :usuario")
+@NamedQuery(name = "Auditoria.findByAccion", query = "FROM Auditoria a WHERE a.accion = :accion")
+@NamedQuery(name = "Auditoria.findByEntidad", query = "FROM Auditoria a WHERE a.tablaModificada = :entidad")
+@NamedQuery(name = "Auditoria.findByRango", query = "FROM Auditoria a WHERE a.fecha >= :desde AND a.fecha < :hasta ORDER BY a.fecha, a.idAuditoria")
+@NamedQuery(name = "Auditoria.findByDescripcionLike", query = "FROM Auditoria a WHERE a.descripcion LIKE :desc")
+@NamedQuery(name = "Auditoria.findDescripcion", query = "SELECT a.descripcion FROM Auditoria a WHERE a.idAuditoria = :id")
+@NamedQuery(name = "Auditoria.findAll", query = "FROM Auditoria")
+@NamedQuery(name = "Auditoria.count", query = "SELECT count(a) FROM Auditoria a")
+@NamedQuery(name = "Auditoria.findPage", query = "FROM Auditoria a ORDER BY a.idAuditoria")
+@NamedQuery(name = "Auditoria.findPageAfter", query = "FROM Auditoria a WHERE a.idAuditoria > :ultimoId "
+		+ "ORDER BY a.idAuditoria")
+@NamedQuery(name = "Auditoria.findPageByFecha", query = "FROM Auditoria a ORDER BY a.fecha DESC, a.idAuditoria DESC")
+@NamedQuery(name = "Auditoria.findPageByFechaAfter", query = "FROM Auditoria a WHERE a.fecha < :ultimaFecha "
+		+ "OR (a.fecha = :ultimaFecha AND a.idAuditoria < :ultimoId) ORDER BY a.fecha DESC, a.idAuditoria DESC")
 public class Auditoria implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga que trae también la descripción (atributo LAZY). */
+	public static final String GRAFO_CON_DESCRIPCION = "Auditoria.conDescripcion";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "id_auditoria")
@@ -30,9 +48,27 @@ public class Auditoria implements Serializable {
 	@Column(name = "accion", length = 50)
 	private String accion;
 
-	@Column(name = "fecha", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+	@Column(name = "fecha", nullable = false, columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
 	private LocalDateTime fecha;
 
+	/**
+	 * Texto libre del registro (TEXT). Se carga aparte, al primer acceso, para
+	 * que los listados no arrastren la columna; las búsquedas por descripción la
+	 * traen en la misma consulta.
+	 */
+	@Basic(fetch = FetchType.LAZY)
 	@Column(name = "descripcion", columnDefinition = "TEXT")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private String descripcion;
+
+	/**
+	 * Sin fecha explícita, la del alta: la columna es obligatoria porque los
+	 * listados paginan por (fecha, id).
+	 */
+	@PrePersist
+	private void fechaPorDefecto() {
+		if (fecha == null)
+			fecha = LocalDateTime.now();
+	}
 }
@@ -3,6 +3,8 @@ package com.gestorventasapp.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.enums.FormaJuridica;
 
@@ -11,10 +13,32 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "clientes")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedQuery(name = "Cliente.findByCifNif", query = "FROM Cliente c WHERE c.cifNif = :cifNif")
+@NamedQuery(name = "Cliente.findByEmail", query = "FROM Cliente c WHERE c.email = :email")
+@NamedQuery(name = "Cliente.findByEstado", query = "FROM Cliente c WHERE c.estado = :estado")
+@NamedQuery(name = "Cliente.findByRazonSocial", query = "FROM Cliente c WHERE c.razonSocial LIKE :razonSocial")
+@NamedQuery(name = "Cliente.findByFormaJuridica", query = "FROM Cliente c WHERE c.formaJuridica = :formaJuridica")
+@NamedQuery(name = "Cliente.findByLocalidad", query = "FROM Cliente c WHERE c.localidad LIKE :localidad")
+@NamedQuery(name = "Cliente.findByFechaAlta", query = "FROM Cliente c WHERE c.fechaAlta BETWEEN :inicio AND :fin")
+@NamedQuery(name = "Cliente.existsCifNif", query = "SELECT count(c) FROM Cliente c WHERE c.cifNif = :cifNif")
+@NamedQuery(name = "Cliente.existsEmail", query = "SELECT count(c) FROM Cliente c WHERE c.email = :email")
+@NamedQuery(name = "Cliente.findByTelefono", query = "FROM Cliente c WHERE c.telefono = :telefono")
+@NamedQuery(name = "Cliente.findClavesUnicas", query = "SELECT c.cifNif FROM Cliente c")
+@NamedQuery(name = "Cliente.findAllFilas", query = "SELECT new com.gestorventasapp.dto.ClienteFila("
+		+ "c.idCliente, c.razonSocial, c.formaJuridica, c.cifNif, c.localidad, c.telefono, c.email, c.tipoCliente, c.fechaAlta, c.estado) "
+		+ "FROM Cliente c ORDER BY c.idCliente")
+@NamedQuery(name = "Cliente.findCotejo", query = "SELECT new com.gestorventasapp.dto.ClienteCotejo(c.idCliente, "
+		+ "c.razonSocial, c.cifNif, c.codigoPostal, c.localidad, c.telefono, c.email, c.estado) FROM Cliente c "
+		+ "ORDER BY c.idCliente")
+@NamedQuery(name = "Cliente.findAll", query = "FROM Cliente")
+@NamedQuery(name = "Cliente.count", query = "SELECT count(c) FROM Cliente c")
+@NamedQuery(name = "Cliente.findPage", query = "FROM Cliente c ORDER BY c.idCliente")
+@NamedQuery(name = "Cliente.findPageAfter", query = "FROM Cliente c WHERE c.idCliente > :ultimoId ORDER BY c.idCliente")
 public class Cliente implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -77,4 +101,9 @@ public class Cliente implements Serializable {
 	@Column(name = "estado", nullable = false, columnDefinition = "ENUM('activo','inactivo') default 'activo'")
 	@Builder.Default
 	private Estado estado = Estado.activo;
+
+	/** Versión para el bloqueo optimista. */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
 }
@@ -10,30 +10,62 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "compras")
+@Table(name = "compras", indexes = @Index(name = "idx_compras_fecha", columnList = "fecha"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "Compra.listado", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("empleado") })
 @Builder
+@NamedQuery(name = "Compra.findByEstado", query = "FROM Compra c WHERE c.estado = :estado")
+@NamedQuery(name = "Compra.findByProveedor", query = "FROM Compra c WHERE c.proveedor.idProveedor = :idProveedor")
+@NamedQuery(name = "Compra.findByEmpleado", query = "FROM Compra c WHERE c.empleado.idEmpleado = :idEmpleado")
+@NamedQuery(name = "Compra.findByRango", query = "FROM Compra c WHERE c.fecha >= :desde AND c.fecha < :hasta ORDER BY c.fecha, c.idCompra")
+@NamedQuery(name = "Compra.findByTotalSinIvaBetween", query = "FROM Compra c WHERE c.totalSinIva BETWEEN :min AND :max")
+@NamedQuery(name = "Compra.findByTotalConIvaBetween", query = "FROM Compra c WHERE c.totalConIva BETWEEN :min AND :max")
+@NamedQuery(name = "Compra.findAllFilas", query = "SELECT new com.gestorventasapp.dto.CompraFila("
+		+ "c.idCompra, c.fecha, p.razonSocial, e.nombre, c.totalSinIva, c.totalConIva, c.estado) "
+		+ "FROM Compra c LEFT JOIN c.proveedor p LEFT JOIN c.empleado e ORDER BY c.idCompra")
+@NamedQuery(name = "Compra.count", query = "SELECT count(c) FROM Compra c")
+@NamedQuery(name = "Compra.findAll", query = "FROM Compra")
+@NamedQuery(name = "Compra.findPage", query = "FROM Compra c ORDER BY c.idCompra")
+@NamedQuery(name = "Compra.findPageAfter", query = "FROM Compra c WHERE c.idCompra > :ultimoId ORDER BY c.idCompra")
+@NamedQuery(name = "Compra.findPageByFecha", query = "FROM Compra c ORDER BY c.fecha DESC, c.idCompra DESC")
+@NamedQuery(name = "Compra.findPageByFechaAfter", query = "FROM Compra c WHERE c.fecha < :ultimaFecha "
+		+ "OR (c.fecha = :ultimaFecha AND c.idCompra < :ultimoId) ORDER BY c.fecha DESC, c.idCompra DESC")
+@NamedQuery(name = "Compra.findFilasPage", query = "SELECT new com.gestorventasapp.dto.CompraFila("
+		+ "c.idCompra, c.fecha, p.razonSocial, e.nombre, c.totalSinIva, c.totalConIva, c.estado) "
+		+ "FROM Compra c LEFT JOIN c.proveedor p LEFT JOIN c.empleado e ORDER BY c.fecha DESC, c.idCompra DESC")
+@NamedQuery(name = "Compra.findFilasPageAfter", query = "SELECT new com.gestorventasapp.dto.CompraFila("
+		+ "c.idCompra, c.fecha, p.razonSocial, e.nombre, c.totalSinIva, c.totalConIva, c.estado) "
+		+ "FROM Compra c LEFT JOIN c.proveedor p LEFT JOIN c.empleado e WHERE c.fecha < :ultimaFecha "
+		+ "OR (c.fecha = :ultimaFecha AND c.idCompra < :ultimoId) ORDER BY c.fecha DESC, c.idCompra DESC")
 public class Compra implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "Compra.listado";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_compra")
+	@TableGenerator(name = "gen_compra", table = "secuencias", pkColumnName = "nombre", valueColumnName = "siguiente_valor", pkColumnValue = "compras", allocationSize = 50)
 	@Column(name = "id_compra")
 	private Integer idCompra;
 
-	@Column(name = "fecha", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+	@Column(name = "fecha", nullable = false, columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
 	private LocalDateTime fecha;
 
 	@NotNull(message = "El proveedor es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_proveedor", nullable = false, foreignKey = @ForeignKey(name = "fk_compra_proveedor"))
 	private Proveedor proveedor;
 
 	@NotNull(message = "El empleado es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_empleado", nullable = false, foreignKey = @ForeignKey(name = "fk_compra_empleado"))
 	private Empleado empleado;
 
@@ -51,4 +83,19 @@ public class Compra implements Serializable {
 	@Column(name = "estado", nullable = false, columnDefinition = "ENUM('activo','inactivo') default 'activo'")
 	@Builder.Default
 	private Estado estado = Estado.activo;
+
+	/** Versión para el bloqueo optimista. */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+
+	/**
+	 * Sin fecha explícita, la del alta: la columna es obligatoria porque los
+	 * listados paginan por (fecha, id).
+	 */
+	@PrePersist
+	private void fechaPorDefecto() {
+		if (fecha == null)
+			fecha = LocalDateTime.now();
+	}
 }
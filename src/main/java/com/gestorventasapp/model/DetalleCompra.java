@@ -13,23 +13,58 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraphs({
+		@NamedEntityGraph(name = "DetalleCompra.listado", attributeNodes = { @NamedAttributeNode(value = "compra", subgraph = "compra"), @NamedAttributeNode(value = "producto", subgraph = "producto") }, subgraphs = {
+				@NamedSubgraph(name = "compra", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("empleado") }),
+				@NamedSubgraph(name = "producto", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") }) }),
+		@NamedEntityGraph(name = "DetalleCompra.conProducto", attributeNodes = { @NamedAttributeNode(value = "producto", subgraph = "producto") }, subgraphs = {
+				@NamedSubgraph(name = "producto", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") }) }) })
 @Builder
+@NamedQuery(name = "DetalleCompra.findByCompra", query = "FROM DetalleCompra d WHERE d.compra.idCompra = :idCompra "
+		+ "AND d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.findByProducto", query = "FROM DetalleCompra d "
+		+ "WHERE d.producto.idProducto = :idProducto AND d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.findByProductoAndCompra", query = "FROM DetalleCompra d "
+		+ "WHERE d.producto.idProducto = :idProducto AND d.compra.idCompra = :idCompra AND d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.findByCantidadGreaterThan", query = "FROM DetalleCompra d WHERE d.cantidad > :cantidad "
+		+ "AND d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.findBySubtotalSinIvaBetween", query = "FROM DetalleCompra d "
+		+ "WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.findBySubtotalConIvaBetween", query = "FROM DetalleCompra d "
+		+ "WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.count", query = "SELECT count(d) FROM DetalleCompra d")
+@NamedQuery(name = "DetalleCompra.findAll", query = "FROM DetalleCompra")
+@NamedQuery(name = "DetalleCompra.findByEstado", query = "FROM DetalleCompra d WHERE d.estado = :estado")
+@NamedQuery(name = "DetalleCompra.findPage", query = "FROM DetalleCompra d ORDER BY d.idDetalleCompra")
+@NamedQuery(name = "DetalleCompra.findPageAfter", query = "FROM DetalleCompra d WHERE d.idDetalleCompra > :ultimoId "
+		+ "ORDER BY d.idDetalleCompra")
 public class DetalleCompra implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "DetalleCompra.listado";
+
+	/** Plan de carga: solo el producto (con proveedor e IVA). */
+	public static final String GRAFO_CON_PRODUCTO = "DetalleCompra.conProducto";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_detalle_compra")
+	@TableGenerator(name = "gen_detalle_compra", table = "secuencias", pkColumnName = "nombre", valueColumnName = "siguiente_valor", pkColumnValue = "detalles_compras", allocationSize = 50)
 	@Column(name = "id_detalle_compra")
 	private Integer idDetalleCompra;
 
 	@NotNull(message = "La compra es obligatoria")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_compra", nullable = false, foreignKey = @ForeignKey(name = "fk_detallecompra_compra"))
 	private Compra compra;
 
 	@NotNull(message = "El producto es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_producto", nullable = false, foreignKey = @ForeignKey(name = "fk_detallecompra_producto"))
 	private Producto producto;
 
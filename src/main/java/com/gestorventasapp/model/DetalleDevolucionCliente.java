@@ -13,23 +13,53 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "DetalleDevolucionCliente.listado", attributeNodes = { @NamedAttributeNode("devolucionCliente"), @NamedAttributeNode(value = "producto", subgraph = "producto") }, subgraphs = {
+			@NamedSubgraph(name = "producto", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") }) })
 @Builder
+@NamedQuery(name = "DetalleDevolucionCliente.findByDevolucion", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.devolucionCliente.idDevolucionCliente = :idDevolucion AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.findByProducto", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.producto.idProducto = :idProducto AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.findByProductoAndDevolucion", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.producto.idProducto = :idProducto "
+		+ "AND d.devolucionCliente.idDevolucionCliente = :idDevolucion AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.findByCantidadGreaterThan", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.cantidad > :cantidad AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.findBySubtotalSinIvaBetween", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.findBySubtotalConIvaBetween", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.count", query = "SELECT count(d) FROM DetalleDevolucionCliente d")
+@NamedQuery(name = "DetalleDevolucionCliente.findAll", query = "FROM DetalleDevolucionCliente")
+@NamedQuery(name = "DetalleDevolucionCliente.findByEstado", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionCliente.findPage", query = "FROM DetalleDevolucionCliente d "
+		+ "ORDER BY d.idDetalleDevolucionCliente")
+@NamedQuery(name = "DetalleDevolucionCliente.findPageAfter", query = "FROM DetalleDevolucionCliente d "
+		+ "WHERE d.idDetalleDevolucionCliente > :ultimoId ORDER BY d.idDetalleDevolucionCliente")
 public class DetalleDevolucionCliente implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "DetalleDevolucionCliente.listado";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "id_detalle_devolucion_cliente")
 	private Integer idDetalleDevolucionCliente;
 
 	@NotNull(message = "La devolución de cliente es obligatoria")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_devolucion_cliente", nullable = false, foreignKey = @ForeignKey(name = "fk_detalledevolucioncliente_devolucion"))
 	private DevolucionCliente devolucionCliente;
 
 	@NotNull(message = "El producto es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_producto", nullable = false, foreignKey = @ForeignKey(name = "fk_detalledevolucioncliente_producto"))
 	private Producto producto;
 
@@ -13,23 +13,53 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "DetalleDevolucionProveedor.listado", attributeNodes = { @NamedAttributeNode("devolucionProveedor"), @NamedAttributeNode(value = "producto", subgraph = "producto") }, subgraphs = {
+			@NamedSubgraph(name = "producto", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") }) })
 @Builder
+@NamedQuery(name = "DetalleDevolucionProveedor.findByDevolucion", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.devolucionProveedor.idDevolucionProveedor = :idDevolucion AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.findByProducto", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.producto.idProducto = :idProducto AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.findByProductoAndDevolucion", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.producto.idProducto = :idProducto "
+		+ "AND d.devolucionProveedor.idDevolucionProveedor = :idDevolucion AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.findByCantidadGreaterThan", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.cantidad > :cantidad AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.findBySubtotalSinIvaBetween", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.findBySubtotalConIvaBetween", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.count", query = "SELECT count(d) FROM DetalleDevolucionProveedor d")
+@NamedQuery(name = "DetalleDevolucionProveedor.findAll", query = "FROM DetalleDevolucionProveedor")
+@NamedQuery(name = "DetalleDevolucionProveedor.findByEstado", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.estado = :estado")
+@NamedQuery(name = "DetalleDevolucionProveedor.findPage", query = "FROM DetalleDevolucionProveedor d "
+		+ "ORDER BY d.idDetalleDevolucionProveedor")
+@NamedQuery(name = "DetalleDevolucionProveedor.findPageAfter", query = "FROM DetalleDevolucionProveedor d "
+		+ "WHERE d.idDetalleDevolucionProveedor > :ultimoId ORDER BY d.idDetalleDevolucionProveedor")
 public class DetalleDevolucionProveedor implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "DetalleDevolucionProveedor.listado";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "id_detalle_devolucion_proveedor")
 	private Integer idDetalleDevolucionProveedor;
 
 	@NotNull(message = "La devolución a proveedor es obligatoria")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_devolucion_proveedor", nullable = false, foreignKey = @ForeignKey(name = "fk_detalledevolucionproveedor_devolucion"))
 	private DevolucionProveedor devolucionProveedor;
 
 	@NotNull(message = "El producto es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_producto", nullable = false, foreignKey = @ForeignKey(name = "fk_detalledevolucionproveedor_producto"))
 	private Producto producto;
 
@@ -13,23 +13,58 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraphs({
+		@NamedEntityGraph(name = "DetalleVenta.listado", attributeNodes = { @NamedAttributeNode(value = "venta", subgraph = "venta"), @NamedAttributeNode(value = "producto", subgraph = "producto") }, subgraphs = {
+				@NamedSubgraph(name = "venta", attributeNodes = { @NamedAttributeNode("cliente"), @NamedAttributeNode("empleado") }),
+				@NamedSubgraph(name = "producto", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") }) }),
+		@NamedEntityGraph(name = "DetalleVenta.conProducto", attributeNodes = { @NamedAttributeNode(value = "producto", subgraph = "producto") }, subgraphs = {
+				@NamedSubgraph(name = "producto", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") }) }) })
 @Builder
+@NamedQuery(name = "DetalleVenta.findByVenta", query = "FROM DetalleVenta d WHERE d.venta.idVenta = :idVenta "
+		+ "AND d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.findByProducto", query = "FROM DetalleVenta d WHERE d.producto.idProducto = :idProducto "
+		+ "AND d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.findByProductoAndVenta", query = "FROM DetalleVenta d "
+		+ "WHERE d.producto.idProducto = :idProducto AND d.venta.idVenta = :idVenta AND d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.findByCantidadGreaterThan", query = "FROM DetalleVenta d WHERE d.cantidad > :cantidad "
+		+ "AND d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.findBySubtotalSinIvaBetween", query = "FROM DetalleVenta d "
+		+ "WHERE d.subtotalSinIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.findBySubtotalConIvaBetween", query = "FROM DetalleVenta d "
+		+ "WHERE d.subtotalConIva BETWEEN :min AND :max AND d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.count", query = "SELECT count(d) FROM DetalleVenta d")
+@NamedQuery(name = "DetalleVenta.findAll", query = "FROM DetalleVenta")
+@NamedQuery(name = "DetalleVenta.findByEstado", query = "FROM DetalleVenta d WHERE d.estado = :estado")
+@NamedQuery(name = "DetalleVenta.findPage", query = "FROM DetalleVenta d ORDER BY d.idDetalleVenta")
+@NamedQuery(name = "DetalleVenta.findPageAfter", query = "FROM DetalleVenta d WHERE d.idDetalleVenta > :ultimoId "
+		+ "ORDER BY d.idDetalleVenta")
 public class DetalleVenta implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "DetalleVenta.listado";
+
+	/** Plan de carga: solo el producto (con proveedor e IVA). */
+	public static final String GRAFO_CON_PRODUCTO = "DetalleVenta.conProducto";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_detalle_venta")
+	@TableGenerator(name = "gen_detalle_venta", table = "secuencias", pkColumnName = "nombre", valueColumnName = "siguiente_valor", pkColumnValue = "detalles_ventas", allocationSize = 50)
 	@Column(name = "id_detalle_venta")
 	private Integer idDetalleVenta;
 
 	@NotNull(message = "La venta es obligatoria")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_venta", nullable = false, foreignKey = @ForeignKey(name = "fk_detalleventa_venta"))
 	private Venta venta;
 
 	@NotNull(message = "El producto es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_producto", nullable = false, foreignKey = @ForeignKey(name = "fk_detalleventa_producto"))
 	private Producto producto;
 
@@ -9,27 +9,53 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "devoluciones_clientes")
+@Table(name = "devoluciones_clientes", indexes = @Index(name = "idx_devoluciones_clientes_fecha", columnList = "fecha"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "DevolucionCliente.listado", attributeNodes = { @NamedAttributeNode(value = "venta", subgraph = "venta"), @NamedAttributeNode("empleado") }, subgraphs = {
+			@NamedSubgraph(name = "venta", attributeNodes = { @NamedAttributeNode("cliente") }) })
 @Builder
+@NamedQuery(name = "DevolucionCliente.findByEstado", query = "FROM DevolucionCliente d WHERE d.estado = :estado")
+@NamedQuery(name = "DevolucionCliente.findByCliente", query = "FROM DevolucionCliente d "
+		+ "WHERE d.venta.cliente.idCliente = :idCliente")
+@NamedQuery(name = "DevolucionCliente.findByVenta", query = "FROM DevolucionCliente d WHERE d.venta.idVenta = :idVenta")
+@NamedQuery(name = "DevolucionCliente.findByEmpleado", query = "FROM DevolucionCliente d "
+		+ "WHERE d.empleado.idEmpleado = :idEmpleado")
+@NamedQuery(name = "DevolucionCliente.findByRango", query = "FROM DevolucionCliente d "
+		+ "WHERE d.fecha >= :desde AND d.fecha < :hasta ORDER BY d.fecha, d.idDevolucionCliente")
+@NamedQuery(name = "DevolucionCliente.findByMotivo", query = "FROM DevolucionCliente d WHERE d.motivo LIKE :motivo")
+@NamedQuery(name = "DevolucionCliente.findByTotalBetween", query = "FROM DevolucionCliente d "
+		+ "WHERE (SELECT SUM(dd.subtotalConIva) FROM DetalleDevolucionCliente dd WHERE dd.devolucionCliente = d "
+		+ "AND dd.estado = :estadoDetalle) BETWEEN :min AND :max")
+@NamedQuery(name = "DevolucionCliente.count", query = "SELECT count(d) FROM DevolucionCliente d")
+@NamedQuery(name = "DevolucionCliente.findAll", query = "FROM DevolucionCliente")
+@NamedQuery(name = "DevolucionCliente.findPage", query = "FROM DevolucionCliente d ORDER BY d.idDevolucionCliente")
+@NamedQuery(name = "DevolucionCliente.findPageAfter", query = "FROM DevolucionCliente d "
+		+ "WHERE d.idDevolucionCliente > :ultimoId ORDER BY d.idDevolucionCliente")
 public class DevolucionCliente implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "DevolucionCliente.listado";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "id_devolucion_cliente")
 	private Integer idDevolucionCliente;
 
 	@NotNull(message = "La venta asociada es obligatoria")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_venta", nullable = false, foreignKey = @ForeignKey(name = "fk_devolucioncliente_venta"))
 	private Venta venta;
 
 	@NotNull(message = "El empleado es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_empleado", nullable = false, foreignKey = @ForeignKey(name = "fk_devolucioncliente_empleado"))
 	private Empleado empleado;
 
@@ -9,27 +9,54 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "devoluciones_proveedores")
+@Table(name = "devoluciones_proveedores", indexes = @Index(name = "idx_devoluciones_proveedores_fecha", columnList = "fecha"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "DevolucionProveedor.listado", attributeNodes = { @NamedAttributeNode(value = "compra", subgraph = "compra"), @NamedAttributeNode("empleado") }, subgraphs = {
+			@NamedSubgraph(name = "compra", attributeNodes = { @NamedAttributeNode("proveedor") }) })
 @Builder
+@NamedQuery(name = "DevolucionProveedor.findByEstado", query = "FROM DevolucionProveedor d WHERE d.estado = :estado")
+@NamedQuery(name = "DevolucionProveedor.findByProveedor", query = "FROM DevolucionProveedor d "
+		+ "WHERE d.compra.proveedor.idProveedor = :idProveedor")
+@NamedQuery(name = "DevolucionProveedor.findByCompra", query = "FROM DevolucionProveedor d "
+		+ "WHERE d.compra.idCompra = :idCompra")
+@NamedQuery(name = "DevolucionProveedor.findByEmpleado", query = "FROM DevolucionProveedor d "
+		+ "WHERE d.empleado.idEmpleado = :idEmpleado")
+@NamedQuery(name = "DevolucionProveedor.findByRango", query = "FROM DevolucionProveedor d "
+		+ "WHERE d.fecha >= :desde AND d.fecha < :hasta ORDER BY d.fecha, d.idDevolucionProveedor")
+@NamedQuery(name = "DevolucionProveedor.findByMotivo", query = "FROM DevolucionProveedor d WHERE d.motivo LIKE :motivo")
+@NamedQuery(name = "DevolucionProveedor.findByTotalBetween", query = "FROM DevolucionProveedor d "
+		+ "WHERE (SELECT SUM(dd.subtotalConIva) FROM DetalleDevolucionProveedor dd "
+		+ "WHERE dd.devolucionProveedor = d AND dd.estado = :estadoDetalle) BETWEEN :min AND :max")
+@NamedQuery(name = "DevolucionProveedor.count", query = "SELECT count(d) FROM DevolucionProveedor d")
+@NamedQuery(name = "DevolucionProveedor.findAll", query = "FROM DevolucionProveedor")
+@NamedQuery(name = "DevolucionProveedor.findPage", query = "FROM DevolucionProveedor d ORDER BY d.idDevolucionProveedor")
+@NamedQuery(name = "DevolucionProveedor.findPageAfter", query = "FROM DevolucionProveedor d "
+		+ "WHERE d.idDevolucionProveedor > :ultimoId ORDER BY d.idDevolucionProveedor")
 public class DevolucionProveedor implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "DevolucionProveedor.listado";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "id_devolucion_proveedor")
 	private Integer idDevolucionProveedor;
 
 	@NotNull(message = "La compra asociada es obligatoria")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_compra", nullable = false, foreignKey = @ForeignKey(name = "fk_devolucionproveedor_compra"))
 	private Compra compra;
 
 	@NotNull(message = "El empleado es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_empleado", nullable = false, foreignKey = @ForeignKey(name = "fk_devolucionproveedor_empleado"))
 	private Empleado empleado;
 
@@ -3,6 +3,8 @@ package com.gestorventasapp.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.gestorventasapp.enums.Estado;
 
 import java.io.Serializable;
@@ -10,10 +12,28 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "empleados")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedQuery(name = "Empleado.findByDni", query = "FROM Empleado e WHERE e.dni = :dni")
+@NamedQuery(name = "Empleado.findByEmail", query = "FROM Empleado e WHERE e.email = :email")
+@NamedQuery(name = "Empleado.findByEstado", query = "FROM Empleado e WHERE e.estado = :estado")
+@NamedQuery(name = "Empleado.findByNombre", query = "FROM Empleado e WHERE e.nombre LIKE :nombre")
+@NamedQuery(name = "Empleado.findByApellido", query = "FROM Empleado e WHERE e.apellido1 LIKE :apellido "
+		+ "OR e.apellido2 LIKE :apellido")
+@NamedQuery(name = "Empleado.findByLocalidad", query = "FROM Empleado e WHERE e.localidad LIKE :localidad")
+@NamedQuery(name = "Empleado.findByFechaAlta", query = "FROM Empleado e WHERE e.fechaAlta BETWEEN :inicio AND :fin")
+@NamedQuery(name = "Empleado.existsDni", query = "SELECT count(e) FROM Empleado e WHERE e.dni = :dni")
+@NamedQuery(name = "Empleado.existsEmail", query = "SELECT count(e) FROM Empleado e WHERE e.email = :email")
+@NamedQuery(name = "Empleado.findByTelefono", query = "FROM Empleado e WHERE e.telefono = :telefono")
+@NamedQuery(name = "Empleado.findClavesUnicas", query = "SELECT e.dni FROM Empleado e")
+@NamedQuery(name = "Empleado.findAll", query = "FROM Empleado")
+@NamedQuery(name = "Empleado.count", query = "SELECT count(e) FROM Empleado e")
+@NamedQuery(name = "Empleado.findPage", query = "FROM Empleado e ORDER BY e.idEmpleado")
+@NamedQuery(name = "Empleado.findPageAfter", query = "FROM Empleado e WHERE e.idEmpleado > :ultimoId "
+		+ "ORDER BY e.idEmpleado")
 public class Empleado implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -2,6 +2,8 @@ package com.gestorventasapp.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.gestorventasapp.enums.Estado;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -9,10 +11,22 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "ivas")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedQuery(name = "Iva.findByDescripcion", query = "FROM Iva i WHERE i.descripcion = :desc")
+@NamedQuery(name = "Iva.findByPorcentaje", query = "FROM Iva i WHERE i.porcentaje = :porc")
+@NamedQuery(name = "Iva.findByEstado", query = "FROM Iva i WHERE i.estado = :estado")
+@NamedQuery(name = "Iva.findByDescripcionLike", query = "FROM Iva i WHERE i.descripcion LIKE :desc")
+@NamedQuery(name = "Iva.findByPorcentajeRango", query = "FROM Iva i WHERE i.porcentaje BETWEEN :min AND :max")
+@NamedQuery(name = "Iva.existsDescripcion", query = "SELECT count(i) FROM Iva i WHERE i.descripcion = :desc")
+@NamedQuery(name = "Iva.existsPorcentaje", query = "SELECT count(i) FROM Iva i WHERE i.porcentaje = :porc")
+@NamedQuery(name = "Iva.findAll", query = "FROM Iva")
+@NamedQuery(name = "Iva.count", query = "SELECT count(i) FROM Iva i")
+@NamedQuery(name = "Iva.findPage", query = "FROM Iva i ORDER BY i.idIva")
+@NamedQuery(name = "Iva.findPageAfter", query = "FROM Iva i WHERE i.idIva > :ultimoId ORDER BY i.idIva")
 public class Iva implements Serializable {
 	private static final long serialVersionUID = 1L;
 
@@ -3,6 +3,8 @@ package com.gestorventasapp.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.enums.TipoAnimal;
 
@@ -10,17 +12,89 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+		@Index(name = "idx_productos_nombre", columnList = "nombre"),
+		@Index(name = "idx_productos_proveedor_marca_formato", columnList = "id_proveedor, marca, formato") })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "Producto.listado", attributeNodes = { @NamedAttributeNode("proveedor"), @NamedAttributeNode("iva") })
 @Builder
+@NamedQuery(name = "Producto.findByEstado", query = "FROM Producto p WHERE p.estado = :estado")
+@NamedQuery(name = "Producto.findByNombre", query = "FROM Producto p WHERE p.nombre LIKE :nombre")
+@NamedQuery(name = "Producto.findByTipoAnimal", query = "FROM Producto p WHERE p.tipoAnimal = :tipoAnimal")
+@NamedQuery(name = "Producto.findByMarca", query = "FROM Producto p WHERE p.marca = :marca")
+@NamedQuery(name = "Producto.findByProveedor", query = "FROM Producto p WHERE p.proveedor.idProveedor = :idProveedor")
+@NamedQuery(name = "Producto.findByFormato", query = "FROM Producto p WHERE p.formato = :formato")
+@NamedQuery(name = "Producto.findByStockMinimo", query = "FROM Producto p WHERE p.stock <= p.stockMinimo "
+		+ "AND p.estado = :estado")
+@NamedQuery(name = "Producto.findByStockMenorQue", query = "FROM Producto p WHERE p.stock < :cantidad "
+		+ "AND p.estado = :estado")
+@NamedQuery(name = "Producto.findByStockMayorQue", query = "FROM Producto p WHERE p.stock > :cantidad "
+		+ "AND p.estado = :estado")
+@NamedQuery(name = "Producto.existsNombre", query = "SELECT count(p) FROM Producto p WHERE p.nombre = :nombre")
+@NamedQuery(name = "Producto.existsByMarcaAndFormatoAndProveedor", query = "SELECT count(p) FROM Producto p "
+		+ "WHERE p.marca = :marca AND p.formato = :formato AND p.proveedor.idProveedor = :idProveedor")
+@NamedQuery(name = "Producto.findConflictos", query = "SELECT new com.gestorventasapp.dto.ProductoConflicto("
+		+ "p.idProducto, p.nombre, p.proveedor.idProveedor, p.marca, p.formato, p.estado, p.version, "
+		+ "CASE WHEN p.proveedor.idProveedor = :idProveedor AND p.marca = :marca AND p.formato = :formato "
+		+ "THEN true ELSE false END) "
+		+ "FROM Producto p WHERE p.nombre = :nombre "
+		+ "OR (p.proveedor.idProveedor = :idProveedor AND p.marca = :marca AND p.formato = :formato)")
+@NamedQuery(name = "Producto.previewRevisionPrecios", query = "SELECT new com.gestorventasapp.dto.PrevisionRevisionPrecios("
+		+ "count(p), sum(p.precioCompra), sum(" + Producto.NUEVA_COMPRA + "), sum(p.precioVenta), sum("
+		+ Producto.NUEVA_VENTA + "), min(" + Producto.NUEVA_COMPRA + "), min(" + Producto.NUEVA_VENTA + ")) "
+		+ "FROM Producto p WHERE " + Producto.FILTRO_REVISION)
+@NamedQuery(name = "Producto.revisarPrecios", query = "UPDATE Producto p SET p.precioVenta = " + Producto.NUEVA_VENTA
+		+ ", p.precioCompra = " + Producto.NUEVA_COMPRA + ", p.version = p.version + 1 WHERE "
+		+ Producto.FILTRO_REVISION)
+@NamedQuery(name = "Producto.findByIds", query = "FROM Producto p WHERE p.idProducto IN :ids")
+@NamedQuery(name = "Producto.huellaCatalogo", query = "SELECT new com.gestorventasapp.dto.HuellaCatalogo(count(p), "
+		+ "sum(p.version)) FROM Producto p")
+@NamedQuery(name = "Producto.findByPrecioVentaBetween", query = "FROM Producto p WHERE p.precioVenta BETWEEN :min "
+		+ "AND :max AND p.estado = :estado")
+@NamedQuery(name = "Producto.findByPrecioCompraBetween", query = "FROM Producto p WHERE p.precioCompra BETWEEN :min "
+		+ "AND :max AND p.estado = :estado")
+@NamedQuery(name = "Producto.findAllFilas", query = "SELECT new com.gestorventasapp.dto.ProductoFila("
+		+ "p.idProducto, p.nombre, p.tipoAnimal, p.marca, p.formato, p.precioVenta, p.precioCompra, pr.razonSocial, i.porcentaje, p.stock, p.stockMinimo, p.estado) "
+		+ "FROM Producto p LEFT JOIN p.proveedor pr LEFT JOIN p.iva i ORDER BY p.idProducto")
+@NamedQuery(name = "Producto.count", query = "SELECT count(p) FROM Producto p")
+@NamedQuery(name = "Producto.findAll", query = "FROM Producto")
+@NamedQuery(name = "Producto.findPage", query = "FROM Producto p ORDER BY p.idProducto")
+@NamedQuery(name = "Producto.findPageAfter", query = "FROM Producto p WHERE p.idProducto > :ultimoId "
+		+ "ORDER BY p.idProducto")
 public class Producto implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "Producto.listado";
+
+	/**
+	 * Región de la caché de consultas para los listados de productos. Va aparte
+	 * porque el stock se modifica con SQL nativo y hay que vaciarla a mano.
+	 */
+	public static final String REGION_CONSULTAS = "consultas.productos";
+
+	/*
+	 * Revisión masiva de precios (RevisionPrecios): nuevo precio = precio *
+	 * factor + suma, redondeado a céntimos. Con :mantenerMargen la venta se
+	 * escala con la compra. En el UPDATE la venta se asigna antes que la compra
+	 * porque MySQL evalúa el SET de izquierda a derecha y la fórmula necesita la
+	 * compra antigua.
+	 */
+	static final String NUEVA_COMPRA = "round(p.precioCompra * :factorCompra + :sumaCompra, 2)";
+	static final String NUEVA_VENTA = "CASE WHEN :mantenerMargen = true AND p.precioCompra > 0 "
+			+ "THEN round(p.precioVenta * (p.precioCompra * :factorCompra + :sumaCompra) / p.precioCompra, 2) "
+			+ "ELSE round(p.precioVenta * :factorVenta + :sumaVenta, 2) END";
+	static final String FILTRO_REVISION = "(:idProveedor IS NULL OR p.proveedor.idProveedor = :idProveedor) "
+			+ "AND (:marca IS NULL OR p.marca = :marca) AND (:tipoAnimal IS NULL OR p.tipoAnimal = :tipoAnimal) "
+			+ "AND (:formato IS NULL OR p.formato = :formato)";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_producto")
+	@TableGenerator(name = "gen_producto", table = "secuencias", pkColumnName = "nombre", valueColumnName = "siguiente_valor", pkColumnValue = "productos", allocationSize = 50)
 	@Column(name = "id_producto")
 	private Integer idProducto;
 
@@ -61,12 +135,16 @@ public class Producto implements Serializable {
 	private BigDecimal precioCompra;
 
 	@NotNull(message = "El proveedor es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_proveedor", nullable = false, foreignKey = @ForeignKey(name = "fk_producto_proveedor"))
 	private Proveedor proveedor;
 
 	@NotNull(message = "El tipo de IVA es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_iva", nullable = false, foreignKey = @ForeignKey(name = "fk_producto_iva"))
 	private Iva iva;
 
@@ -83,4 +161,14 @@ public class Producto implements Serializable {
 	@Column(name = "estado", nullable = false, columnDefinition = "ENUM('activo','inactivo') default 'activo'")
 	@Builder.Default
 	private Estado estado = Estado.activo;
+
+	/**
+	 * Versión para el bloqueo optimista: cada UPDATE la incrementa y falla si
+	 * otro terminal la cambió desde que se leyó el producto. Los ajustes de
+	 * stock por SQL nativo también la incrementan, para que un formulario con
+	 * un stock antiguo no lo sobrescriba.
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
 }
@@ -3,6 +3,8 @@ package com.gestorventasapp.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.enums.FormaJuridica;
 
@@ -12,10 +14,30 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "proveedores")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedQuery(name = "Proveedor.findByCifNif", query = "FROM Proveedor p WHERE p.cifNif = :cifNif")
+@NamedQuery(name = "Proveedor.findByEmail", query = "FROM Proveedor p WHERE p.email = :email")
+@NamedQuery(name = "Proveedor.findByEstado", query = "FROM Proveedor p WHERE p.estado = :estado")
+@NamedQuery(name = "Proveedor.findByRazonSocial", query = "FROM Proveedor p WHERE p.razonSocial LIKE :razonSocial")
+@NamedQuery(name = "Proveedor.findByFormaJuridica", query = "FROM Proveedor p WHERE p.formaJuridica = :formaJuridica")
+@NamedQuery(name = "Proveedor.findByLocalidad", query = "FROM Proveedor p WHERE p.localidad LIKE :localidad")
+@NamedQuery(name = "Proveedor.findByFechaAlta", query = "FROM Proveedor p WHERE p.fechaAlta BETWEEN :inicio AND :fin")
+@NamedQuery(name = "Proveedor.existsCifNif", query = "SELECT count(p) FROM Proveedor p WHERE p.cifNif = :cifNif")
+@NamedQuery(name = "Proveedor.existsEmail", query = "SELECT count(p) FROM Proveedor p WHERE p.email = :email")
+@NamedQuery(name = "Proveedor.findByTelefono", query = "FROM Proveedor p WHERE p.telefono = :telefono")
+@NamedQuery(name = "Proveedor.findClavesUnicas", query = "SELECT p.cifNif FROM Proveedor p")
+@NamedQuery(name = "Proveedor.findAllFilas", query = "SELECT new com.gestorventasapp.dto.ProveedorFila("
+		+ "p.idProveedor, p.razonSocial, p.formaJuridica, p.cifNif, p.localidad, p.telefono, p.email, p.fechaAlta, p.estado) "
+		+ "FROM Proveedor p ORDER BY p.idProveedor")
+@NamedQuery(name = "Proveedor.findAll", query = "FROM Proveedor")
+@NamedQuery(name = "Proveedor.count", query = "SELECT count(p) FROM Proveedor p")
+@NamedQuery(name = "Proveedor.findPage", query = "FROM Proveedor p ORDER BY p.idProveedor")
+@NamedQuery(name = "Proveedor.findPageAfter", query = "FROM Proveedor p WHERE p.idProveedor > :ultimoId "
+		+ "ORDER BY p.idProveedor")
 public class Proveedor implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -75,6 +97,11 @@ public class Proveedor implements Serializable {
 	@Builder.Default
 	private Estado estado = Estado.activo;
 
+	/** Versión para el bloqueo optimista. */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o)
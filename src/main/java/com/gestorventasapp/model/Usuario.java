@@ -14,6 +14,22 @@ import java.io.Serializable;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedQuery(name = "Usuario.findByNombreUsuario", query = "FROM Usuario u WHERE u.nombreUsuario = :nombreUsuario")
+@NamedQuery(name = "Usuario.findByIdEmpleado", query = "FROM Usuario u WHERE u.empleado.idEmpleado = :idEmpleado")
+@NamedQuery(name = "Usuario.findByEstado", query = "FROM Usuario u WHERE u.estado = :estado")
+@NamedQuery(name = "Usuario.findByTipo", query = "FROM Usuario u WHERE u.tipo = :tipo")
+@NamedQuery(name = "Usuario.existsNombreUsuario", query = "SELECT count(u) FROM Usuario u "
+		+ "WHERE u.nombreUsuario = :nombreUsuario")
+@NamedQuery(name = "Usuario.existsIdEmpleado", query = "SELECT count(u) FROM Usuario u "
+		+ "WHERE u.empleado.idEmpleado = :idEmpleado")
+@NamedQuery(name = "Usuario.findParaLogin", query = "FROM Usuario u JOIN FETCH u.empleado "
+		+ "WHERE u.nombreUsuario = :nombreUsuario")
+@NamedQuery(name = "Usuario.updateContrasena", query = "UPDATE Usuario u SET u.contrasena = :contrasena "
+		+ "WHERE u.idUsuario = :idUsuario")
+@NamedQuery(name = "Usuario.findAll", query = "FROM Usuario")
+@NamedQuery(name = "Usuario.count", query = "SELECT count(u) FROM Usuario u")
+@NamedQuery(name = "Usuario.findPage", query = "FROM Usuario u ORDER BY u.idUsuario")
+@NamedQuery(name = "Usuario.findPageAfter", query = "FROM Usuario u WHERE u.idUsuario > :ultimoId ORDER BY u.idUsuario")
 public class Usuario implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -24,7 +40,9 @@ public class Usuario implements Serializable {
 	private Integer idUsuario;
 
 	@NotNull(message = "El empleado es obligatorio")
-	@OneToOne
+	@OneToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_empleado", unique = true, nullable = false, foreignKey = @ForeignKey(name = "fk_usuario_empleado"))
 	private Empleado empleado;
 
@@ -33,10 +51,14 @@ public class Usuario implements Serializable {
 	@Column(name = "nombre_usuario", nullable = false, length = 50, unique = true)
 	private String nombreUsuario;
 
+	/**
+	 * Hash PBKDF2 de la contraseña (ver HashContrasena). Las reglas de formato
+	 * de la contraseña en claro se validan en el servicio antes de calcularlo.
+	 */
 	@NotBlank(message = "La contraseña es obligatoria")
-	@Size(min = 6, max = 100, message = "La contraseña debe tener entre 6 y 100 caracteres")
-	@Pattern(regexp = "^(?=.*[A-Z])(?=.*\\d)[A-Za-z\\d]{6,100}$", message = "La contraseña debe ser alfanumérica, tener al menos una mayúscula y un número")
-	@Column(name = "contrasena", nullable = false, length = 100)
+	@Size(max = 255, message = "El hash de la contraseña no puede tener más de 255 caracteres")
+	@Column(name = "contrasena", nullable = false, length = 255)
+	@ToString.Exclude
 	private String contrasena;
 
 	@NotNull(message = "El tipo de usuario es obligatorio")
@@ -10,30 +10,62 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ventas")
+@Table(name = "ventas", indexes = @Index(name = "idx_ventas_fecha", columnList = "fecha"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "Venta.listado", attributeNodes = { @NamedAttributeNode("cliente"), @NamedAttributeNode("empleado") })
 @Builder
+@NamedQuery(name = "Venta.findByEstado", query = "FROM Venta v WHERE v.estado = :estado")
+@NamedQuery(name = "Venta.findByCliente", query = "FROM Venta v WHERE v.cliente.idCliente = :idCliente")
+@NamedQuery(name = "Venta.findByEmpleado", query = "FROM Venta v WHERE v.empleado.idEmpleado = :idEmpleado")
+@NamedQuery(name = "Venta.findByRango", query = "FROM Venta v WHERE v.fecha >= :desde AND v.fecha < :hasta ORDER BY v.fecha, v.idVenta")
+@NamedQuery(name = "Venta.findByTotalSinIvaBetween", query = "FROM Venta v WHERE v.totalSinIva BETWEEN :min AND :max")
+@NamedQuery(name = "Venta.findByTotalConIvaBetween", query = "FROM Venta v WHERE v.totalConIva BETWEEN :min AND :max")
+@NamedQuery(name = "Venta.findAllFilas", query = "SELECT new com.gestorventasapp.dto.VentaFila("
+		+ "v.idVenta, v.fecha, c.razonSocial, e.nombre, v.totalSinIva, v.totalConIva, v.estado) "
+		+ "FROM Venta v LEFT JOIN v.cliente c LEFT JOIN v.empleado e ORDER BY v.idVenta")
+@NamedQuery(name = "Venta.count", query = "SELECT count(v) FROM Venta v")
+@NamedQuery(name = "Venta.findAll", query = "FROM Venta")
+@NamedQuery(name = "Venta.findPage", query = "FROM Venta v ORDER BY v.idVenta")
+@NamedQuery(name = "Venta.findPageAfter", query = "FROM Venta v WHERE v.idVenta > :ultimoId ORDER BY v.idVenta")
+@NamedQuery(name = "Venta.findPageByFecha", query = "FROM Venta v ORDER BY v.fecha DESC, v.idVenta DESC")
+@NamedQuery(name = "Venta.findPageByFechaAfter", query = "FROM Venta v WHERE v.fecha < :ultimaFecha "
+		+ "OR (v.fecha = :ultimaFecha AND v.idVenta < :ultimoId) ORDER BY v.fecha DESC, v.idVenta DESC")
+@NamedQuery(name = "Venta.findFilasPage", query = "SELECT new com.gestorventasapp.dto.VentaFila("
+		+ "v.idVenta, v.fecha, c.razonSocial, e.nombre, v.totalSinIva, v.totalConIva, v.estado) "
+		+ "FROM Venta v LEFT JOIN v.cliente c LEFT JOIN v.empleado e ORDER BY v.fecha DESC, v.idVenta DESC")
+@NamedQuery(name = "Venta.findFilasPageAfter", query = "SELECT new com.gestorventasapp.dto.VentaFila("
+		+ "v.idVenta, v.fecha, c.razonSocial, e.nombre, v.totalSinIva, v.totalConIva, v.estado) "
+		+ "FROM Venta v LEFT JOIN v.cliente c LEFT JOIN v.empleado e WHERE v.fecha < :ultimaFecha "
+		+ "OR (v.fecha = :ultimaFecha AND v.idVenta < :ultimoId) ORDER BY v.fecha DESC, v.idVenta DESC")
 public class Venta implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Plan de carga: asociaciones que muestran los listados. */
+	public static final String GRAFO_LISTADO = "Venta.listado";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_venta")
+	@TableGenerator(name = "gen_venta", table = "secuencias", pkColumnName = "nombre", valueColumnName = "siguiente_valor", pkColumnValue = "ventas", allocationSize = 50)
 	@Column(name = "id_venta")
 	private Integer idVenta;
 
-	@Column(name = "fecha", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+	@Column(name = "fecha", nullable = false, columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
 	private LocalDateTime fecha;
 
 	@NotNull(message = "El cliente es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_cliente", nullable = false, foreignKey = @ForeignKey(name = "fk_venta_cliente"))
 	private Cliente cliente;
 
 	@NotNull(message = "El empleado es obligatorio")
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@JoinColumn(name = "id_empleado", nullable = false, foreignKey = @ForeignKey(name = "fk_venta_empleado"))
 	private Empleado empleado;
 
@@ -51,4 +83,19 @@ public class Venta implements Serializable {
 	@Column(name = "estado", nullable = false, columnDefinition = "ENUM('activo','inactivo') default 'activo'")
 	@Builder.Default
 	private Estado estado = Estado.activo;
+
+	/** Versión para el bloqueo optimista. */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+
+	/**
+	 * Sin fecha explícita, la del alta: la columna es obligatoria porque los
+	 * listados paginan por (fecha, id).
+	 */
+	@PrePersist
+	private void fechaPorDefecto() {
+		if (fecha == null)
+			fecha = LocalDateTime.now();
+	}
 }
@@ -26,6 +26,15 @@ public interface AuditoriaService {
 	 */
 	Auditoria buscarPorId(int idAuditoria);
 
+	/**
+	 * Obtiene la descripción de un registro. Los listados no la cargan: se pide
+	 * al mostrar el detalle de una fila.
+	 *
+	 * @param idAuditoria Identificador único.
+	 * @return Descripción del registro (puede ser null).
+	 */
+	String obtenerDescripcion(int idAuditoria);
+
 	/**
 	 * Lista todos los registros de auditoría.
 	 *
@@ -62,7 +71,7 @@ public interface AuditoriaService {
 	 * Busca registros por rango de fecha/hora.
 	 *
 	 * @param desde Fecha/hora de inicio (inclusive).
-	 * @param hasta Fecha/hora de fin (inclusive).
+	 * @param hasta Fecha/hora de fin (excluida: el rango es [desde, hasta)).
 	 * @return Lista de registros en ese rango.
 	 */
 	List<Auditoria> buscarPorFechaHoraRango(LocalDateTime desde, LocalDateTime hasta);
@@ -74,4 +83,33 @@ public interface AuditoriaService {
 	 * @return Lista de logs que contienen ese texto.
 	 */
 	List<Auditoria> buscarPorDescripcionLike(String descripcion);
+
+	/**
+	 * Devuelve una página de registros de auditoría ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de registros de auditoría.
+	 */
+	List<Auditoria> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de registros de auditoría.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
+	/**
+	 * Devuelve una página de registros de auditoría de la más reciente a la más antigua
+	 * (paginación por clave fecha + id).
+	 *
+	 * @param ultimaFecha Fecha del último registro de la página anterior (null
+	 *                    para la primera).
+	 * @param ultimoId    Id del último registro de la página anterior.
+	 * @param limite      Tamaño de página (1..500).
+	 * @return Página de registros de auditoría.
+	 */
+	List<Auditoria> listarPaginaPorFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite);
+
 }
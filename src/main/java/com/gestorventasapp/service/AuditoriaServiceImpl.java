@@ -13,6 +13,8 @@ import java.util.List;
  */
 public class AuditoriaServiceImpl implements AuditoriaService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final AuditoriaDAO auditoriaDAO;
 
 	/**
@@ -39,6 +41,11 @@ public class AuditoriaServiceImpl implements AuditoriaService {
 		return registro;
 	}
 
+	@Override
+	public String obtenerDescripcion(int idAuditoria) {
+		return auditoriaDAO.findDescripcion(idAuditoria);
+	}
+
 	@Override
 	public List<Auditoria> listarTodas() {
 		return auditoriaDAO.findAll();
@@ -80,4 +87,24 @@ public class AuditoriaServiceImpl implements AuditoriaService {
 			throw new ServiceException("La descripción a buscar no puede estar vacía.");
 		return auditoriaDAO.findByDescripcionLike(descripcion.trim());
 	}
+
+	@Override
+	public List<Auditoria> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return auditoriaDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return auditoriaDAO.count();
+	}
+
+	@Override
+	public List<Auditoria> listarPaginaPorFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return auditoriaDAO.findPageByFecha(ultimaFecha, ultimoId, limite);
+	}
+
 }
@@ -0,0 +1,314 @@
+package com.gestorventasapp.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.gestorventasapp.dao.ProductoDAO;
+import com.gestorventasapp.dto.HuellaCatalogo;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.TipoAnimal;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.util.IndiceTrigramas;
+import com.gestorventasapp.util.TransactionTemplate;
+
+/**
+ * Catálogo de productos en memoria para las pantallas de consulta (listado de
+ * productos, combos de ventas y compras).
+ *
+ * Guarda una instantánea inmutable con todos los productos (proveedor e IVA
+ * ya cargados), índices por id, proveedor, marca y tipo de animal, y un
+ * {@link IndiceTrigramas} para la búsqueda de texto (nombre, marca, tipo de
+ * animal, proveedor y formato). Los
+ * lectores solo leen una referencia volatile, sin bloqueos. Las escrituras de
+ * esta aplicación recargan los productos afectados tras el commit y publican
+ * una copia nueva (copy-on-write). Los cambios de otros terminales se detectan
+ * comparando periódicamente la {@link HuellaCatalogo} de la base de datos con
+ * la de la instantánea, y solo entonces se recarga todo.
+ *
+ * Los productos de la instantánea se comparten entre pantallas y no deben
+ * modificarse: para editar uno se carga de la base de datos
+ * ({@link ProductoService#buscarPorId}).
+ */
+public class CatalogoProductos {
+
+	/** Propiedad de sistema con el intervalo de comprobación, en segundos. */
+	public static final String PROPIEDAD_INTERVALO = "gestorventas.catalogo.intervalo";
+	private static final int INTERVALO_POR_DEFECTO = 30;
+
+	private final ProductoDAO productoDAO;
+	private final Object cerrojoEscritura = new Object();
+	private volatile Instantanea instantanea;
+	private ScheduledExecutorService comprobador;
+
+	/**
+	 * @param productoDAO DAO de productos.
+	 */
+	public CatalogoProductos(ProductoDAO productoDAO) {
+		this.productoDAO = productoDAO;
+	}
+
+	/**
+	 * Carga el catálogo y empieza a comprobar su versión cada
+	 * {@value #INTERVALO_POR_DEFECTO} segundos (ajustable con
+	 * {@value #PROPIEDAD_INTERVALO}), en un hilo de fondo.
+	 */
+	public synchronized void iniciarComprobacionPeriodica() {
+		if (comprobador != null)
+			return;
+		comprobador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+			Thread hilo = new Thread(tarea, "catalogo-productos");
+			hilo.setDaemon(true);
+			return hilo;
+		});
+		int intervalo = Integer.getInteger(PROPIEDAD_INTERVALO, INTERVALO_POR_DEFECTO);
+		comprobador.scheduleWithFixedDelay(this::comprobarVersionSinFallar, 0, intervalo, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Compara la huella de la base de datos con la de la instantánea (una
+	 * consulta de agregados) y recarga el catálogo si otro terminal lo ha
+	 * cambiado.
+	 *
+	 * @return true si hubo que recargar.
+	 */
+	public boolean comprobarVersion() {
+		Instantanea actual = instantanea;
+		if (actual != null && actual.huella().equals(productoDAO.fingerprint()))
+			return false;
+		recargar();
+		return true;
+	}
+
+	private void comprobarVersionSinFallar() {
+		try {
+			comprobarVersion();
+		} catch (RuntimeException e) {
+			// Sin conexión: se mantiene la instantánea anterior hasta la próxima comprobación
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Vuelve a leer el catálogo completo y lo publica.
+	 */
+	public void recargar() {
+		synchronized (cerrojoEscritura) {
+			instantanea = new Instantanea(productoDAO.findAll());
+		}
+	}
+
+	/**
+	 * Recarga los productos indicados cuando se confirme la unidad de trabajo
+	 * actual (o en el acto si no hay ninguna) y publica una copia de la
+	 * instantánea con ellos sustituidos.
+	 *
+	 * @param idsProducto Productos creados o modificados por esta aplicación.
+	 */
+	public void actualizarTrasConfirmar(Collection<Integer> idsProducto) {
+		if (idsProducto == null || idsProducto.isEmpty())
+			return;
+		List<Integer> ids = List.copyOf(idsProducto);
+		TransactionTemplate.afterCommit(() -> {
+			try {
+				actualizar(ids);
+			} catch (RuntimeException e) {
+				// Los datos ya están confirmados: la próxima comprobación recargará todo
+				e.printStackTrace();
+				synchronized (cerrojoEscritura) {
+					instantanea = null;
+				}
+			}
+		});
+	}
+
+	private void actualizar(Collection<Integer> ids) {
+		synchronized (cerrojoEscritura) {
+			if (instantanea == null)
+				return; // Aún no cargado: la primera lectura lo traerá al día
+			instantanea = instantanea.con(productoDAO.findByIds(ids));
+		}
+	}
+
+	/**
+	 * Marca el catálogo como desfasado tras una escritura masiva: la próxima
+	 * lectura lo vuelve a cargar completo.
+	 */
+	public void invalidarTrasConfirmar() {
+		TransactionTemplate.afterCommit(() -> {
+			synchronized (cerrojoEscritura) {
+				instantanea = null;
+			}
+		});
+	}
+
+	private Instantanea instantanea() {
+		Instantanea actual = instantanea;
+		if (actual != null)
+			return actual;
+		synchronized (cerrojoEscritura) {
+			if (instantanea == null)
+				instantanea = new Instantanea(productoDAO.findAll());
+			return instantanea;
+		}
+	}
+
+	// ---- Lecturas (sin consultas mientras la instantánea esté cargada) ----
+
+	/** @return Producto con ese id, o null si no existe. */
+	public Producto buscar(int idProducto) {
+		return instantanea().porId.get(idProducto);
+	}
+
+	/** @return Todos los productos, ordenados por id. */
+	public List<Producto> todos() {
+		return instantanea().todos;
+	}
+
+	/** @return Productos activos, ordenados por id. */
+	public List<Producto> activos() {
+		return instantanea().activos;
+	}
+
+	/** @return Productos (activos e inactivos) del proveedor. */
+	public List<Producto> porProveedor(int idProveedor) {
+		return instantanea().porProveedor.getOrDefault(idProveedor, List.of());
+	}
+
+	/** @return Productos de la marca (sin distinguir mayúsculas). */
+	public List<Producto> porMarca(String marca) {
+		return marca == null ? List.of()
+				: instantanea().porMarca.getOrDefault(marca.trim().toLowerCase(Locale.ROOT), List.of());
+	}
+
+	/** @return Productos del tipo de animal. */
+	public List<Producto> porTipoAnimal(TipoAnimal tipoAnimal) {
+		return instantanea().porTipoAnimal.getOrDefault(tipoAnimal, List.of());
+	}
+
+	/** @return Filas de la tabla de productos. */
+	public List<ProductoFila> filas() {
+		return instantanea().filas;
+	}
+
+	/**
+	 * Búsqueda de texto libre: cada palabra debe aparecer en el nombre, la
+	 * marca, el tipo de animal, el proveedor o el formato.
+	 *
+	 * @return Filas encontradas, las más relevantes primero (nombre antes que
+	 *         marca, y así sucesivamente); todas si el texto está vacío.
+	 */
+	public List<ProductoFila> buscarFilas(String texto) {
+		Instantanea actual = instantanea();
+		if (IndiceTrigramas.normalizar(texto).isEmpty())
+			return actual.filas;
+		return actual.texto.buscar(texto).stream().map(id -> Instantanea.fila(actual.porId.get(id))).toList();
+	}
+
+	/** @return Productos cuyo nombre contiene el texto, ordenados por id. */
+	public List<Producto> buscarPorNombre(String nombre) {
+		Instantanea actual = instantanea();
+		return actual.texto.buscarEnCampo(nombre, Instantanea.CAMPO_NOMBRE).stream().map(actual.porId::get).toList();
+	}
+
+	/**
+	 * Estado inmutable del catálogo. Cada cambio construye una nueva; los
+	 * lectores que ya tenían la anterior la siguen usando sin interferencias.
+	 */
+	private static final class Instantanea {
+
+		/** Campos de la búsqueda de texto, en orden de relevancia. */
+		static final int CAMPO_NOMBRE = 0;
+		private static final int[] PESOS_TEXTO = { 8, 6, 4, 3, 2 };
+
+		private final Map<Integer, Producto> porId;
+		private final List<Producto> todos;
+		private final List<Producto> activos;
+		private final Map<Integer, List<Producto>> porProveedor;
+		private final Map<String, List<Producto>> porMarca;
+		private final Map<TipoAnimal, List<Producto>> porTipoAnimal;
+		private final List<ProductoFila> filas;
+		private final IndiceTrigramas texto;
+		private final HuellaCatalogo huella;
+
+		Instantanea(Collection<Producto> productos) {
+			this(productos, null);
+		}
+
+		/**
+		 * @param texto Índice de texto ya al día con estos productos, o null para
+		 *              construirlo completo.
+		 */
+		private Instantanea(Collection<Producto> productos, IndiceTrigramas texto) {
+			TreeMap<Integer, Producto> ordenados = new TreeMap<>();
+			productos.forEach(p -> ordenados.put(p.getIdProducto(), p));
+			this.porId = Collections.unmodifiableMap(ordenados);
+			this.todos = List.copyOf(ordenados.values());
+
+			List<Producto> listaActivos = new ArrayList<>();
+			Map<Integer, List<Producto>> proveedor = new HashMap<>();
+			Map<String, List<Producto>> marca = new HashMap<>();
+			Map<TipoAnimal, List<Producto>> tipoAnimal = new EnumMap<>(TipoAnimal.class);
+			List<ProductoFila> listaFilas = new ArrayList<>(todos.size());
+			long sumaVersiones = 0;
+			for (Producto p : todos) {
+				if (p.getEstado() == Estado.activo)
+					listaActivos.add(p);
+				proveedor.computeIfAbsent(p.getProveedor().getIdProveedor(), k -> new ArrayList<>()).add(p);
+				marca.computeIfAbsent(p.getMarca().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(p);
+				tipoAnimal.computeIfAbsent(p.getTipoAnimal(), k -> new ArrayList<>()).add(p);
+				listaFilas.add(fila(p));
+				sumaVersiones += p.getVersion();
+			}
+			this.activos = List.copyOf(listaActivos);
+			this.porProveedor = congelar(proveedor);
+			this.porMarca = congelar(marca);
+			this.porTipoAnimal = congelar(tipoAnimal);
+			this.filas = List.copyOf(listaFilas);
+			this.texto = texto != null ? texto : IndiceTrigramas.de(camposTexto(todos), PESOS_TEXTO);
+			this.huella = new HuellaCatalogo(todos.size(), sumaVersiones);
+		}
+
+		/** Copia con los productos recargados sustituidos o añadidos. */
+		Instantanea con(List<Producto> recargados) {
+			Map<Integer, Producto> copia = new HashMap<>(porId);
+			recargados.forEach(p -> copia.put(p.getIdProducto(), p));
+			// El índice de texto solo se corrige en los trigramas de los productos recargados
+			return new Instantanea(copia.values(), texto.con(camposTexto(recargados)));
+		}
+
+		HuellaCatalogo huella() {
+			return huella;
+		}
+
+		private static <K> Map<K, List<Producto>> congelar(Map<K, List<Producto>> indice) {
+			indice.replaceAll((clave, lista) -> List.copyOf(lista));
+			return Collections.unmodifiableMap(indice);
+		}
+
+		private static Map<Integer, String[]> camposTexto(Collection<Producto> productos) {
+			Map<Integer, String[]> campos = new HashMap<>(productos.size() * 2);
+			for (Producto p : productos)
+				campos.put(p.getIdProducto(), new String[] { p.getNombre(), p.getMarca(),
+						p.getTipoAnimal() != null ? p.getTipoAnimal().getLabel() : null,
+						p.getProveedor().getRazonSocial(), p.getFormato() });
+			return campos;
+		}
+
+		static ProductoFila fila(Producto p) {
+			return new ProductoFila(p.getIdProducto(), p.getNombre(), p.getTipoAnimal(), p.getMarca(), p.getFormato(),
+					p.getPrecioVenta(), p.getPrecioCompra(), p.getProveedor().getRazonSocial(),
+					p.getIva().getPorcentaje(), p.getStock(), p.getStockMinimo(), p.getEstado());
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.ClienteFila;
+import com.gestorventasapp.dto.CoincidenciaCliente;
+import com.gestorventasapp.dto.PosibleDuplicado;
 import com.gestorventasapp.model.Cliente;
 import com.gestorventasapp.enums.Estado;
 
@@ -152,4 +155,52 @@ public interface ClienteService {
 	 * @return Lista de clientes.
 	 */
 	List<Cliente> buscarPorTelefono(String telefono);
+
+	/**
+	 * Lista los clientes como filas de tabla (proyección de solo lectura).
+	 *
+	 * @return Lista de filas de clientes.
+	 */
+	List<ClienteFila> listarFilas();
+
+	/**
+	 * Busca clientes cuya razón social se parece al texto aunque tenga erratas
+	 * (búsqueda mientras se escribe).
+	 *
+	 * @param texto  Texto escrito por el usuario.
+	 * @param limite Máximo de resultados (1..500).
+	 * @return Coincidencias de mayor a menor parecido.
+	 */
+	List<CoincidenciaCliente> buscarSimilares(String texto, int limite);
+
+	/**
+	 * Vuelve a leer los clientes y busca parejas que probablemente sean el mismo
+	 * cliente dado de alta dos veces.
+	 *
+	 * @return Posibles duplicados, los más parecidos primero.
+	 */
+	List<PosibleDuplicado> detectarDuplicados();
+
+	/**
+	 * Vuelve a leer los datos de la búsqueda aproximada (cambios de otros
+	 * terminales).
+	 */
+	void actualizarCotejo();
+
+	/**
+	 * Devuelve una página de clientes ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de clientes.
+	 */
+	List<Cliente> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de clientes.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
@@ -1,10 +1,15 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.ClienteFila;
+import com.gestorventasapp.dto.CoincidenciaCliente;
+import com.gestorventasapp.dto.PosibleDuplicado;
 import com.gestorventasapp.dao.ClienteDAO;
 import com.gestorventasapp.dao.ClienteDAOImpl;
 import com.gestorventasapp.model.Cliente;
+import com.gestorventasapp.enums.CampoUnico;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.util.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,32 +20,46 @@ import java.util.List;
  */
 public class ClienteServiceImpl implements ClienteService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final ClienteDAO clienteDAO;
+	private final IndiceUnicidad indiceUnicidad;
+	private final CotejoClientes cotejo;
 
-	// Este es el constructor para inyectar el DAO 
-	public ClienteServiceImpl(ClienteDAO clienteDAO) {
+	// Este es el constructor para inyectar el DAO, el índice de CIF/NIF y emails y
+	// el motor de búsqueda aproximada
+	public ClienteServiceImpl(ClienteDAO clienteDAO, IndiceUnicidad indiceUnicidad, CotejoClientes cotejo) {
 		this.clienteDAO = clienteDAO;
+		this.indiceUnicidad = indiceUnicidad;
+		this.cotejo = cotejo;
 	}
 
 	@Override
 	public void crearCliente(Cliente cliente) {
 		validarCliente(cliente, true);
-		if (clienteDAO.existsCifNif(cliente.getCifNif()))
+		// Un CIF/NIF o email nuevo se descarta en memoria; solo los posibles repetidos llegan a la BD
+		if (indiceUnicidad.existe(CampoUnico.CIF_NIF_CLIENTE, cliente.getCifNif()))
 			throw new ServiceException("Ya existe un cliente con ese CIF/NIF.");
-		if (clienteDAO.existsEmail(cliente.getEmail()))
+		if (indiceUnicidad.existe(CampoUnico.EMAIL_CLIENTE, cliente.getEmail()))
 			throw new ServiceException("Ya existe un cliente con ese email.");
 		clienteDAO.save(cliente);
+		indiceUnicidad.registrarCliente(cliente);
+		cotejo.invalidar();
 	}
 
 	@Override
 	public void modificarCliente(Cliente cliente) {
 		validarCliente(cliente, false);
 		clienteDAO.update(cliente);
+		indiceUnicidad.registrarCliente(cliente);
+		cotejo.invalidar();
 	}
 
 	@Override
 	public void darBajaLogicaCliente(int idCliente) {
-		clienteDAO.delete(idCliente);
+		// Idempotente: si otro terminal ha tocado el cliente, se repite con datos frescos
+		TransactionTemplate.runWithRetry(() -> clienteDAO.delete(idCliente));
+		cotejo.invalidar();
 	}
 
 	@Override
@@ -123,12 +142,12 @@ public class ClienteServiceImpl implements ClienteService {
 
 	@Override
 	public boolean existeCifNif(String cifNif) {
-		return clienteDAO.existsCifNif(cifNif);
+		return indiceUnicidad.existe(CampoUnico.CIF_NIF_CLIENTE, cifNif);
 	}
 
 	@Override
 	public boolean existeEmail(String email) {
-		return clienteDAO.existsEmail(email);
+		return indiceUnicidad.existe(CampoUnico.EMAIL_CLIENTE, email);
 	}
 
 	@Override
@@ -200,4 +219,43 @@ public class ClienteServiceImpl implements ClienteService {
 	private boolean validaCifNif(String cifNif) {
 		return cifNif != null && cifNif.matches("^[A-Za-z0-9]{8,10}$");
 	}
+
+	@Override
+	public List<ClienteFila> listarFilas() {
+		return clienteDAO.findAllFilas();
+	}
+
+	@Override
+	public List<CoincidenciaCliente> buscarSimilares(String texto, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El número de resultados debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		if (texto == null || texto.trim().isEmpty())
+			return List.of();
+		return cotejo.buscarSimilares(texto, limite);
+	}
+
+	@Override
+	public List<PosibleDuplicado> detectarDuplicados() {
+		// El informe se hace siempre con los datos actuales de todos los terminales
+		cotejo.recargar();
+		return cotejo.detectarDuplicados();
+	}
+
+	@Override
+	public void actualizarCotejo() {
+		cotejo.recargar();
+	}
+
+	@Override
+	public List<Cliente> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return clienteDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return clienteDAO.count();
+	}
+
 }
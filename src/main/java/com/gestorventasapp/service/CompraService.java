@@ -1,11 +1,14 @@
 package com.gestorventasapp.service;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.CompraFila;
 import com.gestorventasapp.model.Compra;
 import com.gestorventasapp.model.DetalleCompra;
 import com.gestorventasapp.enums.Estado;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -113,6 +116,14 @@ public interface CompraService {
 	 */
 	List<Compra> buscarPorFechaRango(LocalDate fechaInicio, LocalDate fechaFin);
 
+	/**
+	 * Busca las compras de un mes natural completo.
+	 *
+	 * @param mes Mes a consultar.
+	 * @return Lista de compras del mes, ordenadas por fecha.
+	 */
+	List<Compra> buscarPorMes(YearMonth mes);
+
 	/**
 	 * Busca compras por rango de total sin IVA.
 	 *
@@ -143,7 +154,51 @@ public interface CompraService {
      */
     void validarCompra(Compra compra, boolean esNuevo);
 
+	/**
+	 * Lista las compras como filas de tabla (proyección de solo lectura con
+	 * proveedor y empleado resueltos en la consulta).
+	 *
+	 * @return Lista de filas de compras.
+	 */
+	List<CompraFila> listarFilas();
+
+	/**
+	 * Devuelve una página de compras ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de compras.
+	 */
+	List<Compra> listarPagina(Integer ultimoId, int limite);
 
+	/**
+	 * Cuenta el total de compras.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
 
+	/**
+	 * Devuelve una página de compras de la más reciente a la más antigua
+	 * (paginación por clave fecha + id).
+	 *
+	 * @param ultimaFecha Fecha del último registro de la página anterior (null
+	 *                    para la primera).
+	 * @param ultimoId    Id del último registro de la página anterior.
+	 * @param limite      Tamaño de página (1..500).
+	 * @return Página de compras.
+	 */
+	List<Compra> listarPaginaPorFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite);
+	/**
+	 * Devuelve una página de filas de tabla (proyección) de las compras, de la
+	 * más reciente a la más antigua.
+	 *
+	 * @param ultimaFecha Fecha de la última fila de la página anterior (null para
+	 *                    la primera).
+	 * @param ultimoId    Id de la última fila de la página anterior.
+	 * @param limite      Tamaño de página (1..500).
+	 * @return Página de filas.
+	 */
+	List<CompraFila> listarFilasPagina(LocalDateTime ultimaFecha, Integer ultimoId, int limite);
 
 }
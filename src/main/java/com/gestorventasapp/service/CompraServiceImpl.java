@@ -1,5 +1,7 @@
 package com.gestorventasapp.service;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.CompraFila;
 import com.gestorventasapp.dao.CompraDAO;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.model.Compra;
@@ -8,10 +10,15 @@ import com.gestorventasapp.model.Empleado;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.util.RangoFechas;
+import com.gestorventasapp.util.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementación de la lógica de negocio y validaciones para la entidad Compra.
@@ -20,6 +27,8 @@ import java.util.List;
  */
 public class CompraServiceImpl implements CompraService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final CompraDAO compraDAO;
 	private final ProductoService productoService;
 
@@ -55,15 +64,17 @@ public class CompraServiceImpl implements CompraService {
 
 	@Override
 	public void darBajaLogicaCompra(int idCompra) {
-		Compra compra = compraDAO.findById(idCompra);
-		if (compra == null) {
-			throw new ServiceException("No existe la compra a dar de baja.");
-		}
-		if (compra.getEstado() == Estado.inactivo) {
-			throw new ServiceException("La compra ya está inactiva.");
-		}
-		compra.setEstado(Estado.inactivo);
-		compraDAO.update(compra);
+		TransactionTemplate.runWithRetry(() -> {
+			Compra compra = compraDAO.findById(idCompra);
+			if (compra == null) {
+				throw new ServiceException("No existe la compra a dar de baja.");
+			}
+			if (compra.getEstado() == Estado.inactivo) {
+				throw new ServiceException("La compra ya está inactiva.");
+			}
+			compra.setEstado(Estado.inactivo);
+			compraDAO.update(compra);
+		});
 	}
 
 	@Override
@@ -127,6 +138,13 @@ public class CompraServiceImpl implements CompraService {
 		return compraDAO.findByFechaRango(fechaInicio, fechaFin);
 	}
 
+	@Override
+	public List<Compra> buscarPorMes(YearMonth mes) {
+		if (mes == null)
+			throw new ServiceException("El mes no puede ser nulo.");
+		return compraDAO.findByRango(RangoFechas.mes(mes));
+	}
+
 	@Override
 	public List<Compra> buscarPorTotalSinIvaEntre(BigDecimal min, BigDecimal max) {
 		if (min == null || max == null)
@@ -184,20 +202,56 @@ public class CompraServiceImpl implements CompraService {
 			throw new ServiceException("Compra y detalles requeridos.");
 
 		try {
-			// 1. Guardar la compra y los detalles (transacción)
-			compraDAO.saveWithDetails(compra, detallesCompra);
-
-			// 2. Actualizar el stock de cada producto comprado
-			for (DetalleCompra det : detallesCompra) {
-				if (det.getProducto() != null && det.getCantidad() != null && det.getCantidad() > 0) {
-					// Llama al método que incrementa el stock de un producto
-					productoService.actualizarYReactivarStock(det.getProducto().getIdProducto(), det.getCantidad());
+			// Compra, detalles y stock en una sola Session y un único commit
+			TransactionTemplate.runInUnitOfWork(() -> {
+				// 1. Guardar la compra y los detalles
+				compraDAO.saveWithDetails(compra, detallesCompra);
+
+				// 2. Incrementar el stock de todos los productos comprados en un solo lote
+				Map<Integer, Integer> entradas = new HashMap<>();
+				for (DetalleCompra det : detallesCompra) {
+					if (det.getProducto() != null && det.getCantidad() != null && det.getCantidad() > 0) {
+						entradas.merge(det.getProducto().getIdProducto(), det.getCantidad(), Integer::sum);
+					}
 				}
-			}
+				if (!entradas.isEmpty()) {
+					productoService.ajustarStock(entradas);
+				}
+			});
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new ServiceException("Error al guardar compra con detalles y actualizar stock.", e);
 		}
 	}
 
+	@Override
+	public List<CompraFila> listarFilas() {
+		return compraDAO.findAllFilas();
+	}
+
+	@Override
+	public List<Compra> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return compraDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return compraDAO.count();
+	}
+
+	@Override
+	public List<Compra> listarPaginaPorFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return compraDAO.findPageByFecha(ultimaFecha, ultimoId, limite);
+	}
+	@Override
+	public List<CompraFila> listarFilasPagina(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return compraDAO.findFilasPage(ultimaFecha, ultimoId, limite);
+	}
+
 }
@@ -0,0 +1,310 @@
+package com.gestorventasapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.gestorventasapp.dao.ClienteDAO;
+import com.gestorventasapp.dto.ClienteCotejo;
+import com.gestorventasapp.dto.CoincidenciaCliente;
+import com.gestorventasapp.dto.PosibleDuplicado;
+import com.gestorventasapp.util.IndiceTrigramas;
+import com.gestorventasapp.util.Similitud;
+
+/**
+ * Motor de cotejo de clientes: búsqueda tolerante a erratas ("Veterinaria
+ * Centrl" encuentra "Veterinaria Central") e informe de posibles duplicados.
+ *
+ * Comparar cada cliente con todos los demás es cuadrático, así que solo se
+ * comparan los que comparten alguna clave de bloque: el comienzo de una palabra
+ * significativa de la razón social, el teléfono, el email o el código postal
+ * junto con la inicial del nombre. Dentro de cada bloque se puntúa palabra a
+ * palabra: cada palabra de la razón social (normalizada, sin formas jurídicas
+ * ni palabras vacías) se empareja con la más parecida de la otra según
+ * Jaro-Winkler y se promedia en los dos sentidos, así el orden de las palabras
+ * no influye y una palabra de más resta. Cada dato de contacto que coincide
+ * suma un pequeño extra. Los bloques enormes (una palabra muy común) no se
+ * recorren: esas parejas se encuentran por sus otras claves.
+ *
+ * Los datos se leen una vez y se guardan en una instantánea inmutable. Las
+ * escrituras de clientes de esta aplicación la invalidan y la pantalla de
+ * clientes la recarga al actualizar su tabla.
+ */
+public class CotejoClientes {
+
+	/** Parecido mínimo para que una pareja aparezca en el informe de duplicados. */
+	public static final double UMBRAL_DUPLICADO = 0.9;
+	/** Parecido mínimo de la búsqueda aproximada. */
+	public static final double UMBRAL_BUSQUEDA = 0.85;
+
+	private static final int LONGITUD_CLAVE_NOMBRE = 3;
+	private static final int TAMANO_MAXIMO_BLOQUE = 500;
+
+	private static final double EXTRA_CONTACTO = 0.05;
+
+	private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9 ]");
+	private static final Pattern NO_DIGITO = Pattern.compile("\\D");
+
+	/** Formas jurídicas y palabras que no distinguen a un cliente de otro. */
+	private static final Set<String> PALABRAS_IGNORADAS = Set.of("sl", "slu", "sa", "sau", "sll", "scoop", "coop",
+			"cooperativa", "sociedad", "limitada", "anonima", "cb", "sc", "de", "del", "la", "las", "el", "los", "y",
+			"e", "en");
+
+	private final ClienteDAO clienteDAO;
+	private volatile Datos datos;
+
+	/**
+	 * @param clienteDAO DAO de clientes.
+	 */
+	public CotejoClientes(ClienteDAO clienteDAO) {
+		this.clienteDAO = clienteDAO;
+	}
+
+	/** Vuelve a leer los clientes y publica una instantánea nueva. */
+	public void recargar() {
+		datos = new Datos(clienteDAO.findAllForMatching());
+	}
+
+	/** Descarta la instantánea: la próxima búsqueda la vuelve a cargar. */
+	public void invalidar() {
+		datos = null;
+	}
+
+	private Datos datos() {
+		Datos actuales = datos;
+		if (actuales == null) {
+			actuales = new Datos(clienteDAO.findAllForMatching());
+			datos = actuales;
+		}
+		return actuales;
+	}
+
+	/**
+	 * Busca clientes cuya razón social se parece al texto, aunque tenga erratas.
+	 * Cada palabra del texto se compara con la palabra más parecida del nombre
+	 * (una palabra a medio escribir cuenta como coincidencia si es su comienzo).
+	 *
+	 * @param texto  Texto escrito por el usuario.
+	 * @param limite Máximo de resultados.
+	 * @return Coincidencias de mayor a menor parecido.
+	 */
+	public List<CoincidenciaCliente> buscarSimilares(String texto, int limite) {
+		String[] palabras = palabras(texto);
+		if (palabras.length == 0)
+			return List.of();
+		Datos actuales = datos();
+		Set<Integer> candidatos = new LinkedHashSet<>();
+		for (int[] bloque : bloquesBusqueda(actuales, palabras))
+			for (int indice : bloque)
+				candidatos.add(indice);
+
+		List<Integer> encontrados = new ArrayList<>();
+		double[] similitudes = new double[actuales.clientes.length];
+		for (int indice : candidatos) {
+			similitudes[indice] = parecidoPalabras(palabras, actuales.palabras[indice], true);
+			if (similitudes[indice] >= UMBRAL_BUSQUEDA)
+				encontrados.add(indice);
+		}
+		// A igual parecido, primero el nombre con menos palabras de más
+		encontrados.sort(Comparator.<Integer>comparingDouble(i -> -similitudes[i])
+				.thenComparingInt(i -> actuales.palabras[i].length)
+				.thenComparing(i -> actuales.clientes[i].idCliente()));
+		return encontrados.stream().limit(limite)
+				.map(i -> new CoincidenciaCliente(actuales.clientes[i], similitudes[i])).toList();
+	}
+
+	/**
+	 * Bloques de los que salen los candidatos de una búsqueda: los de las
+	 * palabras poco comunes. Las palabras cuyo bloque es enorme no aportan
+	 * candidatos (sí cuentan al puntuar), salvo que todas lo sean: entonces se
+	 * usa solo el bloque más pequeño.
+	 */
+	private static List<int[]> bloquesBusqueda(Datos actuales, String[] palabras) {
+		List<int[]> bloques = new ArrayList<>();
+		int[] menor = null;
+		for (String palabra : palabras) {
+			int[] bloque = actuales.bloque("N" + clave(palabra));
+			if (bloque.length <= TAMANO_MAXIMO_BLOQUE)
+				bloques.add(bloque);
+			if (menor == null || bloque.length < menor.length)
+				menor = bloque;
+		}
+		if (bloques.isEmpty())
+			bloques.add(menor);
+		return bloques;
+	}
+
+	/**
+	 * Recorre todos los clientes en paralelo (un cliente por tarea) y devuelve
+	 * las parejas con parecido igual o superior a {@link #UMBRAL_DUPLICADO}.
+	 *
+	 * @return Posibles duplicados, los más parecidos primero.
+	 */
+	public List<PosibleDuplicado> detectarDuplicados() {
+		Datos actuales = datos();
+		int total = actuales.clientes.length;
+		// Marca por hilo de los candidatos ya vistos: evita comparar dos veces la
+		// misma pareja cuando comparte varios bloques, sin crear conjuntos
+		ThreadLocal<int[]> vistos = ThreadLocal.withInitial(() -> new int[total]);
+		return IntStream.range(0, total).parallel().boxed().flatMap(i -> {
+			int[] marca = vistos.get();
+			List<PosibleDuplicado> parejas = new ArrayList<>();
+			for (String clave : actuales.claves[i]) {
+				int[] bloque = actuales.bloques.get(clave);
+				if (bloque.length > TAMANO_MAXIMO_BLOQUE)
+					continue;
+				for (int j : bloque) {
+					// Cada pareja se evalúa una sola vez, desde su cliente de menor índice
+					if (j <= i || marca[j] == i + 1)
+						continue;
+					marca[j] = i + 1;
+					PosibleDuplicado pareja = actuales.comparar(i, j);
+					if (pareja != null)
+						parejas.add(pareja);
+				}
+			}
+			return parejas.stream();
+		}).sorted(Comparator.comparingDouble(PosibleDuplicado::similitud).reversed()
+				.thenComparing(p -> p.cliente().idCliente()).thenComparing(p -> p.otro().idCliente()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Media, para cada palabra de origen, del parecido con la palabra más
+	 * parecida de destino (Monge-Elkan con Jaro-Winkler).
+	 *
+	 * @param comienzoBasta true si una palabra de origen que sea el comienzo de
+	 *                      una de destino cuenta como igual (texto a medio
+	 *                      escribir).
+	 */
+	static double parecidoPalabras(String[] origen, String[] destino, boolean comienzoBasta) {
+		if (origen.length == 0 || destino.length == 0)
+			return 0;
+		double suma = 0;
+		for (String buscada : origen) {
+			double mejor = 0;
+			for (String palabra : destino) {
+				if (comienzoBasta ? palabra.startsWith(buscada) : palabra.equals(buscada)) {
+					mejor = 1;
+					break;
+				}
+				mejor = Math.max(mejor, Similitud.jaroWinkler(buscada, palabra));
+			}
+			suma += mejor;
+		}
+		return suma / origen.length;
+	}
+
+	/**
+	 * Palabras significativas de una razón social: normalizada, sin signos de
+	 * puntuación, sin formas jurídicas ni palabras vacías.
+	 */
+	static String[] palabras(String razonSocial) {
+		String limpio = NO_ALFANUMERICO.matcher(IndiceTrigramas.normalizar(razonSocial)).replaceAll(" ");
+		return Arrays.stream(limpio.split(" "))
+				.filter(p -> p.length() > 1 && !PALABRAS_IGNORADAS.contains(p)).toArray(String[]::new);
+	}
+
+	private static String clave(String palabra) {
+		return palabra.length() > LONGITUD_CLAVE_NOMBRE ? palabra.substring(0, LONGITUD_CLAVE_NOMBRE) : palabra;
+	}
+
+	private static String soloDigitos(String telefono) {
+		if (telefono == null)
+			return "";
+		String digitos = NO_DIGITO.matcher(telefono).replaceAll("");
+		// Sin prefijo internacional: se comparan los 9 dígitos nacionales
+		return digitos.length() > 9 ? digitos.substring(digitos.length() - 9) : digitos;
+	}
+
+	private static String limpio(String valor) {
+		return valor == null ? "" : valor.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Instantánea de los clientes con sus datos ya normalizados y los bloques
+	 * (clave -> índices de clientes).
+	 */
+	private static final class Datos {
+
+		private final ClienteCotejo[] clientes;
+		private final String[][] palabras;
+		private final String[] nombres;
+		private final String[] telefonos;
+		private final String[] codigosPostales;
+		private final String[] emails;
+		private final String[][] claves;
+		private final Map<String, int[]> bloques;
+
+		Datos(List<ClienteCotejo> lista) {
+			int total = lista.size();
+			clientes = lista.toArray(new ClienteCotejo[0]);
+			palabras = new String[total][];
+			nombres = new String[total];
+			telefonos = new String[total];
+			codigosPostales = new String[total];
+			emails = new String[total];
+			claves = new String[total][];
+			Map<String, List<Integer>> acumulados = new HashMap<>();
+			for (int i = 0; i < total; i++) {
+				ClienteCotejo c = clientes[i];
+				palabras[i] = CotejoClientes.palabras(c.razonSocial());
+				nombres[i] = String.join(" ", palabras[i]);
+				telefonos[i] = soloDigitos(c.telefono());
+				codigosPostales[i] = limpio(c.codigoPostal());
+				emails[i] = limpio(c.email());
+
+				Set<String> clavesCliente = new LinkedHashSet<>();
+				for (String palabra : palabras[i])
+					clavesCliente.add("N" + clave(palabra));
+				if (!telefonos[i].isEmpty())
+					clavesCliente.add("T" + telefonos[i]);
+				if (!emails[i].isEmpty())
+					clavesCliente.add("E" + emails[i]);
+				if (!codigosPostales[i].isEmpty() && !nombres[i].isEmpty())
+					clavesCliente.add("P" + codigosPostales[i] + nombres[i].charAt(0));
+				claves[i] = clavesCliente.toArray(new String[0]);
+				for (String clave : claves[i])
+					acumulados.computeIfAbsent(clave, k -> new ArrayList<>()).add(i);
+			}
+			bloques = new HashMap<>(acumulados.size() * 2);
+			acumulados.forEach((clave, indices) -> bloques.put(clave,
+					indices.stream().mapToInt(Integer::intValue).toArray()));
+		}
+
+		int[] bloque(String clave) {
+			return bloques.getOrDefault(clave, new int[0]);
+		}
+
+		/** @return La pareja si su parecido llega al umbral; null si no. */
+		PosibleDuplicado comparar(int i, int j) {
+			double nombre = (parecidoPalabras(palabras[i], palabras[j], false)
+					+ parecidoPalabras(palabras[j], palabras[i], false)) / 2;
+			boolean mismoTelefono = !telefonos[i].isEmpty() && telefonos[i].equals(telefonos[j]);
+			boolean mismoEmail = !emails[i].isEmpty() && emails[i].equals(emails[j]);
+			boolean mismoCodigoPostal = !codigosPostales[i].isEmpty() && codigosPostales[i].equals(codigosPostales[j]);
+			double similitud = Math.min(1.0, nombre + EXTRA_CONTACTO
+					* ((mismoTelefono ? 1 : 0) + (mismoEmail ? 1 : 0) + (mismoCodigoPostal ? 1 : 0)));
+			if (similitud < UMBRAL_DUPLICADO)
+				return null;
+
+			StringBuilder coincidencias = new StringBuilder("nombre ").append(Math.round(nombre * 100)).append('%');
+			if (mismoTelefono)
+				coincidencias.append(", mismo teléfono");
+			if (mismoEmail)
+				coincidencias.append(", mismo email");
+			if (mismoCodigoPostal)
+				coincidencias.append(", mismo CP");
+			return new PosibleDuplicado(clientes[i], clientes[j], similitud, coincidencias.toString());
+		}
+	}
+}
@@ -108,4 +108,21 @@ public interface DetalleCompraService {
 	 * @return Lista de detalles en ese rango.
 	 */
 	List<DetalleCompra> listarPorSubtotalConIvaEntre(BigDecimal min, BigDecimal max);
+
+	/**
+	 * Devuelve una página de detalles de compra ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de detalles de compra.
+	 */
+	List<DetalleCompra> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de detalles de compra.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
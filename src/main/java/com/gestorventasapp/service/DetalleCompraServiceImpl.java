@@ -16,6 +16,8 @@ import java.util.List;
  */
 public class DetalleCompraServiceImpl implements DetalleCompraService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final DetalleCompraDAO detalleCompraDAO;
 
 	/**
@@ -163,4 +165,17 @@ public class DetalleCompraServiceImpl implements DetalleCompraService {
 		if (detalleCompra.getEstado() == null)
 			throw new ServiceException("El estado es obligatorio.");
 	}
+
+	@Override
+	public List<DetalleCompra> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return detalleCompraDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return detalleCompraDAO.count();
+	}
+
 }
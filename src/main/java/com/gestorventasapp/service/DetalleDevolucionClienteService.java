@@ -108,4 +108,21 @@ public interface DetalleDevolucionClienteService {
 	 * @return Lista de detalles en ese rango.
 	 */
 	List<DetalleDevolucionCliente> listarPorSubtotalConIvaEntre(BigDecimal min, BigDecimal max);
+
+	/**
+	 * Devuelve una página de detalles de devolución de cliente ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de detalles de devolución de cliente.
+	 */
+	List<DetalleDevolucionCliente> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de detalles de devolución de cliente.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
@@ -108,4 +108,21 @@ public interface DetalleDevolucionProveedorService {
 	 * @return Lista de detalles en ese rango.
 	 */
 	List<DetalleDevolucionProveedor> listarPorSubtotalConIvaEntre(BigDecimal min, BigDecimal max);
+
+	/**
+	 * Devuelve una página de detalles de devolución a proveedor ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de detalles de devolución a proveedor.
+	 */
+	List<DetalleDevolucionProveedor> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de detalles de devolución a proveedor.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
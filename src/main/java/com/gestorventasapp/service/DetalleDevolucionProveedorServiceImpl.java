@@ -17,6 +17,8 @@ import java.util.List;
  */
 public class DetalleDevolucionProveedorServiceImpl implements DetalleDevolucionProveedorService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final DetalleDevolucionProveedorDAO detalleDAO;
 
 	/**
@@ -159,4 +161,17 @@ public class DetalleDevolucionProveedorServiceImpl implements DetalleDevolucionP
 		if (detalle.getEstado() == null)
 			throw new ServiceException("El estado es obligatorio.");
 	}
+
+	@Override
+	public List<DetalleDevolucionProveedor> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return detalleDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return detalleDAO.count();
+	}
+
 }
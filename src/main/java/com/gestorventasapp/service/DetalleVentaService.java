@@ -106,4 +106,21 @@ public interface DetalleVentaService {
 	 * @return Lista de detalles en ese rango.
 	 */
 	List<DetalleVenta> listarPorSubtotalConIvaEntre(BigDecimal min, BigDecimal max);
+
+	/**
+	 * Devuelve una página de detalles de venta ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de detalles de venta.
+	 */
+	List<DetalleVenta> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de detalles de venta.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
@@ -16,6 +16,8 @@ import java.util.List;
  */
 public class DetalleVentaServiceImpl implements DetalleVentaService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final DetalleVentaDAO detalleVentaDAO;
 
 	/**
@@ -160,4 +162,17 @@ public class DetalleVentaServiceImpl implements DetalleVentaService {
 		if (detalleVenta.getEstado() == null)
 			throw new ServiceException("El estado es obligatorio.");
 	}
+
+	@Override
+	public List<DetalleVenta> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return detalleVentaDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return detalleVentaDAO.count();
+	}
+
 }
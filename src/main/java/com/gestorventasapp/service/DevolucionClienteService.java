@@ -137,4 +137,21 @@ public interface DevolucionClienteService {
 	 * @return Lista de devoluciones en ese rango.
 	 */
 	List<DevolucionCliente> buscarPorTotalEntre(double min, double max);
+
+	/**
+	 * Devuelve una página de devoluciones de cliente ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de devoluciones de cliente.
+	 */
+	List<DevolucionCliente> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de devoluciones de cliente.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
@@ -16,6 +16,8 @@ import java.util.List;
  */
 public class DevolucionClienteServiceImpl implements DevolucionClienteService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final DevolucionClienteDAO devolucionClienteDAO;
 
 	/**
@@ -170,4 +172,17 @@ public class DevolucionClienteServiceImpl implements DevolucionClienteService {
 		if (devolucion.getEstado() == null)
 			throw new ServiceException("El estado es obligatorio.");
 	}
+
+	@Override
+	public List<DevolucionCliente> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return devolucionClienteDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return devolucionClienteDAO.count();
+	}
+
 }
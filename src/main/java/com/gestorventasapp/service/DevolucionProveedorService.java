@@ -137,4 +137,21 @@ public interface DevolucionProveedorService {
 	 * @return Lista de devoluciones en ese rango.
 	 */
 	List<DevolucionProveedor> buscarPorTotalEntre(double min, double max);
+
+	/**
+	 * Devuelve una página de devoluciones a proveedor ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de devoluciones a proveedor.
+	 */
+	List<DevolucionProveedor> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de devoluciones a proveedor.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
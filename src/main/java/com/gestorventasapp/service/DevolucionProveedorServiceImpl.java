@@ -16,6 +16,8 @@ import java.util.List;
  */
 public class DevolucionProveedorServiceImpl implements DevolucionProveedorService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final DevolucionProveedorDAO devolucionProveedorDAO;
 
 	/**
@@ -170,4 +172,17 @@ public class DevolucionProveedorServiceImpl implements DevolucionProveedorServic
 		if (devolucion.getEstado() == null)
 			throw new ServiceException("El estado es obligatorio.");
 	}
+
+	@Override
+	public List<DevolucionProveedor> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return devolucionProveedorDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return devolucionProveedorDAO.count();
+	}
+
 }
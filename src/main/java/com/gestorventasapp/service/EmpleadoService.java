@@ -156,4 +156,21 @@ public interface EmpleadoService {
 	 * @return Lista de empleados con ese teléfono.
 	 */
 	List<Empleado> buscarPorTelefono(String telefono);
+
+	/**
+	 * Devuelve una página de empleados ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de empleados.
+	 */
+	List<Empleado> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de empleados.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
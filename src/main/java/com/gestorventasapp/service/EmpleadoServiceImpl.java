@@ -1,6 +1,7 @@
 package com.gestorventasapp.service;
 
 import com.gestorventasapp.dao.EmpleadoDAO;
+import com.gestorventasapp.enums.CampoUnico;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.model.Empleado;
 import com.gestorventasapp.service.EmpleadoService;
@@ -18,23 +19,29 @@ import java.util.Objects;
  */
 public class EmpleadoServiceImpl implements EmpleadoService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final EmpleadoDAO empleadoDAO;
+	private final IndiceUnicidad indiceUnicidad;
 
 	/**
 	 * Constructor con inyección de dependencia.
 	 * 
-	 * @param empleadoDAO DAO de empleados.
+	 * @param empleadoDAO    DAO de empleados.
+	 * @param indiceUnicidad Índice de DNI y emails existentes.
 	 */
-	public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO) {
+	public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO, IndiceUnicidad indiceUnicidad) {
 		this.empleadoDAO = empleadoDAO;
+		this.indiceUnicidad = indiceUnicidad;
 	}
 
 	@Override
 	public void crearEmpleado(Empleado empleado) {
 		validarEmpleado(empleado, true);
 
-		Empleado existenteDni = empleadoDAO.findByDni(empleado.getDni());
-		Empleado existenteEmail = empleadoDAO.findByEmail(empleado.getEmail());
+		// Solo se busca en la BD lo que el índice no puede descartar
+		Empleado existenteDni = buscarSiPuedeExistir(CampoUnico.DNI_EMPLEADO, empleado.getDni());
+		Empleado existenteEmail = buscarSiPuedeExistir(CampoUnico.EMAIL_EMPLEADO, empleado.getEmail());
 
 		// Si existe por DNI o email y está inactivo, lo reactivamos con los datos
 		// nuevos
@@ -54,6 +61,18 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 		empleado.setFechaAlta(LocalDateTime.now());
 		empleado.setEstado(Estado.activo);
 		empleadoDAO.save(empleado);
+		indiceUnicidad.registrarEmpleado(empleado);
+	}
+
+	/**
+	 * Busca el empleado por DNI o email solo si el índice no descarta el valor.
+	 * 
+	 * @return Empleado con ese valor, o null si no existe.
+	 */
+	private Empleado buscarSiPuedeExistir(CampoUnico campo, String valor) {
+		if (!indiceUnicidad.puedeExistir(campo, valor))
+			return null;
+		return campo == CampoUnico.DNI_EMPLEADO ? empleadoDAO.findByDni(valor) : empleadoDAO.findByEmail(valor);
 	}
 
 	@Override
@@ -70,16 +89,17 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 		validarEmpleado(empleado, false);
 
 		// No permitir duplicados de DNI/email con otros empleados
-		Empleado conDni = empleadoDAO.findByDni(empleado.getDni());
+		Empleado conDni = buscarSiPuedeExistir(CampoUnico.DNI_EMPLEADO, empleado.getDni());
 		if (conDni != null && !Objects.equals(conDni.getIdEmpleado(), empleado.getIdEmpleado())) {
 			throw new ServiceException("Ya existe otro empleado con ese DNI.");
 		}
-		Empleado conEmail = empleadoDAO.findByEmail(empleado.getEmail());
+		Empleado conEmail = buscarSiPuedeExistir(CampoUnico.EMAIL_EMPLEADO, empleado.getEmail());
 		if (conEmail != null && !Objects.equals(conEmail.getIdEmpleado(), empleado.getIdEmpleado())) {
 			throw new ServiceException("Ya existe otro empleado con ese email.");
 		}
 
 		empleadoDAO.update(empleado);
+		indiceUnicidad.registrarEmpleado(empleado);
 	}
 
 	@Override
@@ -191,7 +211,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 		if (dni == null || !dni.matches("^[0-9]{8}[A-Z]$")) {
 			throw new ServiceException("El formato del DNI no es válido.");
 		}
-		return empleadoDAO.existsDni(dni);
+		return indiceUnicidad.existe(CampoUnico.DNI_EMPLEADO, dni);
 	}
 
 	@Override
@@ -199,7 +219,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 		if (email == null || !email.matches("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
 			throw new ServiceException("El formato del email no es válido.");
 		}
-		return empleadoDAO.existsEmail(email);
+		return indiceUnicidad.existe(CampoUnico.EMAIL_EMPLEADO, email);
 	}
 
 	@Override
@@ -282,5 +302,19 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 		empleado.setFechaAlta(LocalDateTime.now());
 		empleado.setEstado(Estado.activo);
 		empleadoDAO.update(empleado);
+		indiceUnicidad.registrarEmpleado(empleado);
 	}
+
+	@Override
+	public List<Empleado> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return empleadoDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return empleadoDAO.count();
+	}
+
 }
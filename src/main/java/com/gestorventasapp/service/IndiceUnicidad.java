@@ -0,0 +1,224 @@
+package com.gestorventasapp.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.gestorventasapp.dao.ClienteDAO;
+import com.gestorventasapp.dao.EmpleadoDAO;
+import com.gestorventasapp.dao.ProveedorDAO;
+import com.gestorventasapp.enums.CampoUnico;
+import com.gestorventasapp.model.Cliente;
+import com.gestorventasapp.model.Empleado;
+import com.gestorventasapp.model.Proveedor;
+import com.gestorventasapp.util.FiltroBloom;
+import com.gestorventasapp.util.Intercalacion;
+
+/**
+ * Índice en memoria para comprobar la unicidad de CIF/NIF, DNI y email de
+ * clientes, proveedores y empleados sin ir a la base de datos en el caso
+ * habitual (un valor nuevo).
+ *
+ * El CIF/NIF de clientes y proveedores y el DNI de empleados tienen cada uno un
+ * {@link FiltroBloom} con los valores existentes. Si el filtro dice que un
+ * valor no está, es nuevo y no se consulta nada; si dice que puede estar, se
+ * confirma con la consulta exacta del DAO. Los emails no tienen restricción
+ * UNIQUE en la base de datos, así que siempre se confirman con el DAO: un email
+ * dado de alta en otro terminal desde la última recarga se colaría.
+ *
+ * Los valores se normalizan al menos tanto como compara la intercalación de
+ * la base de datos, utf8mb4_unicode_ci (UCA 4.0.0, sin distinguir mayúsculas
+ * ni acentos y sin contar los espacios finales): con la clave de
+ * {@link Intercalacion} y, además, sin ningún espacio. Normalizar de más solo puede provocar alguna
+ * consulta de confirmación de sobra, nunca dar por nuevo un valor repetido.
+ *
+ * Las altas y modificaciones de esta aplicación se añaden al momento. Los
+ * cambios de otros terminales se recogen al recargar los filtros completos
+ * cada {@value #INTERVALO_POR_DEFECTO} segundos; hasta entonces, el CIF/NIF y
+ * el DNI siguen protegidos por su restricción UNIQUE en la base de datos.
+ * Mientras los filtros no están cargados, todo se confirma con el DAO.
+ */
+public class IndiceUnicidad {
+
+	/** Propiedad de sistema con el intervalo de recarga, en segundos. */
+	public static final String PROPIEDAD_INTERVALO = "gestorventas.unicidad.intervalo";
+	private static final int INTERVALO_POR_DEFECTO = 120;
+
+	private static final double PROBABILIDAD_FALSO_POSITIVO = 0.01;
+	private static final int MINIMO_PREVISTOS = 1024;
+
+	private static final Pattern ESPACIOS = Pattern.compile("[\\p{Z}\\s]+");
+
+	private final ClienteDAO clienteDAO;
+	private final ProveedorDAO proveedorDAO;
+	private final EmpleadoDAO empleadoDAO;
+	private final Object cerrojoCarga = new Object();
+
+	// Protegidos por this
+	private Map<CampoUnico, FiltroBloom> filtros;
+	private List<Alta> altasDuranteCarga;
+
+	private ScheduledExecutorService recargador;
+
+	/**
+	 * @param clienteDAO   DAO de clientes.
+	 * @param proveedorDAO DAO de proveedores.
+	 * @param empleadoDAO  DAO de empleados.
+	 */
+	public IndiceUnicidad(ClienteDAO clienteDAO, ProveedorDAO proveedorDAO, EmpleadoDAO empleadoDAO) {
+		this.clienteDAO = clienteDAO;
+		this.proveedorDAO = proveedorDAO;
+		this.empleadoDAO = empleadoDAO;
+	}
+
+	/**
+	 * Carga los filtros y los recarga cada {@value #INTERVALO_POR_DEFECTO}
+	 * segundos (ajustable con {@value #PROPIEDAD_INTERVALO}), en un hilo de
+	 * fondo.
+	 */
+	public synchronized void iniciarRecargaPeriodica() {
+		if (recargador != null)
+			return;
+		recargador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+			Thread hilo = new Thread(tarea, "indice-unicidad");
+			hilo.setDaemon(true);
+			return hilo;
+		});
+		int intervalo = Integer.getInteger(PROPIEDAD_INTERVALO, INTERVALO_POR_DEFECTO);
+		recargador.scheduleWithFixedDelay(this::recargarSinFallar, 0, intervalo, TimeUnit.SECONDS);
+	}
+
+	private void recargarSinFallar() {
+		try {
+			recargar();
+		} catch (RuntimeException e) {
+			// Se siguen usando los filtros anteriores (o el DAO, si nunca se cargaron)
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Vuelve a leer los campos únicos de las tres tablas y publica filtros
+	 * nuevos. Lo registrado mientras se leían se añade también a los nuevos.
+	 */
+	public void recargar() {
+		synchronized (cerrojoCarga) {
+			synchronized (this) {
+				altasDuranteCarga = new ArrayList<>();
+			}
+			try {
+				Map<CampoUnico, FiltroBloom> nuevos = new EnumMap<>(CampoUnico.class);
+				cargar(nuevos, clienteDAO.findAllUniqueKeys(), CampoUnico.CIF_NIF_CLIENTE);
+				cargar(nuevos, proveedorDAO.findAllUniqueKeys(), CampoUnico.CIF_NIF_PROVEEDOR);
+				cargar(nuevos, empleadoDAO.findAllUniqueKeys(), CampoUnico.DNI_EMPLEADO);
+				synchronized (this) {
+					altasDuranteCarga.forEach(alta -> nuevos.get(alta.campo()).agregar(alta.clave()));
+					filtros = nuevos;
+				}
+			} finally {
+				synchronized (this) {
+					altasDuranteCarga = null;
+				}
+			}
+		}
+	}
+
+	private static void cargar(Map<CampoUnico, FiltroBloom> destino, List<String> claves, CampoUnico campo) {
+		// El doble de lo existente deja sitio a las altas hasta la próxima recarga
+		int previstos = Math.max(MINIMO_PREVISTOS, claves.size() * 2);
+		FiltroBloom filtro = new FiltroBloom(previstos, PROBABILIDAD_FALSO_POSITIVO);
+		for (String clave : claves) {
+			if (clave != null)
+				filtro.agregar(normalizar(clave));
+		}
+		destino.put(campo, filtro);
+	}
+
+	/**
+	 * Consulta solo el filtro, sin ir a la base de datos.
+	 *
+	 * @return false si el valor seguro que no existe; true si puede existir (o
+	 *         los filtros aún no están cargados, o es un email).
+	 */
+	public boolean puedeExistir(CampoUnico campo, String valor) {
+		if (valor == null || !conFiltro(campo))
+			return true;
+		String clave = normalizar(valor);
+		synchronized (this) {
+			return filtros == null || filtros.get(campo).puedeContener(clave);
+		}
+	}
+
+	/**
+	 * Comprueba si el valor ya existe: el filtro descarta los valores nuevos sin
+	 * consulta y el resto se confirma con el DAO.
+	 *
+	 * @return true si ya hay un registro con ese valor.
+	 */
+	public boolean existe(CampoUnico campo, String valor) {
+		if (!puedeExistir(campo, valor))
+			return false;
+		return switch (campo) {
+		case CIF_NIF_CLIENTE -> clienteDAO.existsCifNif(valor);
+		case EMAIL_CLIENTE -> clienteDAO.existsEmail(valor);
+		case CIF_NIF_PROVEEDOR -> proveedorDAO.existsCifNif(valor);
+		case EMAIL_PROVEEDOR -> proveedorDAO.existsEmail(valor);
+		case DNI_EMPLEADO -> empleadoDAO.existsDni(valor);
+		case EMAIL_EMPLEADO -> empleadoDAO.existsEmail(valor);
+		};
+	}
+
+	/**
+	 * Añade un valor guardado por esta aplicación. Basta con llamarlo tras el
+	 * DAO aunque la transacción se deshiciera después: un valor de más solo
+	 * cuesta una consulta de confirmación.
+	 */
+	public void registrar(CampoUnico campo, String valor) {
+		if (valor == null || !conFiltro(campo))
+			return;
+		String clave = normalizar(valor);
+		synchronized (this) {
+			if (filtros != null)
+				filtros.get(campo).agregar(clave);
+			if (altasDuranteCarga != null)
+				altasDuranteCarga.add(new Alta(campo, clave));
+		}
+	}
+
+	/** Registra el CIF/NIF del cliente guardado. */
+	public void registrarCliente(Cliente cliente) {
+		registrar(CampoUnico.CIF_NIF_CLIENTE, cliente.getCifNif());
+	}
+
+	/** Registra el CIF/NIF del proveedor guardado. */
+	public void registrarProveedor(Proveedor proveedor) {
+		registrar(CampoUnico.CIF_NIF_PROVEEDOR, proveedor.getCifNif());
+	}
+
+	/** Registra el DNI del empleado guardado. */
+	public void registrarEmpleado(Empleado empleado) {
+		registrar(CampoUnico.DNI_EMPLEADO, empleado.getDni());
+	}
+
+	/** Solo los campos con restricción UNIQUE se pueden descartar sin consultar. */
+	private static boolean conFiltro(CampoUnico campo) {
+		return campo == CampoUnico.CIF_NIF_CLIENTE || campo == CampoUnico.CIF_NIF_PROVEEDOR
+				|| campo == CampoUnico.DNI_EMPLEADO;
+	}
+
+	/**
+	 * Clave de la intercalación ({@link Intercalacion}) sin ningún espacio: un
+	 * CIF/NIF o DNI escrito con espacios intermedios también se confirma.
+	 */
+	static String normalizar(String valor) {
+		return ESPACIOS.matcher(Intercalacion.clave(valor)).replaceAll("");
+	}
+
+	private record Alta(CampoUnico campo, String clave) {
+	}
+}
@@ -1,6 +1,8 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.TipoIva;
 import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.enums.Estado;
 
 import java.math.BigDecimal;
@@ -20,6 +22,10 @@ public interface IvaService {
 
 	List<Iva> listarActivos(); // Listar solo activos
 
+	List<TipoIva> listarTiposActivos(); // Tipos activos preparados para calcular (registro en memoria)
+
+	TipoIva tipoDeProducto(Producto producto); // Tipo de IVA que corresponde al producto
+
 	List<Iva> listarInactivos(); // Listar solo inactivos
 
 	List<Iva> listarPorEstado(Estado estado); // Listar por estado
@@ -35,4 +41,21 @@ public interface IvaService {
 	boolean existeDescripcion(String descripcion); // Validación
 
 	boolean existePorcentaje(BigDecimal porcentaje); // Validación
+
+	/**
+	 * Devuelve una página de tipos de IVA ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de tipos de IVA.
+	 */
+	List<Iva> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de tipos de IVA.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
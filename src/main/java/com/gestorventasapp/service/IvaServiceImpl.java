@@ -5,17 +5,23 @@ import java.util.List;
 
 import com.gestorventasapp.dao.IvaDAO;
 import com.gestorventasapp.dao.IvaDAOImpl;
+import com.gestorventasapp.dto.TipoIva;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.exceptions.ServiceException;
 import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
 
 public class IvaServiceImpl implements IvaService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final IvaDAO ivaDAO;
+	private final RegistroIva registroIva;
 
 	// Constructor para inyección de dependencia
-	public IvaServiceImpl(IvaDAO ivaDAO) {
+	public IvaServiceImpl(IvaDAO ivaDAO, RegistroIva registroIva) {
 		this.ivaDAO = ivaDAO;
+		this.registroIva = registroIva;
 	}
 
 	@Override
@@ -26,17 +32,20 @@ public class IvaServiceImpl implements IvaService {
 		if (ivaDAO.findByPorcentaje(iva.getPorcentaje()) != null)
 			throw new ServiceException("Ya existe un IVA con ese porcentaje.");
 		ivaDAO.save(iva);
+		registroIva.recargarTrasConfirmar();
 	}
 
 	@Override
 	public void modificarIva(Iva iva) {
 		validarIva(iva, false);
 		ivaDAO.update(iva);
+		registroIva.recargarTrasConfirmar();
 	}
 
 	@Override
 	public void darBajaLogicaIva(int idIva) {
 		ivaDAO.delete(idIva);
+		registroIva.recargarTrasConfirmar();
 	}
 
 	@Override
@@ -47,6 +56,18 @@ public class IvaServiceImpl implements IvaService {
 		return iva;
 	}
 
+	@Override
+	public List<TipoIva> listarTiposActivos() {
+		return registroIva.activos();
+	}
+
+	@Override
+	public TipoIva tipoDeProducto(Producto producto) {
+		if (producto == null)
+			throw new ServiceException("El producto no puede ser nulo.");
+		return registroIva.deProducto(producto);
+	}
+
 	@Override
 	public List<Iva> listarTodos() {
 		return ivaDAO.findAll();
@@ -150,4 +171,17 @@ public class IvaServiceImpl implements IvaService {
 				throw new ServiceException("Ya existe un IVA con ese porcentaje.");
 		}
 	}
+
+	@Override
+	public List<Iva> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return ivaDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return ivaDAO.count();
+	}
+
 }
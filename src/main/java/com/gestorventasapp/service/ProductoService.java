@@ -1,11 +1,18 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.dto.ResultadoImportacion;
+import com.gestorventasapp.dto.RevisionPrecios;
+import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.enums.TipoAnimal;
 
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para la gestión de productos (piensos). Aplica lógica de negocio,
@@ -196,4 +203,111 @@ public interface ProductoService {
 	 */
 	void actualizarYReactivarStock(int idProducto, int cantidadSumar);
 
+	/**
+	 * Aplica un lote de ajustes de stock como incrementos atómicos en base de
+	 * datos (sin pérdida de actualizaciones entre terminales concurrentes). Los
+	 * productos que reciben stock se reactivan.
+	 *
+	 * @param ajustes Mapa idProducto -> cantidad a sumar (negativa para restar).
+	 * @return Mapa idProducto -> stock resultante.
+	 * @throws com.gestorventasapp.exceptions.ServiceException si algún producto
+	 *                                                         no existe o los
+	 *                                                         datos no son
+	 *                                                         válidos.
+	 */
+	Map<Integer, Integer> ajustarStock(Map<Integer, Integer> ajustes);
+
+	/**
+	 * Descuenta stock solo de los productos que tienen unidades suficientes
+	 * (actualización condicional {@code stock >= cantidad}, sin bloqueos
+	 * previos). Debe invocarse dentro de una unidad de trabajo para que un fallo
+	 * deshaga todo el lote.
+	 *
+	 * @param cantidades Mapa idProducto -> unidades a descontar.
+	 * @return Mapa idProducto -> stock disponible de los productos sin unidades
+	 *         suficientes (vacío si se descontó todo).
+	 * @throws com.gestorventasapp.exceptions.ServiceException si los datos no son
+	 *                                                         válidos.
+	 */
+	Map<Integer, Integer> descontarStockSiDisponible(Map<Integer, Integer> cantidades);
+
+	/**
+	 * Lista los productos como filas de tabla (proyección de solo lectura con
+	 * proveedor e IVA resueltos en la consulta).
+	 *
+	 * @return Lista de filas de productos.
+	 */
+	List<ProductoFila> listarFilas();
+
+	/**
+	 * Busca productos por texto libre en nombre, marca, tipo de animal,
+	 * proveedor y formato, sin consultar la base de datos.
+	 *
+	 * @param texto Palabras a buscar (vacío = todos).
+	 * @return Filas encontradas, ordenadas por relevancia.
+	 */
+	List<ProductoFila> buscarFilas(String texto);
+
+	/**
+	 * Devuelve una página de productos ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de productos.
+	 */
+	List<Producto> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de productos.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
+	/**
+	 * Importa el catálogo de un proveedor desde un CSV separado por punto y coma
+	 * con cabecera (nombre;descripcion;tipoAnimal;marca;formato;precioVenta;
+	 * precioCompra;iva;stock;stockMinimo). Un campo entre comillas dobles puede
+	 * contener punto y coma. Las filas inválidas o duplicadas se
+	 * rechazan una a una sin detener la importación; las existentes no se
+	 * modifican ni se reactivan.
+	 *
+	 * @param csv       Contenido del fichero.
+	 * @param proveedor Proveedor al que pertenecen todos los productos.
+	 * @return Filas leídas, importadas y rechazadas con su motivo.
+	 * @throws com.gestorventasapp.exceptions.ServiceException si no se puede leer
+	 *                                                         el fichero.
+	 */
+	ResultadoImportacion importarCatalogo(Reader csv, Proveedor proveedor);
+
+	/**
+	 * Calcula, sin modificar nada, cuántos productos cambiaría una revisión de
+	 * precios y cómo quedarían los totales.
+	 *
+	 * @param revision Selección y cambio de precios.
+	 * @return Vista previa de la revisión.
+	 * @throws com.gestorventasapp.exceptions.ServiceException si la revisión no
+	 *                                                         es válida.
+	 */
+	PrevisionRevisionPrecios previsualizarRevisionPrecios(RevisionPrecios revision);
+
+	/**
+	 * Aplica una revisión de precios a todos los productos de la selección en
+	 * una única transacción.
+	 *
+	 * @param revision Selección y cambio de precios.
+	 * @return Número de productos actualizados.
+	 * @throws com.gestorventasapp.exceptions.ServiceException si la revisión no
+	 *                                                         es válida o algún
+	 *                                                         precio quedaría
+	 *                                                         negativo.
+	 */
+	int revisarPrecios(RevisionPrecios revision);
+
+	/**
+	 * Comprueba si otro terminal ha cambiado algún producto y, en ese caso,
+	 * vuelve a cargar el catálogo en memoria que sirve los listados.
+	 */
+	void comprobarCatalogo();
+
 }
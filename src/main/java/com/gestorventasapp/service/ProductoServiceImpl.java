@@ -1,65 +1,104 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.ProductoConflicto;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.dto.ResultadoImportacion;
+import com.gestorventasapp.dto.ResultadoImportacion.ErrorFila;
+import com.gestorventasapp.dto.RevisionPrecios;
+import com.gestorventasapp.dao.AuditoriaDAO;
+import com.gestorventasapp.dao.IvaDAO;
 import com.gestorventasapp.dao.ProductoDAO;
 import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.PrecioRevisado;
+import com.gestorventasapp.enums.TipoAjustePrecio;
 import com.gestorventasapp.enums.TipoAnimal;
+import com.gestorventasapp.model.Auditoria;
 import com.gestorventasapp.model.Iva;
 import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.model.Proveedor;
+import com.gestorventasapp.exceptions.DAOException;
 import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.util.Intercalacion;
+import com.gestorventasapp.util.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Implementación de la lógica de negocio y validaciones para la entidad
  * Producto. Controla creación, modificación, baja lógica, reactivación y
  * control profesional del stock.
+ *
+ * Los listados se sirven desde {@link CatalogoProductos}; cada escritura le
+ * indica qué productos ha cambiado. Las comprobaciones previas a escribir
+ * (conflictos, existencia) siguen consultando la base de datos.
  */
 public class ProductoServiceImpl implements ProductoService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
+	/** Filas por transacción en la importación de catálogos. */
+	private static final int TAMANO_LOTE_IMPORTACION = 1000;
+	private static final char SEPARADOR_CSV = ';';
+	private static final int COLUMNAS_CSV = 10;
+
 	private final ProductoDAO productoDAO;
+	private final IvaDAO ivaDAO;
+	private final AuditoriaDAO auditoriaDAO;
+	private final CatalogoProductos catalogo;
 
 	/**
 	 * Constructor por inyección de dependencia.
 	 *
-	 * @param productoDAO DAO de productos.
+	 * @param productoDAO  DAO de productos.
+	 * @param ivaDAO       DAO de IVA (resuelve el porcentaje en las importaciones).
+	 * @param auditoriaDAO DAO de auditorías (registro de revisiones de precios).
+	 * @param catalogo     Catálogo en memoria que sirve los listados.
 	 */
-	public ProductoServiceImpl(ProductoDAO productoDAO) {
+	public ProductoServiceImpl(ProductoDAO productoDAO, IvaDAO ivaDAO, AuditoriaDAO auditoriaDAO,
+			CatalogoProductos catalogo) {
 		this.productoDAO = productoDAO;
+		this.ivaDAO = ivaDAO;
+		this.auditoriaDAO = auditoriaDAO;
+		this.catalogo = catalogo;
 	}
 
 	@Override
 	public void crearProducto(Producto producto) {
 		validarProducto(producto, true);
 
-		// Combinación única: marca + formato + proveedor
-		boolean existeCombinacion = productoDAO.existsByMarcaAndFormatoAndProveedor(producto.getMarca(),
-				producto.getFormato(), producto.getProveedor().getIdProveedor());
-
-		// Si existe como inactivo → reactivar y actualizar
-		if (existeCombinacion) {
-			List<Producto> candidatos = productoDAO.findByProveedor(producto.getProveedor().getIdProveedor());
-			for (Producto p : candidatos) {
-				if (p.getMarca().equalsIgnoreCase(producto.getMarca())
-						&& p.getFormato().equalsIgnoreCase(producto.getFormato()) && p.getEstado() == Estado.inactivo) {
-					actualizarYReactivar(producto, p.getIdProducto());
-					return;
-				}
-			}
-			// Si existe y está activo, error
-			for (Producto p : candidatos) {
-				if (p.getMarca().equalsIgnoreCase(producto.getMarca())
-						&& p.getFormato().equalsIgnoreCase(producto.getFormato()) && p.getEstado() == Estado.activo) {
-					throw new ServiceException("Ya existe un producto activo con esa marca, formato y proveedor.");
-				}
+		// Nombre único y combinación única (marca + formato + proveedor) en una consulta
+		List<ProductoConflicto> conflictos = buscarConflictos(producto);
+
+		// Si la combinación existe como inactiva → reactivar y actualizar
+		ProductoConflicto inactivo = conflictos.stream()
+				.filter(c -> c.mismaCombinacion() && c.estado() == Estado.inactivo)
+				.findFirst().orElse(null);
+
+		// Cualquier otra fila devuelta es un conflicto
+		for (ProductoConflicto c : conflictos) {
+			if (c == inactivo)
+				continue;
+			if (c.mismaCombinacion()) {
+				throw new ServiceException("Ya existe un producto activo con esa marca, formato y proveedor.");
 			}
+			throw new ServiceException("Ya existe un producto con ese nombre.");
 		}
 
-		// Nombre único (opcional, si tu negocio lo requiere)
-		if (productoDAO.existsNombre(producto.getNombre())) {
-			throw new ServiceException("Ya existe un producto con ese nombre.");
+		if (inactivo != null) {
+			actualizarYReactivar(producto, inactivo);
+			return;
 		}
 
 		producto.setEstado(Estado.activo);
@@ -69,6 +108,7 @@ public class ProductoServiceImpl implements ProductoService {
 			producto.setStockMinimo(0);
 
 		productoDAO.save(producto);
+		catalogo.actualizarTrasConfirmar(List.of(producto.getIdProducto()));
 	}
 
 	@Override
@@ -84,39 +124,36 @@ public class ProductoServiceImpl implements ProductoService {
 
 		validarProducto(producto, false);
 
-		// -- Comprobación de combinación única --
-		List<Producto> conMismaCombinacion = productoDAO.findByProveedor(producto.getProveedor().getIdProveedor());
-		for (Producto p : conMismaCombinacion) {
-			// Solo comprobamos si el ID es distinto (no se compara consigo mismo)
-			if (p.getIdProducto() != null && !p.getIdProducto().equals(producto.getIdProducto())
-					&& p.getMarca().equalsIgnoreCase(producto.getMarca())
-					&& p.getFormato().equalsIgnoreCase(producto.getFormato())) {
+		// -- Comprobación de combinación y nombre únicos (una sola consulta) --
+		for (ProductoConflicto c : buscarConflictos(producto)) {
+			// No se compara consigo mismo
+			if (c.idProducto().equals(producto.getIdProducto()))
+				continue;
+			if (c.mismaCombinacion()) {
 				throw new ServiceException("Ya existe otro producto con esa marca, formato y proveedor.");
 			}
-		}
-
-		// -- Comprobación de nombre único --
-		List<Producto> conMismoNombre = productoDAO.findByNombre(producto.getNombre());
-		for (Producto p : conMismoNombre) {
-			if (p.getIdProducto() != null && !p.getIdProducto().equals(producto.getIdProducto())) {
-				throw new ServiceException("Ya existe otro producto con ese nombre.");
-			}
+			throw new ServiceException("Ya existe otro producto con ese nombre.");
 		}
 
 		productoDAO.update(producto);
+		catalogo.actualizarTrasConfirmar(List.of(producto.getIdProducto()));
 	}
 
 	@Override
 	public void darBajaLogicaProducto(int idProducto) {
-		Producto producto = productoDAO.findById(idProducto);
-		if (producto == null) {
-			throw new ServiceException("No existe el producto a dar de baja.");
-		}
-		if (producto.getEstado() == Estado.inactivo) {
-			throw new ServiceException("El producto ya está inactivo.");
-		}
-		producto.setEstado(Estado.inactivo);
-		productoDAO.update(producto);
+		// Se relee el producto en cada intento: un ajuste de stock concurrente no impide la baja
+		TransactionTemplate.runWithRetry(() -> {
+			Producto producto = productoDAO.findById(idProducto);
+			if (producto == null) {
+				throw new ServiceException("No existe el producto a dar de baja.");
+			}
+			if (producto.getEstado() == Estado.inactivo) {
+				throw new ServiceException("El producto ya está inactivo.");
+			}
+			producto.setEstado(Estado.inactivo);
+			productoDAO.update(producto);
+			catalogo.actualizarTrasConfirmar(List.of(idProducto));
+		});
 	}
 
 	@Override
@@ -130,52 +167,54 @@ public class ProductoServiceImpl implements ProductoService {
 
 	@Override
 	public List<Producto> listarTodos() {
-		return productoDAO.findAll();
+		return catalogo.todos();
 	}
 
 	@Override
 	public List<Producto> listarActivos() {
-		return productoDAO.findAllActivos();
+		return catalogo.activos();
 	}
 
 	@Override
 	public List<Producto> listarInactivos() {
-		return productoDAO.findAllInactivos();
+		return listarPorEstado(Estado.inactivo);
 	}
 
 	@Override
 	public List<Producto> listarPorEstado(Estado estado) {
 		if (estado == null)
 			throw new ServiceException("El estado no puede ser nulo.");
-		return productoDAO.findByEstado(estado);
+		if (estado == Estado.activo)
+			return catalogo.activos();
+		return catalogo.todos().stream().filter(p -> p.getEstado() == estado).toList();
 	}
 
 	@Override
 	public List<Producto> buscarPorNombre(String nombre) {
 		if (nombre == null || nombre.trim().isEmpty())
 			throw new ServiceException("El nombre no puede estar vacío.");
-		return productoDAO.findByNombre(nombre.trim());
+		return catalogo.buscarPorNombre(nombre.trim());
 	}
 
 	@Override
 	public List<Producto> buscarPorTipoAnimal(TipoAnimal tipoAnimal) {
 		if (tipoAnimal == null)
 			throw new ServiceException("El tipo de animal no puede ser nulo.");
-		return productoDAO.findByTipoAnimal(tipoAnimal.name());
+		return catalogo.porTipoAnimal(tipoAnimal);
 	}
 
 	@Override
 	public List<Producto> buscarPorMarca(String marca) {
 		if (marca == null || marca.trim().isEmpty())
 			throw new ServiceException("La marca no puede estar vacía.");
-		return productoDAO.findByMarca(marca.trim());
+		return catalogo.porMarca(marca);
 	}
 
 	@Override
 	public List<Producto> buscarPorProveedor(int idProveedor) {
 		if (idProveedor <= 0)
 			throw new ServiceException("El ID de proveedor no es válido.");
-		return productoDAO.findByProveedor(idProveedor);
+		return catalogo.porProveedor(idProveedor);
 	}
 
 	@Override
@@ -249,14 +288,49 @@ public class ProductoServiceImpl implements ProductoService {
 	 */
 	@Override
 	public void actualizarYReactivarStock(int idProducto, int cantidadSumar) {
-		Producto prod = productoDAO.findById(idProducto);
-		if (prod == null) {
-			throw new ServiceException("No existe el producto para actualizar stock.");
+		ajustarStock(Map.of(idProducto, cantidadSumar));
+	}
+
+	@Override
+	public Map<Integer, Integer> ajustarStock(Map<Integer, Integer> ajustes) {
+		if (ajustes == null || ajustes.isEmpty())
+			throw new ServiceException("No hay ajustes de stock que aplicar.");
+		Map<Integer, Integer> deltas = new HashMap<>();
+		for (Map.Entry<Integer, Integer> ajuste : ajustes.entrySet()) {
+			if (ajuste.getKey() == null || ajuste.getKey() <= 0)
+				throw new ServiceException("El ID de producto no es válido.");
+			if (ajuste.getValue() == null)
+				throw new ServiceException("La cantidad a ajustar no puede ser nula.");
+			if (ajuste.getValue() != 0)
+				deltas.put(ajuste.getKey(), ajuste.getValue());
 		}
-		int stockActual = prod.getStock() != null ? prod.getStock() : 0;
-		prod.setStock(stockActual + cantidadSumar);
-		prod.setEstado(Estado.activo); // Reactiva si estaba inactivo
-		productoDAO.update(prod);
+		if (deltas.isEmpty())
+			return new HashMap<>();
+
+		// Si falta algún producto se deshace el lote completo
+		return TransactionTemplate.callInUnitOfWork(() -> {
+			Map<Integer, Integer> resultado = productoDAO.adjustStock(deltas);
+			if (!resultado.keySet().containsAll(deltas.keySet())) {
+				throw new ServiceException("No existe el producto para actualizar stock.");
+			}
+			catalogo.actualizarTrasConfirmar(deltas.keySet());
+			return resultado;
+		});
+	}
+
+	@Override
+	public Map<Integer, Integer> descontarStockSiDisponible(Map<Integer, Integer> cantidades) {
+		if (cantidades == null || cantidades.isEmpty())
+			throw new ServiceException("No hay cantidades de stock que descontar.");
+		for (Map.Entry<Integer, Integer> linea : cantidades.entrySet()) {
+			if (linea.getKey() == null || linea.getKey() <= 0)
+				throw new ServiceException("El ID de producto no es válido.");
+			if (linea.getValue() == null || linea.getValue() <= 0)
+				throw new ServiceException("La cantidad a descontar debe ser mayor que 0.");
+		}
+		Map<Integer, Integer> sinStock = productoDAO.decrementStockIfAvailable(cantidades);
+		catalogo.actualizarTrasConfirmar(cantidades.keySet().stream().filter(id -> !sinStock.containsKey(id)).toList());
+		return sinStock;
 	}
 
 	/**
@@ -326,13 +400,313 @@ public class ProductoServiceImpl implements ProductoService {
 	/**
 	 * Actualiza todos los datos y reactiva un producto previamente inactivo.
 	 *
-	 * @param producto   Datos nuevos del producto.
-	 * @param idProducto ID del producto a reactivar.
+	 * @param producto  Datos nuevos del producto.
+	 * @param existente Producto inactivo que se reactiva (aporta ID y versión).
 	 */
-	private void actualizarYReactivar(Producto producto, Integer idProducto) {
-		producto.setIdProducto(idProducto);
+	private void actualizarYReactivar(Producto producto, ProductoConflicto existente) {
+		producto.setIdProducto(existente.idProducto());
+		producto.setVersion(existente.version());
 		producto.setEstado(Estado.activo);
 		productoDAO.update(producto);
+		catalogo.actualizarTrasConfirmar(List.of(existente.idProducto()));
+	}
+
+	/**
+	 * Productos con el mismo nombre o con la misma marca y formato del mismo
+	 * proveedor, en un único viaje a la base de datos.
+	 */
+	private List<ProductoConflicto> buscarConflictos(Producto producto) {
+		return productoDAO.findConflictos(producto.getNombre(), producto.getProveedor().getIdProveedor(),
+				producto.getMarca(), producto.getFormato());
+	}
+
+	/**
+	 * Lee el CSV línea a línea sin cargarlo entero. Las claves de unicidad de
+	 * todo el catálogo se leen una vez al principio, así que cada fila se valida
+	 * en memoria sin consultas; las válidas se insertan en lotes de
+	 * {@value #TAMANO_LOTE_IMPORTACION}. Si un lote falla en la base de datos se
+	 * reintenta fila a fila para saber cuál es la culpable.
+	 */
+	@Override
+	public ResultadoImportacion importarCatalogo(Reader csv, Proveedor proveedor) {
+		if (csv == null)
+			throw new ServiceException("No hay fichero que importar.");
+		if (proveedor == null || proveedor.getIdProveedor() == null)
+			throw new ServiceException("El proveedor es obligatorio.");
+
+		Map<BigDecimal, Iva> ivas = new HashMap<>();
+		for (Iva iva : ivaDAO.findAllActivos()) {
+			ivas.put(iva.getPorcentaje().stripTrailingZeros(), iva);
+		}
+		// Claves de unicidad desde el catálogo en memoria, comprobando antes que está al día
+		catalogo.comprobarVersion();
+		Set<String> nombres = new HashSet<>();
+		Set<String> combinaciones = new HashSet<>();
+		for (Producto existente : catalogo.todos()) {
+			nombres.add(normalizar(existente.getNombre()));
+			combinaciones.add(claveCombinacion(existente.getProveedor().getIdProveedor(), existente.getMarca(),
+					existente.getFormato()));
+		}
+
+		List<ErrorFila> errores = new ArrayList<>();
+		List<Producto> lote = new ArrayList<>(TAMANO_LOTE_IMPORTACION);
+		List<Integer> lineasLote = new ArrayList<>(TAMANO_LOTE_IMPORTACION);
+		int leidas = 0;
+		int importadas = 0;
+
+		try (BufferedReader reader = new BufferedReader(csv)) {
+			String linea = reader.readLine(); // Cabecera
+			int numeroLinea = 1;
+			while ((linea = reader.readLine()) != null) {
+				numeroLinea++;
+				if (linea.isBlank())
+					continue;
+				leidas++;
+				try {
+					Producto producto = leerFila(linea, proveedor, ivas);
+					validarProducto(producto, true);
+					String combinacion = claveCombinacion(proveedor.getIdProveedor(), producto.getMarca(),
+							producto.getFormato());
+					if (combinaciones.contains(combinacion))
+						throw new ServiceException("Ya existe un producto con esa marca y formato para este proveedor.");
+					if (!nombres.add(normalizar(producto.getNombre())))
+						throw new ServiceException("Ya existe un producto con ese nombre.");
+					combinaciones.add(combinacion);
+					lote.add(producto);
+					lineasLote.add(numeroLinea);
+				} catch (ServiceException e) {
+					errores.add(new ErrorFila(numeroLinea, e.getMessage()));
+				}
+				if (lote.size() == TAMANO_LOTE_IMPORTACION) {
+					importadas += insertarLote(lote, lineasLote, errores);
+				}
+			}
+			importadas += insertarLote(lote, lineasLote, errores);
+		} catch (IOException e) {
+			throw new ServiceException("No se pudo leer el fichero: " + e.getMessage(), e);
+		}
+
+		if (importadas > 0)
+			catalogo.invalidarTrasConfirmar();
+		errores.sort((a, b) -> Integer.compare(a.linea(), b.linea()));
+		return new ResultadoImportacion(leidas, importadas, errores);
+	}
+
+	/**
+	 * Inserta el lote en una transacción. Si falla, lo repite fila a fila para
+	 * importar las buenas y anotar el error de las demás. Vacía el lote.
+	 *
+	 * @return Productos insertados.
+	 */
+	private int insertarLote(List<Producto> lote, List<Integer> lineas, List<ErrorFila> errores) {
+		if (lote.isEmpty())
+			return 0;
+		int insertados = 0;
+		try {
+			productoDAO.insertBatch(lote);
+			insertados = lote.size();
+		} catch (DAOException e) {
+			for (int i = 0; i < lote.size(); i++) {
+				Producto producto = lote.get(i);
+				producto.setIdProducto(null); // Ids asignados en el intento fallido
+				producto.setVersion(null);
+				try {
+					productoDAO.insertBatch(List.of(producto));
+					insertados++;
+				} catch (DAOException fila) {
+					errores.add(new ErrorFila(lineas.get(i), "Error al guardar: " + causaRaiz(fila)));
+				}
+			}
+		}
+		lote.clear();
+		lineas.clear();
+		return insertados;
+	}
+
+	/**
+	 * Convierte una línea del CSV en un Producto nuevo. Columnas: nombre;
+	 * descripcion; tipoAnimal; marca; formato; precioVenta; precioCompra;
+	 * iva (porcentaje); stock; stockMinimo. Los decimales admiten coma o punto.
+	 */
+	private static Producto leerFila(String linea, Proveedor proveedor, Map<BigDecimal, Iva> ivas) {
+		String[] campos = partirCampos(linea);
+		if (campos.length != COLUMNAS_CSV)
+			throw new ServiceException("Se esperaban " + COLUMNAS_CSV + " columnas y hay " + campos.length + ".");
+
+		BigDecimal porcentajeIva = leerDecimal(campos[7], "IVA");
+		Iva iva = ivas.get(porcentajeIva.stripTrailingZeros());
+		if (iva == null)
+			throw new ServiceException("No hay un IVA activo del " + campos[7] + "%.");
+
+		Producto producto = new Producto();
+		producto.setNombre(campos[0]);
+		producto.setDescripcion(campos[1].isEmpty() ? null : campos[1]);
+		producto.setTipoAnimal(leerTipoAnimal(campos[2]));
+		producto.setMarca(campos[3]);
+		producto.setFormato(campos[4]);
+		producto.setPrecioVenta(leerPrecio(campos[5], "precio de venta"));
+		producto.setPrecioCompra(leerPrecio(campos[6], "precio de compra"));
+		producto.setIva(iva);
+		producto.setProveedor(proveedor);
+		producto.setStock(campos[8].isEmpty() ? 0 : leerEntero(campos[8], "stock"));
+		producto.setStockMinimo(campos[9].isEmpty() ? 0 : leerEntero(campos[9], "stock mínimo"));
+		producto.setEstado(Estado.activo);
+		return producto;
+	}
+
+	private static TipoAnimal leerTipoAnimal(String valor) {
+		for (TipoAnimal tipo : TipoAnimal.values()) {
+			if (tipo.name().equalsIgnoreCase(valor) || tipo.getLabel().equalsIgnoreCase(valor))
+				return tipo;
+		}
+		throw new ServiceException("Tipo de animal desconocido: '" + valor + "'.");
+	}
+
+	private static BigDecimal leerPrecio(String valor, String campo) {
+		BigDecimal precio = leerDecimal(valor, campo);
+		if (precio.scale() > 2)
+			throw new ServiceException("El " + campo + " no puede tener más de 2 decimales.");
+		return precio;
+	}
+
+	private static BigDecimal leerDecimal(String valor, String campo) {
+		try {
+			return new BigDecimal(valor.replace(',', '.'));
+		} catch (NumberFormatException e) {
+			throw new ServiceException("Valor no numérico en " + campo + ": '" + valor + "'.");
+		}
+	}
+
+	private static int leerEntero(String valor, String campo) {
+		try {
+			return Integer.parseInt(valor);
+		} catch (NumberFormatException e) {
+			throw new ServiceException("Valor no entero en " + campo + ": '" + valor + "'.");
+		}
+	}
+
+	/**
+	 * Separa los campos de una línea por {@value #SEPARADOR_CSV}. Un campo entre
+	 * comillas dobles puede contener el separador, y dentro de él "" es una
+	 * comilla; no puede ocupar varias líneas. Los espacios alrededor de cada
+	 * campo se descartan.
+	 */
+	private static String[] partirCampos(String linea) {
+		List<String> campos = new ArrayList<>(COLUMNAS_CSV);
+		StringBuilder campo = new StringBuilder();
+		boolean entreComillas = false;
+		for (int i = 0; i < linea.length(); i++) {
+			char c = linea.charAt(i);
+			if (entreComillas) {
+				if (c != '"')
+					campo.append(c);
+				else if (i + 1 < linea.length() && linea.charAt(i + 1) == '"')
+					campo.append(linea.charAt(++i));
+				else
+					entreComillas = false;
+			} else if (c == '"' && campo.toString().isBlank()) {
+				campo.setLength(0); // Comilla de apertura
+				entreComillas = true;
+			} else if (c == SEPARADOR_CSV) {
+				campos.add(campo.toString().trim());
+				campo.setLength(0);
+			} else {
+				campo.append(c);
+			}
+		}
+		if (entreComillas)
+			throw new ServiceException("Hay unas comillas sin cerrar.");
+		campos.add(campo.toString().trim());
+		return campos.toArray(new String[0]);
+	}
+
+	/** Clave de unicidad con la intercalación de la base de datos. */
+	private static String normalizar(String texto) {
+		return Intercalacion.clave(texto.trim());
+	}
+
+	private static String claveCombinacion(Integer idProveedor, String marca, String formato) {
+		return idProveedor + "|" + normalizar(marca) + "|" + normalizar(formato);
+	}
+
+	private static String causaRaiz(Throwable e) {
+		Throwable causa = e;
+		while (causa.getCause() != null && causa.getCause() != causa) {
+			causa = causa.getCause();
+		}
+		return causa.getMessage();
+	}
+
+	@Override
+	public PrevisionRevisionPrecios previsualizarRevisionPrecios(RevisionPrecios revision) {
+		validarRevision(revision);
+		return productoDAO.previewPriceRevision(revision);
+	}
+
+	/**
+	 * La vista previa y el UPDATE van en la misma transacción: si algún precio
+	 * quedaría negativo no se toca nada. El trigger de precios audita cada fila
+	 * y aquí se añade un registro resumen de la revisión.
+	 */
+	@Override
+	public int revisarPrecios(RevisionPrecios revision) {
+		validarRevision(revision);
+		return TransactionTemplate.callInUnitOfWork(() -> {
+			PrevisionRevisionPrecios prevision = productoDAO.previewPriceRevision(revision);
+			if (prevision.productos() == 0)
+				return 0;
+			if (prevision.hayPreciosNegativos())
+				throw new ServiceException("La revisión dejaría productos con precio negativo.");
+			int filas = productoDAO.revisePrices(revision);
+			catalogo.invalidarTrasConfirmar();
+			auditoriaDAO.save(Auditoria.builder().tablaModificada("productos").accion("REVISION PRECIOS")
+					.fecha(LocalDateTime.now()).descripcion(revision.describir() + ": " + filas + " productos")
+					.build());
+			return filas;
+		});
+	}
+
+	private void validarRevision(RevisionPrecios revision) {
+		if (revision == null)
+			throw new ServiceException("La revisión de precios no puede ser nula.");
+		if (!revision.tieneFiltro())
+			throw new ServiceException("Indica al menos un filtro (proveedor, marca, tipo de animal o formato).");
+		if (revision.tipoAjuste() == null || revision.precio() == null)
+			throw new ServiceException("Indica el tipo de ajuste y el precio a revisar.");
+		if (revision.valor() == null || revision.valor().signum() == 0)
+			throw new ServiceException("El valor del ajuste no puede ser cero.");
+		if (revision.tipoAjuste() == TipoAjustePrecio.PORCENTAJE
+				&& revision.valor().compareTo(BigDecimal.valueOf(-100)) <= 0)
+			throw new ServiceException("Una bajada porcentual debe ser menor del 100 %.");
+		if (revision.mantenerMargen() && revision.precio() != PrecioRevisado.COMPRA)
+			throw new ServiceException("Mantener el margen solo se aplica al revisar el precio de compra.");
+	}
+
+	@Override
+	public void comprobarCatalogo() {
+		catalogo.comprobarVersion();
+	}
+
+	@Override
+	public List<ProductoFila> listarFilas() {
+		return catalogo.filas();
+	}
+
+	@Override
+	public List<ProductoFila> buscarFilas(String texto) {
+		return catalogo.buscarFilas(texto);
+	}
+
+	@Override
+	public List<Producto> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return productoDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return productoDAO.count();
 	}
 
 }
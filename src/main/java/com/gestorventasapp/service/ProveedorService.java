@@ -1,5 +1,6 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.ProveedorFila;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.enums.Estado;
 
@@ -154,4 +155,27 @@ public interface ProveedorService {
 	 */
 	List<Proveedor> buscarPorFechaAlta(LocalDate inicio, LocalDate fin);
 
+	/**
+	 * Lista los proveedores como filas de tabla (proyección de solo lectura).
+	 *
+	 * @return Lista de filas de proveedores.
+	 */
+	List<ProveedorFila> listarFilas();
+
+	/**
+	 * Devuelve una página de proveedores ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de proveedores.
+	 */
+	List<Proveedor> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de proveedores.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
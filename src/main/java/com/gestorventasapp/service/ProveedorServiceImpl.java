@@ -1,10 +1,13 @@
 package com.gestorventasapp.service;
 
+import com.gestorventasapp.dto.ProveedorFila;
 import com.gestorventasapp.dao.ProveedorDAO;
 import com.gestorventasapp.dao.ProveedorDAOImpl;
 import com.gestorventasapp.model.Proveedor;
+import com.gestorventasapp.enums.CampoUnico;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.util.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,27 +18,33 @@ import java.util.List;
  */
 public class ProveedorServiceImpl implements ProveedorService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final ProveedorDAO proveedorDAO;
+	private final IndiceUnicidad indiceUnicidad;
 
-	public ProveedorServiceImpl(ProveedorDAO proveedorDAO) {
+	public ProveedorServiceImpl(ProveedorDAO proveedorDAO, IndiceUnicidad indiceUnicidad) {
 		this.proveedorDAO = proveedorDAO;
+		this.indiceUnicidad = indiceUnicidad;
 	}
 
 	@Override
 	public void crearProveedor(Proveedor proveedor) {
 		validarProveedor(proveedor, true);
 		proveedorDAO.save(proveedor);
+		indiceUnicidad.registrarProveedor(proveedor);
 	}
 
 	@Override
 	public void modificarProveedor(Proveedor proveedor) {
 		validarProveedor(proveedor, false);
 		proveedorDAO.update(proveedor);
+		indiceUnicidad.registrarProveedor(proveedor);
 	}
 
 	@Override
 	public void darBajaLogicaProveedor(int idProveedor) {
-		proveedorDAO.delete(idProveedor);
+		TransactionTemplate.runWithRetry(() -> proveedorDAO.delete(idProveedor));
 	}
 
 	@Override
@@ -112,12 +121,12 @@ public class ProveedorServiceImpl implements ProveedorService {
 
 	@Override
 	public boolean existeCifNif(String cifNif) {
-		return proveedorDAO.existsCifNif(cifNif);
+		return indiceUnicidad.existe(CampoUnico.CIF_NIF_PROVEEDOR, cifNif);
 	}
 
 	@Override
 	public boolean existeEmail(String email) {
-		return proveedorDAO.existsEmail(email);
+		return indiceUnicidad.existe(CampoUnico.EMAIL_PROVEEDOR, email);
 	}
 
 	@Override
@@ -185,11 +194,11 @@ public class ProveedorServiceImpl implements ProveedorService {
 		if (proveedor.getEstado() != Estado.activo && proveedor.getEstado() != Estado.inactivo)
 			throw new ServiceException("El estado solo puede ser activo o inactivo.");
 
-		// Duplicados si es alta
+		// Duplicados si es alta (el índice solo consulta la BD si el valor puede estar repetido)
 		if (esNuevo) {
-			if (proveedorDAO.existsCifNif(proveedor.getCifNif()))
+			if (indiceUnicidad.existe(CampoUnico.CIF_NIF_PROVEEDOR, proveedor.getCifNif()))
 				throw new ServiceException("Ya existe un proveedor con ese CIF/NIF.");
-			if (proveedorDAO.existsEmail(proveedor.getEmail()))
+			if (indiceUnicidad.existe(CampoUnico.EMAIL_PROVEEDOR, proveedor.getEmail()))
 				throw new ServiceException("Ya existe un proveedor con ese email.");
 		}
 	}
@@ -209,4 +218,21 @@ public class ProveedorServiceImpl implements ProveedorService {
 		return cifNif != null && cifNif.length() <= 20 && !cifNif.trim().isEmpty();
 	}
 
+	@Override
+	public List<ProveedorFila> listarFilas() {
+		return proveedorDAO.findAllFilas();
+	}
+
+	@Override
+	public List<Proveedor> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return proveedorDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return proveedorDAO.count();
+	}
+
 }
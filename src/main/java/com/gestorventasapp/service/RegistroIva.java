@@ -0,0 +1,97 @@
+package com.gestorventasapp.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.gestorventasapp.dao.IvaDAO;
+import com.gestorventasapp.dto.TipoIva;
+import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.util.TransactionTemplate;
+
+/**
+ * Registro en memoria de los tipos de IVA activos. Se lee una vez de la base
+ * de datos y se vuelve a leer cuando {@link IvaService} da de alta, modifica o
+ * da de baja un IVA. La tabla es inmutable y se publica en una referencia
+ * volatile, así que los formularios consultan tipos sin bloqueos ni
+ * consultas (solo la carga y la invalidación se sincronizan).
+ */
+public class RegistroIva {
+
+	private final IvaDAO ivaDAO;
+	private volatile Tabla tabla;
+
+	/**
+	 * @param ivaDAO DAO de IVA.
+	 */
+	public RegistroIva(IvaDAO ivaDAO) {
+		this.ivaDAO = ivaDAO;
+	}
+
+	/**
+	 * @return Tipos activos, de mayor a menor porcentaje.
+	 */
+	public List<TipoIva> activos() {
+		return tabla().activos();
+	}
+
+	/**
+	 * @return Tipo activo con ese id, o null si no existe o está de baja.
+	 */
+	public TipoIva buscar(Integer idIva) {
+		return idIva == null ? null : tabla().porId().get(idIva);
+	}
+
+	/**
+	 * Tipo que corresponde a un producto. Si su IVA ya no está activo se usa el
+	 * que tiene asignado, para que el producto se pueda seguir vendiendo con su
+	 * tipo.
+	 *
+	 * @param producto Producto con su IVA cargado.
+	 * @return Tipo del producto, o null si no tiene IVA.
+	 */
+	public TipoIva deProducto(Producto producto) {
+		Iva iva = producto == null ? null : producto.getIva();
+		if (iva == null)
+			return null;
+		TipoIva tipo = buscar(iva.getIdIva());
+		return tipo != null ? tipo : TipoIva.de(iva);
+	}
+
+	/**
+	 * Descarta la tabla cuando se confirme la unidad de trabajo actual; la
+	 * siguiente consulta la vuelve a cargar.
+	 */
+	public void recargarTrasConfirmar() {
+		TransactionTemplate.afterCommit(() -> {
+			// Espera a una carga en curso, que podría haber leído los datos anteriores
+			synchronized (this) {
+				tabla = null;
+			}
+		});
+	}
+
+	private Tabla tabla() {
+		Tabla actual = tabla;
+		if (actual != null)
+			return actual;
+		synchronized (this) {
+			if (tabla == null)
+				tabla = Tabla.de(ivaDAO.findAllActivos());
+			return tabla;
+		}
+	}
+
+	private record Tabla(List<TipoIva> activos, Map<Integer, TipoIva> porId) {
+
+		static Tabla de(List<Iva> ivas) {
+			List<TipoIva> tipos = ivas.stream().map(TipoIva::de)
+					.sorted(Comparator.comparing(TipoIva::porcentaje).reversed()).toList();
+			Map<Integer, TipoIva> porId = new HashMap<>();
+			tipos.forEach(t -> porId.put(t.idIva(), t));
+			return new Tabla(tipos, Map.copyOf(porId));
+		}
+	}
+}
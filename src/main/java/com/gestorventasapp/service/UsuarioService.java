@@ -129,10 +129,37 @@ public interface UsuarioService {
 	 * Valida el login de usuario por nombre de usuario y contraseña.
 	 * 
 	 * @param nombreUsuario Nombre de usuario.
-	 * @param contrasena    Contraseña (ya cifrada o en texto plano según tu
-	 *                      política).
+	 * @param contrasena    Contraseña en claro introducida en el login.
 	 * @return true si el login es válido.
 	 */
 	boolean checkLogin(String nombreUsuario, String contrasena);
 
+	/**
+	 * Autentica a un usuario activo con una sola consulta (usuario y empleado)
+	 * y la verificación del hash de su contraseña. Si el hash es antiguo o la
+	 * contraseña estaba en claro, se guarda uno nuevo.
+	 *
+	 * @param nombreUsuario Nombre de usuario.
+	 * @param contrasena    Contraseña en claro introducida en el login.
+	 * @return Usuario autenticado con su empleado cargado, o null si las
+	 *         credenciales no son válidas o el usuario está inactivo.
+	 */
+	Usuario autenticar(String nombreUsuario, String contrasena);
+
+	/**
+	 * Devuelve una página de usuarios ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de usuarios.
+	 */
+	List<Usuario> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de usuarios.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
 }
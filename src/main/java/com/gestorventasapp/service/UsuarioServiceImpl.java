@@ -6,6 +6,7 @@ import com.gestorventasapp.enums.TipoUsuario;
 import com.gestorventasapp.model.Empleado;
 import com.gestorventasapp.model.Usuario;
 import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.util.HashContrasena;
 
 import java.util.List;
 import java.util.Objects;
@@ -17,6 +18,8 @@ import java.util.Objects;
  */
 public class UsuarioServiceImpl implements UsuarioService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final UsuarioDAO usuarioDAO;
 
 	/**
@@ -31,6 +34,8 @@ public class UsuarioServiceImpl implements UsuarioService {
 	@Override
 	public void crearUsuario(Usuario usuario) {
 		validarUsuario(usuario, true);
+		validarContrasena(usuario.getContrasena());
+		usuario.setContrasena(HashContrasena.generar(usuario.getContrasena()));
 
 		// Control unicidad por nombre_usuario y por empleado (1:1)
 		Usuario existenteNombre = usuarioDAO.findByNombreUsuario(usuario.getNombreUsuario());
@@ -69,6 +74,12 @@ public class UsuarioServiceImpl implements UsuarioService {
 
 		validarUsuario(usuario, false);
 
+		// El formulario devuelve el hash guardado si no se ha cambiado la contraseña
+		if (!Objects.equals(usuario.getContrasena(), existente.getContrasena())) {
+			validarContrasena(usuario.getContrasena());
+			usuario.setContrasena(HashContrasena.generar(usuario.getContrasena()));
+		}
+
 		// Control de duplicados de nombre_usuario y de idEmpleado con otros usuarios
 		Usuario otroConNombre = usuarioDAO.findByNombreUsuario(usuario.getNombreUsuario());
 		if (otroConNombre != null && !Objects.equals(otroConNombre.getIdUsuario(), usuario.getIdUsuario())) {
@@ -177,10 +188,29 @@ public class UsuarioServiceImpl implements UsuarioService {
 
 	@Override
 	public boolean checkLogin(String nombreUsuario, String contrasena) {
+		return autenticar(nombreUsuario, contrasena) != null;
+	}
+
+	@Override
+	public Usuario autenticar(String nombreUsuario, String contrasena) {
 		if (nombreUsuario == null || nombreUsuario.trim().isEmpty() || contrasena == null || contrasena.isEmpty()) {
 			throw new ServiceException("Usuario y contraseña no pueden estar vacíos.");
 		}
-		return usuarioDAO.checkLogin(nombreUsuario.trim(), contrasena);
+		Usuario usuario = usuarioDAO.findParaLogin(nombreUsuario.trim());
+		if (usuario == null) {
+			// Mismo coste que un usuario real: el tiempo no delata qué nombres existen
+			HashContrasena.verificarFicticio(contrasena);
+			return null;
+		}
+		if (!HashContrasena.verificar(contrasena, usuario.getContrasena()) || usuario.getEstado() != Estado.activo) {
+			return null;
+		}
+		if (HashContrasena.necesitaRehash(usuario.getContrasena())) {
+			String nuevoHash = HashContrasena.generar(contrasena);
+			usuarioDAO.updateContrasena(usuario.getIdUsuario(), nuevoHash);
+			usuario.setContrasena(nuevoHash);
+		}
+		return usuario;
 	}
 
 	/**
@@ -203,12 +233,9 @@ public class UsuarioServiceImpl implements UsuarioService {
 		if (nombreUsuario == null || nombreUsuario.trim().isEmpty() || nombreUsuario.length() > 50) {
 			throw new ServiceException("El nombre de usuario es obligatorio y no puede superar 50 caracteres.");
 		}
-		// Contraseña (validación básica, el cifrado puede ir en otra capa)
-		String contrasena = usuario.getContrasena();
-		if (contrasena == null || contrasena.length() < 6 || contrasena.length() > 100
-				|| !contrasena.matches("^(?=.*[A-Z])(?=.*\\d)[A-Za-z\\d]{6,100}$")) {
-			throw new ServiceException(
-					"La contraseña debe ser alfanumérica, tener al menos una mayúscula, un número y entre 6 y 100 caracteres.");
+		// Contraseña: obligatoria; su formato se valida en claro (validarContrasena)
+		if (usuario.getContrasena() == null || usuario.getContrasena().isEmpty()) {
+			throw new ServiceException("La contraseña es obligatoria.");
 		}
 		// Tipo de usuario
 		if (usuario.getTipo() == null) {
@@ -220,6 +247,20 @@ public class UsuarioServiceImpl implements UsuarioService {
 		}
 	}
 
+	/**
+	 * Reglas de la contraseña en claro, antes de calcular su hash.
+	 *
+	 * @param contrasena Contraseña en claro.
+	 * @throws ServiceException si no cumple el formato.
+	 */
+	private void validarContrasena(String contrasena) {
+		if (contrasena == null || contrasena.length() < 6 || contrasena.length() > 100
+				|| !contrasena.matches("^(?=.*[A-Z])(?=.*\\d)[A-Za-z\\d]{6,100}$")) {
+			throw new ServiceException(
+					"La contraseña debe ser alfanumérica, tener al menos una mayúscula, un número y entre 6 y 100 caracteres.");
+		}
+	}
+
 	/**
 	 * Actualiza datos y reactiva un usuario previamente inactivo.
 	 *
@@ -231,4 +272,17 @@ public class UsuarioServiceImpl implements UsuarioService {
 		usuario.setEstado(Estado.activo);
 		usuarioDAO.update(usuario);
 	}
+
+	@Override
+	public List<Usuario> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return usuarioDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return usuarioDAO.count();
+	}
+
 }
@@ -1,11 +1,14 @@
 package com.gestorventasapp.service;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.VentaFila;
 import com.gestorventasapp.model.DetalleVenta;
 import com.gestorventasapp.model.Venta;
 import com.gestorventasapp.enums.Estado;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -113,6 +116,14 @@ public interface VentaService {
 	 */
 	List<Venta> buscarPorFechaRango(LocalDate fechaInicio, LocalDate fechaFin);
 
+	/**
+	 * Busca las ventas de un mes natural completo.
+	 *
+	 * @param mes Mes a consultar.
+	 * @return Lista de ventas del mes, ordenadas por fecha.
+	 */
+	List<Venta> buscarPorMes(YearMonth mes);
+
 	/**
 	 * Busca ventas por rango de total sin IVA.
 	 *
@@ -132,13 +143,67 @@ public interface VentaService {
 	List<Venta> buscarPorTotalConIvaEntre(BigDecimal min, BigDecimal max);
 
 	/**
-	 * Crea una venta junto a todos sus detalles en una única transacción.
+	 * Crea una venta junto a todos sus detalles y descuenta el stock de cada
+	 * línea en una única transacción.
 	 *
 	 * @param venta         Objeto Venta a guardar.
 	 * @param detallesVenta Lista de detalles asociados a la venta.
-	 * @throws com.gestorventasapp.exceptions.ServiceException si ocurre error o
-	 *                                                         validación.
+	 * @throws com.gestorventasapp.exceptions.StockInsuficienteException si alguna
+	 *                                                                   línea no
+	 *                                                                   tiene
+	 *                                                                   stock
+	 *                                                                   suficiente.
+	 * @throws com.gestorventasapp.exceptions.ServiceException           si ocurre
+	 *                                                                   error o
+	 *                                                                   validación.
 	 */
 	void crearVentaConDetalles(Venta venta, List<DetalleVenta> detallesVenta);
 
+	/**
+	 * Lista las ventas como filas de tabla (proyección de solo lectura con
+	 * cliente y empleado resueltos en la consulta).
+	 *
+	 * @return Lista de filas de ventas.
+	 */
+	List<VentaFila> listarFilas();
+
+	/**
+	 * Devuelve una página de ventas ordenada por id (paginación por clave).
+	 *
+	 * @param ultimoId Último id de la página anterior (null para la primera).
+	 * @param limite   Tamaño de página (1..500).
+	 * @return Página de ventas.
+	 */
+	List<Venta> listarPagina(Integer ultimoId, int limite);
+
+	/**
+	 * Cuenta el total de ventas.
+	 *
+	 * @return Número de registros.
+	 */
+	long contar();
+
+	/**
+	 * Devuelve una página de ventas de la más reciente a la más antigua
+	 * (paginación por clave fecha + id).
+	 *
+	 * @param ultimaFecha Fecha del último registro de la página anterior (null
+	 *                    para la primera).
+	 * @param ultimoId    Id del último registro de la página anterior.
+	 * @param limite      Tamaño de página (1..500).
+	 * @return Página de ventas.
+	 */
+	List<Venta> listarPaginaPorFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite);
+	/**
+	 * Devuelve una página de filas de tabla (proyección) de las ventas, de la
+	 * más reciente a la más antigua.
+	 *
+	 * @param ultimaFecha Fecha de la última fila de la página anterior (null para
+	 *                    la primera).
+	 * @param ultimoId    Id de la última fila de la página anterior.
+	 * @param limite      Tamaño de página (1..500).
+	 * @return Página de filas.
+	 */
+	List<VentaFila> listarFilasPagina(LocalDateTime ultimaFecha, Integer ultimoId, int limite);
+
 }
@@ -1,5 +1,7 @@
 package com.gestorventasapp.service;
 
+import java.time.LocalDateTime;
+import com.gestorventasapp.dto.VentaFila;
 import com.gestorventasapp.dao.VentaDAO;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.model.Cliente;
@@ -7,10 +9,18 @@ import com.gestorventasapp.model.DetalleVenta;
 import com.gestorventasapp.model.Empleado;
 import com.gestorventasapp.model.Venta;
 import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.exceptions.StockInsuficienteException;
+import com.gestorventasapp.exceptions.StockInsuficienteException.LineaSinStock;
+import com.gestorventasapp.util.RangoFechas;
+import com.gestorventasapp.util.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementación de la lógica de negocio y validaciones para la entidad Venta.
@@ -18,15 +28,20 @@ import java.util.List;
  */
 public class VentaServiceImpl implements VentaService {
 
+	private static final int TAMANO_PAGINA_MAXIMO = 500;
+
 	private final VentaDAO ventaDAO;
+	private final ProductoService productoService;
 
 	/**
 	 * Constructor con inyección de dependencia.
 	 *
-	 * @param ventaDAO DAO de ventas.
+	 * @param ventaDAO        DAO de ventas.
+	 * @param productoService Servicio de productos (descuento de stock).
 	 */
-	public VentaServiceImpl(VentaDAO ventaDAO) {
+	public VentaServiceImpl(VentaDAO ventaDAO, ProductoService productoService) {
 		this.ventaDAO = ventaDAO;
+		this.productoService = productoService;
 	}
 
 	@Override
@@ -51,15 +66,17 @@ public class VentaServiceImpl implements VentaService {
 
 	@Override
 	public void darBajaLogicaVenta(int idVenta) {
-		Venta venta = ventaDAO.findById(idVenta);
-		if (venta == null) {
-			throw new ServiceException("No existe la venta a dar de baja.");
-		}
-		if (venta.getEstado() == Estado.inactivo) {
-			throw new ServiceException("La venta ya está inactiva.");
-		}
-		venta.setEstado(Estado.inactivo);
-		ventaDAO.update(venta);
+		TransactionTemplate.runWithRetry(() -> {
+			Venta venta = ventaDAO.findById(idVenta);
+			if (venta == null) {
+				throw new ServiceException("No existe la venta a dar de baja.");
+			}
+			if (venta.getEstado() == Estado.inactivo) {
+				throw new ServiceException("La venta ya está inactiva.");
+			}
+			venta.setEstado(Estado.inactivo);
+			ventaDAO.update(venta);
+		});
 	}
 
 	@Override
@@ -123,6 +140,13 @@ public class VentaServiceImpl implements VentaService {
 		return ventaDAO.findByFechaRango(fechaInicio, fechaFin);
 	}
 
+	@Override
+	public List<Venta> buscarPorMes(YearMonth mes) {
+		if (mes == null)
+			throw new ServiceException("El mes no puede ser nulo.");
+		return ventaDAO.findByRango(RangoFechas.mes(mes));
+	}
+
 	@Override
 	public List<Venta> buscarPorTotalSinIvaEntre(BigDecimal min, BigDecimal max) {
 		if (min == null || max == null)
@@ -179,11 +203,66 @@ public class VentaServiceImpl implements VentaService {
 		if (venta == null || detallesVenta == null || detallesVenta.isEmpty())
 			throw new ServiceException("Venta y detalles requeridos.");
 
+		Map<Integer, Integer> salidas = new HashMap<>();
+		for (DetalleVenta det : detallesVenta) {
+			if (det == null || det.getProducto() == null || det.getProducto().getIdProducto() == null)
+				throw new ServiceException("Todas las líneas de venta deben tener producto.");
+			if (det.getCantidad() == null || det.getCantidad() <= 0)
+				throw new ServiceException("La cantidad de cada línea debe ser mayor que 0.");
+			salidas.merge(det.getProducto().getIdProducto(), det.getCantidad(), Integer::sum);
+		}
+
 		try {
-			ventaDAO.saveWithDetails(venta, detallesVenta);
+			// Venta, detalles y descuento de stock en la misma transacción
+			TransactionTemplate.runInUnitOfWork(() -> {
+				Map<Integer, Integer> sinStock = productoService.descontarStockSiDisponible(salidas);
+				if (!sinStock.isEmpty()) {
+					List<LineaSinStock> lineas = new ArrayList<>();
+					for (int i = 0; i < detallesVenta.size(); i++) {
+						DetalleVenta det = detallesVenta.get(i);
+						Integer disponible = sinStock.get(det.getProducto().getIdProducto());
+						if (disponible != null)
+							lineas.add(new LineaSinStock(i + 1, det, disponible));
+					}
+					throw new StockInsuficienteException(lineas);
+				}
+				ventaDAO.saveWithDetails(venta, detallesVenta);
+			});
+		} catch (StockInsuficienteException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new ServiceException("Error al guardar venta con detalles.", e);
 		}
 	}
 
+	@Override
+	public List<VentaFila> listarFilas() {
+		return ventaDAO.findAllFilas();
+	}
+
+	@Override
+	public List<Venta> listarPagina(Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return ventaDAO.findPage(ultimoId, limite);
+	}
+
+	@Override
+	public long contar() {
+		return ventaDAO.count();
+	}
+
+	@Override
+	public List<Venta> listarPaginaPorFecha(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return ventaDAO.findPageByFecha(ultimaFecha, ultimoId, limite);
+	}
+	@Override
+	public List<VentaFila> listarFilasPagina(LocalDateTime ultimaFecha, Integer ultimoId, int limite) {
+		if (limite <= 0 || limite > TAMANO_PAGINA_MAXIMO)
+			throw new ServiceException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO + ".");
+		return ventaDAO.findFilasPage(ultimaFecha, ultimoId, limite);
+	}
+
 }
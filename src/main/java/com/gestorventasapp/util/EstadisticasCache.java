@@ -0,0 +1,80 @@
+package com.gestorventasapp.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Foto inmutable de las estadísticas de la caché de segundo nivel y de la
+ * caché de consultas de Hibernate: aciertos, fallos y escrituras, en total y
+ * por región.
+ *
+ * @param aciertosEntidades   Entidades servidas desde la caché.
+ * @param fallosEntidades     Entidades buscadas en caché y leídas de MySQL.
+ * @param escriturasEntidades Entidades guardadas en la caché.
+ * @param aciertosConsultas   Consultas servidas desde la caché.
+ * @param fallosConsultas     Consultas cacheables ejecutadas contra MySQL.
+ * @param escriturasConsultas Resultados de consultas guardados en la caché.
+ * @param regiones            Detalle por región de la caché.
+ */
+public record EstadisticasCache(long aciertosEntidades, long fallosEntidades, long escriturasEntidades,
+		long aciertosConsultas, long fallosConsultas, long escriturasConsultas, Map<String, Region> regiones) {
+
+	/**
+	 * Construye la foto a partir de las estadísticas de la SessionFactory
+	 * (requiere {@code hibernate.generate_statistics=true}).
+	 *
+	 * @param stats Estadísticas de Hibernate.
+	 * @return Estadísticas de la caché en este momento.
+	 */
+	public static EstadisticasCache desde(Statistics stats) {
+		Map<String, Region> regiones = new LinkedHashMap<>();
+		for (String nombre : stats.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics region = stats.getDomainDataRegionStatistics(nombre);
+			if (region != null) {
+				regiones.put(nombre, new Region(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+						region.getElementCountInMemory()));
+			}
+		}
+		return new EstadisticasCache(stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(),
+				stats.getSecondLevelCachePutCount(), stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(),
+				stats.getQueryCachePutCount(), Collections.unmodifiableMap(regiones));
+	}
+
+	/**
+	 * Porcentaje de aciertos de la caché de entidades (0 si aún no hay lecturas).
+	 */
+	public double ratioAciertosEntidades() {
+		long total = aciertosEntidades + fallosEntidades;
+		return total == 0 ? 0 : aciertosEntidades * 100.0 / total;
+	}
+
+	/**
+	 * Porcentaje de aciertos de la caché de consultas (0 si aún no hay lecturas).
+	 */
+	public double ratioAciertosConsultas() {
+		long total = aciertosConsultas + fallosConsultas;
+		return total == 0 ? 0 : aciertosConsultas * 100.0 / total;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Cache[entidades: aciertos=%d, fallos=%d (%.1f%%) | consultas: aciertos=%d, fallos=%d (%.1f%%)] %s",
+				aciertosEntidades, fallosEntidades, ratioAciertosEntidades(), aciertosConsultas, fallosConsultas,
+				ratioAciertosConsultas(), regiones);
+	}
+
+	/**
+	 * Estadísticas de una región de la caché.
+	 *
+	 * @param aciertos   Lecturas servidas desde la región.
+	 * @param fallos     Lecturas que no encontraron el elemento.
+	 * @param escrituras Elementos guardados.
+	 * @param enMemoria  Elementos en memoria (-1 si el proveedor no lo informa).
+	 */
+	public record Region(long aciertos, long fallos, long escrituras, long enMemoria) {
+	}
+}
@@ -0,0 +1,56 @@
+package com.gestorventasapp.util;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.query.Query;
+
+/**
+ * Aplica planes de carga (entity graphs con nombre, definidos con
+ * {@code @NamedEntityGraph} en cada entidad) a las consultas de los DAO.
+ *
+ * Las asociaciones de las entidades son LAZY; cada listado elige con un plan
+ * qué asociaciones se traen en la misma SELECT (JOIN), evitando una consulta
+ * extra por cada proveedor, IVA, cliente o empleado distinto. Con grafo
+ * {@code null} no se carga ninguna asociación.
+ */
+public final class FetchPlans {
+
+	private FetchPlans() {
+	}
+
+	/**
+	 * Crea una consulta con nombre (ya validada al arrancar la SessionFactory)
+	 * aplicando el plan de carga indicado como fetch graph.
+	 *
+	 * @param session Session actual.
+	 * @param nombre  Nombre de la consulta ({@code @NamedQuery} de la entidad).
+	 * @param tipo    Entidad resultado.
+	 * @param grafo   Nombre del entity graph (o null para no aplicar ninguno).
+	 * @return Consulta lista para parametrizar.
+	 */
+	public static <T> Query<T> createNamedQuery(Session session, String nombre, Class<T> tipo, String grafo) {
+		Query<T> query = session.createNamedQuery(nombre, tipo);
+		if (grafo != null) {
+			query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(grafo));
+		}
+		return query;
+	}
+
+	/**
+	 * Busca una entidad por id aplicando el plan de carga indicado.
+	 *
+	 * @param session Session actual.
+	 * @param tipo    Entidad a buscar.
+	 * @param id      Identificador.
+	 * @param grafo   Nombre del entity graph (o null para no aplicar ninguno).
+	 * @return Entidad encontrada o null.
+	 */
+	public static <T> T find(Session session, Class<T> tipo, Object id, String grafo) {
+		if (grafo == null) {
+			return session.find(tipo, id);
+		}
+		return session.find(tipo, id, Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(grafo)));
+	}
+}
@@ -0,0 +1,76 @@
+package com.gestorventasapp.util;
+
+/**
+ * Filtro de Bloom de cadenas: conjunto aproximado que ocupa unos pocos bits por
+ * elemento y responde "seguro que no está" o "puede estar". Nunca da falsos
+ * negativos; los falsos positivos se mantienen cerca de la probabilidad pedida
+ * mientras no se añadan más elementos de los previstos. No admite borrados.
+ *
+ * No es seguro entre hilos: quien lo comparta debe sincronizar el acceso.
+ */
+public final class FiltroBloom {
+
+	private final long[] bits;
+	private final int numBits;
+	private final int numHashes;
+
+	/**
+	 * @param elementosPrevistos       Elementos que se espera añadir.
+	 * @param probabilidadFalsoPositivo Probabilidad de "puede estar" para un
+	 *                                  elemento ausente (entre 0 y 1).
+	 */
+	public FiltroBloom(int elementosPrevistos, double probabilidadFalsoPositivo) {
+		if (elementosPrevistos <= 0)
+			throw new IllegalArgumentException("El filtro necesita al menos un elemento previsto.");
+		if (probabilidadFalsoPositivo <= 0 || probabilidadFalsoPositivo >= 1)
+			throw new IllegalArgumentException("La probabilidad de falso positivo debe estar entre 0 y 1.");
+		// Tamaño y número de funciones óptimos: m = -n·ln(p) / ln(2)², k = (m / n)·ln(2)
+		double optimo = -elementosPrevistos * Math.log(probabilidadFalsoPositivo) / (Math.log(2) * Math.log(2));
+		this.numBits = (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64, Math.ceil(optimo)));
+		this.numHashes = Math.max(1, (int) Math.round((double) numBits / elementosPrevistos * Math.log(2)));
+		this.bits = new long[(numBits + 63) >>> 6];
+	}
+
+	/** Añade el valor al conjunto. */
+	public void agregar(String valor) {
+		long hash = hash64(valor);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < numHashes; i++) {
+			int bit = Math.floorMod(h1 + i * h2, numBits);
+			bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/** @return false si el valor seguro que no se ha añadido; true si puede estar. */
+	public boolean puedeContener(String valor) {
+		long hash = hash64(valor);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < numHashes; i++) {
+			int bit = Math.floorMod(h1 + i * h2, numBits);
+			if ((bits[bit >>> 6] & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Hash de 64 bits: FNV-1a sobre los caracteres y mezcla final de SplitMix64.
+	 * Sus dos mitades generan las k posiciones (doble hashing), así que cada
+	 * consulta recorre la cadena una sola vez.
+	 */
+	private static long hash64(String valor) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < valor.length(); i++) {
+			h ^= valor.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
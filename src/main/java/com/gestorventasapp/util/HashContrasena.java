@@ -0,0 +1,136 @@
+package com.gestorventasapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Hash de contraseñas con PBKDF2-HMAC-SHA256 y sal aleatoria por usuario.
+ *
+ * Formato almacenado: {@code pbkdf2$<iteraciones>$<sal base64>$<hash base64>}.
+ * Las iteraciones (factor de trabajo) se guardan con cada hash, así que pueden
+ * subirse con la propiedad de sistema {@value #PROPIEDAD_ITERACIONES} sin
+ * invalidar las contraseñas existentes: {@link #necesitaRehash} indica cuándo
+ * conviene recalcularlo en el siguiente login correcto.
+ *
+ * Un valor sin ese formato se trata como contraseña heredada en claro (datos
+ * anteriores a esta versión): se compara tal cual y se marca para rehash.
+ */
+public final class HashContrasena {
+
+	/** Propiedad de sistema para ajustar el factor de trabajo. */
+	public static final String PROPIEDAD_ITERACIONES = "gestorventas.contrasena.iteraciones";
+
+	private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+	private static final String PREFIJO = "pbkdf2";
+	private static final int ITERACIONES_POR_DEFECTO = 210_000;
+	private static final int BYTES_SAL = 16;
+	private static final int BITS_HASH = 256;
+
+	private static final SecureRandom ALEATORIO = new SecureRandom();
+
+	/** Hash de referencia para igualar el tiempo de respuesta con usuarios inexistentes. */
+	private static volatile String hashFicticio;
+
+	private HashContrasena() {
+	}
+
+	/**
+	 * Calcula el hash de una contraseña con una sal nueva y el factor de trabajo
+	 * actual.
+	 *
+	 * @param contrasena Contraseña en claro.
+	 * @return Valor a guardar en la columna contrasena.
+	 */
+	public static String generar(String contrasena) {
+		byte[] sal = new byte[BYTES_SAL];
+		ALEATORIO.nextBytes(sal);
+		int iteraciones = iteraciones();
+		byte[] hash = pbkdf2(contrasena, sal, iteraciones);
+		Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+		return PREFIJO + "$" + iteraciones + "$" + b64.encodeToString(sal) + "$" + b64.encodeToString(hash);
+	}
+
+	/**
+	 * Comprueba una contraseña contra el valor almacenado, en tiempo constante
+	 * respecto al contenido.
+	 *
+	 * @param contrasena Contraseña introducida.
+	 * @param almacenado Valor de la columna contrasena (hash o heredado en claro).
+	 * @return true si coincide.
+	 */
+	public static boolean verificar(String contrasena, String almacenado) {
+		if (contrasena == null || almacenado == null)
+			return false;
+		if (!esHash(almacenado)) {
+			return MessageDigest.isEqual(contrasena.getBytes(StandardCharsets.UTF_8),
+					almacenado.getBytes(StandardCharsets.UTF_8));
+		}
+		String[] partes = almacenado.split("\\$");
+		if (partes.length != 4)
+			return false;
+		try {
+			int iteraciones = Integer.parseInt(partes[1]);
+			byte[] sal = Base64.getDecoder().decode(partes[2]);
+			byte[] esperado = Base64.getDecoder().decode(partes[3]);
+			return MessageDigest.isEqual(esperado, pbkdf2(contrasena, sal, iteraciones));
+		} catch (IllegalArgumentException e) {
+			return false; // Valor corrupto: nunca autentica
+		}
+	}
+
+	/**
+	 * Gasta el mismo tiempo que una verificación real. Se usa cuando el usuario
+	 * no existe, para que el tiempo de respuesta no revele qué nombres son
+	 * válidos.
+	 */
+	public static void verificarFicticio(String contrasena) {
+		String referencia = hashFicticio;
+		if (referencia == null || necesitaRehash(referencia)) {
+			referencia = generar("ficticia");
+			hashFicticio = referencia;
+		}
+		verificar(contrasena == null ? "" : contrasena, referencia);
+	}
+
+	/**
+	 * @return true si el valor está en claro o se calculó con menos iteraciones
+	 *         que las configuradas ahora.
+	 */
+	public static boolean necesitaRehash(String almacenado) {
+		if (!esHash(almacenado))
+			return true;
+		String[] partes = almacenado.split("\\$");
+		try {
+			return partes.length != 4 || Integer.parseInt(partes[1]) < iteraciones();
+		} catch (NumberFormatException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * @return true si el valor tiene el formato de hash de esta clase.
+	 */
+	public static boolean esHash(String almacenado) {
+		return almacenado != null && almacenado.startsWith(PREFIJO + "$");
+	}
+
+	private static int iteraciones() {
+		return Integer.getInteger(PROPIEDAD_ITERACIONES, ITERACIONES_POR_DEFECTO);
+	}
+
+	private static byte[] pbkdf2(String contrasena, byte[] sal, int iteraciones) {
+		KeySpec spec = new PBEKeySpec(contrasena.toCharArray(), sal, iteraciones, BITS_HASH);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(spec).getEncoded();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("PBKDF2 no está disponible en esta JVM.", e);
+		}
+	}
+}
@@ -1,32 +1,156 @@
 package com.gestorventasapp.util;
 
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 
+import com.gestorventasapp.exceptions.DAOException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 public class HibernateUtil {
 
-	private static SessionFactory sessionFactory;
+	/**
+	 * Región de la caché de consultas para los conteos de la paginación. Las
+	 * escrituras de Hibernate la invalidan por tabla; lo que cambie otro
+	 * terminal se ve, como mucho, al caducar la entrada (ehcache.xml).
+	 */
+	public static final String REGION_CONTEOS = "consultas.conteos";
+
+	private static final String PREFIJO_HIKARI = "hibernate.hikari.";
+
+	/** Arranque de la SessionFactory: se completa una sola vez, con éxito o con el error. */
+	private static final CompletableFuture<SessionFactory> ARRANQUE = new CompletableFuture<>();
+	private static final AtomicBoolean arranqueLanzado = new AtomicBoolean();
+
+	private static volatile SessionFactory sessionFactory;
+	private static volatile HikariDataSource dataSource;
+	private static final MetricasPool metricasPool = new MetricasPool();
+
+	/**
+	 * Empieza a construir la SessionFactory (pool, migraciones y validación de
+	 * consultas) en un hilo de fondo, para que la pantalla de login se pinte
+	 * mientras tanto. Llamadas posteriores devuelven el mismo arranque.
+	 *
+	 * @return Arranque en curso; termina con error si Hibernate no pudo iniciarse.
+	 */
+	public static CompletableFuture<SessionFactory> iniciarEnSegundoPlano() {
+		if (arranqueLanzado.compareAndSet(false, true)) {
+			Thread hilo = new Thread(HibernateUtil::arrancar, "arranque-hibernate");
+			hilo.setDaemon(true);
+			hilo.start();
+		}
+		return ARRANQUE;
+	}
 
-	static {
-		
+	private static void arrancar() {
 		try {
 			// Cargar la configuracion de Hibernate desde hibernate.cfg.xml
-			sessionFactory = new Configuration().configure().buildSessionFactory();
-		} catch (Exception e) {
+			Configuration configuration = new Configuration().configure();
+
+			// Pool HikariCP real con las propiedades hibernate.hikari.* y métricas en vivo
+			dataSource = crearDataSource(configuration.getProperties());
+			// Las credenciales ya van en el pool. configure() deja también una copia de
+			// hibernate.cfg.xml en el registro de servicios: si quedaran ahí, Hibernate
+			// pediría las conexiones con getConnection(usuario, clave), que Hikari no admite
+			for (String credencial : new String[] { AvailableSettings.USER, AvailableSettings.PASS }) {
+				configuration.getProperties().remove(credencial);
+				configuration.getStandardServiceRegistryBuilder().getSettings().remove(credencial);
+			}
+			configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+
+			// Esquema versionado: en un arranque normal solo se lee la versión actual.
+			// Si la configuración pide a Hibernate que genere el esquema (pruebas sobre
+			// una base en memoria), los scripts de MySQL no se aplican.
+			if (!generaEsquema(configuration.getProperties()))
+				MigradorEsquema.migrar(dataSource);
+
+			sessionFactory = configuration.buildSessionFactory();
+			ARRANQUE.complete(sessionFactory);
+		} catch (Throwable e) {
 			e.printStackTrace();
-			throw new ExceptionInInitializerError("Error al inicializar Hibernate: " + e);
+			if (dataSource != null) {
+				dataSource.close();
+			}
+			ARRANQUE.completeExceptionally(e);
 		}
-		
 	}
 
+	private static boolean generaEsquema(Properties props) {
+		String accion = props.getProperty(AvailableSettings.HBM2DDL_AUTO, "none");
+		return !accion.equalsIgnoreCase("none") && !accion.equalsIgnoreCase("validate");
+	}
+
+	/**
+	 * Construye el DataSource de HikariCP a partir de las propiedades de conexión
+	 * de hibernate.cfg.xml. Las claves hibernate.hikari.* se pasan tal cual a
+	 * {@link HikariConfig} (maximumPoolSize, minimumIdle, idleTimeout...).
+	 */
+	private static HikariDataSource crearDataSource(Properties props) {
+		Properties hikariProps = new Properties();
+		for (String clave : props.stringPropertyNames()) {
+			if (clave.startsWith(PREFIJO_HIKARI)) {
+				hikariProps.setProperty(clave.substring(PREFIJO_HIKARI.length()), props.getProperty(clave));
+			}
+		}
+
+		HikariConfig config = new HikariConfig(hikariProps);
+		config.setPoolName("GestorVentasPool");
+		config.setJdbcUrl(props.getProperty(AvailableSettings.URL));
+		config.setUsername(props.getProperty(AvailableSettings.USER));
+		config.setPassword(props.getProperty(AvailableSettings.PASS));
+		if (props.getProperty(AvailableSettings.DRIVER) != null) {
+			config.setDriverClassName(props.getProperty(AvailableSettings.DRIVER));
+		}
+		config.setMetricsTrackerFactory(metricasPool);
+		return new HikariDataSource(config);
+	}
+
+	/**
+	 * Devuelve la SessionFactory, esperando a que termine el arranque. Si nadie
+	 * lo había lanzado, se construye en el hilo que llama.
+	 *
+	 * @throws DAOException si Hibernate no pudo iniciarse.
+	 */
 	public static SessionFactory getSessionFactory() {
-		return sessionFactory;
+		if (arranqueLanzado.compareAndSet(false, true)) {
+			arrancar();
+		}
+		try {
+			return ARRANQUE.join();
+		} catch (CompletionException e) {
+			throw new DAOException("Error al inicializar Hibernate: " + e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	/**
+	 * Métricas del pool de conexiones: activas, ociosas, en espera e
+	 * histogramas de latencia de adquisición y uso.
+	 */
+	public static MetricasPool getMetricasPool() {
+		return metricasPool;
+	}
+
+	/**
+	 * Aciertos y fallos de la caché de segundo nivel y de consultas, en total y
+	 * por región.
+	 */
+	public static EstadisticasCache getEstadisticasCache() {
+		return EstadisticasCache.desde(getSessionFactory().getStatistics());
 	}
 
 	public static void shutdown() {
-		
+
 		if (sessionFactory != null) {
 			sessionFactory.close();
 		}
+		if (dataSource != null) {
+			dataSource.close();
+		}
 	}
 }
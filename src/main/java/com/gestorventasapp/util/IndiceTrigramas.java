@@ -0,0 +1,290 @@
+package com.gestorventasapp.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para buscar texto dentro de varios campos de
+ * cada documento (identificado por un id entero).
+ *
+ * Para cada secuencia de tres caracteres guarda la lista ordenada de ids que la
+ * contienen, así que una búsqueda solo intersecta unas pocas listas y comprueba
+ * los candidatos en lugar de recorrer todos los documentos. Los campos se
+ * guardan ya normalizados (minúsculas, sin acentos ni espacios repetidos): al
+ * buscar no se vuelve a transformar ningún texto indexado.
+ *
+ * Es inmutable: {@link #con} devuelve un índice nuevo que comparte con el
+ * anterior todas las listas que no cambian, de modo que se puede actualizar
+ * documento a documento mientras otros hilos siguen leyendo la versión previa.
+ */
+public final class IndiceTrigramas {
+
+	private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+	private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}");
+	private static final int[] VACIA = new int[0];
+
+	private final int[] pesos;
+	private final Map<Integer, String[]> campos;
+	private final Map<String, int[]> listas;
+
+	private IndiceTrigramas(int[] pesos, Map<Integer, String[]> campos, Map<String, int[]> listas) {
+		this.pesos = pesos;
+		this.campos = campos;
+		this.listas = listas;
+	}
+
+	/**
+	 * Construye el índice completo.
+	 *
+	 * @param documentos Campos de cada documento, por id (un campo null cuenta
+	 *                   como vacío).
+	 * @param pesos      Peso de cada campo en la puntuación, en el mismo orden.
+	 */
+	public static IndiceTrigramas de(Map<Integer, String[]> documentos, int... pesos) {
+		Map<Integer, String[]> campos = new HashMap<>(documentos.size() * 2);
+		Map<String, ListaIds> acumuladas = new HashMap<>();
+		Integer[] ids = documentos.keySet().toArray(new Integer[0]);
+		Arrays.sort(ids);
+		for (Integer id : ids) {
+			String[] normalizados = normalizarCampos(documentos.get(id), pesos.length);
+			campos.put(id, normalizados);
+			// Ids en orden creciente: cada lista queda ordenada sin reordenar
+			for (String trigrama : trigramas(normalizados))
+				acumuladas.computeIfAbsent(trigrama, t -> new ListaIds()).agregar(id);
+		}
+		Map<String, int[]> listas = new HashMap<>(acumuladas.size() * 2);
+		acumuladas.forEach((trigrama, lista) -> listas.put(trigrama, lista.toArray()));
+		return new IndiceTrigramas(pesos.clone(), campos, listas);
+	}
+
+	/**
+	 * Copia del índice con los documentos indicados añadidos o sustituidos. Solo
+	 * se recalculan las listas de los trigramas que han entrado o salido.
+	 *
+	 * @param cambiados Campos nuevos de cada documento, por id.
+	 * @return Índice actualizado (este no se modifica).
+	 */
+	public IndiceTrigramas con(Map<Integer, String[]> cambiados) {
+		Map<Integer, String[]> nuevosCampos = new HashMap<>(campos);
+		Map<String, List<Integer>> altas = new HashMap<>();
+		Map<String, List<Integer>> bajas = new HashMap<>();
+		cambiados.forEach((id, documento) -> {
+			String[] normalizados = normalizarCampos(documento, pesos.length);
+			String[] anteriores = nuevosCampos.put(id, normalizados);
+			Set<String> antes = anteriores == null ? Set.of() : trigramas(anteriores);
+			Set<String> despues = trigramas(normalizados);
+			for (String trigrama : despues)
+				if (!antes.contains(trigrama))
+					altas.computeIfAbsent(trigrama, t -> new ArrayList<>()).add(id);
+			for (String trigrama : antes)
+				if (!despues.contains(trigrama))
+					bajas.computeIfAbsent(trigrama, t -> new ArrayList<>()).add(id);
+		});
+		Map<String, int[]> nuevasListas = new HashMap<>(listas);
+		Set<String> afectados = new HashSet<>(altas.keySet());
+		afectados.addAll(bajas.keySet());
+		for (String trigrama : afectados) {
+			int[] lista = actualizarLista(listas.getOrDefault(trigrama, VACIA),
+					altas.getOrDefault(trigrama, List.of()), bajas.getOrDefault(trigrama, List.of()));
+			if (lista.length == 0)
+				nuevasListas.remove(trigrama);
+			else
+				nuevasListas.put(trigrama, lista);
+		}
+		return new IndiceTrigramas(pesos, nuevosCampos, nuevasListas);
+	}
+
+	/**
+	 * Busca documentos que contengan todas las palabras de la consulta, cada una
+	 * en cualquiera de sus campos, ordenados por relevancia: pesa más el campo
+	 * con mayor peso, una palabra que empieza igual que la del campo y un campo
+	 * idéntico a la palabra. A igual puntuación, por id.
+	 *
+	 * @param consulta Texto libre.
+	 * @return Ids encontrados; vacía si la consulta no tiene palabras.
+	 */
+	public List<Integer> buscar(String consulta) {
+		String normalizada = normalizar(consulta);
+		if (normalizada.isEmpty())
+			return List.of();
+		String[] palabras = normalizada.split(" ");
+
+		int[] candidatos = candidatos(palabras);
+		// Puntuación (invertida) en los 32 bits altos e id en los bajos: un sort de
+		// primitivos deja primero la mayor puntuación y, a igualdad, el menor id
+		long[] claves = new long[candidatos.length];
+		int n = 0;
+		for (int id : candidatos) {
+			String[] documento = campos.get(id);
+			int total = 0;
+			for (String palabra : palabras) {
+				int puntos = puntuar(documento, palabra);
+				if (puntos == 0) {
+					total = 0;
+					break;
+				}
+				total += puntos;
+			}
+			if (total > 0)
+				claves[n++] = ((long) (Integer.MAX_VALUE - total) << 32) | (id & 0xFFFFFFFFL);
+		}
+		Arrays.sort(claves, 0, n);
+		List<Integer> resultado = new ArrayList<>(n);
+		for (int i = 0; i < n; i++)
+			resultado.add((int) claves[i]);
+		return resultado;
+	}
+
+	/**
+	 * Busca documentos cuyo campo contenga el texto completo (equivale a
+	 * {@code campo LIKE '%texto%'} sin distinguir mayúsculas ni acentos).
+	 *
+	 * @param texto Texto a buscar.
+	 * @param campo Posición del campo.
+	 * @return Ids encontrados, ordenados.
+	 */
+	public List<Integer> buscarEnCampo(String texto, int campo) {
+		String normalizado = normalizar(texto);
+		if (normalizado.isEmpty())
+			return List.of();
+		List<Integer> resultado = new ArrayList<>();
+		for (int id : candidatos(new String[] { normalizado }))
+			if (campos.get(id)[campo].contains(normalizado))
+				resultado.add(id);
+		Collections.sort(resultado);
+		return resultado;
+	}
+
+	/**
+	 * Ids que contienen todos los trigramas de las palabras de tres o más
+	 * caracteres. Si ninguna llega a tres, todos los documentos son candidatos
+	 * y se comprueban uno a uno sobre los campos ya normalizados.
+	 */
+	private int[] candidatos(String[] palabras) {
+		List<int[]> necesarias = new ArrayList<>();
+		for (String palabra : palabras) {
+			for (int i = 0; i + 3 <= palabra.length(); i++) {
+				int[] lista = listas.get(palabra.substring(i, i + 3));
+				if (lista == null)
+					return VACIA;
+				necesarias.add(lista);
+			}
+		}
+		if (necesarias.isEmpty())
+			return campos.keySet().stream().mapToInt(Integer::intValue).toArray();
+		// De la lista más corta a la más larga: la intersección se reduce enseguida
+		necesarias.sort((a, b) -> Integer.compare(a.length, b.length));
+		int[] resultado = necesarias.get(0);
+		for (int i = 1; i < necesarias.size() && resultado.length > 0; i++)
+			resultado = intersectar(resultado, necesarias.get(i));
+		return resultado;
+	}
+
+	private int puntuar(String[] documento, String palabra) {
+		int mejor = 0;
+		for (int c = 0; c < documento.length; c++) {
+			String campo = documento[c];
+			int posicion = campo.indexOf(palabra);
+			if (posicion < 0)
+				continue;
+			int puntos = pesos[c];
+			if (campo.length() == palabra.length())
+				puntos *= 4;
+			else if (posicion == 0 || campo.charAt(posicion - 1) == ' ')
+				puntos *= 2;
+			mejor = Math.max(mejor, puntos);
+		}
+		return mejor;
+	}
+
+	/**
+	 * Minúsculas, sin acentos, sin espacios al principio ni al final y con un
+	 * solo espacio entre palabras. Se aplica igual a lo indexado y a la
+	 * consulta.
+	 */
+	public static String normalizar(String texto) {
+		if (texto == null)
+			return "";
+		String sinAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+				.replaceAll("");
+		return ESPACIOS.matcher(sinAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+	}
+
+	private static String[] normalizarCampos(String[] documento, int numCampos) {
+		String[] normalizados = new String[numCampos];
+		for (int c = 0; c < numCampos; c++)
+			normalizados[c] = normalizar(c < documento.length ? documento[c] : null);
+		return normalizados;
+	}
+
+	private static Set<String> trigramas(String[] normalizados) {
+		Set<String> resultado = new HashSet<>();
+		for (String campo : normalizados)
+			for (int i = 0; i + 3 <= campo.length(); i++)
+				resultado.add(campo.substring(i, i + 3));
+		return resultado;
+	}
+
+	private static int[] intersectar(int[] a, int[] b) {
+		int[] resultado = new int[Math.min(a.length, b.length)];
+		int i = 0, j = 0, n = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j])
+				i++;
+			else if (a[i] > b[j])
+				j++;
+			else {
+				resultado[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(resultado, n);
+	}
+
+	private static int[] actualizarLista(int[] lista, List<Integer> altas, List<Integer> bajas) {
+		Set<Integer> quitar = new HashSet<>(bajas);
+		int[] nuevos = altas.stream().mapToInt(Integer::intValue).sorted().toArray();
+		int[] resultado = new int[lista.length + nuevos.length];
+		int i = 0, j = 0, n = 0;
+		// Mezcla de dos listas ordenadas saltando las bajas
+		while (i < lista.length || j < nuevos.length) {
+			int siguiente;
+			if (j >= nuevos.length || (i < lista.length && lista[i] < nuevos[j]))
+				siguiente = lista[i++];
+			else if (i < lista.length && lista[i] == nuevos[j]) {
+				siguiente = lista[i++];
+				j++;
+			} else
+				siguiente = nuevos[j++];
+			if (!quitar.contains(siguiente))
+				resultado[n++] = siguiente;
+		}
+		return Arrays.copyOf(resultado, n);
+	}
+
+	/** Lista de ids que crece sin cajas (Integer) durante la construcción. */
+	private static final class ListaIds {
+		private int[] ids = new int[4];
+		private int tamano;
+
+		void agregar(int id) {
+			if (tamano == ids.length)
+				ids = Arrays.copyOf(ids, tamano * 2);
+			ids[tamano++] = id;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(ids, tamano);
+		}
+	}
+}
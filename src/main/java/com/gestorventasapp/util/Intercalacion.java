@@ -0,0 +1,50 @@
+package com.gestorventasapp.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Claves de comparación de texto que imitan la intercalación de la base de
+ * datos, utf8mb4_unicode_ci (UCA 4.0.0): sin distinguir mayúsculas ni acentos,
+ * con ß igual a ss, ligaduras como æ o "ﬁ" desdobladas y sin contar los
+ * espacios finales. Dos textos que MySQL considera iguales dan la misma clave,
+ * así que un conjunto de claves en memoria rechaza lo mismo que rechazaría una
+ * consulta con {@code =}.
+ */
+public final class Intercalacion {
+
+	/** Letras que la intercalación iguala a otras y que NFKD no descompone. */
+	private static final Map<Character, String> DESDOBLES = Map.of('ø', "o", 'ł', "l", 'đ', "d", 'ħ', "h", 'æ', "ae",
+			'œ', "oe");
+	/** Marcas diacríticas y caracteres de formato, que la intercalación ignora. */
+	private static final Pattern IGNORADOS = Pattern.compile("[\\p{M}\\p{Cf}]+");
+	private static final Pattern ESPACIOS_FINALES = Pattern.compile("\\s+$");
+
+	private Intercalacion() {
+	}
+
+	/**
+	 * Pliega mayúsculas pasando por ellas (así "ß" queda en "ss"), descompone
+	 * (NFKD), quita marcas y caracteres de formato, desdobla las letras que NFKD
+	 * deja enteras y quita los espacios finales.
+	 *
+	 * @param texto Texto a comparar.
+	 * @return Clave igual para todos los textos equivalentes.
+	 */
+	public static String clave(String texto) {
+		String plegado = texto.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+		String descompuesto = IGNORADOS.matcher(Normalizer.normalize(plegado, Normalizer.Form.NFKD)).replaceAll("");
+		StringBuilder clave = new StringBuilder(descompuesto.length());
+		for (int i = 0; i < descompuesto.length(); i++) {
+			char c = descompuesto.charAt(i);
+			String desdoble = DESDOBLES.get(c);
+			if (desdoble != null)
+				clave.append(desdoble);
+			else
+				clave.append(c);
+		}
+		return ESPACIOS_FINALES.matcher(clave).replaceAll("");
+	}
+}
@@ -0,0 +1,172 @@
+package com.gestorventasapp.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Recolector de métricas del pool de conexiones HikariCP. Hikari lo invoca en
+ * cada préstamo y devolución de conexión; aquí se acumulan los histogramas de
+ * latencia de adquisición y de uso, y se consultan en caliente los contadores
+ * de conexiones activas, ociosas y peticiones en espera.
+ */
+public class MetricasPool implements MetricsTrackerFactory {
+
+	private final HistogramaLatencia adquisicion = new HistogramaLatencia();
+	private final HistogramaLatencia uso = new HistogramaLatencia();
+	private final HistogramaLatencia creacion = new HistogramaLatencia();
+	private final LongAdder timeouts = new LongAdder();
+
+	private volatile PoolStats poolStats;
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		this.poolStats = poolStats;
+		return new IMetricsTracker() {
+			@Override
+			public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+				adquisicion.registrar(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+			}
+
+			@Override
+			public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+				uso.registrar(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+			}
+
+			@Override
+			public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+				creacion.registrar(TimeUnit.MILLISECONDS.toMicros(connectionCreatedMillis));
+			}
+
+			@Override
+			public void recordConnectionTimeout() {
+				timeouts.increment();
+			}
+		};
+	}
+
+	/**
+	 * Devuelve una foto del estado actual del pool y de los histogramas
+	 * acumulados desde el arranque.
+	 *
+	 * @return Instantánea de métricas (contadores a -1 si el pool aún no existe).
+	 */
+	public Instantanea instantanea() {
+		PoolStats stats = poolStats;
+		return new Instantanea(stats != null ? stats.getActiveConnections() : -1,
+				stats != null ? stats.getIdleConnections() : -1, stats != null ? stats.getTotalConnections() : -1,
+				stats != null ? stats.getPendingThreads() : -1, timeouts.sum(), adquisicion.instantanea(),
+				uso.instantanea(), creacion.instantanea());
+	}
+
+	/**
+	 * Foto inmutable de las métricas del pool.
+	 *
+	 * @param activas      Conexiones prestadas en este momento.
+	 * @param ociosas      Conexiones libres en el pool.
+	 * @param totales      Conexiones abiertas (activas + ociosas).
+	 * @param pendientes   Hilos esperando una conexión.
+	 * @param timeouts     Peticiones que agotaron el connectionTimeout.
+	 * @param adquisicion  Latencia de obtención de conexión (µs).
+	 * @param uso          Tiempo que cada conexión estuvo prestada (µs).
+	 * @param creacion     Tiempo de apertura de conexiones físicas (µs).
+	 */
+	public record Instantanea(int activas, int ociosas, int totales, int pendientes, long timeouts,
+			HistogramaLatencia.Resumen adquisicion, HistogramaLatencia.Resumen uso,
+			HistogramaLatencia.Resumen creacion) {
+
+		@Override
+		public String toString() {
+			return String.format("Pool[activas=%d, ociosas=%d, totales=%d, pendientes=%d, timeouts=%d] adquisicion=%s uso=%s",
+					activas, ociosas, totales, pendientes, timeouts, adquisicion, uso);
+		}
+	}
+
+	/**
+	 * Histograma de latencias con cubetas fijas de crecimiento exponencial
+	 * (microsegundos). Sin bloqueos: cada cubeta es un {@link LongAdder}.
+	 */
+	public static class HistogramaLatencia {
+
+		/** Límite superior (inclusive) de cada cubeta en µs; la última es +inf. */
+		private static final long[] LIMITES = { 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000,
+				250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, Long.MAX_VALUE };
+
+		private final LongAdder[] cubetas = new LongAdder[LIMITES.length];
+		private final LongAdder total = new LongAdder();
+		private final LongAdder suma = new LongAdder();
+		private final AtomicLong maximo = new AtomicLong();
+
+		public HistogramaLatencia() {
+			for (int i = 0; i < cubetas.length; i++) {
+				cubetas[i] = new LongAdder();
+			}
+		}
+
+		public void registrar(long micros) {
+			int i = 0;
+			while (micros > LIMITES[i]) {
+				i++;
+			}
+			cubetas[i].increment();
+			total.increment();
+			suma.add(micros);
+			maximo.accumulateAndGet(micros, Math::max);
+		}
+
+		public Resumen instantanea() {
+			long[] conteos = new long[cubetas.length];
+			for (int i = 0; i < cubetas.length; i++) {
+				conteos[i] = cubetas[i].sum();
+			}
+			return new Resumen(LIMITES.clone(), conteos, total.sum(), suma.sum(), maximo.get());
+		}
+
+		/**
+		 * Resumen inmutable de un histograma.
+		 *
+		 * @param limites Límite superior de cada cubeta (µs).
+		 * @param conteos Número de muestras por cubeta.
+		 * @param total   Número total de muestras.
+		 * @param suma    Suma de todas las muestras (µs).
+		 * @param maximo  Mayor muestra registrada (µs).
+		 */
+		public record Resumen(long[] limites, long[] conteos, long total, long suma, long maximo) {
+
+			public double media() {
+				return total == 0 ? 0 : (double) suma / total;
+			}
+
+			/**
+			 * Estima un percentil devolviendo el límite superior de la cubeta que lo
+			 * contiene.
+			 *
+			 * @param p Percentil entre 0 y 100.
+			 * @return Límite en µs (o el máximo observado para la última cubeta).
+			 */
+			public long percentil(double p) {
+				if (total == 0)
+					return 0;
+				long objetivo = (long) Math.ceil(total * p / 100.0);
+				long acumulado = 0;
+				for (int i = 0; i < conteos.length; i++) {
+					acumulado += conteos[i];
+					if (acumulado >= objetivo) {
+						return limites[i] == Long.MAX_VALUE ? maximo : Math.min(limites[i], maximo);
+					}
+				}
+				return maximo;
+			}
+
+			@Override
+			public String toString() {
+				return String.format("{n=%d, media=%.0fµs, p50=%dµs, p95=%dµs, p99=%dµs, max=%dµs}", total, media(),
+						percentil(50), percentil(95), percentil(99), maximo);
+			}
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package com.gestorventasapp.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.sql.DataSource;
+
+import com.gestorventasapp.exceptions.DAOException;
+
+/**
+ * Migraciones versionadas del esquema de base de datos.
+ *
+ * Los scripts viven en {@code db/migraciones/} (classpath) con el formato
+ * {@code V<n>__<descripcion>.sql} y se aplican una sola vez, en orden, dejando
+ * constancia en la tabla {@code schema_history}. En un arranque normal el
+ * esquema ya está al día y solo se consulta la versión actual; no se
+ * inspecciona el resto del esquema.
+ *
+ * Todos los scripts pueden volver a ejecutarse sobre una base creada a mano
+ * con BBDDGestorVentasApp.sql: usan IF NOT EXISTS / OR REPLACE y un
+ * {@code CREATE INDEX} sobre un índice que ya existe, o un {@code ADD COLUMN}
+ * de una columna que ya existe, se da por aplicado.
+ *
+ * Para añadir una migración: crear el siguiente V<n>__*.sql y añadirlo al
+ * final de {@link #MIGRACIONES}. Una migración ya aplicada no se modifica.
+ */
+public final class MigradorEsquema {
+
+	private static final String CARPETA = "db/migraciones/";
+
+	/** Scripts de migración, en orden de versión. */
+	private static final List<String> MIGRACIONES = List.of(
+			"V1__esquema_inicial.sql",
+			"V2__indices.sql",
+			"V3__vistas_analisis.sql",
+			"V4__trigger_auditoria_stock.sql",
+			"V5__sincronizar_secuencias.sql",
+			"V6__columnas_version.sql",
+			"V7__indices_unicidad_productos.sql",
+			"V8__hash_contrasenas.sql",
+			"V9__secuencia_productos.sql",
+			"V10__trigger_auditoria_precios.sql",
+			"V11__fechas_obligatorias.sql");
+
+	/** Bloqueo con nombre de MySQL: dos terminales no migran a la vez. */
+	private static final String BLOQUEO = "gestor_ventas_app.migraciones";
+	private static final int ESPERA_BLOQUEO_SEGUNDOS = 60;
+
+	private static final int ER_NO_SUCH_TABLE = 1146;
+	private static final int ER_DUP_FIELDNAME = 1060;
+	private static final int ER_DUP_KEYNAME = 1061;
+
+	private MigradorEsquema() {
+	}
+
+	/**
+	 * Lleva el esquema a la última versión conocida por la aplicación.
+	 *
+	 * @param dataSource Pool de conexiones de la aplicación.
+	 * @return Número de migraciones aplicadas (0 si el esquema ya estaba al día).
+	 */
+	public static int migrar(DataSource dataSource) throws SQLException {
+		int ultima = MIGRACIONES.size();
+		try (Connection con = dataSource.getConnection()) {
+			if (versionActual(con) >= ultima) {
+				return 0;
+			}
+			return aplicarPendientes(con);
+		}
+	}
+
+	/**
+	 * Versión más alta aplicada, o 0 si la tabla de historial aún no existe.
+	 */
+	private static int versionActual(Connection con) throws SQLException {
+		try (Statement st = con.createStatement();
+				ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_history")) {
+			return rs.next() ? rs.getInt(1) : 0;
+		} catch (SQLException e) {
+			if (e.getErrorCode() == ER_NO_SUCH_TABLE)
+				return 0;
+			throw e;
+		}
+	}
+
+	private static int aplicarPendientes(Connection con) throws SQLException {
+		bloquear(con);
+		try {
+			crearHistorial(con);
+			Map<Integer, Long> aplicadas = leerHistorial(con);
+			int aplicadasAhora = 0;
+			for (int i = 0; i < MIGRACIONES.size(); i++) {
+				int version = i + 1;
+				String nombre = MIGRACIONES.get(i);
+				String script = leerScript(nombre);
+				long checksum = checksum(script);
+
+				Long registrado = aplicadas.get(version);
+				if (registrado != null) {
+					if (registrado != checksum)
+						throw new DAOException("La migración ya aplicada " + nombre
+								+ " ha cambiado desde que se ejecutó. Añade una nueva versión en lugar de editarla.");
+					continue;
+				}
+
+				long inicio = System.nanoTime();
+				ejecutarScript(con, nombre, script);
+				registrar(con, version, descripcion(nombre), checksum, (System.nanoTime() - inicio) / 1_000_000);
+				aplicadasAhora++;
+			}
+			return aplicadasAhora;
+		} finally {
+			desbloquear(con);
+		}
+	}
+
+	private static void bloquear(Connection con) throws SQLException {
+		try (PreparedStatement ps = con.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+			ps.setString(1, BLOQUEO);
+			ps.setInt(2, ESPERA_BLOQUEO_SEGUNDOS);
+			try (ResultSet rs = ps.executeQuery()) {
+				if (!rs.next() || rs.getInt(1) != 1)
+					throw new DAOException("Otra instancia está migrando el esquema; inténtalo de nuevo en unos segundos.");
+			}
+		}
+	}
+
+	private static void desbloquear(Connection con) throws SQLException {
+		try (PreparedStatement ps = con.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+			ps.setString(1, BLOQUEO);
+			ps.executeQuery().close();
+		}
+	}
+
+	private static void crearHistorial(Connection con) throws SQLException {
+		try (Statement st = con.createStatement()) {
+			st.executeUpdate("CREATE TABLE IF NOT EXISTS schema_history ("
+					+ "version INT PRIMARY KEY, "
+					+ "descripcion VARCHAR(200) NOT NULL, "
+					+ "checksum BIGINT NOT NULL, "
+					+ "aplicada_en TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+					+ "duracion_ms BIGINT NOT NULL)");
+		}
+	}
+
+	private static Map<Integer, Long> leerHistorial(Connection con) throws SQLException {
+		Map<Integer, Long> aplicadas = new HashMap<>();
+		try (Statement st = con.createStatement();
+				ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_history")) {
+			while (rs.next()) {
+				aplicadas.put(rs.getInt(1), rs.getLong(2));
+			}
+		}
+		return aplicadas;
+	}
+
+	private static void registrar(Connection con, int version, String descripcion, long checksum, long duracionMs)
+			throws SQLException {
+		try (PreparedStatement ps = con.prepareStatement(
+				"INSERT INTO schema_history (version, descripcion, checksum, duracion_ms) VALUES (?, ?, ?, ?)")) {
+			ps.setInt(1, version);
+			ps.setString(2, descripcion);
+			ps.setLong(3, checksum);
+			ps.setLong(4, duracionMs);
+			ps.executeUpdate();
+		}
+	}
+
+	/**
+	 * Ejecuta las sentencias del script una a una. MySQL confirma cada DDL por
+	 * separado, así que una migración que falla a medias se corrige y se vuelve
+	 * a lanzar: los scripts están escritos para poder repetirse.
+	 */
+	private static void ejecutarScript(Connection con, String nombre, String script) throws SQLException {
+		try (Statement st = con.createStatement()) {
+			for (String sentencia : dividirSentencias(script)) {
+				try {
+					st.execute(sentencia);
+				} catch (SQLException e) {
+					if (e.getErrorCode() == ER_DUP_KEYNAME || e.getErrorCode() == ER_DUP_FIELDNAME)
+						continue; // El índice o la columna ya existían
+					throw new SQLException("Error en la migración " + nombre + ": " + e.getMessage(), e.getSQLState(),
+							e.getErrorCode(), e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Divide un script en sentencias. Entiende la directiva {@code DELIMITER}
+	 * del cliente mysql (necesaria para triggers) y omite las líneas de
+	 * comentario ({@code --}).
+	 */
+	static List<String> dividirSentencias(String script) {
+		List<String> sentencias = new ArrayList<>();
+		String delimitador = ";";
+		StringBuilder actual = new StringBuilder();
+		for (String linea : script.split("\\R")) {
+			String recortada = linea.trim();
+			if (recortada.regionMatches(true, 0, "DELIMITER ", 0, 10)) {
+				delimitador = recortada.substring(10).trim();
+				continue;
+			}
+			if (recortada.startsWith("--") || (actual.length() == 0 && recortada.isEmpty()))
+				continue;
+			if (recortada.endsWith(delimitador)) {
+				actual.append(linea, 0, linea.lastIndexOf(delimitador));
+				String sentencia = actual.toString().trim();
+				if (!sentencia.isEmpty())
+					sentencias.add(sentencia);
+				actual.setLength(0);
+			} else {
+				actual.append(linea).append('\n');
+			}
+		}
+		if (!actual.toString().trim().isEmpty())
+			sentencias.add(actual.toString().trim());
+		return sentencias;
+	}
+
+	private static String leerScript(String nombre) {
+		try (InputStream in = MigradorEsquema.class.getClassLoader().getResourceAsStream(CARPETA + nombre)) {
+			if (in == null)
+				throw new DAOException("No se encuentra la migración " + CARPETA + nombre);
+			StringBuilder sb = new StringBuilder();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+				String linea;
+				while ((linea = reader.readLine()) != null) {
+					sb.append(linea).append('\n');
+				}
+			}
+			return sb.toString();
+		} catch (IOException e) {
+			throw new DAOException("No se pudo leer la migración " + nombre, e);
+		}
+	}
+
+	private static long checksum(String script) {
+		CRC32 crc = new CRC32();
+		crc.update(script.getBytes(StandardCharsets.UTF_8));
+		return crc.getValue();
+	}
+
+	private static String descripcion(String nombre) {
+		String sinExtension = nombre.substring(0, nombre.length() - ".sql".length());
+		return sinExtension.substring(sinExtension.indexOf("__") + 2).replace('_', ' ');
+	}
+}
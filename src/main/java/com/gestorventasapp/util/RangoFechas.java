@@ -0,0 +1,71 @@
+package com.gestorventasapp.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Intervalo de tiempo semiabierto {@code [desde, hasta)}: incluye el instante
+ * inicial y excluye el final.
+ *
+ * Las consultas por fecha de los DAO se expresan siempre como
+ * {@code fecha >= :desde AND fecha < :hasta}. Así MySQL recorre un tramo del
+ * índice sobre la columna fecha (sin aplicar DATE() a cada fila) y un día o un
+ * mes incluyen todos sus instantes, también los del último día.
+ *
+ * @param desde Primer instante incluido.
+ * @param hasta Primer instante excluido (posterior o igual a desde).
+ */
+public record RangoFechas(LocalDateTime desde, LocalDateTime hasta) {
+
+	public RangoFechas {
+		if (desde == null || hasta == null)
+			throw new IllegalArgumentException("El rango de fechas necesita inicio y fin.");
+		if (hasta.isBefore(desde))
+			throw new IllegalArgumentException("El fin del rango de fechas no puede ser anterior al inicio.");
+	}
+
+	/**
+	 * Un día completo: desde las 00:00 hasta las 00:00 del día siguiente.
+	 *
+	 * @param dia Día a cubrir.
+	 * @return Rango del día.
+	 */
+	public static RangoFechas dia(LocalDate dia) {
+		return dias(dia, dia);
+	}
+
+	/**
+	 * Varios días completos, ambos extremos incluidos.
+	 *
+	 * @param primerDia Primer día incluido.
+	 * @param ultimoDia Último día incluido.
+	 * @return Rango desde el inicio del primer día hasta el inicio del día
+	 *         siguiente al último.
+	 */
+	public static RangoFechas dias(LocalDate primerDia, LocalDate ultimoDia) {
+		if (primerDia == null || ultimoDia == null)
+			throw new IllegalArgumentException("El rango de fechas necesita día inicial y final.");
+		return new RangoFechas(primerDia.atStartOfDay(), ultimoDia.plusDays(1).atStartOfDay());
+	}
+
+	/**
+	 * Un mes natural completo.
+	 *
+	 * @param mes Mes a cubrir.
+	 * @return Rango desde el día 1 del mes hasta el día 1 del mes siguiente.
+	 */
+	public static RangoFechas mes(YearMonth mes) {
+		if (mes == null)
+			throw new IllegalArgumentException("El mes es obligatorio.");
+		return new RangoFechas(mes.atDay(1).atStartOfDay(), mes.plusMonths(1).atDay(1).atStartOfDay());
+	}
+
+	/**
+	 * @param instante Instante a comprobar.
+	 * @return true si el instante está dentro del rango.
+	 */
+	public boolean contiene(LocalDateTime instante) {
+		return instante != null && !instante.isBefore(desde) && instante.isBefore(hasta);
+	}
+}
@@ -0,0 +1,62 @@
+package com.gestorventasapp.util;
+
+/**
+ * Medidas de parecido entre cadenas para detectar erratas en nombres.
+ */
+public final class Similitud {
+
+	private static final double PESO_PREFIJO = 0.1;
+	private static final int PREFIJO_MAXIMO = 4;
+
+	private Similitud() {
+	}
+
+	/**
+	 * Similitud de Jaro-Winkler: 1 si las cadenas son iguales y 0 si no tienen
+	 * nada en común. Tolera caracteres cambiados, omitidos o transpuestos y
+	 * premia un comienzo común, así que "centrl" y "central" quedan muy cerca.
+	 * Coste proporcional al producto de las longitudes, sin reservar memoria
+	 * salvo dos arrays de marcas.
+	 */
+	public static double jaroWinkler(String a, String b) {
+		if (a.equals(b))
+			return 1.0;
+		if (a.isEmpty() || b.isEmpty())
+			return 0.0;
+		int ventana = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+		boolean[] usadosA = new boolean[a.length()];
+		boolean[] usadosB = new boolean[b.length()];
+		int coincidencias = 0;
+		for (int i = 0; i < a.length(); i++) {
+			int desde = Math.max(0, i - ventana);
+			int hasta = Math.min(b.length(), i + ventana + 1);
+			for (int j = desde; j < hasta; j++) {
+				if (!usadosB[j] && a.charAt(i) == b.charAt(j)) {
+					usadosA[i] = true;
+					usadosB[j] = true;
+					coincidencias++;
+					break;
+				}
+			}
+		}
+		if (coincidencias == 0)
+			return 0.0;
+		int transposiciones = 0;
+		for (int i = 0, j = 0; i < a.length(); i++) {
+			if (!usadosA[i])
+				continue;
+			while (!usadosB[j])
+				j++;
+			if (a.charAt(i) != b.charAt(j))
+				transposiciones++;
+			j++;
+		}
+		double m = coincidencias;
+		double jaro = (m / a.length() + m / b.length() + (m - transposiciones / 2.0) / m) / 3.0;
+		int prefijo = 0;
+		int limite = Math.min(PREFIJO_MAXIMO, Math.min(a.length(), b.length()));
+		while (prefijo < limite && a.charAt(prefijo) == b.charAt(prefijo))
+			prefijo++;
+		return jaro + prefijo * PESO_PREFIJO * (1.0 - jaro);
+	}
+}
@@ -0,0 +1,340 @@
+package com.gestorventasapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import com.gestorventasapp.exceptions.ConflictoConcurrenciaException;
+import com.gestorventasapp.exceptions.DAOException;
+
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Plantilla de transacciones y unidad de trabajo compartida por todos los DAO.
+ *
+ * Cada operación DAO se ejecuta a través de {@link #execute}, {@link #call} o
+ * {@link #query}. Si el hilo actual ya tiene una unidad de trabajo abierta
+ * (iniciada por un servicio con {@link #runInUnitOfWork} o
+ * {@link #callInUnitOfWork}), la operación reutiliza su Session y su
+ * transacción; si no, abre una propia y la confirma al terminar, como hacían
+ * antes los DAO. Así varias llamadas DAO pueden agruparse en una sola conexión
+ * y un único commit.
+ *
+ * Un fallo de bloqueo optimista (versión desfasada) se traduce siempre a
+ * {@link ConflictoConcurrenciaException}. Las operaciones idempotentes pueden
+ * ejecutarse con {@link #runWithRetry} para repetirse automáticamente.
+ */
+public final class TransactionTemplate {
+
+	private static final ThreadLocal<Session> SESION_ACTUAL = new ThreadLocal<>();
+	private static final ThreadLocal<List<Runnable>> TRAS_CONFIRMAR = new ThreadLocal<>();
+
+	/** Intentos totales de una operación idempotente ante conflictos de versión. */
+	private static final int INTENTOS_CONFLICTO = 3;
+
+	private TransactionTemplate() {
+	}
+
+	/**
+	 * Trabajo sobre una Session que no devuelve resultado.
+	 */
+	@FunctionalInterface
+	public interface SessionWork {
+		void execute(Session session);
+	}
+
+	/**
+	 * Trabajo sobre una Session que devuelve un resultado.
+	 */
+	@FunctionalInterface
+	public interface SessionFunction<T> {
+		T apply(Session session);
+	}
+
+	/**
+	 * Trabajo sobre una StatelessSession que devuelve un resultado.
+	 */
+	@FunctionalInterface
+	public interface StatelessFunction<T> {
+		T apply(StatelessSession session);
+	}
+
+	/**
+	 * Ejecuta una operación de escritura masiva en una StatelessSession con su
+	 * propia transacción: sin contexto de persistencia ni dirty checking, cada
+	 * insert va directo al lote JDBC. No participa en la unidad de trabajo del
+	 * hilo ni en la caché de segundo nivel.
+	 *
+	 * @param function     Operación a ejecutar.
+	 * @param mensajeError Mensaje de la DAOException si algo falla.
+	 * @return Resultado de la operación.
+	 */
+	public static <T> T callStateless(StatelessFunction<T> function, String mensajeError) {
+		try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+			Transaction transaction = session.beginTransaction();
+			try {
+				T resultado = function.apply(session);
+				transaction.commit();
+				return resultado;
+			} catch (RuntimeException e) {
+				deshacer(transaction, e);
+				throw e;
+			}
+		} catch (Exception e) {
+			throw envolver(e, mensajeError);
+		}
+	}
+
+	/**
+	 * Ejecuta una operación de escritura dentro de una transacción.
+	 *
+	 * @param work         Operación a ejecutar.
+	 * @param mensajeError Mensaje de la DAOException si algo falla.
+	 */
+	public static void execute(SessionWork work, String mensajeError) {
+		call(session -> {
+			work.execute(session);
+			return null;
+		}, mensajeError);
+	}
+
+	/**
+	 * Ejecuta una operación de escritura dentro de una transacción y devuelve su
+	 * resultado.
+	 *
+	 * @param function     Operación a ejecutar.
+	 * @param mensajeError Mensaje de la DAOException si algo falla.
+	 * @return Resultado de la operación.
+	 */
+	public static <T> T call(SessionFunction<T> function, String mensajeError) {
+		Session actual = SESION_ACTUAL.get();
+		if (actual != null) {
+			return enSesionActual(actual, function, mensajeError);
+		}
+		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+			Transaction transaction = session.beginTransaction();
+			try {
+				T resultado = function.apply(session);
+				transaction.commit();
+				return resultado;
+			} catch (RuntimeException e) {
+				deshacer(transaction, e);
+				throw e;
+			}
+		} catch (Exception e) {
+			throw envolver(e, mensajeError);
+		}
+	}
+
+	/**
+	 * Ejecuta una consulta. Dentro de una unidad de trabajo usa su Session (y ve
+	 * los cambios aún no confirmados); fuera de ella abre una Session propia en
+	 * modo solo lectura: las entidades cargadas no guardan copia para el dirty
+	 * checking y la Session nunca hace flush, porque no hay nada que escribir.
+	 *
+	 * @param function     Consulta a ejecutar.
+	 * @param mensajeError Mensaje de la DAOException si algo falla.
+	 * @return Resultado de la consulta.
+	 */
+	public static <T> T query(SessionFunction<T> function, String mensajeError) {
+		Session actual = SESION_ACTUAL.get();
+		if (actual != null) {
+			return enSesionActual(actual, function, mensajeError);
+		}
+		try (Session session = abrirSesionLectura()) {
+			return function.apply(session);
+		} catch (Exception e) {
+			throw envolver(e, mensajeError);
+		}
+	}
+
+	private static Session abrirSesionLectura() {
+		Session session = HibernateUtil.getSessionFactory().openSession();
+		session.setDefaultReadOnly(true);
+		session.setHibernateFlushMode(FlushMode.MANUAL);
+		return session;
+	}
+
+	/**
+	 * Ejecuta un bloque de servicio como una única unidad de trabajo: todas las
+	 * operaciones DAO invocadas dentro comparten Session y transacción, y se
+	 * confirman juntas o se deshacen juntas.
+	 *
+	 * @param bloque Operaciones a agrupar.
+	 */
+	public static void runInUnitOfWork(Runnable bloque) {
+		callInUnitOfWork(() -> {
+			bloque.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Igual que {@link #runInUnitOfWork(Runnable)} pero devolviendo un resultado.
+	 * Si ya hay una unidad de trabajo abierta en el hilo, el bloque se une a
+	 * ella.
+	 *
+	 * @param bloque Operaciones a agrupar.
+	 * @return Resultado del bloque.
+	 */
+	public static <T> T callInUnitOfWork(Supplier<T> bloque) {
+		if (SESION_ACTUAL.get() != null) {
+			return bloque.get();
+		}
+		T resultado;
+		boolean confirmada = false;
+		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+			Transaction transaction = session.beginTransaction();
+			SESION_ACTUAL.set(session);
+			try {
+				resultado = bloque.get();
+				if (transaction.getRollbackOnly()) {
+					throw new DAOException("La unidad de trabajo se ha marcado para deshacer por un error previo.");
+				}
+				transaction.commit();
+				confirmada = true;
+			} catch (RuntimeException e) {
+				deshacer(transaction, e);
+				throw e;
+			}
+		} catch (RuntimeException e) {
+			throw esConflicto(e) ? new ConflictoConcurrenciaException(e) : e;
+		} finally {
+			SESION_ACTUAL.remove();
+			// Descartadas si la unidad de trabajo no llegó a confirmarse
+			List<Runnable> pendientes = TRAS_CONFIRMAR.get();
+			TRAS_CONFIRMAR.remove();
+			if (confirmada && pendientes != null)
+				pendientes.forEach(Runnable::run);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Ejecuta una acción cuando los cambios actuales ya son visibles para
+	 * otras sesiones: al confirmar la unidad de trabajo abierta en el hilo (ya
+	 * cerrada su Session), o en el acto si no hay ninguna. Si la unidad de
+	 * trabajo se deshace, la acción no se ejecuta.
+	 *
+	 * @param accion Acción a ejecutar tras el commit.
+	 */
+	public static void afterCommit(Runnable accion) {
+		if (SESION_ACTUAL.get() == null) {
+			accion.run();
+			return;
+		}
+		List<Runnable> pendientes = TRAS_CONFIRMAR.get();
+		if (pendientes == null) {
+			pendientes = new ArrayList<>();
+			TRAS_CONFIRMAR.set(pendientes);
+		}
+		pendientes.add(accion);
+	}
+
+	/**
+	 * Ejecuta un bloque idempotente (vuelve a leer lo que modifica) en su propia
+	 * unidad de trabajo y lo repite si otro terminal ha cambiado los mismos
+	 * registros entretanto. Así no hace falta bloquear filas y no se pierde
+	 * ninguna actualización. Las operaciones interactivas (formularios) no
+	 * deben reintentarse: el conflicto se informa al usuario.
+	 *
+	 * @param bloque Operaciones a agrupar y, si hay conflicto, repetir.
+	 */
+	public static void runWithRetry(Runnable bloque) {
+		callWithRetry(() -> {
+			bloque.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Igual que {@link #runWithRetry(Runnable)} pero devolviendo un resultado.
+	 * Dentro de una unidad de trabajo ya abierta no se reintenta: su Session
+	 * conserva las versiones antiguas, así que decide quien la abrió.
+	 *
+	 * @param bloque Operaciones a agrupar y, si hay conflicto, repetir.
+	 * @return Resultado del bloque.
+	 */
+	public static <T> T callWithRetry(Supplier<T> bloque) {
+		if (inUnitOfWork()) {
+			return bloque.get();
+		}
+		for (int intento = 1;; intento++) {
+			try {
+				return callInUnitOfWork(bloque);
+			} catch (ConflictoConcurrenciaException e) {
+				if (intento >= INTENTOS_CONFLICTO)
+					throw e;
+				esperarAntesDeReintentar(intento);
+			}
+		}
+	}
+
+	private static void esperarAntesDeReintentar(int intento) {
+		try {
+			// Espera creciente y aleatoria para que los terminales no vuelvan a chocar
+			Thread.sleep(ThreadLocalRandom.current().nextLong(10, 50) * intento);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Indica si el hilo actual está dentro de una unidad de trabajo.
+	 */
+	public static boolean inUnitOfWork() {
+		return SESION_ACTUAL.get() != null;
+	}
+
+	private static <T> T enSesionActual(Session session, SessionFunction<T> function, String mensajeError) {
+		try {
+			return function.apply(session);
+		} catch (Exception e) {
+			// Aunque el servicio capture la excepción, la unidad de trabajo no se confirmará
+			if (session.getTransaction().isActive())
+				session.getTransaction().markRollbackOnly();
+			throw envolver(e, mensajeError);
+		}
+	}
+
+	/**
+	 * Deshace la transacción antes de cerrar su Session: el try-with-resources
+	 * cierra la Session antes de entrar en el catch, y ahí ya no se puede
+	 * deshacer. Si el rollback también falla, se adjunta al error original.
+	 */
+	private static void deshacer(Transaction transaction, RuntimeException causa) {
+		try {
+			if (transaction.isActive())
+				transaction.rollback();
+		} catch (RuntimeException e) {
+			causa.addSuppressed(e);
+		}
+	}
+
+	private static DAOException envolver(Exception e, String mensajeError) {
+		if (e instanceof DAOException daoException)
+			return daoException;
+		if (esConflicto(e))
+			return new ConflictoConcurrenciaException(e);
+		return new DAOException(mensajeError, e);
+	}
+
+	private static boolean esConflicto(Throwable e) {
+		if (e instanceof ConflictoConcurrenciaException)
+			return false; // Ya traducido
+		for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+			if (causa instanceof StaleStateException || causa instanceof OptimisticLockException)
+				return true;
+			if (causa.getCause() == causa)
+				break;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,67 @@
+package com.gestorventasapp.view;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Window;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+import com.gestorventasapp.dto.ClienteCotejo;
+import com.gestorventasapp.dto.PosibleDuplicado;
+import com.gestorventasapp.util.EstiloUI;
+
+/**
+ * Informe de posibles clientes duplicados: cada fila es una pareja de clientes
+ * parecidos, con su puntuación y los datos que coinciden. Solo informa; la
+ * fusión o la baja se hacen desde la pantalla de clientes.
+ */
+public class ClienteDuplicados extends JDialog {
+
+	private static final String[] COLUMNAS = { "Similitud", "ID", "Razón Social", "Localidad", "ID", "Razón Social",
+			"Localidad", "Coincidencias" };
+
+	public ClienteDuplicados(Window parent, List<PosibleDuplicado> duplicados) {
+		super(parent, "Posibles clientes duplicados", ModalityType.APPLICATION_MODAL);
+		setSize(1000, 500);
+		setLocationRelativeTo(parent);
+		setLayout(new BorderLayout());
+
+		DefaultTableModel modelo = new DefaultTableModel(COLUMNAS, 0) {
+			public boolean isCellEditable(int row, int column) {
+				return false;
+			}
+		};
+		for (PosibleDuplicado d : duplicados) {
+			ClienteCotejo a = d.cliente();
+			ClienteCotejo b = d.otro();
+			modelo.addRow(new Object[] { Math.round(d.similitud() * 100) + "%", a.idCliente(), a.razonSocial(),
+					a.localidad(), b.idCliente(), b.razonSocial(), b.localidad(), d.coincidencias() });
+		}
+		JTable tabla = new JTable(modelo);
+		EstiloUI.configurarEstiloTabla(tabla);
+
+		JLabel resumen = new JLabel(duplicados.isEmpty() ? "No se han encontrado clientes parecidos."
+				: duplicados.size() + " parejas de clientes parecidos, de más a menos parecidas.");
+		EstiloUI.aplicarEstiloEtiqueta(resumen);
+		resumen.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+
+		JPanel panelInferior = new JPanel(new FlowLayout());
+		panelInferior.setBackground(EstiloUI.getColor("secundario"));
+		JButton btnCerrar = new JButton("Cerrar");
+		EstiloUI.aplicarEstiloBoton(btnCerrar);
+		btnCerrar.addActionListener(e -> dispose());
+		panelInferior.add(btnCerrar);
+
+		add(resumen, BorderLayout.NORTH);
+		add(new JScrollPane(tabla), BorderLayout.CENTER);
+		add(panelInferior, BorderLayout.SOUTH);
+	}
+}
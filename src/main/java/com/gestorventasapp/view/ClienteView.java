@@ -1,6 +1,8 @@
 package com.gestorventasapp.view;
 
 import com.gestorventasapp.controller.ClienteController;
+import com.gestorventasapp.dto.ClienteFila;
+import com.gestorventasapp.dto.PosibleDuplicado;
 import com.gestorventasapp.model.Cliente;
 import com.gestorventasapp.model.Usuario;
 import com.gestorventasapp.util.EstiloUI;
@@ -14,6 +16,9 @@ import javax.swing.event.DocumentListener;
 
 import java.awt.*;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -23,7 +28,13 @@ import java.util.stream.Collectors;
 public class ClienteView extends ModuloBaseView {
 
 	private final ClienteController clienteController;
-	private List<Cliente> listaClientesOriginales;
+	private List<ClienteFila> listaClientesOriginales;
+	private Map<Integer, ClienteFila> clientesPorId;
+	private List<PosibleDuplicado> duplicados;
+
+	// Búsqueda aproximada (erratas en la razón social) a partir de 3 letras
+	private static final int MINIMO_BUSQUEDA_APROXIMADA = 3;
+	private static final int MAXIMO_SIMILARES = 50;
 
 	private static final String[] COLUMNAS = { "ID", "Razón Social", "Forma Jurídica", "CIF/NIF", "Localidad",
 			"Teléfono", "Email", "Tipo Cliente", "Fecha Alta", "Estado" };
@@ -97,28 +108,53 @@ public class ClienteView extends ModuloBaseView {
 	 * Filtra clientes por texto y estado.
 	 */
 	private Object[][] obtenerDatosFiltradosAvanzado(String textoFiltro, String estadoFiltro) {
-		return listaClientesOriginales.stream()
-				.filter(c -> (c.getRazonSocial().toLowerCase().contains(textoFiltro)
-						|| c.getCifNif().toLowerCase().contains(textoFiltro)
-						|| c.getEmail().toLowerCase().contains(textoFiltro)
-						|| (c.getTelefono() != null && c.getTelefono().contains(textoFiltro))
-						|| (c.getLocalidad() != null && c.getLocalidad().toLowerCase().contains(textoFiltro))
-						|| (c.getTipoCliente() != null && c.getTipoCliente().toLowerCase().contains(textoFiltro)))
-						&& (estadoFiltro.equals("Todos")
-								|| (estadoFiltro.equalsIgnoreCase("Activo") && c.getEstado() != null
-										&& c.getEstado().name().equalsIgnoreCase("activo"))
-								|| (estadoFiltro.equalsIgnoreCase("Inactivo") && c.getEstado() != null
-										&& c.getEstado().name().equalsIgnoreCase("inactivo"))))
+		List<ClienteFila> encontrados = listaClientesOriginales.stream()
+				.filter(c -> c.razonSocial().toLowerCase().contains(textoFiltro)
+						|| c.cifNif().toLowerCase().contains(textoFiltro)
+						|| c.email().toLowerCase().contains(textoFiltro)
+						|| (c.telefono() != null && c.telefono().contains(textoFiltro))
+						|| (c.localidad() != null && c.localidad().toLowerCase().contains(textoFiltro))
+						|| (c.tipoCliente() != null && c.tipoCliente().toLowerCase().contains(textoFiltro)))
+				.collect(Collectors.toList());
+		// Detrás de las coincidencias exactas, las razones sociales parecidas (erratas)
+		encontrados.addAll(buscarSimilares(textoFiltro, encontrados));
+		return encontrados.stream()
+				.filter(c -> estadoFiltro.equals("Todos")
+						|| (estadoFiltro.equalsIgnoreCase("Activo") && c.estado() != null
+								&& c.estado().name().equalsIgnoreCase("activo"))
+						|| (estadoFiltro.equalsIgnoreCase("Inactivo") && c.estado() != null
+								&& c.estado().name().equalsIgnoreCase("inactivo")))
 				.map(this::clienteToRow).toArray(Object[][]::new);
 	}
 
+	/**
+	 * Clientes cuya razón social se parece al texto y que no están ya entre los
+	 * encontrados, de más a menos parecidos.
+	 */
+	private List<ClienteFila> buscarSimilares(String texto, List<ClienteFila> yaEncontrados) {
+		if (texto.trim().length() < MINIMO_BUSQUEDA_APROXIMADA || clientesPorId == null)
+			return List.of();
+		Set<Integer> incluidos = yaEncontrados.stream().map(ClienteFila::idCliente).collect(Collectors.toSet());
+		try {
+			return clienteController.buscarSimilares(texto, MAXIMO_SIMILARES).stream()
+					.map(c -> clientesPorId.get(c.cliente().idCliente()))
+					.filter(c -> c != null && !incluidos.contains(c.idCliente())).collect(Collectors.toList());
+		} catch (ControllerException ex) {
+			return List.of(); // Sin búsqueda aproximada sigue funcionando la exacta
+		}
+	}
+
 	/**
 	 * Carga todos los clientes y refresca la tabla.
 	 */
 	@Override
 	protected void cargarDatosOriginales() {
 		try {
-			listaClientesOriginales = clienteController.listarTodos();
+			listaClientesOriginales = clienteController.listarFilas();
+			clientesPorId = listaClientesOriginales.stream()
+					.collect(Collectors.toMap(ClienteFila::idCliente, Function.identity()));
+			// Fuera del hilo de la interfaz: así la búsqueda aproximada no consulta la BD al teclear
+			clienteController.actualizarCotejo();
 			filtrarYActualizar();
 		} catch (ControllerException | ServiceException | DAOException ex) {
 			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error al cargar clientes",
@@ -130,20 +166,20 @@ public class ClienteView extends ModuloBaseView {
 	@Override
 	protected Object[][] obtenerDatosFiltrados(String textoFiltro) {
 		// usa solo el filtro por texto (sin estado)
-		return listaClientesOriginales.stream().filter(c -> c.getRazonSocial().toLowerCase().contains(textoFiltro)
-				|| c.getCifNif().toLowerCase().contains(textoFiltro) || c.getEmail().toLowerCase().contains(textoFiltro)
-				|| (c.getTelefono() != null && c.getTelefono().contains(textoFiltro))
-				|| (c.getLocalidad() != null && c.getLocalidad().toLowerCase().contains(textoFiltro))
-				|| (c.getTipoCliente() != null && c.getTipoCliente().toLowerCase().contains(textoFiltro)))
+		return listaClientesOriginales.stream().filter(c -> c.razonSocial().toLowerCase().contains(textoFiltro)
+				|| c.cifNif().toLowerCase().contains(textoFiltro) || c.email().toLowerCase().contains(textoFiltro)
+				|| (c.telefono() != null && c.telefono().contains(textoFiltro))
+				|| (c.localidad() != null && c.localidad().toLowerCase().contains(textoFiltro))
+				|| (c.tipoCliente() != null && c.tipoCliente().toLowerCase().contains(textoFiltro)))
 				.map(this::clienteToRow).toArray(Object[][]::new);
 	}
 
-	private Object[] clienteToRow(Cliente c) {
-		return new Object[] { c.getIdCliente(), c.getRazonSocial(),
-				c.getFormaJuridica() != null ? c.getFormaJuridica().name() : "", c.getCifNif(), c.getLocalidad(),
-				c.getTelefono(), c.getEmail(), c.getTipoCliente(),
-				c.getFechaAlta() != null ? c.getFechaAlta().toLocalDate().toString() : "",
-				c.getEstado() != null ? c.getEstado().name() : "" };
+	private Object[] clienteToRow(ClienteFila c) {
+		return new Object[] { c.idCliente(), c.razonSocial(),
+				c.formaJuridica() != null ? c.formaJuridica().name() : "", c.cifNif(), c.localidad(),
+				c.telefono(), c.email(), c.tipoCliente(),
+				c.fechaAlta() != null ? c.fechaAlta().toLocalDate().toString() : "",
+				c.estado() != null ? c.estado().name() : "" };
 	}
 
 	private void abrirFormularioAgregar() {
@@ -188,9 +224,11 @@ public class ClienteView extends ModuloBaseView {
 			return;
 		}
 		int idCliente = (int) modeloTabla.getValueAt(fila, 0);
-		Cliente cliente = listaClientesOriginales.stream().filter(c -> c.getIdCliente() == idCliente).findFirst()
-				.orElse(null);
-		if (cliente == null) {
+		// La tabla solo guarda la proyección: la entidad completa se carga al editar
+		Cliente cliente;
+		try {
+			cliente = clienteController.buscarPorId(idCliente);
+		} catch (ControllerException ex) {
 			JOptionPane.showMessageDialog(ventana, "No se encontró el cliente seleccionado.");
 			return;
 		}
@@ -207,24 +245,47 @@ public class ClienteView extends ModuloBaseView {
 		JButton btnAgregar = new JButton("Agregar Cliente");
 		JButton btnModificar = new JButton("Modificar Cliente");
 		JButton btnEliminar = new JButton("Eliminar (baja lógica)");
+		JButton btnDuplicados = new JButton("Posibles duplicados");
 		JButton btnActualizar = new JButton("Actualizar");
 
 		EstiloUI.aplicarEstiloBoton(btnAgregar);
 		EstiloUI.aplicarEstiloBoton(btnModificar);
 		EstiloUI.aplicarEstiloBoton(btnEliminar);
+		EstiloUI.aplicarEstiloBoton(btnDuplicados);
 		EstiloUI.aplicarEstiloBoton(btnActualizar);
 
 		btnAgregar.addActionListener(e -> abrirFormularioAgregar());
 		btnModificar.addActionListener(e -> abrirFormularioModificar());
 		btnEliminar.addActionListener(e -> accionBajaLogica());
+		btnDuplicados.addActionListener(e -> ejecutarSwingWorker(this::buscarDuplicados, this::mostrarDuplicados));
 		btnActualizar.addActionListener(e -> ejecutarSwingWorker(this::cargarDatosOriginales, null));
 
 		panelBotones.add(btnAgregar);
 		panelBotones.add(btnModificar);
 		panelBotones.add(btnEliminar);
+		panelBotones.add(btnDuplicados);
 		panelBotones.add(btnActualizar);
 	}
 
+	/**
+	 * Informe de duplicados (en segundo plano): compara todos los clientes en
+	 * paralelo.
+	 */
+	private void buscarDuplicados() {
+		try {
+			duplicados = clienteController.detectarDuplicados();
+		} catch (ControllerException ex) {
+			duplicados = null;
+			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error al buscar duplicados",
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	private void mostrarDuplicados() {
+		if (duplicados != null)
+			new ClienteDuplicados(ventana, duplicados).setVisible(true);
+	}
+
 	private void recargarTabla() {
 		ejecutarSwingWorker(this::cargarDatosOriginales, null);
 	}
@@ -29,6 +29,7 @@ import com.gestorventasapp.controller.CompraController;
 import com.gestorventasapp.controller.IvaController;
 import com.gestorventasapp.controller.ProductoController;
 import com.gestorventasapp.controller.ProveedorController;
+import com.gestorventasapp.dto.TipoIva;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.model.Compra;
 import com.gestorventasapp.model.DetalleCompra;
@@ -64,7 +65,7 @@ public class CompraFormularioAgregar extends JDialog {
     private JComboBox<Producto> comboProducto;
     private JTextField campoCantidad;
     private JTextField campoPrecioUnitario;
-    private JComboBox<String> comboIva;
+    private JComboBox<TipoIva> comboIva;
 
     public CompraFormularioAgregar(Window parent, String titulo, CompraController compraController,
                                    ProveedorController proveedorController, IvaController ivaController,
@@ -190,7 +191,7 @@ public class CompraFormularioAgregar extends JDialog {
         // === Campos de cantidad, precio e IVA ===
         campoCantidad = new JTextField(5);
         campoPrecioUnitario = new JTextField(8);
-        comboIva = new JComboBox<>(new String[] { "21", "10" });
+        comboIva = new JComboBox<>(ivaController.listarTiposActivos().toArray(new TipoIva[0]));
 
         // === Carga productos al cambiar proveedor ===
         comboProveedor.addActionListener(e -> recargarProductosProveedor());
@@ -201,13 +202,11 @@ public class CompraFormularioAgregar extends JDialog {
             if (prod != null) {
                 // Precio compra autocompletado (editable por el usuario)
                 campoPrecioUnitario.setText(prod.getPrecioCompra() != null ? prod.getPrecioCompra().toPlainString() : "");
-                // IVA autocompletado si el producto tiene iva asociado
-                if (prod.getIva() != null && prod.getIva().getPorcentaje() != null) {
-                    comboIva.setSelectedItem(prod.getIva().getPorcentaje().stripTrailingZeros().toPlainString());
-                }
+                // IVA del producto, desde el registro de tipos activos
+                seleccionarIvaDeProducto(prod);
             } else {
                 campoPrecioUnitario.setText("");
-                comboIva.setSelectedIndex(0);
+                seleccionarIvaDeProducto(null);
             }
         });
 
@@ -228,13 +227,18 @@ public class CompraFormularioAgregar extends JDialog {
                 JOptionPane.showMessageDialog(this, "Introduce producto, cantidad y precio válidos.");
                 return;
             }
-            // IVA
-            BigDecimal ivaPct = new BigDecimal(comboIva.getSelectedItem().toString());
+            // IVA ya preparado: sin volver a interpretar texto en cada línea
+            TipoIva tipoIva = (TipoIva) comboIva.getSelectedItem();
+            if (tipoIva == null) {
+                JOptionPane.showMessageDialog(this, "No hay tipos de IVA activos.");
+                return;
+            }
+            BigDecimal ivaPct = tipoIva.porcentaje();
             BigDecimal subtotal = precioUnit.multiply(BigDecimal.valueOf(cantidad));
-            BigDecimal totalIva = subtotal.multiply(ivaPct).divide(BigDecimal.valueOf(100)).add(subtotal);
+            BigDecimal totalIva = tipoIva.conIva(subtotal);
 
             // Añadir fila visual
-            modeloTabla.addRow(new Object[] { prod.getNombre(), prod.getFormato(), cantidad, precioUnit, ivaPct + "%",
+            modeloTabla.addRow(new Object[] { prod.getNombre(), prod.getFormato(), cantidad, precioUnit, tipoIva.etiqueta(),
                     subtotal, totalIva });
 
             // Añadir a la lista lógica (para BD)
@@ -247,11 +251,7 @@ public class CompraFormularioAgregar extends JDialog {
             campoCantidad.setText("");
             campoPrecioUnitario.setText(prod.getPrecioCompra() != null ? prod.getPrecioCompra().toPlainString() : "");
             // IVA vuelve al valor del producto seleccionado (o por defecto)
-            if (prod.getIva() != null && prod.getIva().getPorcentaje() != null) {
-                comboIva.setSelectedItem(prod.getIva().getPorcentaje().stripTrailingZeros().toPlainString());
-            } else {
-                comboIva.setSelectedIndex(0);
-            }
+            seleccionarIvaDeProducto(prod);
             recalcularTotales();
         });
 
@@ -306,7 +306,7 @@ public class CompraFormularioAgregar extends JDialog {
         }
         // Limpia los campos cuando cambias de proveedor
         campoPrecioUnitario.setText("");
-        comboIva.setSelectedIndex(0);
+        seleccionarIvaDeProducto(null);
     }
 
 
@@ -329,6 +329,27 @@ public class CompraFormularioAgregar extends JDialog {
         return panel;
     }
 
+    /**
+     * Selecciona en el combo el IVA del producto (o el primero si no hay
+     * producto). Un IVA ya dado de baja que el producto conserva se añade al
+     * combo para poder usarlo.
+     */
+    private void seleccionarIvaDeProducto(Producto prod) {
+        TipoIva tipo = prod != null ? ivaController.tipoDeProducto(prod) : null;
+        if (tipo == null) {
+            if (comboIva.getItemCount() > 0)
+                comboIva.setSelectedIndex(0);
+            return;
+        }
+        boolean enCombo = false;
+        for (int i = 0; i < comboIva.getItemCount() && !enCombo; i++) {
+            enCombo = tipo.equals(comboIva.getItemAt(i));
+        }
+        if (!enCombo)
+            comboIva.addItem(tipo);
+        comboIva.setSelectedItem(tipo);
+    }
+
     /**
      * Recalcula los totales al añadir/eliminar líneas
      */
@@ -1,5 +1,6 @@
 package com.gestorventasapp.view;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.JButton;
@@ -15,7 +16,7 @@ import com.gestorventasapp.controller.IvaController;
 import com.gestorventasapp.controller.ProductoController;
 import com.gestorventasapp.controller.ProveedorController;
 import com.gestorventasapp.enums.Estado;
-import com.gestorventasapp.model.Compra;
+import com.gestorventasapp.dto.CompraFila;
 import com.gestorventasapp.model.Usuario;
 import com.gestorventasapp.util.EstiloUI;
 
@@ -32,7 +33,12 @@ public class CompraView extends ModuloBaseView {
 	private JTextField campoBuscador;
 	private JComboBox<String> comboEstado;
 
-	private List<Compra> comprasOriginales;
+	private List<CompraFila> comprasOriginales;
+	private long totalCompras;
+	private JButton btnCargarMas;
+
+	/** Filas que se piden en cada página (paginación por fecha + id). */
+	private static final int TAMANO_PAGINA = 200;
 
 	private static final String[] COLUMNAS = { "ID", "Fecha", "Proveedor", "Empleado", "Total Sin IVA", "Total Con IVA",
 			"Estado" };
@@ -82,16 +88,17 @@ public class CompraView extends ModuloBaseView {
 		String texto = campoBuscador.getText().trim().toLowerCase();
 		String estadoSeleccionado = (String) comboEstado.getSelectedItem();
 
-		List<Compra> filtradas = comprasOriginales.stream()
-				.filter(c -> (texto.isEmpty() || c.getProveedor().getRazonSocial().toLowerCase().contains(texto)
-						|| c.getEmpleado().getNombre().toLowerCase().contains(texto))
+		List<CompraFila> filtradas = comprasOriginales.stream()
+				.filter(c -> (texto.isEmpty() || c.proveedor().toLowerCase().contains(texto)
+						|| c.empleado().toLowerCase().contains(texto))
 						&& (estadoSeleccionado.equals("Todos")
-								|| (estadoSeleccionado.equals("Activo") && c.getEstado() == Estado.activo)
-								|| (estadoSeleccionado.equals("Inactivo") && c.getEstado() == Estado.inactivo)))
+								|| (estadoSeleccionado.equals("Activo") && c.estado() == Estado.activo)
+								|| (estadoSeleccionado.equals("Inactivo") && c.estado() == Estado.inactivo)))
 				.toList();
 
 		Object[][] datos = filtradas.stream().map(this::compraToRow).toArray(Object[][]::new);
 		actualizarTabla(datos);
+		actualizarBotonCargarMas();
 	}
 
 	/**
@@ -103,18 +110,22 @@ public class CompraView extends ModuloBaseView {
 		JButton btnAgregar = new JButton("Agregar Compra");
 		JButton btnEliminar = new JButton("Eliminar (baja lógica)");
 		JButton btnActualizar = new JButton("Actualizar");
+		btnCargarMas = new JButton("Cargar más");
 
 		EstiloUI.aplicarEstiloBoton(btnAgregar);
 		EstiloUI.aplicarEstiloBoton(btnEliminar);
 		EstiloUI.aplicarEstiloBoton(btnActualizar);
+		EstiloUI.aplicarEstiloBoton(btnCargarMas);
 
 		btnAgregar.addActionListener(e -> abrirFormularioAgregar());
 		btnEliminar.addActionListener(e -> accionBajaLogica());
 		btnActualizar.addActionListener(e -> ejecutarSwingWorker(this::cargarDatosOriginales, null));
+		btnCargarMas.addActionListener(e -> ejecutarSwingWorker(this::cargarSiguientePagina, null));
 
 		panelBotones.add(btnAgregar);
 		panelBotones.add(btnEliminar);
 		panelBotones.add(btnActualizar);
+		panelBotones.add(btnCargarMas);
 	}
 
 	/**
@@ -123,10 +134,30 @@ public class CompraView extends ModuloBaseView {
 	 */
 	@Override
 	protected void cargarDatosOriginales() {
-		comprasOriginales = compraController.listarTodas();
+		// Solo la primera página; el resto se pide bajo demanda con "Cargar más"
+		comprasOriginales = new ArrayList<>(compraController.listarFilasPagina(null, null, TAMANO_PAGINA));
+		totalCompras = compraController.contar();
 		filtrarYActualizarTabla();
 	}
 
+	/**
+	 * Añade a la tabla la página siguiente, continuando desde la última fila
+	 * cargada (fecha + id), sin volver a leer las anteriores.
+	 */
+	private void cargarSiguientePagina() {
+		if (comprasOriginales == null || comprasOriginales.isEmpty())
+			return;
+		CompraFila ultima = comprasOriginales.get(comprasOriginales.size() - 1);
+		comprasOriginales.addAll(compraController.listarFilasPagina(ultima.fecha(), ultima.idCompra(), TAMANO_PAGINA));
+		filtrarYActualizarTabla();
+	}
+
+	private void actualizarBotonCargarMas() {
+		int cargadas = comprasOriginales != null ? comprasOriginales.size() : 0;
+		btnCargarMas.setText("Cargar más (" + cargadas + " de " + totalCompras + ")");
+		btnCargarMas.setEnabled(cargadas < totalCompras);
+	}
+
 	/**
 	 * Obtiene los datos de compras filtrados por el texto del buscador y el estado
 	 * seleccionado. Ya no se usa directamente porque ahora el filtrado se realiza
@@ -141,21 +172,21 @@ public class CompraView extends ModuloBaseView {
 		final String texto = textoFiltro.toLowerCase();
 
 		return comprasOriginales.stream().filter(c -> {
-			boolean filtroTexto = texto.isEmpty() || c.getProveedor().getRazonSocial().toLowerCase().contains(texto)
-					|| c.getEmpleado().getNombre().toLowerCase().contains(texto);
+			boolean filtroTexto = texto.isEmpty() || c.proveedor().toLowerCase().contains(texto)
+					|| c.empleado().toLowerCase().contains(texto);
 			boolean filtroEstado = estadoSeleccionado.equals("Todos")
-					|| (estadoSeleccionado.equals("Activo") && c.getEstado() == Estado.activo)
-					|| (estadoSeleccionado.equals("Inactivo") && c.getEstado() == Estado.inactivo);
+					|| (estadoSeleccionado.equals("Activo") && c.estado() == Estado.activo)
+					|| (estadoSeleccionado.equals("Inactivo") && c.estado() == Estado.inactivo);
 			return filtroTexto && filtroEstado;
 		}).map(this::compraToRow).toArray(Object[][]::new);
 	}
 
 	/**
-	 * Convierte una Compra a una fila para la tabla.
+	 * Convierte una CompraFila a una fila para la tabla.
 	 */
-	private Object[] compraToRow(Compra c) {
-		return new Object[] { c.getIdCompra(), c.getFecha(), c.getProveedor().getRazonSocial(),
-				c.getEmpleado().getNombre(), c.getTotalSinIva(), c.getTotalConIva(), c.getEstado() };
+	private Object[] compraToRow(CompraFila c) {
+		return new Object[] { c.idCompra(), c.fecha(), c.proveedor(), c.empleado(), c.totalSinIva(), c.totalConIva(),
+				c.estado() };
 	}
 
 	// ---- Acciones de los botones ----
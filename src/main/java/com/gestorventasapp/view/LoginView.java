@@ -6,12 +6,15 @@ import com.gestorventasapp.service.UsuarioServiceImpl;
 import com.gestorventasapp.dao.UsuarioDAOImpl;
 import com.gestorventasapp.util.EstiloUI;
 import com.gestorventasapp.util.FooterPanel;
+import com.gestorventasapp.util.HibernateUtil;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import java.awt.*;
 import java.awt.event.*;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
 public class LoginView extends JFrame {
@@ -22,6 +25,7 @@ public class LoginView extends JFrame {
 	private JLabel lblErrorContrasena;
 	private JLabel lblMensajeLogin;
 	private JButton btnLogin;
+	private JProgressBar barraArranque;
 
 	private final Consumer<Usuario> onLoginSuccess;
 
@@ -30,6 +34,11 @@ public class LoginView extends JFrame {
 
 	public static Usuario usuarioAutenticado = null;
 
+	/** Arranque de Hibernate lanzado desde MainApp; el login espera a que termine. */
+	private final CompletableFuture<?> arranque = HibernateUtil.iniciarEnSegundoPlano();
+	private boolean arranqueFallido = false;
+	private boolean loginEnCurso = false;
+
 	public LoginView(Consumer<Usuario> onLoginSuccess) {
 
 		this.onLoginSuccess = onLoginSuccess;
@@ -133,6 +142,17 @@ public class LoginView extends JFrame {
 		lblMensajeLogin.setAlignmentX(Component.CENTER_ALIGNMENT);
 		panelCentral.add(lblMensajeLogin);
 
+		// Progreso de la conexión con la base de datos mientras arranca Hibernate
+		panelCentral.add(Box.createVerticalStrut(10));
+		barraArranque = new JProgressBar();
+		barraArranque.setIndeterminate(true);
+		barraArranque.setStringPainted(true);
+		barraArranque.setString("Conectando con la base de datos...");
+		barraArranque.setMaximumSize(new Dimension(260, 20));
+		barraArranque.setAlignmentX(Component.CENTER_ALIGNMENT);
+		barraArranque.setVisible(!arranque.isDone());
+		panelCentral.add(barraArranque);
+
 		// Botón login
 		panelCentral.add(Box.createVerticalStrut(20));
 		btnLogin = new JButton("Iniciar Sesión");
@@ -157,6 +177,31 @@ public class LoginView extends JFrame {
 
 		add(panelCentral, BorderLayout.CENTER);
 		add(new FooterPanel(), BorderLayout.SOUTH);
+
+		arranque.whenComplete((sf, error) -> SwingUtilities.invokeLater(() -> arranqueTerminado(error)));
+	}
+
+	/**
+	 * Oculta el progreso al terminar el arranque. Si ha fallado, se informa en
+	 * la propia pantalla y se deshabilita el login en lugar de lanzar la
+	 * excepción al primer intento.
+	 */
+	private void arranqueTerminado(Throwable error) {
+		if (loginEnCurso)
+			return; // El login en curso recoge el resultado
+		barraArranque.setVisible(false);
+		if (error != null) {
+			arranqueFallido = true;
+			btnLogin.setEnabled(false);
+			lblMensajeLogin.setText("No se pudo conectar con la base de datos: " + causaRaiz(error).getMessage());
+		}
+	}
+
+	private static Throwable causaRaiz(Throwable error) {
+		Throwable causa = error;
+		while (causa.getCause() != null && causa.getCause() != causa)
+			causa = causa.getCause();
+		return causa;
 	}
 
 	// Validaciones básicas
@@ -173,34 +218,67 @@ public class LoginView extends JFrame {
 		campoUsuario.setBackground(usuarioOk ? EstiloUI.getColor("secundario") : new Color(255, 220, 220));
 		campoContrasena.setBackground(passOk ? EstiloUI.getColor("secundario") : new Color(255, 220, 220));
 
-		btnLogin.setEnabled(usuarioOk && passOk);
+		if (arranqueFallido)
+			return; // Se mantiene el error de conexión y el login deshabilitado
+		btnLogin.setEnabled(usuarioOk && passOk && !loginEnCurso);
 		lblMensajeLogin.setText(" ");
 	}
 
+	/**
+	 * Valida las credenciales en segundo plano. Si Hibernate aún está
+	 * arrancando, espera a que termine mostrando el progreso, sin bloquear el
+	 * hilo de eventos de Swing.
+	 */
 	private void login() {
 		String usuario = campoUsuario.getText().trim();
 		String pass = new String(campoContrasena.getPassword()).trim();
 
-		try {
-			boolean loginValido = usuarioController.checkLogin(usuario, pass);
+		loginEnCurso = true;
+		btnLogin.setEnabled(false);
+		lblMensajeLogin.setText(" ");
+		if (!arranque.isDone()) {
+			barraArranque.setVisible(true);
+		}
 
-			if (loginValido) {
-				usuarioAutenticado = usuarioController.buscarPorNombreUsuario(usuario);
-				JOptionPane.showMessageDialog(this, "¡Bienvenido/a, " + usuarioAutenticado.getNombreUsuario() + "!",
-						"Login correcto", JOptionPane.INFORMATION_MESSAGE);
+		new SwingWorker<Usuario, Void>() {
+			protected Usuario doInBackground() throws Exception {
+				arranque.get();
+				// Una consulta (usuario + empleado) y la verificación del hash, fuera del EDT
+				return usuarioController.autenticar(usuario, pass);
+			}
 
-				// USO DEL CALLBACK
-				if (onLoginSuccess != null) {
-					onLoginSuccess.accept(usuarioAutenticado);
+			protected void done() {
+				loginEnCurso = false;
+				barraArranque.setVisible(false);
+				try {
+					Usuario autenticado = get();
+					if (autenticado != null) {
+						usuarioAutenticado = autenticado;
+						JOptionPane.showMessageDialog(LoginView.this,
+								"¡Bienvenido/a, " + usuarioAutenticado.getNombreUsuario() + "!", "Login correcto",
+								JOptionPane.INFORMATION_MESSAGE);
+
+						// USO DEL CALLBACK
+						if (onLoginSuccess != null) {
+							onLoginSuccess.accept(usuarioAutenticado);
+						}
+						dispose();
+						return;
+					}
+					validarCampos();
+					lblMensajeLogin.setText("Usuario o contraseña incorrectos, o usuario inactivo.");
+				} catch (ExecutionException ex) {
+					if (arranque.isCompletedExceptionally()) {
+						arranqueTerminado(ex.getCause());
+					} else {
+						validarCampos();
+						lblMensajeLogin.setText("Error en el login: " + ex.getCause().getMessage());
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
 				}
-				dispose();
-
-			} else {
-				lblMensajeLogin.setText("Usuario o contraseña incorrectos, o usuario inactivo.");
 			}
-		} catch (Exception ex) {
-			lblMensajeLogin.setText("Error en el login: " + ex.getMessage());
-		}
+		}.execute();
 	}
 
 	// DocumentListener simplificado
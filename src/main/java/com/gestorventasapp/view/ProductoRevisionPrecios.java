@@ -0,0 +1,217 @@
+package com.gestorventasapp.view;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.awt.Window;
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import com.gestorventasapp.controller.ProductoController;
+import com.gestorventasapp.controller.ProveedorController;
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.RevisionPrecios;
+import com.gestorventasapp.enums.PrecioRevisado;
+import com.gestorventasapp.enums.TipoAjustePrecio;
+import com.gestorventasapp.enums.TipoAnimal;
+import com.gestorventasapp.model.Proveedor;
+import com.gestorventasapp.util.EstiloUI;
+
+/**
+ * Diálogo de revisión masiva de precios: se elige la selección de productos y
+ * el cambio, se consulta la vista previa y se confirma antes de aplicarlo.
+ */
+public class ProductoRevisionPrecios extends JDialog {
+
+	private JComboBox<Proveedor> comboProveedor;
+	private JTextField campoMarca;
+	private JComboBox<TipoAnimal> comboTipoAnimal;
+	private JTextField campoFormato;
+	private JComboBox<PrecioRevisado> comboPrecio;
+	private JComboBox<TipoAjustePrecio> comboTipoAjuste;
+	private JTextField campoValor;
+	private JCheckBox checkMantenerMargen;
+
+	private final ProductoController productoController;
+	private final Runnable onPreciosRevisados; // Callback para refrescar tabla
+	private final List<Proveedor> proveedores;
+
+	public ProductoRevisionPrecios(Window parent, ProductoController productoController,
+			ProveedorController proveedorController, Runnable onPreciosRevisados) {
+		super(parent, "Revisión de precios", ModalityType.APPLICATION_MODAL);
+		this.productoController = productoController;
+		this.onPreciosRevisados = onPreciosRevisados;
+		this.proveedores = proveedorController.listarActivos();
+
+		setSize(480, 440);
+		setResizable(false);
+		setLocationRelativeTo(parent);
+		setLayout(new BorderLayout());
+
+		add(crearPanelCentral(), BorderLayout.CENTER);
+		add(crearPanelInferior(), BorderLayout.SOUTH);
+	}
+
+	private JPanel crearPanelCentral() {
+		JPanel panel = new JPanel(new GridLayout(8, 2, 10, 8));
+		panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 10, 20));
+		panel.setBackground(EstiloUI.getColor("secundario"));
+
+		// Filtros: el primer elemento (null) significa "todos"
+		comboProveedor = new JComboBox<>();
+		comboProveedor.addItem(null);
+		proveedores.forEach(comboProveedor::addItem);
+		comboProveedor.setRenderer(new DefaultListCellRenderer() {
+			@Override
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+					boolean isSelected, boolean cellHasFocus) {
+				super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+				setText(value instanceof Proveedor proveedor ? proveedor.getRazonSocial() : "Todos");
+				return this;
+			}
+		});
+
+		comboTipoAnimal = new JComboBox<>();
+		comboTipoAnimal.addItem(null);
+		for (TipoAnimal tipo : TipoAnimal.values()) {
+			comboTipoAnimal.addItem(tipo);
+		}
+		comboTipoAnimal.setRenderer(new DefaultListCellRenderer() {
+			@Override
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+					boolean isSelected, boolean cellHasFocus) {
+				super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+				setText(value instanceof TipoAnimal tipo ? tipo.getLabel() : "Todos");
+				return this;
+			}
+		});
+
+		campoMarca = new JTextField();
+		campoFormato = new JTextField();
+		campoValor = new JTextField();
+		EstiloUI.aplicarEstiloCampoTexto(campoMarca);
+		EstiloUI.aplicarEstiloCampoTexto(campoFormato);
+		EstiloUI.aplicarEstiloCampoTexto(campoValor);
+
+		comboPrecio = new JComboBox<>(PrecioRevisado.values());
+		comboTipoAjuste = new JComboBox<>(TipoAjustePrecio.values());
+		DefaultListCellRenderer rendererEtiqueta = new DefaultListCellRenderer() {
+			@Override
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+					boolean isSelected, boolean cellHasFocus) {
+				super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+				if (value instanceof PrecioRevisado precio)
+					setText(precio.getLabel());
+				else if (value instanceof TipoAjustePrecio tipo)
+					setText(tipo.getLabel());
+				return this;
+			}
+		};
+		comboPrecio.setRenderer(rendererEtiqueta);
+		comboTipoAjuste.setRenderer(rendererEtiqueta);
+
+		checkMantenerMargen = new JCheckBox("Mover la venta con la compra");
+		checkMantenerMargen.setOpaque(false);
+		// Mantener el margen solo tiene sentido al revisar el precio de compra
+		comboPrecio.addActionListener(e -> {
+			boolean soloCompra = comboPrecio.getSelectedItem() == PrecioRevisado.COMPRA;
+			checkMantenerMargen.setEnabled(soloCompra);
+			if (!soloCompra)
+				checkMantenerMargen.setSelected(false);
+		});
+
+		agregarFila(panel, "Proveedor:", comboProveedor);
+		agregarFila(panel, "Marca:", campoMarca);
+		agregarFila(panel, "Tipo Animal:", comboTipoAnimal);
+		agregarFila(panel, "Formato:", campoFormato);
+		agregarFila(panel, "Precio a revisar*:", comboPrecio);
+		agregarFila(panel, "Tipo de ajuste*:", comboTipoAjuste);
+		agregarFila(panel, "Valor* (negativo = bajada):", campoValor);
+		agregarFila(panel, "Mantener margen:", checkMantenerMargen);
+		return panel;
+	}
+
+	private static void agregarFila(JPanel panel, String texto, Component campo) {
+		JLabel etiqueta = new JLabel(texto);
+		EstiloUI.aplicarEstiloEtiqueta(etiqueta);
+		panel.add(etiqueta);
+		panel.add(campo);
+	}
+
+	private JPanel crearPanelInferior() {
+		JPanel panel = new JPanel(new FlowLayout());
+		panel.setBackground(EstiloUI.getColor("secundario"));
+
+		JButton btnAplicar = new JButton("Previsualizar y aplicar");
+		JButton btnCancelar = new JButton("Cancelar");
+		EstiloUI.aplicarEstiloBoton(btnAplicar);
+		EstiloUI.aplicarEstiloBoton(btnCancelar);
+
+		btnAplicar.addActionListener(e -> previsualizarYAplicar());
+		btnCancelar.addActionListener(e -> dispose());
+
+		panel.add(btnAplicar);
+		panel.add(btnCancelar);
+		return panel;
+	}
+
+	private RevisionPrecios leerRevision() {
+		if (campoValor.getText().trim().isEmpty())
+			throw new IllegalArgumentException("Indica el valor del ajuste.");
+		BigDecimal valor = new BigDecimal(campoValor.getText().trim().replace(',', '.'));
+		Proveedor proveedor = (Proveedor) comboProveedor.getSelectedItem();
+		return new RevisionPrecios(proveedor != null ? proveedor.getIdProveedor() : null, campoMarca.getText(),
+				(TipoAnimal) comboTipoAnimal.getSelectedItem(), campoFormato.getText(),
+				(TipoAjustePrecio) comboTipoAjuste.getSelectedItem(), valor,
+				(PrecioRevisado) comboPrecio.getSelectedItem(), checkMantenerMargen.isSelected());
+	}
+
+	private void previsualizarYAplicar() {
+		try {
+			RevisionPrecios revision = leerRevision();
+			PrevisionRevisionPrecios prevision = productoController.previsualizarRevisionPrecios(revision);
+			if (prevision.productos() == 0) {
+				JOptionPane.showMessageDialog(this, "Ningún producto coincide con la selección.");
+				return;
+			}
+			String resumen = "Productos afectados: " + prevision.productos() + "\n\nTotal compra: "
+					+ prevision.compraActual() + " -> " + prevision.compraNueva() + "\nTotal venta: "
+					+ prevision.ventaActual() + " -> " + prevision.ventaNueva() + "\nMargen total: "
+					+ prevision.margenActual() + " -> " + prevision.margenNuevo() + "\n\n¿Aplicar la revisión?";
+			if (prevision.hayPreciosNegativos()) {
+				JOptionPane.showMessageDialog(this, resumen.substring(0, resumen.lastIndexOf("\n\n"))
+						+ "\n\nAlgún producto quedaría con precio negativo.", "Revisión no válida",
+						JOptionPane.WARNING_MESSAGE);
+				return;
+			}
+			String[] opciones = { "Sí", "No" };
+			int confirm = JOptionPane.showOptionDialog(this, resumen, "Confirmar revisión", JOptionPane.YES_NO_OPTION,
+					JOptionPane.QUESTION_MESSAGE, null, opciones, opciones[0]);
+			if (confirm != JOptionPane.YES_OPTION)
+				return;
+
+			int filas = productoController.revisarPrecios(revision);
+			JOptionPane.showMessageDialog(this, "Precios revisados en " + filas + " productos.");
+			if (onPreciosRevisados != null)
+				onPreciosRevisados.run();
+			dispose();
+		} catch (NumberFormatException ex) {
+			JOptionPane.showMessageDialog(this, "El valor debe ser numérico.", "Error", JOptionPane.ERROR_MESSAGE);
+		} catch (Exception ex) {
+			JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+}
@@ -3,7 +3,8 @@ package com.gestorventasapp.view;
 import com.gestorventasapp.controller.IvaController;
 import com.gestorventasapp.controller.ProductoController;
 import com.gestorventasapp.controller.ProveedorController;
-import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.dto.ProductoFila;
+import com.gestorventasapp.dto.ResultadoImportacion;
 import com.gestorventasapp.model.Producto;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.model.Usuario;
@@ -16,6 +17,9 @@ import com.gestorventasapp.exceptions.DAOException;
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.Dimension;
+import java.io.File;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,7 +30,6 @@ import java.util.stream.Collectors;
 public class ProductoView extends ModuloBaseView {
 
 	private final ProductoController productoController;
-	private List<Producto> productosOriginales;
 	private final ProveedorController proveedorController;
 	private final IvaController ivaController;
 
@@ -78,72 +81,100 @@ public class ProductoView extends ModuloBaseView {
 		JButton btnAgregar = new JButton("Agregar Producto");
 		JButton btnModificar = new JButton("Modificar Producto");
 		JButton btnEliminar = new JButton("Eliminar (baja lógica)");
+		JButton btnImportar = new JButton("Importar CSV");
+		JButton btnRevisarPrecios = new JButton("Revisar precios");
 		JButton btnActualizar = new JButton("Actualizar");
 
 		EstiloUI.aplicarEstiloBoton(btnAgregar);
 		EstiloUI.aplicarEstiloBoton(btnModificar);
 		EstiloUI.aplicarEstiloBoton(btnEliminar);
+		EstiloUI.aplicarEstiloBoton(btnImportar);
+		EstiloUI.aplicarEstiloBoton(btnRevisarPrecios);
 		EstiloUI.aplicarEstiloBoton(btnActualizar);
 
 		btnAgregar.addActionListener(e -> abrirFormularioAgregar());
 		btnModificar.addActionListener(e -> abrirFormularioModificar());
 		btnEliminar.addActionListener(e -> accionBajaLogica());
-		btnActualizar.addActionListener(e -> ejecutarSwingWorker(this::cargarDatosOriginales, null));
+		btnImportar.addActionListener(e -> accionImportarCatalogo());
+		btnRevisarPrecios.addActionListener(e -> abrirRevisionPrecios());
+		btnActualizar.addActionListener(e -> ejecutarSwingWorker(this::actualizarDesdeBaseDeDatos, null));
 
 		panelBotones.add(btnAgregar);
 		panelBotones.add(btnModificar);
 		panelBotones.add(btnEliminar);
+		panelBotones.add(btnImportar);
+		panelBotones.add(btnRevisarPrecios);
 		panelBotones.add(btnActualizar);
 	}
 
 	@Override
 	protected void cargarDatosOriginales() {
 		try {
-			productosOriginales = productoController.listarTodos();
-			filtrarYActualizarTabla(); // Actualiza tabla con filtro aplicado
+			mostrarProductos(productoController.buscarFilas(campoBuscador.getText())); // Con el filtro aplicado
 		} catch (ControllerException | ServiceException | DAOException ex) {
 			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error al cargar productos",
 					JOptionPane.ERROR_MESSAGE);
 		}
 	}
 
+	/**
+	 * Botón Actualizar: trae los cambios de otros terminales sin esperar a la
+	 * comprobación periódica del catálogo.
+	 */
+	private void actualizarDesdeBaseDeDatos() {
+		try {
+			productoController.comprobarCatalogo();
+		} catch (ControllerException ex) {
+			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error al cargar productos",
+					JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		cargarDatosOriginales();
+	}
+
 	@Override
 	protected Object[][] obtenerDatosFiltrados(String textoFiltro) {
 		return new Object[0][];
 	}
 
 	/**
-	 * Método para filtrar por buscador y estado y refrescar la tabla. --- AÑADIDO
-	 * PARA MEJOR USABILIDAD ---
+	 * Método para filtrar por buscador y estado y refrescar la tabla. El texto se
+	 * busca en el índice del catálogo (nombre, marca, tipo de animal, proveedor y
+	 * formato), que devuelve los resultados por relevancia sin recorrer todos los
+	 * productos en cada pulsación.
 	 */
 	private void filtrarYActualizarTabla() {
-		String texto = campoBuscador.getText().trim().toLowerCase();
+		try {
+			mostrarProductos(productoController.buscarFilas(campoBuscador.getText()));
+		} catch (ControllerException ex) {
+			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error al buscar productos",
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	private void mostrarProductos(List<ProductoFila> encontrados) {
 		String estadoSeleccionado = (String) comboEstado.getSelectedItem();
 
-		List<Producto> filtrados = productosOriginales.stream()
-				.filter(p -> (texto.isEmpty() || p.getNombre().toLowerCase().contains(texto)
-						|| p.getMarca().toLowerCase().contains(texto) || p.getFormato().toLowerCase().contains(texto))
-						&& (estadoSeleccionado.equals("Todos")
-								|| (estadoSeleccionado.equals("Activos") && p.getEstado() == Estado.activo)
-								|| (estadoSeleccionado.equals("Inactivos") && p.getEstado() == Estado.inactivo)))
+		List<ProductoFila> filtrados = encontrados.stream()
+				.filter(p -> estadoSeleccionado.equals("Todos")
+						|| (estadoSeleccionado.equals("Activos") && p.estado() == Estado.activo)
+						|| (estadoSeleccionado.equals("Inactivos") && p.estado() == Estado.inactivo))
 				.collect(Collectors.toList());
 
 		Object[][] datos = filtrados.stream().map(this::productoToRow).toArray(Object[][]::new);
 		actualizarTabla(datos);
 	}
 
-	private Object[] productoToRow(Producto p) {
+	private Object[] productoToRow(ProductoFila p) {
 		// Mostramos solo el porcentaje de IVA
 		String ivaStr = "";
-		if (p.getIva() != null) {
-			ivaStr = p.getIva().getPorcentaje().stripTrailingZeros().toPlainString() + "%";
+		if (p.porcentajeIva() != null) {
+			ivaStr = p.porcentajeIva().stripTrailingZeros().toPlainString() + "%";
 		}
 
-		return new Object[] { p.getIdProducto(), p.getNombre(),
-				p.getTipoAnimal() != null ? p.getTipoAnimal().getLabel() : "", p.getMarca(), p.getFormato(),
-				p.getPrecioVenta(), p.getPrecioCompra(),
-				p.getProveedor() != null ? p.getProveedor().getRazonSocial() : "", ivaStr, p.getStock(),
-				p.getStockMinimo(), p.getEstado() != null ? p.getEstado().name() : "" };
+		return new Object[] { p.idProducto(), p.nombre(), p.tipoAnimal() != null ? p.tipoAnimal().getLabel() : "",
+				p.marca(), p.formato(), p.precioVenta(), p.precioCompra(), p.proveedor() != null ? p.proveedor() : "",
+				ivaStr, p.stock(), p.stockMinimo(), p.estado() != null ? p.estado().name() : "" };
 	}
 
 	private void abrirFormularioAgregar() {
@@ -152,6 +183,15 @@ public class ProductoView extends ModuloBaseView {
 		formulario.setVisible(true);
 	}
 
+	private void abrirRevisionPrecios() {
+		try {
+			new ProductoRevisionPrecios(ventana, productoController, proveedorController, this::recargarTabla)
+					.setVisible(true);
+		} catch (ControllerException ex) {
+			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
 	private void abrirFormularioModificar() {
 		int fila = tabla.getSelectedRow();
 		if (fila == -1) {
@@ -159,9 +199,11 @@ public class ProductoView extends ModuloBaseView {
 			return;
 		}
 		int idProducto = (int) modeloTabla.getValueAt(fila, 0);
-		Producto producto = productosOriginales.stream().filter(p -> p.getIdProducto() == idProducto).findFirst()
-				.orElse(null);
-		if (producto == null) {
+		// La tabla solo guarda la proyección: la entidad completa se carga al editar
+		Producto producto;
+		try {
+			producto = productoController.buscarPorId(idProducto);
+		} catch (ControllerException ex) {
 			JOptionPane.showMessageDialog(ventana, "No se encontró el producto seleccionado.");
 			return;
 		}
@@ -194,6 +236,70 @@ public class ProductoView extends ModuloBaseView {
 		}
 	}
 
+	/**
+	 * Importa el catálogo CSV de un proveedor en segundo plano y muestra el
+	 * resumen con las filas rechazadas.
+	 */
+	private void accionImportarCatalogo() {
+		List<Proveedor> proveedores;
+		try {
+			proveedores = proveedorController.listarActivos();
+		} catch (ControllerException ex) {
+			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		if (proveedores.isEmpty()) {
+			JOptionPane.showMessageDialog(ventana, "No hay proveedores activos.");
+			return;
+		}
+		String[] nombres = proveedores.stream().map(Proveedor::getRazonSocial).toArray(String[]::new);
+		Object elegido = JOptionPane.showInputDialog(ventana, "Proveedor del catálogo:", "Importar CSV",
+				JOptionPane.QUESTION_MESSAGE, null, nombres, nombres[0]);
+		if (elegido == null)
+			return;
+		Proveedor proveedor = proveedores.get(List.of(nombres).indexOf(elegido));
+
+		JFileChooser selector = new JFileChooser();
+		selector.setFileFilter(new FileNameExtensionFilter("Ficheros CSV", "csv"));
+		if (selector.showOpenDialog(ventana) != JFileChooser.APPROVE_OPTION)
+			return;
+		File fichero = selector.getSelectedFile();
+
+		ResultadoImportacion[] resultado = new ResultadoImportacion[1];
+		RuntimeException[] error = new RuntimeException[1];
+		ejecutarSwingWorker(() -> {
+			try {
+				resultado[0] = productoController.importarCatalogo(fichero.toPath(), proveedor);
+			} catch (RuntimeException ex) {
+				error[0] = ex;
+			}
+		}, () -> {
+			if (error[0] != null) {
+				JOptionPane.showMessageDialog(ventana, error[0].getMessage(), "Error al importar",
+						JOptionPane.ERROR_MESSAGE);
+				return;
+			}
+			mostrarResultadoImportacion(resultado[0]);
+			recargarTabla();
+		});
+	}
+
+	private void mostrarResultadoImportacion(ResultadoImportacion resultado) {
+		String resumen = "Filas leídas: " + resultado.filasLeidas() + "\nImportadas: " + resultado.importadas()
+				+ "\nRechazadas: " + resultado.errores().size();
+		if (resultado.errores().isEmpty()) {
+			JOptionPane.showMessageDialog(ventana, resumen, "Importación terminada", JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+		JTextArea detalle = new JTextArea(
+				resultado.errores().stream().map(Object::toString).collect(Collectors.joining("\n")));
+		detalle.setEditable(false);
+		JScrollPane scroll = new JScrollPane(detalle);
+		scroll.setPreferredSize(new Dimension(520, 260));
+		JOptionPane.showMessageDialog(ventana, new Object[] { resumen, scroll }, "Importación terminada",
+				JOptionPane.WARNING_MESSAGE);
+	}
+
 	private void recargarTabla() {
 		ejecutarSwingWorker(this::cargarDatosOriginales, null);
 	}
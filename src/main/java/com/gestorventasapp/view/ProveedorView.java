@@ -1,6 +1,7 @@
 package com.gestorventasapp.view;
 
 import com.gestorventasapp.controller.ProveedorController;
+import com.gestorventasapp.dto.ProveedorFila;
 import com.gestorventasapp.model.Proveedor;
 import com.gestorventasapp.model.Usuario;
 import com.gestorventasapp.util.EstiloUI;
@@ -24,7 +25,7 @@ import java.util.stream.Collectors;
 public class ProveedorView extends ModuloBaseView {
 
 	private final ProveedorController proveedorController;
-	private List<Proveedor> listaProveedoresOriginales;
+	private List<ProveedorFila> listaProveedoresOriginales;
 
 	private static final String[] COLUMNAS = { "ID", "Razón Social", "Forma Jurídica", "CIF/NIF", "Localidad",
 			"Teléfono", "Email", "Fecha Alta", "Estado" };
@@ -91,23 +92,23 @@ public class ProveedorView extends ModuloBaseView {
 
 	private Object[][] obtenerDatosFiltradosAvanzado(String textoFiltro, String estadoFiltro) {
 		return listaProveedoresOriginales.stream()
-				.filter(p -> (p.getRazonSocial().toLowerCase().contains(textoFiltro)
-						|| p.getCifNif().toLowerCase().contains(textoFiltro)
-						|| p.getEmail().toLowerCase().contains(textoFiltro)
-						|| (p.getTelefono() != null && p.getTelefono().contains(textoFiltro))
-						|| (p.getLocalidad() != null && p.getLocalidad().toLowerCase().contains(textoFiltro)))
+				.filter(p -> (p.razonSocial().toLowerCase().contains(textoFiltro)
+						|| p.cifNif().toLowerCase().contains(textoFiltro)
+						|| p.email().toLowerCase().contains(textoFiltro)
+						|| (p.telefono() != null && p.telefono().contains(textoFiltro))
+						|| (p.localidad() != null && p.localidad().toLowerCase().contains(textoFiltro)))
 						&& (estadoFiltro.equals("Todos")
-								|| (estadoFiltro.equalsIgnoreCase("Activo") && p.getEstado() != null
-										&& p.getEstado().name().equalsIgnoreCase("activo"))
-								|| (estadoFiltro.equalsIgnoreCase("Inactivo") && p.getEstado() != null
-										&& p.getEstado().name().equalsIgnoreCase("inactivo"))))
+								|| (estadoFiltro.equalsIgnoreCase("Activo") && p.estado() != null
+										&& p.estado().name().equalsIgnoreCase("activo"))
+								|| (estadoFiltro.equalsIgnoreCase("Inactivo") && p.estado() != null
+										&& p.estado().name().equalsIgnoreCase("inactivo"))))
 				.map(this::proveedorToRow).toArray(Object[][]::new);
 	}
 
 	@Override
 	protected void cargarDatosOriginales() {
 		try {
-			listaProveedoresOriginales = proveedorController.listarTodos();
+			listaProveedoresOriginales = proveedorController.listarFilas();
 			filtrarYActualizar();
 		} catch (ControllerException | ServiceException | DAOException ex) {
 			JOptionPane.showMessageDialog(ventana, ex.getMessage(), "Error al cargar proveedores",
@@ -115,12 +116,12 @@ public class ProveedorView extends ModuloBaseView {
 		}
 	}
 
-	private Object[] proveedorToRow(Proveedor p) {
-		return new Object[] { p.getIdProveedor(), p.getRazonSocial(),
-				p.getFormaJuridica() != null ? p.getFormaJuridica().name() : "", p.getCifNif(), p.getLocalidad(),
-				p.getTelefono(), p.getEmail(),
-				p.getFechaAlta() != null ? p.getFechaAlta().toLocalDate().toString() : "",
-				p.getEstado() != null ? p.getEstado().name() : "" };
+	private Object[] proveedorToRow(ProveedorFila p) {
+		return new Object[] { p.idProveedor(), p.razonSocial(),
+				p.formaJuridica() != null ? p.formaJuridica().name() : "", p.cifNif(), p.localidad(),
+				p.telefono(), p.email(),
+				p.fechaAlta() != null ? p.fechaAlta().toLocalDate().toString() : "",
+				p.estado() != null ? p.estado().name() : "" };
 	}
 
 	// --- Botones CRUD ---
@@ -160,9 +161,11 @@ public class ProveedorView extends ModuloBaseView {
 			return;
 		}
 		int idProveedor = (int) modeloTabla.getValueAt(fila, 0);
-		Proveedor proveedor = listaProveedoresOriginales.stream().filter(p -> p.getIdProveedor() == idProveedor)
-				.findFirst().orElse(null);
-		if (proveedor == null) {
+		// La tabla solo guarda la proyección: la entidad completa se carga al editar
+		Proveedor proveedor;
+		try {
+			proveedor = proveedorController.buscarPorId(idProveedor);
+		} catch (ControllerException ex) {
 			JOptionPane.showMessageDialog(ventana, "No se encontró el proveedor seleccionado.");
 			return;
 		}
@@ -19,6 +19,7 @@ import com.gestorventasapp.controller.VentaController;
 import com.gestorventasapp.controller.ClienteController;
 import com.gestorventasapp.controller.IvaController;
 import com.gestorventasapp.controller.ProductoController;
+import com.gestorventasapp.dto.TipoIva;
 import com.gestorventasapp.enums.Estado;
 import com.gestorventasapp.model.Cliente;
 import com.gestorventasapp.model.DetalleVenta;
@@ -52,7 +53,7 @@ public class VentaFormularioAgregar extends JDialog {
 	private JComboBox<Producto> comboProducto;
 	private JTextField campoCantidad;
 	private JTextField campoPrecioUnitario;
-	private JComboBox<String> comboIva;
+	private JComboBox<TipoIva> comboIva;
 
 	public VentaFormularioAgregar(Window parent, String titulo, VentaController ventaController,
 			ClienteController clienteController, IvaController ivaController, ProductoController productoController,
@@ -174,20 +175,18 @@ public class VentaFormularioAgregar extends JDialog {
 		// Campos de cantidad, precio e IVA
 		campoCantidad = new JTextField(5);
 		campoPrecioUnitario = new JTextField(8);
-		comboIva = new JComboBox<>(new String[] { "21", "10" });
+		comboIva = new JComboBox<>(ivaController.listarTiposActivos().toArray(new TipoIva[0]));
 
 		// Cuando cambias el producto, autocompleta el precio unitario desde la BD
 		comboProducto.addActionListener(e -> {
 			Producto prod = (Producto) comboProducto.getSelectedItem();
 			if (prod != null) {
 				campoPrecioUnitario.setText(prod.getPrecioVenta() != null ? prod.getPrecioVenta().toPlainString() : "");
-				// IVA autocompletado si el producto tiene iva asociado
-				if (prod.getIva() != null && prod.getIva().getPorcentaje() != null) {
-					comboIva.setSelectedItem(prod.getIva().getPorcentaje().stripTrailingZeros().toPlainString());
-				}
+				// IVA del producto, desde el registro de tipos activos
+				seleccionarIvaDeProducto(prod);
 			} else {
 				campoPrecioUnitario.setText("");
-				comboIva.setSelectedIndex(0);
+				seleccionarIvaDeProducto(null);
 			}
 		});
 
@@ -208,12 +207,17 @@ public class VentaFormularioAgregar extends JDialog {
 				JOptionPane.showMessageDialog(this, "Introduce producto, cantidad y precio válidos.");
 				return;
 			}
-			// IVA
-			BigDecimal ivaPct = new BigDecimal(comboIva.getSelectedItem().toString());
+			// IVA ya preparado: sin volver a interpretar texto en cada línea
+			TipoIva tipoIva = (TipoIva) comboIva.getSelectedItem();
+			if (tipoIva == null) {
+				JOptionPane.showMessageDialog(this, "No hay tipos de IVA activos.");
+				return;
+			}
+			BigDecimal ivaPct = tipoIva.porcentaje();
 			BigDecimal subtotal = precioUnit.multiply(BigDecimal.valueOf(cantidad));
-			BigDecimal totalIva = subtotal.multiply(ivaPct).divide(BigDecimal.valueOf(100)).add(subtotal);
+			BigDecimal totalIva = tipoIva.conIva(subtotal);
 
-			modeloTabla.addRow(new Object[] { prod.getNombre(), prod.getFormato(), cantidad, precioUnit, ivaPct + "%",
+			modeloTabla.addRow(new Object[] { prod.getNombre(), prod.getFormato(), cantidad, precioUnit, tipoIva.etiqueta(),
 					subtotal, totalIva });
 
 			DetalleVenta det = DetalleVenta.builder().producto(prod).cantidad(cantidad).precioUnitario(precioUnit)
@@ -223,11 +227,7 @@ public class VentaFormularioAgregar extends JDialog {
 
 			campoCantidad.setText("");
 			campoPrecioUnitario.setText(prod.getPrecioVenta() != null ? prod.getPrecioVenta().toPlainString() : "");
-			if (prod.getIva() != null && prod.getIva().getPorcentaje() != null) {
-				comboIva.setSelectedItem(prod.getIva().getPorcentaje().stripTrailingZeros().toPlainString());
-			} else {
-				comboIva.setSelectedIndex(0);
-			}
+			seleccionarIvaDeProducto(prod);
 			recalcularTotales();
 		});
 
@@ -279,6 +279,27 @@ public class VentaFormularioAgregar extends JDialog {
 		return panel;
 	}
 
+	/**
+	 * Selecciona en el combo el IVA del producto (o el primero si no hay
+	 * producto). Un IVA ya dado de baja que el producto conserva se añade al
+	 * combo para poder usarlo.
+	 */
+	private void seleccionarIvaDeProducto(Producto prod) {
+		TipoIva tipo = prod != null ? ivaController.tipoDeProducto(prod) : null;
+		if (tipo == null) {
+			if (comboIva.getItemCount() > 0)
+				comboIva.setSelectedIndex(0);
+			return;
+		}
+		boolean enCombo = false;
+		for (int i = 0; i < comboIva.getItemCount() && !enCombo; i++) {
+			enCombo = tipo.equals(comboIva.getItemAt(i));
+		}
+		if (!enCombo)
+			comboIva.addItem(tipo);
+		comboIva.setSelectedItem(tipo);
+	}
+
 	/**
 	 * Recalcula los totales al añadir/eliminar líneas
 	 */
@@ -1,5 +1,6 @@
 package com.gestorventasapp.view;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.JButton;
@@ -15,7 +16,7 @@ import com.gestorventasapp.controller.ClienteController;
 import com.gestorventasapp.controller.IvaController;
 import com.gestorventasapp.controller.ProductoController;
 import com.gestorventasapp.enums.Estado;
-import com.gestorventasapp.model.Venta;
+import com.gestorventasapp.dto.VentaFila;
 import com.gestorventasapp.model.Usuario;
 import com.gestorventasapp.util.EstiloUI;
 
@@ -32,7 +33,12 @@ public class VentaView extends ModuloBaseView {
 	private JTextField campoBuscador;
 	private JComboBox<String> comboEstado;
 
-	private List<Venta> ventasOriginales;
+	private List<VentaFila> ventasOriginales;
+	private long totalVentas;
+	private JButton btnCargarMas;
+
+	/** Filas que se piden en cada página (paginación por fecha + id). */
+	private static final int TAMANO_PAGINA = 200;
 
 	private static final String[] COLUMNAS = { "ID", "Fecha", "Cliente", "Empleado", "Total Sin IVA", "Total Con IVA",
 			"Estado" };
@@ -81,16 +87,17 @@ public class VentaView extends ModuloBaseView {
 		String texto = campoBuscador.getText().trim().toLowerCase();
 		String estadoSeleccionado = (String) comboEstado.getSelectedItem();
 
-		List<Venta> filtradas = ventasOriginales.stream()
-				.filter(v -> (texto.isEmpty() || v.getCliente().getRazonSocial().toLowerCase().contains(texto)
-						|| v.getEmpleado().getNombre().toLowerCase().contains(texto))
+		List<VentaFila> filtradas = ventasOriginales.stream()
+				.filter(v -> (texto.isEmpty() || v.cliente().toLowerCase().contains(texto)
+						|| v.empleado().toLowerCase().contains(texto))
 						&& (estadoSeleccionado.equals("Todos")
-								|| (estadoSeleccionado.equals("Activo") && v.getEstado() == Estado.activo)
-								|| (estadoSeleccionado.equals("Inactivo") && v.getEstado() == Estado.inactivo)))
+								|| (estadoSeleccionado.equals("Activo") && v.estado() == Estado.activo)
+								|| (estadoSeleccionado.equals("Inactivo") && v.estado() == Estado.inactivo)))
 				.toList();
 
 		Object[][] datos = filtradas.stream().map(this::ventaToRow).toArray(Object[][]::new);
 		actualizarTabla(datos);
+		actualizarBotonCargarMas();
 	}
 
 	@Override
@@ -98,37 +105,61 @@ public class VentaView extends ModuloBaseView {
 		JButton btnAgregar = new JButton("Agregar Venta");
 		JButton btnEliminar = new JButton("Eliminar (baja lógica)");
 		JButton btnActualizar = new JButton("Actualizar");
+		btnCargarMas = new JButton("Cargar más");
 
 		EstiloUI.aplicarEstiloBoton(btnAgregar);
 		EstiloUI.aplicarEstiloBoton(btnEliminar);
 		EstiloUI.aplicarEstiloBoton(btnActualizar);
+		EstiloUI.aplicarEstiloBoton(btnCargarMas);
 
 		btnAgregar.addActionListener(e -> abrirFormularioAgregar());
 		btnEliminar.addActionListener(e -> accionBajaLogica());
 		btnActualizar.addActionListener(e -> ejecutarSwingWorker(this::cargarDatosOriginales, null));
+		btnCargarMas.addActionListener(e -> ejecutarSwingWorker(this::cargarSiguientePagina, null));
 
 		panelBotones.add(btnAgregar);
 		panelBotones.add(btnEliminar);
 		panelBotones.add(btnActualizar);
+		panelBotones.add(btnCargarMas);
 	}
 
 	@Override
 	protected void cargarDatosOriginales() {
-		ventasOriginales = ventaController.listarTodas();
+		// Solo la primera página; el resto se pide bajo demanda con "Cargar más"
+		ventasOriginales = new ArrayList<>(ventaController.listarFilasPagina(null, null, TAMANO_PAGINA));
+		totalVentas = ventaController.contar();
 		filtrarYActualizarTabla();
 	}
 
+	/**
+	 * Añade a la tabla la página siguiente, continuando desde la última fila
+	 * cargada (fecha + id), sin volver a leer las anteriores.
+	 */
+	private void cargarSiguientePagina() {
+		if (ventasOriginales == null || ventasOriginales.isEmpty())
+			return;
+		VentaFila ultima = ventasOriginales.get(ventasOriginales.size() - 1);
+		ventasOriginales.addAll(ventaController.listarFilasPagina(ultima.fecha(), ultima.idVenta(), TAMANO_PAGINA));
+		filtrarYActualizarTabla();
+	}
+
+	private void actualizarBotonCargarMas() {
+		int cargadas = ventasOriginales != null ? ventasOriginales.size() : 0;
+		btnCargarMas.setText("Cargar más (" + cargadas + " de " + totalVentas + ")");
+		btnCargarMas.setEnabled(cargadas < totalVentas);
+	}
+
 	@Override
 	protected Object[][] obtenerDatosFiltrados(String textoFiltro) {
 		return new Object[0][];
 	}
 
 	/**
-	 * Convierte una Venta a una fila para la tabla.
+	 * Convierte una VentaFila a una fila para la tabla.
 	 */
-	private Object[] ventaToRow(Venta v) {
-		return new Object[] { v.getIdVenta(), v.getFecha(), v.getCliente().getRazonSocial(),
-				v.getEmpleado().getNombre(), v.getTotalSinIva(), v.getTotalConIva(), v.getEstado() };
+	private Object[] ventaToRow(VentaFila v) {
+		return new Object[] { v.idVenta(), v.fecha(), v.cliente(), v.empleado(), v.totalSinIva(), v.totalConIva(),
+				v.estado() };
 	}
 
 	/**
@@ -0,0 +1,22 @@
+-- V10: auditoría de cambios de precio en productos. Cada fila tocada por una
+-- revisión masiva (o por una edición normal) deja su precio anterior y nuevo.
+
+DROP TRIGGER IF EXISTS tr_auditoria_producto_precio;
+
+DELIMITER $$
+CREATE TRIGGER tr_auditoria_producto_precio
+AFTER UPDATE ON productos
+FOR EACH ROW
+BEGIN
+  IF OLD.precio_compra != NEW.precio_compra OR OLD.precio_venta != NEW.precio_venta THEN
+    INSERT INTO auditorias (tabla_modificada, accion, descripcion)
+    VALUES (
+      'productos',
+      'UPDATE PRECIO',
+      CONCAT('Precio de compra de ', OLD.precio_compra, ' a ', NEW.precio_compra,
+             ', precio de venta de ', OLD.precio_venta, ' a ', NEW.precio_venta,
+             ' para Producto ID: ', NEW.id_producto)
+    );
+  END IF;
+END $$
+DELIMITER ;
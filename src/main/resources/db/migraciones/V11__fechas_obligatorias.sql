@@ -0,0 +1,15 @@
+-- V11: fecha obligatoria en ventas, compras y auditorías. Los listados paginan
+-- por (fecha, id) y una fila sin fecha no tiene sitio en ese orden: la página
+-- siguiente a una que acabara en ella volvía a empezar por la primera.
+-- Las filas antiguas sin fecha quedan al final de los listados, con una fecha
+-- que no cae en ningún informe por meses reales (1970-01-02 evita el límite
+-- inferior de TIMESTAMP en zonas horarias por delante de UTC).
+
+UPDATE ventas SET fecha = '1970-01-02 00:00:00' WHERE fecha IS NULL;
+ALTER TABLE ventas MODIFY fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+UPDATE compras SET fecha = '1970-01-02 00:00:00' WHERE fecha IS NULL;
+ALTER TABLE compras MODIFY fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+UPDATE auditorias SET fecha = '1970-01-02 00:00:00' WHERE fecha IS NULL;
+ALTER TABLE auditorias MODIFY fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
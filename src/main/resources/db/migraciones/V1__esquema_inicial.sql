@@ -0,0 +1,251 @@
+-- V1: esquema inicial de gestor_ventas_app (tablas y claves ajenas).
+-- Idempotente: en una base ya creada con BBDDGestorVentasApp.sql no cambia nada.
+
+-- ===========================================================================
+-- 1. TABLAS INDEPENDIENTES (SIN FOREIGN KEYS)
+-- ===========================================================================
+
+-- ----------------------------------------------------------
+-- Tabla de Tipos de IVA
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS ivas (
+    id_iva INT AUTO_INCREMENT PRIMARY KEY,
+    descripcion VARCHAR(50) NOT NULL,
+    porcentaje DECIMAL(5,2) NOT NULL,
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo'
+);
+
+-- ----------------------------------------------------------
+-- Tabla de Clientes (solo empresas/autónomos, no domésticos)
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS clientes (
+    id_cliente INT AUTO_INCREMENT PRIMARY KEY,
+    razon_social VARCHAR(100) NOT NULL,
+    forma_juridica ENUM('SL', 'SA', 'COOPERATIVA', 'AUTONOMO') NOT NULL,
+    cif_nif VARCHAR(20) NOT NULL UNIQUE,
+    direccion VARCHAR(150),
+    localidad VARCHAR(80),
+    codigo_postal VARCHAR(10),
+    pais VARCHAR(50),
+    telefono VARCHAR(9) NOT NULL CHECK (telefono REGEXP '^[6789][0-9]{8}$'),
+    email VARCHAR(100) NOT NULL CHECK (email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$'),
+    tipo_cliente VARCHAR(50),
+    fecha_alta TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo'
+);
+-- ----------------------------------------------------------
+-- Tabla de Proveedores (fabricantes de pienso)
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS proveedores (
+    id_proveedor INT AUTO_INCREMENT PRIMARY KEY,
+    razon_social VARCHAR(100) NOT NULL,
+    forma_juridica ENUM('SL', 'SA', 'COOPERATIVA', 'AUTONOMO') NOT NULL,
+    cif_nif VARCHAR(20) NOT NULL UNIQUE,
+    direccion VARCHAR(150),
+    localidad VARCHAR(80),
+    codigo_postal VARCHAR(10),
+    pais VARCHAR(50),
+    telefono VARCHAR(9) NOT NULL CHECK (telefono REGEXP '^[6789][0-9]{8}$'),
+    email VARCHAR(100) NOT NULL CHECK (email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$'),
+    fecha_alta TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo'
+);
+
+-- ----------------------------------------------------------
+-- Tabla de Empleados
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS empleados (
+    id_empleado INT AUTO_INCREMENT PRIMARY KEY,
+    dni VARCHAR(9) NOT NULL UNIQUE CHECK (dni REGEXP '^[0-9]{8}[A-Z]$'),
+    nombre VARCHAR(50) NOT NULL,
+    apellido1 VARCHAR(50) NOT NULL,
+    apellido2 VARCHAR(50),
+    direccion VARCHAR(150),
+    localidad VARCHAR(80),
+    codigo_postal VARCHAR(5) CHECK (codigo_postal REGEXP '^[0-9]{5}$'),
+    pais VARCHAR(50),
+    telefono VARCHAR(9) NOT NULL CHECK (telefono REGEXP '^[6789][0-9]{8}$'),
+    email VARCHAR(100) NOT NULL CHECK (email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$'),
+    fecha_alta TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo'
+);
+
+-- ----------------------------------------------------------
+-- Tabla de Usuarios del sistema (login)
+-- Relación 1:1 con empleado
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS usuarios (
+    id_usuario INT AUTO_INCREMENT PRIMARY KEY,
+    id_empleado INT NOT NULL UNIQUE,
+    nombre_usuario VARCHAR(50) NOT NULL UNIQUE,
+    contrasena VARCHAR(100) NOT NULL CHECK (contrasena REGEXP '^(?=.*[A-Z])(?=.*[a-zA-Z])(?=.*[0-9])[A-Za-z0-9]{6,100}$'),
+    tipo ENUM('admin', 'usuario') DEFAULT 'usuario',
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+-- ===========================================================================
+-- 2. TABLAS DEPENDIENTES (CON FOREIGN KEYS Y POLÍTICA RESTRICTIVA)
+-- ===========================================================================
+
+-- ----------------------------------------------------------
+-- Tabla de Productos (solo pienso para perros, gatos, caballos)
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS productos (
+    id_producto INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(255),
+    tipo_animal ENUM('Perro', 'Gato', 'Caballo') NOT NULL,
+    marca VARCHAR(50) NOT NULL,
+    formato VARCHAR(50) NOT NULL,
+    precio_venta DECIMAL(10,2) NOT NULL CHECK (precio_venta >= 0),
+    precio_compra DECIMAL(10,2) NOT NULL CHECK (precio_compra >= 0),
+    id_proveedor INT NOT NULL,
+    id_iva INT NOT NULL,
+    stock INT NOT NULL DEFAULT 0 CHECK (stock >= 0),
+    stock_minimo INT DEFAULT 0 CHECK (stock_minimo >= 0),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_proveedor) REFERENCES proveedores(id_proveedor) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_iva) REFERENCES ivas(id_iva) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+-- ----------------------------------------------------------
+-- Tabla de Compras a proveedores
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS compras (
+    id_compra INT AUTO_INCREMENT PRIMARY KEY,
+    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    id_proveedor INT NOT NULL,
+    id_empleado INT NOT NULL,
+    total_sin_iva DECIMAL(12,2),
+    total_con_iva DECIMAL(12,2),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_proveedor) REFERENCES proveedores(id_proveedor) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_compras_fecha (fecha)
+);
+
+-- ----------------------------------------------------------
+-- Detalles de cada compra
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS detalles_compras (
+    id_detalle_compra INT AUTO_INCREMENT PRIMARY KEY,
+    id_compra INT NOT NULL,
+    id_producto INT NOT NULL,
+    cantidad INT NOT NULL CHECK (cantidad > 0),
+    precio_unitario DECIMAL(10,2) NOT NULL CHECK (precio_unitario >= 0),
+    porcentaje_iva DECIMAL(5,2) NOT NULL CHECK (porcentaje_iva >= 0),
+    subtotal_sin_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_sin_iva >= 0),
+    subtotal_con_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_con_iva >= 0),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_compra) REFERENCES compras(id_compra) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+
+-- ----------------------------------------------------------
+-- Tabla de Ventas a clientes
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS ventas (
+    id_venta INT AUTO_INCREMENT PRIMARY KEY,
+    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    id_cliente INT NOT NULL,
+    id_empleado INT NOT NULL,
+    total_sin_iva DECIMAL(12,2),
+    total_con_iva DECIMAL(12,2),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_cliente) REFERENCES clientes(id_cliente) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_ventas_fecha (fecha)
+);
+
+-- ----------------------------------------------------------
+-- Detalles de cada venta
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS detalles_ventas (
+    id_detalle_venta INT AUTO_INCREMENT PRIMARY KEY,
+    id_venta INT NOT NULL,
+    id_producto INT NOT NULL,
+    cantidad INT NOT NULL CHECK (cantidad > 0),
+    precio_unitario DECIMAL(10,2) NOT NULL CHECK (precio_unitario >= 0),
+    porcentaje_iva DECIMAL(5,2) NOT NULL CHECK (porcentaje_iva >= 0),
+    subtotal_sin_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_sin_iva >= 0),
+    subtotal_con_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_con_iva >= 0),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_venta) REFERENCES ventas(id_venta) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+
+-- ----------------------------------------------------------
+-- Tabla de Devoluciones de clientes (ventas)
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS devoluciones_clientes (
+    id_devolucion_cliente INT AUTO_INCREMENT PRIMARY KEY,
+    id_venta INT NOT NULL,
+    id_empleado INT NOT NULL,
+    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    motivo VARCHAR(255),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_venta) REFERENCES ventas(id_venta) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_devoluciones_clientes_fecha (fecha)
+);
+
+CREATE TABLE IF NOT EXISTS detalles_devoluciones_clientes (
+    id_detalle_devolucion_cliente INT AUTO_INCREMENT PRIMARY KEY,
+    id_devolucion_cliente INT NOT NULL,
+    id_producto INT NOT NULL,
+    cantidad INT NOT NULL CHECK (cantidad > 0),
+    porcentaje_iva DECIMAL(5,2) NOT NULL CHECK (porcentaje_iva >= 0),
+    subtotal_sin_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_sin_iva >= 0),
+    subtotal_con_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_con_iva >= 0),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_devolucion_cliente) REFERENCES devoluciones_clientes(id_devolucion_cliente) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+
+-- ----------------------------------------------------------
+-- Tabla de Devoluciones a proveedor (compras)
+-- ----------------------------------------------------------
+CREATE TABLE IF NOT EXISTS devoluciones_proveedores (
+    id_devolucion_proveedor INT AUTO_INCREMENT PRIMARY KEY,
+    id_compra INT NOT NULL,
+    id_empleado INT NOT NULL,
+    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    motivo VARCHAR(255),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_compra) REFERENCES compras(id_compra) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_empleado) REFERENCES empleados(id_empleado) ON DELETE RESTRICT ON UPDATE CASCADE,
+    INDEX idx_devoluciones_proveedores_fecha (fecha)
+);
+
+CREATE TABLE IF NOT EXISTS detalles_devoluciones_proveedores (
+    id_detalle_devolucion_proveedor INT AUTO_INCREMENT PRIMARY KEY,
+    id_devolucion_proveedor INT NOT NULL,
+    id_producto INT NOT NULL,
+    cantidad INT NOT NULL CHECK (cantidad > 0),
+    porcentaje_iva DECIMAL(5,2) NOT NULL CHECK (porcentaje_iva >= 0),
+    subtotal_sin_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_sin_iva >= 0),
+    subtotal_con_iva DECIMAL(12,2) NOT NULL CHECK (subtotal_con_iva >= 0),
+    estado ENUM('activo', 'inactivo') DEFAULT 'activo',
+    FOREIGN KEY (id_devolucion_proveedor) REFERENCES devoluciones_proveedores(id_devolucion_proveedor) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS auditorias (
+    id_auditoria INT AUTO_INCREMENT PRIMARY KEY,
+    tabla_modificada VARCHAR(50),
+    accion VARCHAR(50),
+    fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    descripcion TEXT,
+    INDEX idx_auditorias_fecha (fecha)
+);
+
+-- Generador de identificadores por bloques (Hibernate @TableGenerator, pooled-lo)
+CREATE TABLE IF NOT EXISTS secuencias (
+    nombre VARCHAR(50) PRIMARY KEY,
+    siguiente_valor BIGINT NOT NULL
+);
+
@@ -0,0 +1,21 @@
+-- V2: índices de consulta frecuente y de los rangos por fecha.
+-- Un índice que ya existe (error 1061) se da por creado.
+
+CREATE INDEX idx_clientes_estado ON clientes (estado);
+CREATE INDEX idx_proveedores_estado ON proveedores (estado);
+CREATE INDEX idx_empleados_estado ON empleados (estado);
+CREATE INDEX idx_productos_estado ON productos (estado);
+
+CREATE INDEX idx_ventas_cliente ON ventas (id_cliente);
+CREATE INDEX idx_ventas_empleado ON ventas (id_empleado);
+CREATE INDEX idx_detalles_ventas_venta ON detalles_ventas (id_venta);
+
+CREATE INDEX idx_compras_proveedor ON compras (id_proveedor);
+CREATE INDEX idx_compras_empleado ON compras (id_empleado);
+CREATE INDEX idx_detalles_compras_compra ON detalles_compras (id_compra);
+
+CREATE INDEX idx_ventas_fecha ON ventas (fecha);
+CREATE INDEX idx_compras_fecha ON compras (fecha);
+CREATE INDEX idx_devoluciones_clientes_fecha ON devoluciones_clientes (fecha);
+CREATE INDEX idx_devoluciones_proveedores_fecha ON devoluciones_proveedores (fecha);
+CREATE INDEX idx_auditorias_fecha ON auditorias (fecha);
@@ -0,0 +1,336 @@
+-- V3: vistas de consulta y análisis (CREATE OR REPLACE: se pueden volver a aplicar).
+
+-- 			5. VISTAS DE CONSULTA Y ANÁLISIS 
+-- ===========================================================================
+-- ===========================================================================
+-- 1. VISTAS SOBRE CLIENTES Y PROVEEDORES
+-- ===========================================================================
+
+-- 1. Listado profesional de clientes activos
+-- Devuelve los clientes con estado 'activo'
+CREATE OR REPLACE VIEW vista_clientes_activos AS
+SELECT
+    id_cliente,
+    razon_social,
+    forma_juridica,
+    cif_nif,
+    direccion,
+    localidad,
+    codigo_postal,
+    pais,
+    telefono,
+    email,
+    tipo_cliente,
+    fecha_alta
+FROM clientes
+WHERE estado = 'activo';
+
+-- 2. Clientes inactivos (para campañas o gestión de bajas lógicas)
+CREATE OR REPLACE VIEW vista_clientes_inactivos AS
+SELECT
+    id_cliente,
+    razon_social,
+    forma_juridica,
+    cif_nif,
+    direccion,
+    localidad,
+    codigo_postal,
+    pais,
+    telefono,
+    email,
+    tipo_cliente,
+    fecha_alta
+FROM clientes
+WHERE estado = 'inactivo';
+
+-- 3. Proveedores activos
+-- Devuelve los proveedores con estado 'activo'
+CREATE OR REPLACE VIEW vista_proveedores_activos AS
+SELECT
+    id_proveedor,
+    razon_social,
+    forma_juridica,
+    cif_nif,
+    direccion,
+    localidad,
+    codigo_postal,
+    pais,
+    telefono,
+    email,
+    fecha_alta
+FROM proveedores
+WHERE estado = 'activo';
+
+
+-- ===============================================================================
+-- 2. VISTAS SOBRE PRODUCTOS Y STOCK
+-- ===============================================================================
+
+-- 4. Productos activos con información extendida y stock actual
+CREATE OR REPLACE VIEW vista_productos_stock AS
+SELECT
+    p.id_producto,
+    p.nombre,
+    p.descripcion,
+    p.tipo_animal,
+    p.marca,
+    p.formato,
+    p.precio_venta,
+    p.precio_compra,
+    p.stock,
+    p.stock_minimo,
+    pr.razon_social AS proveedor,
+    i.porcentaje AS iva,
+    p.estado
+FROM productos p
+JOIN proveedores pr ON p.id_proveedor = pr.id_proveedor
+JOIN ivas i ON p.id_iva = i.id_iva
+WHERE p.estado = 'activo';
+
+-- 5. Productos bajo mínimo de stock
+-- Útil para gestión de pedidos o alertas
+CREATE OR REPLACE VIEW vista_productos_bajo_minimo AS
+SELECT
+    id_producto,
+    nombre,
+    tipo_animal,
+    marca,
+    formato,
+    stock,
+    stock_minimo
+FROM productos
+WHERE estado = 'activo' AND stock <= stock_minimo;
+
+-- 6. Productos sin movimientos en los últimos 3 meses (análisis de rotación)
+CREATE OR REPLACE VIEW vista_productos_sin_venta_3m AS
+SELECT
+    p.id_producto,
+    p.nombre,
+    p.stock,
+    p.estado
+FROM productos p
+WHERE p.id_producto NOT IN (
+    SELECT DISTINCT dv.id_producto
+    FROM detalles_ventas dv
+    JOIN ventas v ON dv.id_venta = v.id_venta
+    WHERE v.fecha >= DATE_SUB(NOW(), INTERVAL 3 MONTH)
+)
+AND p.estado = 'activo';
+
+-- 7. Top 10 productos más vendidos
+CREATE OR REPLACE VIEW vista_top_productos_vendidos AS
+SELECT
+    p.id_producto,
+    p.nombre,
+    SUM(dv.cantidad) AS total_vendido
+FROM detalles_ventas dv
+JOIN productos p ON dv.id_producto = p.id_producto
+GROUP BY p.id_producto, p.nombre
+ORDER BY total_vendido DESC
+LIMIT 10;
+
+
+-- ===============================================================================
+-- 3. VISTAS SOBRE VENTAS
+-- ===============================================================================
+
+-- 8. Ventas detalladas (cliente, empleado, totales)
+CREATE OR REPLACE VIEW vista_ventas_detalladas AS
+SELECT
+    v.id_venta,
+    v.fecha,
+    c.razon_social AS cliente,
+    e.nombre AS empleado,
+    v.total_sin_iva,
+    v.total_con_iva,
+    v.estado
+FROM ventas v
+JOIN clientes c ON v.id_cliente = c.id_cliente
+JOIN empleados e ON v.id_empleado = e.id_empleado
+WHERE v.estado = 'activo';
+
+-- 9. Ventas detalladas con filtro de periodo (usada para BETWEEN fechas)
+CREATE OR REPLACE VIEW vista_ventas_detalladas_periodo AS
+SELECT
+    v.id_venta,
+    v.fecha,
+    c.razon_social AS cliente,
+    e.nombre AS empleado,
+    v.total_sin_iva,
+    v.total_con_iva,
+    v.estado
+FROM ventas v
+JOIN clientes c ON v.id_cliente = c.id_cliente
+JOIN empleados e ON v.id_empleado = e.id_empleado
+WHERE v.estado = 'activo';
+
+-- 10. Ventas por cliente (ranking de clientes)
+CREATE OR REPLACE VIEW vista_ranking_clientes AS
+SELECT
+    c.id_cliente,
+    c.razon_social,
+    SUM(v.total_con_iva) AS total_facturado
+FROM ventas v
+JOIN clientes c ON v.id_cliente = c.id_cliente
+GROUP BY c.id_cliente, c.razon_social
+ORDER BY total_facturado DESC;
+
+-- 11. Ventas totales por mes (análisis temporal)
+CREATE OR REPLACE VIEW vista_ventas_por_mes AS
+SELECT
+    YEAR(fecha) AS anio,
+    MONTH(fecha) AS mes,
+    COUNT(id_venta) AS total_ventas,
+    SUM(total_con_iva) AS importe_ventas
+FROM ventas
+WHERE estado = 'activo'
+GROUP BY anio, mes
+ORDER BY anio DESC, mes DESC;
+
+-- 12. Ventas realizadas por empleado
+CREATE OR REPLACE VIEW vista_ventas_por_empleado AS
+SELECT
+    e.id_empleado,
+    e.nombre,
+    e.apellido1,
+    COUNT(v.id_venta) AS ventas_realizadas,
+    SUM(v.total_con_iva) AS total_facturado
+FROM empleados e
+LEFT JOIN ventas v ON e.id_empleado = v.id_empleado AND v.estado = 'activo'
+GROUP BY e.id_empleado, e.nombre, e.apellido1;
+
+
+-- ===============================================================================
+-- 4. VISTAS SOBRE COMPRAS
+-- ===============================================================================
+
+-- 13. Compras detalladas (proveedor, empleado, totales)
+CREATE OR REPLACE VIEW vista_compras_detalladas AS
+SELECT
+    co.id_compra,
+    co.fecha,
+    pr.razon_social AS proveedor,
+    e.nombre AS empleado,
+    co.total_sin_iva,
+    co.total_con_iva,
+    co.estado
+FROM compras co
+JOIN proveedores pr ON co.id_proveedor = pr.id_proveedor
+JOIN empleados e ON co.id_empleado = e.id_empleado
+WHERE co.estado = 'activo';
+
+-- 14. Compras detalladas con filtro de periodo (usada para BETWEEN fechas)
+CREATE OR REPLACE VIEW vista_compras_detalladas_periodo AS
+SELECT
+    c.id_compra,
+    c.fecha,
+    p.razon_social AS proveedor,
+    e.nombre AS empleado,
+    c.total_sin_iva,
+    c.total_con_iva,
+    c.estado
+FROM compras c
+JOIN proveedores p ON c.id_proveedor = p.id_proveedor
+JOIN empleados e ON c.id_empleado = e.id_empleado
+WHERE c.estado = 'activo';
+
+-- 15. Compras totales por mes
+CREATE OR REPLACE VIEW vista_compras_por_mes AS
+SELECT
+    YEAR(fecha) AS anio,
+    MONTH(fecha) AS mes,
+    COUNT(id_compra) AS total_compras,
+    SUM(total_con_iva) AS importe_compras
+FROM compras
+WHERE estado = 'activo'
+GROUP BY anio, mes
+ORDER BY anio DESC, mes DESC;
+
+-- 16. Compras realizadas por empleado
+CREATE OR REPLACE VIEW vista_compras_por_empleado AS
+SELECT
+    e.id_empleado,
+    e.nombre,
+    e.apellido1,
+    COUNT(c.id_compra) AS compras_realizadas,
+    SUM(c.total_con_iva) AS total_comprado
+FROM empleados e
+LEFT JOIN compras c ON e.id_empleado = c.id_empleado AND c.estado = 'activo'
+GROUP BY e.id_empleado, e.nombre, e.apellido1;
+
+
+-- ===============================================================================
+-- 5. VISTAS SOBRE DEVOLUCIONES Y CALIDAD
+-- ===============================================================================
+
+-- 17. Devoluciones de clientes (con motivo, productos y empleados implicados)
+CREATE OR REPLACE VIEW vista_devoluciones_clientes AS
+SELECT
+    dc.id_devolucion_cliente,
+    v.id_venta,
+    c.razon_social AS cliente,
+    e.nombre AS empleado,
+    dc.fecha,
+    dc.motivo,
+    dc.estado
+FROM devoluciones_clientes dc
+JOIN ventas v ON dc.id_venta = v.id_venta
+JOIN clientes c ON v.id_cliente = c.id_cliente
+JOIN empleados e ON dc.id_empleado = e.id_empleado
+WHERE dc.estado = 'activo';
+
+-- 18. Devoluciones a proveedor (motivo, productos, empleados)
+CREATE OR REPLACE VIEW vista_devoluciones_proveedores AS
+SELECT
+    dp.id_devolucion_proveedor,
+    co.id_compra,
+    pr.razon_social AS proveedor,
+    e.nombre AS empleado,
+    dp.fecha,
+    dp.motivo,
+    dp.estado
+FROM devoluciones_proveedores dp
+JOIN compras co ON dp.id_compra = co.id_compra
+JOIN proveedores pr ON co.id_proveedor = pr.id_proveedor
+JOIN empleados e ON dp.id_empleado = e.id_empleado
+WHERE dp.estado = 'activo';
+
+-- 19. Productos devueltos por clientes (ranking)
+CREATE OR REPLACE VIEW vista_productos_devueltos_clientes AS
+SELECT
+    p.id_producto,
+    p.nombre,
+    SUM(ddc.cantidad) AS veces_devueltos
+FROM detalles_devoluciones_clientes ddc
+JOIN productos p ON ddc.id_producto = p.id_producto
+GROUP BY p.id_producto, p.nombre
+ORDER BY veces_devueltos DESC;
+
+-- 20. Productos devueltos a proveedores (ranking)
+CREATE OR REPLACE VIEW vista_productos_devueltos_proveedores AS
+SELECT
+    p.id_producto,
+    p.nombre,
+    SUM(ddp.cantidad) AS veces_devueltos
+FROM detalles_devoluciones_proveedores ddp
+JOIN productos p ON ddp.id_producto = p.id_producto
+GROUP BY p.id_producto, p.nombre
+ORDER BY veces_devueltos DESC;
+
+
+-- ===============================================================================
+-- 6. VISTAS TRANSVERSALES Y AUDITORÍA
+-- ===============================================================================
+
+-- 21. Historial de operaciones de auditoría
+CREATE OR REPLACE VIEW vista_auditoria AS
+SELECT
+    id_auditoria,
+    tabla_modificada,
+    accion,
+    fecha,
+    descripcion
+FROM auditorias
+ORDER BY fecha DESC;
+
+-- --------------------------------------------------------------------------------------------------------------------------------------------------
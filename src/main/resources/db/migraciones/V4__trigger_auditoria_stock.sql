@@ -0,0 +1,20 @@
+-- V4: trigger de auditoría de cambios de stock en productos.
+
+DROP TRIGGER IF EXISTS tr_auditoria_producto_stock;
+
+--  Audita cualquier cambio de stock en la tabla productos (compras, ventas, devoluciones, ajustes, etc.)
+DELIMITER $$
+CREATE TRIGGER tr_auditoria_producto_stock
+AFTER UPDATE ON productos
+FOR EACH ROW
+BEGIN
+  IF OLD.stock != NEW.stock THEN
+    INSERT INTO auditorias (tabla_modificada, accion, descripcion)
+    VALUES (
+      'productos',
+      'UPDATE STOCK',
+      CONCAT('Stock modificado de ', OLD.stock, ' a ', NEW.stock, ' para Producto ID: ', NEW.id_producto)
+    );
+  END IF;
+END $$
+DELIMITER ;
@@ -0,0 +1,19 @@
+-- V5: la tabla secuencias (ids por bloques de ventas, compras y sus detalles)
+-- debe apuntar por encima del mayor id existente, para que los bloques que
+-- reserve Hibernate no choquen con filas creadas antes (AUTO_INCREMENT o scripts).
+
+INSERT INTO secuencias (nombre, siguiente_valor)
+SELECT 'ventas', COALESCE(MAX(id_venta), 0) + 1 FROM ventas
+ON DUPLICATE KEY UPDATE siguiente_valor = GREATEST(secuencias.siguiente_valor, VALUES(siguiente_valor));
+
+INSERT INTO secuencias (nombre, siguiente_valor)
+SELECT 'detalles_ventas', COALESCE(MAX(id_detalle_venta), 0) + 1 FROM detalles_ventas
+ON DUPLICATE KEY UPDATE siguiente_valor = GREATEST(secuencias.siguiente_valor, VALUES(siguiente_valor));
+
+INSERT INTO secuencias (nombre, siguiente_valor)
+SELECT 'compras', COALESCE(MAX(id_compra), 0) + 1 FROM compras
+ON DUPLICATE KEY UPDATE siguiente_valor = GREATEST(secuencias.siguiente_valor, VALUES(siguiente_valor));
+
+INSERT INTO secuencias (nombre, siguiente_valor)
+SELECT 'detalles_compras', COALESCE(MAX(id_detalle_compra), 0) + 1 FROM detalles_compras
+ON DUPLICATE KEY UPDATE siguiente_valor = GREATEST(secuencias.siguiente_valor, VALUES(siguiente_valor));
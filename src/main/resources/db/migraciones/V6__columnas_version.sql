@@ -0,0 +1,9 @@
+-- V6: columna de versión para el bloqueo optimista (@Version) de las
+-- entidades que se editan desde varios terminales.
+-- Una columna que ya existe (error 1060) se da por añadida.
+
+ALTER TABLE clientes ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE proveedores ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE productos ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE compras ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE ventas ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- V7: índices de la validación de unicidad de productos (nombre, y marca +
+-- formato por proveedor), consultada en una sola SELECT al crear o modificar.
+-- El compuesto empieza por id_proveedor y sirve también a la FK y al listado
+-- por proveedor.
+
+CREATE INDEX idx_productos_nombre ON productos (nombre);
+CREATE INDEX idx_productos_proveedor_marca_formato ON productos (id_proveedor, marca, formato);
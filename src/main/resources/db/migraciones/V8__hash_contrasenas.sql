@@ -0,0 +1,20 @@
+-- V8: la columna contrasena guarda hashes PBKDF2 (pbkdf2$iteraciones$sal$hash).
+-- Se elimina la restricción CHECK de formato de la contraseña en claro, que
+-- rechazaría el hash, y se amplía la columna. Las contraseñas heredadas en
+-- claro se sustituyen por su hash en el primer login correcto.
+
+SET @restriccion = (
+    SELECT tc.CONSTRAINT_NAME
+    FROM information_schema.TABLE_CONSTRAINTS tc
+    JOIN information_schema.CHECK_CONSTRAINTS cc
+      ON cc.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA AND cc.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+    WHERE tc.TABLE_SCHEMA = DATABASE() AND tc.TABLE_NAME = 'usuarios'
+      AND tc.CONSTRAINT_TYPE = 'CHECK' AND cc.CHECK_CLAUSE LIKE '%contrasena%'
+    LIMIT 1);
+SET @sentencia = IF(@restriccion IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE usuarios DROP CHECK `', @restriccion, '`'));
+PREPARE quitar_check FROM @sentencia;
+EXECUTE quitar_check;
+DEALLOCATE PREPARE quitar_check;
+
+ALTER TABLE usuarios MODIFY contrasena VARCHAR(255) NOT NULL;
@@ -0,0 +1,6 @@
+-- V9: los productos pasan a ids por bloques (tabla secuencias) para poder
+-- insertarse por lotes JDBC en la importación de catálogos.
+
+INSERT INTO secuencias (nombre, siguiente_valor)
+SELECT 'productos', COALESCE(MAX(id_producto), 0) + 1 FROM productos
+ON DUPLICATE KEY UPDATE siguiente_valor = GREATEST(secuencias.siguiente_valor, VALUES(siguiente_valor));
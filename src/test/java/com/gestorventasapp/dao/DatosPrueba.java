@@ -0,0 +1,117 @@
+package com.gestorventasapp.dao;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gestorventasapp.enums.FormaJuridica;
+import com.gestorventasapp.enums.TipoAnimal;
+import com.gestorventasapp.model.Cliente;
+import com.gestorventasapp.model.DetalleVenta;
+import com.gestorventasapp.model.Empleado;
+import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Proveedor;
+import com.gestorventasapp.model.Venta;
+import com.gestorventasapp.util.TransactionTemplate;
+
+/**
+ * Altas de prueba sobre la base H2 de src/test/resources/hibernate.cfg.xml.
+ * Cada llamada crea registros nuevos con CIF/NIF, DNI y email distintos, así
+ * que las clases de prueba pueden compartir la base sin pisarse. Los métodos
+ * {@code nuevo*} solo construyen la entidad, para guardarla en otra base.
+ */
+public final class DatosPrueba {
+
+	private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+	private DatosPrueba() {
+	}
+
+	public static Proveedor proveedor() {
+		return guardar(nuevoProveedor());
+	}
+
+	public static Iva iva() {
+		return guardar(nuevoIva());
+	}
+
+	public static Producto producto(Proveedor proveedor, Iva iva) {
+		return guardar(nuevoProducto(proveedor, iva));
+	}
+
+	/** Producto con su propio proveedor e IVA. */
+	public static Producto producto() {
+		return producto(proveedor(), iva());
+	}
+
+	public static Cliente cliente() {
+		return guardar(nuevoCliente());
+	}
+
+	public static Empleado empleado() {
+		return guardar(nuevoEmpleado());
+	}
+
+	/** Venta (sin guardar) de un cliente y un empleado nuevos. */
+	public static Venta venta() {
+		return venta(cliente(), empleado());
+	}
+
+	/** Venta (sin guardar) del cliente y el empleado indicados. */
+	public static Venta venta(Cliente cliente, Empleado empleado) {
+		return Venta.builder().fecha(LocalDateTime.now()).cliente(cliente).empleado(empleado)
+				.totalSinIva(BigDecimal.ZERO).totalConIva(BigDecimal.ZERO).build();
+	}
+
+	/** Línea (sin guardar) de una unidad del producto a su precio de venta. */
+	public static DetalleVenta linea(Producto producto) {
+		BigDecimal precio = producto.getPrecioVenta();
+		return DetalleVenta.builder().producto(producto).cantidad(1).precioUnitario(precio)
+				.porcentajeIva(new BigDecimal("21.00")).subtotalSinIva(precio)
+				.subtotalConIva(precio.multiply(new BigDecimal("1.21")).setScale(2, RoundingMode.HALF_UP)).build();
+	}
+
+	public static Proveedor nuevoProveedor() {
+		int n = SECUENCIA.incrementAndGet();
+		return Proveedor.builder().razonSocial("Proveedor " + n).formaJuridica(FormaJuridica.SL)
+				.cifNif("B" + String.format("%08d", n)).telefono(telefono(n)).email("proveedor" + n + "@prueba.es")
+				.fechaAlta(LocalDateTime.now()).build();
+	}
+
+	public static Iva nuevoIva() {
+		int n = SECUENCIA.incrementAndGet();
+		return Iva.builder().descripcion("IVA " + n).porcentaje(new BigDecimal("21.00")).build();
+	}
+
+	public static Producto nuevoProducto(Proveedor proveedor, Iva iva) {
+		int n = SECUENCIA.incrementAndGet();
+		return Producto.builder().nombre("Pienso " + n).tipoAnimal(TipoAnimal.PERRO).marca("Marca " + n)
+				.formato("15 kg").precioVenta(new BigDecimal("30.00")).precioCompra(new BigDecimal("20.00"))
+				.proveedor(proveedor).iva(iva).stock(1_000_000).stockMinimo(0).build();
+	}
+
+	public static Cliente nuevoCliente() {
+		int n = SECUENCIA.incrementAndGet();
+		return Cliente.builder().razonSocial("Cliente " + n).formaJuridica(FormaJuridica.SL)
+				.cifNif("A" + String.format("%08d", n)).telefono(telefono(n)).email("cliente" + n + "@prueba.es")
+				.fechaAlta(LocalDateTime.now()).build();
+	}
+
+	public static Empleado nuevoEmpleado() {
+		int n = SECUENCIA.incrementAndGet();
+		return Empleado.builder().dni(String.format("%08dZ", n)).nombre("Empleado").apellido1("" + n)
+				.codigoPostal("28001").telefono(telefono(n)).email("empleado" + n + "@prueba.es")
+				.fechaAlta(LocalDateTime.now()).build();
+	}
+
+	public static <T> T guardar(T entidad) {
+		TransactionTemplate.execute(session -> session.persist(entidad), "Error al guardar datos de prueba.");
+		return entidad;
+	}
+
+	private static String telefono(int n) {
+		return "6" + String.format("%08d", n);
+	}
+}
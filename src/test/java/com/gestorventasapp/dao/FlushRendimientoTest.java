@@ -0,0 +1,81 @@
+package com.gestorventasapp.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Proveedor;
+import com.gestorventasapp.util.HibernateUtil;
+
+/**
+ * Tiempo de flush de una sesión con muchas entidades cargadas y pocas
+ * modificadas, el caso de las pantallas de edición y de los procesos por
+ * lotes. Sin mejora de bytecode, Hibernate compara en cada flush el estado de
+ * todas las entidades con su copia; con la mejora (dirty tracking), cada
+ * entidad sabe qué atributos ha cambiado y el resto se salta.
+ *
+ * Imprime la mediana del flush según cómo esté compilado el modelo. Para
+ * comparar, ejecutar también sin la mejora:
+ *
+ * <pre>
+ * mvn clean test -Dtest=FlushRendimientoTest
+ * mvn clean test -Psin-mejora-bytecode -Dtest=FlushRendimientoTest
+ * </pre>
+ */
+public class FlushRendimientoTest {
+
+	private static final int CARGADOS = 5_000;
+	private static final int MODIFICADOS = 10;
+	private static final int RONDAS = 15;
+
+	@Test
+	public void flushConMuchasEntidadesCargadas() {
+		Proveedor proveedor = DatosPrueba.proveedor();
+		Iva iva = DatosPrueba.iva();
+		SessionFactory sessionFactory = HibernateUtil.getSessionFactory();
+		try (Session session = sessionFactory.openSession()) {
+			session.beginTransaction();
+			for (int i = 0; i < CARGADOS; i++)
+				session.persist(DatosPrueba.nuevoProducto(proveedor, iva));
+			session.getTransaction().commit();
+		}
+
+		Statistics estadisticas = sessionFactory.getStatistics();
+		long[] nanos = new long[RONDAS];
+		for (int ronda = 0; ronda < RONDAS; ronda++) {
+			try (Session session = sessionFactory.openSession()) {
+				session.beginTransaction();
+				List<Producto> productos = session.createNamedQuery("Producto.findByProveedor", Producto.class)
+						.setParameter("idProveedor", proveedor.getIdProveedor()).getResultList();
+				assertEquals(CARGADOS, productos.size());
+				for (int i = 0; i < MODIFICADOS; i++) {
+					Producto producto = productos.get(i * (CARGADOS / MODIFICADOS));
+					producto.setPrecioVenta(producto.getPrecioVenta().add(BigDecimal.ONE));
+				}
+
+				estadisticas.clear();
+				long inicio = System.nanoTime();
+				session.flush();
+				nanos[ronda] = System.nanoTime() - inicio;
+				assertEquals(MODIFICADOS, estadisticas.getEntityUpdateCount());
+				// Sin confirmar: cada ronda parte de los mismos datos
+				session.getTransaction().rollback();
+			}
+		}
+		Arrays.sort(nanos);
+		boolean mejorado = ManagedEntity.class.isAssignableFrom(Producto.class);
+		System.out.printf("Flush con %d productos cargados y %d modificados (%s): mediana %.2f ms, mínimo %.2f ms%n",
+				CARGADOS, MODIFICADOS, mejorado ? "con mejora de bytecode" : "sin mejora de bytecode",
+				nanos[RONDAS / 2] / 1_000_000.0, nanos[0] / 1_000_000.0);
+	}
+}
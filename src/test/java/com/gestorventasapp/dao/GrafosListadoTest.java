@@ -0,0 +1,82 @@
+package com.gestorventasapp.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Venta;
+import com.gestorventasapp.util.HibernateUtil;
+
+/**
+ * Los listados cargan sus asociaciones con el grafo de entidad en la misma
+ * consulta: el número de sentencias SQL no depende del número de filas.
+ */
+public class GrafosListadoTest {
+
+	private final ProductoDAO productoDAO = new ProductoDAOImpl();
+	private final VentaDAO ventaDAO = new VentaDAOImpl();
+
+	@Test
+	public void listadoDeProductosNoLanzaUnaConsultaPorFila() {
+		DatosPrueba.producto();
+		long conUno = sentencias(() -> {
+			List<Producto> productos = productoDAO.findAll();
+			// Fuera de la sesión: un proxy sin cargar lanzaría LazyInitializationException
+			productos.forEach(p -> p.getProveedor().getRazonSocial().length());
+			productos.forEach(p -> p.getIva().getPorcentaje().signum());
+			return productos.size();
+		});
+
+		for (int i = 0; i < 20; i++)
+			DatosPrueba.producto();
+		long conVeinteMas = sentencias(() -> {
+			List<Producto> productos = productoDAO.findAll();
+			productos.forEach(p -> p.getProveedor().getRazonSocial().length());
+			productos.forEach(p -> p.getIva().getPorcentaje().signum());
+			return productos.size();
+		});
+
+		assertEquals(1, conUno);
+		assertEquals(conUno, conVeinteMas);
+	}
+
+	@Test
+	public void listadoDeVentasNoLanzaUnaConsultaPorFila() {
+		DatosPrueba.guardar(DatosPrueba.venta());
+		long conUna = sentencias(() -> {
+			List<Venta> ventas = ventaDAO.findAll();
+			ventas.forEach(v -> v.getCliente().getRazonSocial().length());
+			ventas.forEach(v -> v.getEmpleado().getNombre().length());
+			return ventas.size();
+		});
+
+		for (int i = 0; i < 20; i++)
+			DatosPrueba.guardar(DatosPrueba.venta());
+		long conVeinteMas = sentencias(() -> {
+			List<Venta> ventas = ventaDAO.findAll();
+			ventas.forEach(v -> v.getCliente().getRazonSocial().length());
+			ventas.forEach(v -> v.getEmpleado().getNombre().length());
+			return ventas.size();
+		});
+
+		assertEquals(1, conUna);
+		assertEquals(conUna, conVeinteMas);
+	}
+
+	/**
+	 * Sentencias preparadas durante el listado, con la caché de segundo nivel
+	 * vacía para que ninguna asociación se resuelva sin ir a la base.
+	 */
+	private static long sentencias(Supplier<Integer> listado) {
+		HibernateUtil.getSessionFactory().getCache().evictAllRegions();
+		Statistics estadisticas = HibernateUtil.getSessionFactory().getStatistics();
+		estadisticas.clear();
+		listado.get();
+		return estadisticas.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,163 @@
+package com.gestorventasapp.dao;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import com.gestorventasapp.model.Cliente;
+import com.gestorventasapp.model.DetalleVenta;
+import com.gestorventasapp.model.Empleado;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Venta;
+import com.gestorventasapp.util.HibernateUtil;
+
+/**
+ * Coste de guardar un pedido grande con {@link VentaDAO#saveWithDetails}:
+ * identificadores por bloques (pooled-lo) con inserciones por lotes, frente al
+ * mapeo anterior con IDENTITY, que obliga a un INSERT inmediato por fila.
+ *
+ * La referencia IDENTITY usa otra SessionFactory (y otra base H2) con
+ * META-INF/orm-identity.xml y sin lotes, y guarda el pedido con el mismo
+ * cuerpo que saveWithDetails. Se comprueba el número de sentencias, que no
+ * depende de la máquina; la latencia por pedido se imprime como referencia.
+ * En H2 en memoria cada ida y vuelta a la base cuesta casi nada: contra MySQL
+ * por red la diferencia es mayor, del orden de una ida y vuelta por línea.
+ */
+public class GuardarVentaRendimientoTest {
+
+	private static final int LINEAS = 300;
+	private static final int CALENTAMIENTO = 5;
+	private static final int PEDIDOS = 20;
+
+	private final VentaDAO ventaDAO = new VentaDAOImpl();
+
+	@Test
+	public void pedidoGrandeSeEnviaEnLotes() {
+		Cliente cliente = DatosPrueba.cliente();
+		Empleado empleado = DatosPrueba.empleado();
+		List<Producto> productos = List.of(DatosPrueba.producto(), DatosPrueba.producto());
+		Medida bloques = medir(HibernateUtil.getSessionFactory(),
+				venta -> ventaDAO.saveWithDetails(venta, lineas(productos)), cliente, empleado);
+
+		SessionFactory identidad = sessionFactoryIdentity();
+		try {
+			assertTrue("La referencia debe usar IDENTITY", identidad.unwrap(SessionFactoryImplementor.class)
+					.getMappingMetamodel().getEntityDescriptor(DetalleVenta.class)
+					.getGenerator() instanceof IdentityGenerator);
+			Cliente clienteIdentidad = DatosPrueba.nuevoCliente();
+			Empleado empleadoIdentidad = DatosPrueba.nuevoEmpleado();
+			List<Producto> productosIdentidad = List.of(productoEn(identidad), productoEn(identidad));
+			guardarEn(identidad, session -> {
+				session.persist(clienteIdentidad);
+				session.persist(empleadoIdentidad);
+			});
+			Medida identity = medir(identidad, venta -> guardarEn(identidad, session -> {
+				session.persist(venta);
+				for (DetalleVenta detalle : lineas(productosIdentidad)) {
+					detalle.setVenta(venta);
+					session.persist(detalle);
+				}
+			}), clienteIdentidad, empleadoIdentidad);
+
+			System.out.printf("Pedido de %d líneas (%d pedidos):%n  pooled-lo + lotes: %s%n  IDENTITY:          %s%n",
+					LINEAS, PEDIDOS, bloques, identity);
+
+			// IDENTITY: un INSERT por fila. Con bloques, una sentencia preparada por
+			// tabla que se reutiliza en cada lote de 50 filas
+			assertTrue("IDENTITY debería lanzar un INSERT por línea: " + identity,
+					identity.sentenciasPorPedido() >= LINEAS);
+			assertTrue("Las líneas deberían ir en lotes: " + bloques, bloques.sentenciasPorPedido() <= LINEAS / 10);
+		} finally {
+			identidad.close();
+		}
+	}
+
+	private static Medida medir(SessionFactory sessionFactory, Consumer<Venta> guardar, Cliente cliente,
+			Empleado empleado) {
+		for (int i = 0; i < CALENTAMIENTO; i++)
+			guardar.accept(DatosPrueba.venta(cliente, empleado));
+
+		Statistics estadisticas = sessionFactory.getStatistics();
+		estadisticas.clear();
+		long[] nanos = new long[PEDIDOS];
+		for (int i = 0; i < PEDIDOS; i++) {
+			Venta venta = DatosPrueba.venta(cliente, empleado);
+			long inicio = System.nanoTime();
+			guardar.accept(venta);
+			nanos[i] = System.nanoTime() - inicio;
+		}
+		Arrays.sort(nanos);
+		return new Medida(nanos[PEDIDOS / 2] / 1_000_000.0, nanos[PEDIDOS * 9 / 10] / 1_000_000.0,
+				estadisticas.getPrepareStatementCount() / (double) PEDIDOS,
+				estadisticas.getEntityInsertCount() / (double) PEDIDOS);
+	}
+
+	private static List<DetalleVenta> lineas(List<Producto> productos) {
+		List<DetalleVenta> lineas = new ArrayList<>(LINEAS);
+		for (int i = 0; i < LINEAS; i++)
+			lineas.add(DatosPrueba.linea(productos.get(i % productos.size())));
+		return lineas;
+	}
+
+	private static Producto productoEn(SessionFactory sessionFactory) {
+		Producto producto = DatosPrueba.nuevoProducto(DatosPrueba.nuevoProveedor(), DatosPrueba.nuevoIva());
+		guardarEn(sessionFactory, session -> {
+			session.persist(producto.getProveedor());
+			session.persist(producto.getIva());
+			session.persist(producto);
+		});
+		return producto;
+	}
+
+	private static void guardarEn(SessionFactory sessionFactory, Consumer<Session> trabajo) {
+		try (Session session = sessionFactory.openSession()) {
+			Transaction tx = session.beginTransaction();
+			trabajo.accept(session);
+			tx.commit();
+		}
+	}
+
+	/**
+	 * La configuración de pruebas con ventas y líneas en IDENTITY, sin lotes,
+	 * sin caché de segundo nivel (la región la usa ya la otra SessionFactory) y
+	 * sobre su propia base.
+	 */
+	private static SessionFactory sessionFactoryIdentity() {
+		Configuration configuration = new Configuration().configure();
+		for (String clave : configuration.getProperties().stringPropertyNames()) {
+			if (clave.startsWith("hibernate.hikari.")) {
+				configuration.getProperties().remove(clave);
+				configuration.getStandardServiceRegistryBuilder().getSettings().remove(clave);
+			}
+		}
+		configuration.setProperty(AvailableSettings.URL, "jdbc:h2:mem:gestor_ventas_identity;MODE=MySQL;DB_CLOSE_DELAY=-1");
+		configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "0");
+		configuration.setProperty(AvailableSettings.ORDER_INSERTS, "false");
+		configuration.setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+		configuration.setProperty(AvailableSettings.USE_QUERY_CACHE, "false");
+		configuration.addResource("META-INF/orm-identity.xml");
+		return configuration.buildSessionFactory();
+	}
+
+	private record Medida(double medianaMs, double p90Ms, double sentenciasPorPedido, double filasPorPedido) {
+
+		@Override
+		public String toString() {
+			return String.format("mediana %.2f ms, p90 %.2f ms, %.1f sentencias y %.0f filas por pedido", medianaMs,
+					p90Ms, sentenciasPorPedido, filasPorPedido);
+		}
+	}
+}
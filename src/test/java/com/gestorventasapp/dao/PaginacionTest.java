@@ -0,0 +1,64 @@
+package com.gestorventasapp.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import com.gestorventasapp.model.Venta;
+import com.gestorventasapp.util.HibernateUtil;
+
+public class PaginacionTest {
+
+	private final VentaDAO ventaDAO = new VentaDAOImpl();
+
+	@Test
+	public void elConteoSeSirveDeLaCacheHastaQueCambiaLaTabla() {
+		long antes = ventaDAO.count();
+		Statistics estadisticas = HibernateUtil.getSessionFactory().getStatistics();
+		estadisticas.clear();
+		assertEquals(antes, ventaDAO.count());
+		assertEquals(0, estadisticas.getPrepareStatementCount());
+		assertEquals(1, estadisticas.getQueryCacheHitCount());
+
+		DatosPrueba.guardar(DatosPrueba.venta());
+		assertEquals(antes + 1, ventaDAO.count());
+	}
+
+	@Test
+	public void unaVentaSinFechaTomaLaDelAlta() {
+		Venta venta = DatosPrueba.venta();
+		venta.setFecha(null);
+		DatosPrueba.guardar(venta);
+		assertNotNull(venta.getFecha());
+	}
+
+	/** Varias ventas con la misma fecha: el id desempata y ninguna se repite ni se pierde. */
+	@Test
+	public void laPaginacionPorFechaRecorreTodasLasVentasUnaVez() {
+		LocalDateTime misma = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+		for (int i = 0; i < 5; i++) {
+			Venta venta = DatosPrueba.venta();
+			venta.setFecha(misma);
+			DatosPrueba.guardar(venta);
+		}
+
+		Set<Integer> vistas = new HashSet<>();
+		List<Venta> pagina = ventaDAO.findPageByFecha(null, null, 2);
+		while (!pagina.isEmpty()) {
+			for (Venta venta : pagina)
+				assertTrue("Venta repetida: " + venta.getIdVenta(), vistas.add(venta.getIdVenta()));
+			Venta ultima = pagina.get(pagina.size() - 1);
+			pagina = ventaDAO.findPageByFecha(ultima.getFecha(), ultima.getIdVenta(), 2);
+		}
+		assertEquals(ventaDAO.count(), vistas.size());
+	}
+}
@@ -0,0 +1,105 @@
+package com.gestorventasapp.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gestorventasapp.dto.PrevisionRevisionPrecios;
+import com.gestorventasapp.dto.RevisionPrecios;
+import com.gestorventasapp.enums.PrecioRevisado;
+import com.gestorventasapp.enums.TipoAjustePrecio;
+import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Proveedor;
+
+public class RevisionPreciosTest {
+
+	private final ProductoDAO productoDAO = new ProductoDAOImpl();
+
+	/**
+	 * +10 % en compra manteniendo el margen: la venta se multiplica por la nueva
+	 * compra sin redondear entre la antigua, y solo se redondea el resultado.
+	 * Sin precio de compra no hay margen que mantener y la venta no cambia.
+	 */
+	@Test
+	public void mantenerMargenMueveLaVentaEnLaMismaProporcion() {
+		Proveedor proveedor = DatosPrueba.proveedor();
+		Iva iva = DatosPrueba.iva();
+		Producto normal = producto(proveedor, iva, "20.00", "30.00");
+		Producto sinCompra = producto(proveedor, iva, "0.00", "9.99");
+		Producto redondeo = producto(proveedor, iva, "3.33", "5.55");
+
+		int filas = productoDAO.revisePrices(revision(proveedor, TipoAjustePrecio.PORCENTAJE, "10",
+				PrecioRevisado.COMPRA, true));
+
+		assertEquals(3, filas);
+		assertPrecios(normal, "22.00", "33.00");
+		assertPrecios(sinCompra, "0.00", "9.99");
+		// 3,33 · 1,1 = 3,663 -> 3,66; venta 5,55 · 3,663 / 3,33 = 6,105 -> 6,11
+		assertPrecios(redondeo, "3.66", "6.11");
+	}
+
+	@Test
+	public void unImporteFijoSeSumaAAmbosPrecios() {
+		Proveedor proveedor = DatosPrueba.proveedor();
+		Producto producto = producto(proveedor, DatosPrueba.iva(), "20.00", "30.00");
+		productoDAO.revisePrices(revision(proveedor, TipoAjustePrecio.IMPORTE, "-0.50", PrecioRevisado.AMBOS, false));
+		assertPrecios(producto, "19.50", "29.50");
+	}
+
+	@Test
+	public void unFiltroSinProductosNoCambiaNada() {
+		RevisionPrecios revision = new RevisionPrecios(null, "Marca que no existe", null, null,
+				TipoAjustePrecio.PORCENTAJE, BigDecimal.TEN, PrecioRevisado.AMBOS, false);
+		PrevisionRevisionPrecios prevision = productoDAO.previewPriceRevision(revision);
+		assertEquals(Long.valueOf(0), prevision.productos());
+		assertEquals(0, prevision.ventaNueva().signum());
+		assertEquals(0, productoDAO.revisePrices(revision));
+	}
+
+	@Test
+	public void laVistaPreviaCoincideConLoQueSeEscribe() {
+		Proveedor proveedor = DatosPrueba.proveedor();
+		Iva iva = DatosPrueba.iva();
+		List<Producto> productos = List.of(producto(proveedor, iva, "20.00", "30.00"),
+				producto(proveedor, iva, "3.33", "5.55"), producto(proveedor, iva, "7.77", "12.34"));
+		RevisionPrecios revision = revision(proveedor, TipoAjustePrecio.PORCENTAJE, "-7.5", PrecioRevisado.COMPRA,
+				true);
+
+		PrevisionRevisionPrecios prevision = productoDAO.previewPriceRevision(revision);
+		productoDAO.revisePrices(revision);
+
+		BigDecimal compra = BigDecimal.ZERO;
+		BigDecimal venta = BigDecimal.ZERO;
+		for (Producto producto : productos) {
+			Producto revisado = productoDAO.findById(producto.getIdProducto());
+			compra = compra.add(revisado.getPrecioCompra());
+			venta = venta.add(revisado.getPrecioVenta());
+		}
+		assertEquals(Long.valueOf(3), prevision.productos());
+		assertEquals(0, prevision.compraNueva().compareTo(compra));
+		assertEquals(0, prevision.ventaNueva().compareTo(venta));
+	}
+
+	private static Producto producto(Proveedor proveedor, Iva iva, String compra, String venta) {
+		Producto producto = DatosPrueba.nuevoProducto(proveedor, iva);
+		producto.setPrecioCompra(new BigDecimal(compra));
+		producto.setPrecioVenta(new BigDecimal(venta));
+		return DatosPrueba.guardar(producto);
+	}
+
+	private static RevisionPrecios revision(Proveedor proveedor, TipoAjustePrecio tipo, String valor,
+			PrecioRevisado precio, boolean mantenerMargen) {
+		return new RevisionPrecios(proveedor.getIdProveedor(), null, null, null, tipo, new BigDecimal(valor), precio,
+				mantenerMargen);
+	}
+
+	private void assertPrecios(Producto producto, String compra, String venta) {
+		Producto revisado = productoDAO.findById(producto.getIdProducto());
+		assertEquals(new BigDecimal(compra), revisado.getPrecioCompra());
+		assertEquals(new BigDecimal(venta), revisado.getPrecioVenta());
+	}
+}
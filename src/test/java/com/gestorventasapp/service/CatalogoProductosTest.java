@@ -0,0 +1,102 @@
+package com.gestorventasapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gestorventasapp.dao.DatosPrueba;
+import com.gestorventasapp.dao.ProductoDAO;
+import com.gestorventasapp.dao.ProductoDAOImpl;
+import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.util.HibernateUtil;
+import com.gestorventasapp.util.TransactionTemplate;
+
+public class CatalogoProductosTest {
+
+	private final ProductoDAO productoDAO = new ProductoDAOImpl();
+	private final CatalogoProductos catalogo = new CatalogoProductos(productoDAO);
+	private Producto producto;
+	private int stockInicial;
+
+	@Before
+	public void cargar() {
+		producto = DatosPrueba.producto();
+		stockInicial = producto.getStock();
+		catalogo.recargar();
+	}
+
+	@Test
+	public void losCambiosSePublicanAlConfirmarYNoAntes() {
+		TransactionTemplate.runInUnitOfWork(() -> {
+			productoDAO.adjustStock(Map.of(producto.getIdProducto(), 5));
+			catalogo.actualizarTrasConfirmar(List.of(producto.getIdProducto()));
+			// Otros lectores no deben ver datos sin confirmar
+			assertEquals(stockInicial, stockEnCatalogo());
+		});
+		assertEquals(stockInicial + 5, stockEnCatalogo());
+	}
+
+	@Test
+	public void losCambiosDeshechosNoSePublican() {
+		assertThrows(ServiceException.class, () -> TransactionTemplate.callInUnitOfWork(() -> {
+			productoDAO.adjustStock(Map.of(producto.getIdProducto(), 5));
+			catalogo.actualizarTrasConfirmar(List.of(producto.getIdProducto()));
+			throw new ServiceException("Fallo a mitad de la operación.");
+		}));
+		assertEquals(stockInicial, stockEnCatalogo());
+		assertEquals(stockInicial, (int) productoDAO.findById(producto.getIdProducto()).getStock());
+		assertFalse("La huella no debería haber cambiado", catalogo.comprobarVersion());
+	}
+
+	/** Un UPDATE de otro terminal cambia la huella aunque esta aplicación no lo sepa. */
+	@Test
+	public void unCambioDeOtroTerminalSeDetectaPorLaHuella() {
+		assertFalse(catalogo.comprobarVersion());
+		actualizarStockPorFuera(7);
+		assertEquals(stockInicial, stockEnCatalogo());
+
+		assertTrue(catalogo.comprobarVersion());
+		assertEquals(stockInicial + 7, stockEnCatalogo());
+		assertFalse(catalogo.comprobarVersion());
+	}
+
+	@Test
+	public void invalidarObligaARecargar() {
+		actualizarStockPorFuera(3);
+		TransactionTemplate.runInUnitOfWork(() -> {
+			catalogo.invalidarTrasConfirmar();
+			assertEquals(stockInicial, stockEnCatalogo());
+		});
+		assertEquals(stockInicial + 3, stockEnCatalogo());
+	}
+
+	private int stockEnCatalogo() {
+		return catalogo.buscar(producto.getIdProducto()).getStock();
+	}
+
+	/** SQL directo por JDBC, sin pasar por el DAO ni por las cachés de Hibernate. */
+	private void actualizarStockPorFuera(int cantidad) {
+		try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+			session.doWork(connection -> {
+				connection.setAutoCommit(false);
+				try (PreparedStatement ps = connection.prepareStatement(
+						"UPDATE productos SET stock = stock + ?, version = version + 1 WHERE id_producto = ?")) {
+					ps.setInt(1, cantidad);
+					ps.setInt(2, producto.getIdProducto());
+					assertEquals(1, ps.executeUpdate());
+				}
+				connection.commit();
+			});
+		}
+	}
+}
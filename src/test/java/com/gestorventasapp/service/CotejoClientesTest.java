@@ -0,0 +1,91 @@
+package com.gestorventasapp.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gestorventasapp.dao.ClienteDAO;
+import com.gestorventasapp.dto.ClienteCotejo;
+import com.gestorventasapp.dto.CoincidenciaCliente;
+import com.gestorventasapp.dto.PosibleDuplicado;
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.util.Similitud;
+
+public class CotejoClientesTest {
+
+	private static final double TOLERANCIA = 0.001;
+
+	private final CotejoClientes cotejo = new CotejoClientes(clienteDAO(List.of(
+			cliente(1, "Clínica Veterinaria Central, S.L.", "912345678", "28001"),
+			cliente(2, "Veterinaria Centrl", "+34 912 345 678", "28001"),
+			cliente(3, "Piensos del Norte S.A.", "983000000", "47001"),
+			cliente(4, "Central de Piensos Martha", "600000001", "28002"),
+			cliente(5, "Hospital Veterinario Sur", "955000000", "41001"))));
+
+	@Test
+	public void lasPalabrasIgnoranFormaJuridicaAcentosYPuntuacion() {
+		assertArrayEquals(new String[] { "clinica", "veterinaria", "central" },
+				CotejoClientes.palabras("Clínica Veterinaria Central, S.L."));
+		assertArrayEquals(new String[] { "piensos", "norte" }, CotejoClientes.palabras("Piensos del Norte S.A."));
+	}
+
+	@Test
+	public void mongeElkanPromediaLaMejorPalabraDeDestino() {
+		// Cada palabra con su mejor pareja, sin importar el orden: (1 + 0,961) / 2
+		assertEquals(0.9806, CotejoClientes.parecidoPalabras(new String[] { "martha", "lopez" },
+				new String[] { "lopez", "marhta" }, false), TOLERANCIA);
+		// No es simétrica: la palabra de más solo cuenta desde el lado que la tiene
+		String[] corto = { "central" };
+		String[] largo = { "veterinaria", "central" };
+		assertEquals(1.0, CotejoClientes.parecidoPalabras(corto, largo, false), 0);
+		assertEquals((1 + Similitud.jaroWinkler("veterinaria", "central")) / 2,
+				CotejoClientes.parecidoPalabras(largo, corto, false), 1e-12);
+		assertEquals(0.0, CotejoClientes.parecidoPalabras(new String[0], largo, false), 0);
+	}
+
+	@Test
+	public void unComienzoDePalabraSoloBastaAlBuscar() {
+		String[] origen = { "cent" };
+		String[] destino = { "central" };
+		assertEquals(1.0, CotejoClientes.parecidoPalabras(origen, destino, true), 0);
+		assertEquals(0.914, CotejoClientes.parecidoPalabras(origen, destino, false), TOLERANCIA);
+	}
+
+	@Test
+	public void laBusquedaToleraErratasYOrdenaPorParecido() {
+		List<CoincidenciaCliente> encontrados = cotejo.buscarSimilares("veterinaria centrl", 10);
+		// Las dos palabras exactas en 2; en 1 una errata y una palabra de más
+		assertEquals(List.of(2, 1), encontrados.stream().map(c -> c.cliente().idCliente()).toList());
+		assertEquals(List.of(), cotejo.buscarSimilares("S.L.", 10));
+		assertEquals(1, cotejo.buscarSimilares("veterinaria centrl", 1).size());
+	}
+
+	@Test
+	public void detectaElDuplicadoConErrataYMismoTelefono() {
+		List<PosibleDuplicado> duplicados = cotejo.detectarDuplicados();
+		assertEquals(1, duplicados.size());
+		PosibleDuplicado pareja = duplicados.get(0);
+		assertEquals(Integer.valueOf(1), pareja.cliente().idCliente());
+		assertEquals(Integer.valueOf(2), pareja.otro().idCliente());
+		assertTrue(pareja.coincidencias(), pareja.coincidencias().contains("mismo teléfono"));
+	}
+
+	private static ClienteCotejo cliente(int id, String razonSocial, String telefono, String codigoPostal) {
+		return new ClienteCotejo(id, razonSocial, "B" + id, codigoPostal, "Madrid", telefono,
+				"cliente" + id + "@prueba.es", Estado.activo);
+	}
+
+	private static ClienteDAO clienteDAO(List<ClienteCotejo> clientes) {
+		return (ClienteDAO) Proxy.newProxyInstance(ClienteDAO.class.getClassLoader(),
+				new Class<?>[] { ClienteDAO.class }, (proxy, metodo, argumentos) -> {
+					if (!metodo.getName().equals("findAllForMatching"))
+						throw new UnsupportedOperationException(metodo.getName());
+					return clientes;
+				});
+	}
+}
@@ -0,0 +1,90 @@
+package com.gestorventasapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gestorventasapp.dao.ClienteDAO;
+import com.gestorventasapp.dao.EmpleadoDAO;
+import com.gestorventasapp.dao.ProveedorDAO;
+import com.gestorventasapp.enums.CampoUnico;
+
+public class IndiceUnicidadTest {
+
+	/** Consultas de existencia que llegan a los DAO. */
+	private final List<String> consultas = new ArrayList<>();
+	private final IndiceUnicidad indice = new IndiceUnicidad(dao(ClienteDAO.class, List.of("B 1234 5678", "Straße 1")),
+			dao(ProveedorDAO.class, List.of()), dao(EmpleadoDAO.class, List.of("12345678Z")));
+
+	@Test
+	public void normalizaAlMenosComoLaIntercalacion() {
+		assertEquals(IndiceUnicidad.normalizar("strasse"), IndiceUnicidad.normalizar("STRASSE"));
+		assertEquals(IndiceUnicidad.normalizar("strasse"), IndiceUnicidad.normalizar("Straße"));
+		assertEquals(IndiceUnicidad.normalizar("aero"), IndiceUnicidad.normalizar("ÆRØ"));
+		assertEquals(IndiceUnicidad.normalizar("peña"), IndiceUnicidad.normalizar("PENA"));
+		assertEquals(IndiceUnicidad.normalizar("fino"), IndiceUnicidad.normalizar("ﬁno"));
+		assertEquals(IndiceUnicidad.normalizar("b12345678"), IndiceUnicidad.normalizar(" B 1234 5678\u200B "));
+	}
+
+	@Test
+	public void sinCargarTodoSeConfirmaConLaBaseDeDatos() {
+		assertTrue(indice.puedeExistir(CampoUnico.CIF_NIF_CLIENTE, "B99999999"));
+		assertFalse(indice.existe(CampoUnico.CIF_NIF_CLIENTE, "B99999999"));
+		assertEquals(List.of("existsCifNif"), consultas);
+	}
+
+	@Test
+	public void unValorNuevoNoConsultaYUnoParecidoAlExistenteSi() {
+		indice.recargar();
+		assertFalse(indice.existe(CampoUnico.CIF_NIF_CLIENTE, "B99999999"));
+		assertFalse(indice.existe(CampoUnico.DNI_EMPLEADO, "87654321X"));
+		assertTrue(consultas.isEmpty());
+
+		// Iguales para MySQL aunque no se escriban igual: hay que confirmarlos
+		assertTrue(indice.puedeExistir(CampoUnico.CIF_NIF_CLIENTE, "b12345678"));
+		assertTrue(indice.puedeExistir(CampoUnico.CIF_NIF_CLIENTE, "STRASSE 1"));
+		assertTrue(indice.puedeExistir(CampoUnico.DNI_EMPLEADO, "12345678z"));
+		// Un mismo CIF/NIF puede ser cliente y proveedor
+		assertFalse(indice.puedeExistir(CampoUnico.CIF_NIF_PROVEEDOR, "B12345678"));
+	}
+
+	@Test
+	public void loRegistradoSeConfirmaConLaBaseDeDatos() {
+		indice.recargar();
+		indice.registrar(CampoUnico.CIF_NIF_PROVEEDOR, "A11111111");
+		assertTrue(indice.puedeExistir(CampoUnico.CIF_NIF_PROVEEDOR, "a11111111"));
+	}
+
+	/** Sin restricción UNIQUE, otro terminal puede haberlo dado de alta desde la última recarga. */
+	@Test
+	public void losEmailsSiempreSeConfirmanConLaBaseDeDatos() {
+		indice.recargar();
+		assertFalse(indice.existe(CampoUnico.EMAIL_CLIENTE, "nuevo@prueba.es"));
+		assertFalse(indice.existe(CampoUnico.EMAIL_EMPLEADO, "nuevo@prueba.es"));
+		assertEquals(List.of("existsEmail", "existsEmail"), consultas);
+	}
+
+	/**
+	 * DAO que devuelve las claves indicadas, anota las consultas de existencia
+	 * (siempre con resultado false) y no admite nada más.
+	 */
+	private <T> T dao(Class<T> tipo, List<String> claves) {
+		return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] { tipo },
+				(proxy, metodo, argumentos) -> {
+					String nombre = metodo.getName();
+					if (nombre.equals("findAllUniqueKeys"))
+						return claves;
+					if (nombre.startsWith("exists")) {
+						consultas.add(nombre);
+						return false;
+					}
+					throw new UnsupportedOperationException(nombre);
+				}));
+	}
+}
@@ -0,0 +1,185 @@
+package com.gestorventasapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gestorventasapp.dao.AuditoriaDAOImpl;
+import com.gestorventasapp.dao.DatosPrueba;
+import com.gestorventasapp.dao.IvaDAOImpl;
+import com.gestorventasapp.dao.ProductoDAO;
+import com.gestorventasapp.dao.ProductoDAOImpl;
+import com.gestorventasapp.dto.ResultadoImportacion;
+import com.gestorventasapp.dto.RevisionPrecios;
+import com.gestorventasapp.dto.ResultadoImportacion.ErrorFila;
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.enums.PrecioRevisado;
+import com.gestorventasapp.enums.TipoAjustePrecio;
+import com.gestorventasapp.exceptions.ServiceException;
+import com.gestorventasapp.model.Producto;
+import com.gestorventasapp.model.Proveedor;
+
+public class ProductoServiceImplTest {
+
+	private static final String CABECERA = "nombre;descripcion;tipoAnimal;marca;formato;precioVenta;precioCompra;iva;"
+			+ "stock;stockMinimo";
+
+	private final ProductoDAO productoDAO = new ProductoDAOImpl();
+	private final ProductoServiceImpl service = new ProductoServiceImpl(productoDAO, new IvaDAOImpl(),
+			new AuditoriaDAOImpl(), new CatalogoProductos(productoDAO));
+
+	@Test
+	public void rechazaUnNombreRepetidoDeOtroProveedor() {
+		Producto existente = DatosPrueba.producto();
+		Producto nuevo = DatosPrueba.nuevoProducto(DatosPrueba.proveedor(), existente.getIva());
+		nuevo.setNombre(existente.getNombre());
+		ServiceException e = assertThrows(ServiceException.class, () -> service.crearProducto(nuevo));
+		assertEquals("Ya existe un producto con ese nombre.", e.getMessage());
+	}
+
+	@Test
+	public void rechazaLaMismaCombinacionActivaAunqueCambieElNombre() {
+		Producto existente = DatosPrueba.producto();
+		Producto nuevo = copiaCombinacion(existente);
+		ServiceException e = assertThrows(ServiceException.class, () -> service.crearProducto(nuevo));
+		assertEquals("Ya existe un producto activo con esa marca, formato y proveedor.", e.getMessage());
+	}
+
+	@Test
+	public void reactivaLaMismaCombinacionInactivaEnLugarDeDuplicarla() {
+		Producto existente = DatosPrueba.producto();
+		service.darBajaLogicaProducto(existente.getIdProducto());
+		long antes = productoDAO.count();
+
+		Producto nuevo = copiaCombinacion(existente);
+		service.crearProducto(nuevo);
+
+		assertEquals(existente.getIdProducto(), nuevo.getIdProducto());
+		assertEquals(antes, productoDAO.count());
+		Producto reactivado = productoDAO.findById(existente.getIdProducto());
+		assertEquals(Estado.activo, reactivado.getEstado());
+		assertEquals(nuevo.getNombre(), reactivado.getNombre());
+	}
+
+	@Test
+	public void altaYModificacionDanLosMismosConflictos() {
+		Producto uno = DatosPrueba.producto();
+		Producto otro = DatosPrueba.producto();
+		Producto cambiado = productoDAO.findById(otro.getIdProducto());
+		cambiado.setNombre(uno.getNombre());
+		ServiceException e = assertThrows(ServiceException.class, () -> service.modificarProducto(cambiado));
+		assertEquals("Ya existe otro producto con ese nombre.", e.getMessage());
+	}
+
+	@Test
+	public void unaFilaErroneaSeAnotaConSuLineaYSigueLaImportacion() {
+		DatosPrueba.iva();
+		String sufijo = sufijo();
+		ResultadoImportacion resultado = importar(DatosPrueba.proveedor(),
+				fila("Pienso A " + sufijo, "", "Marca A " + sufijo, "30,00"),
+				fila("Pienso B " + sufijo, "", "Marca B " + sufijo, "treinta"),
+				"",
+				fila("Pienso C " + sufijo, "\"Bolsa; 10 kg, \"\"gran\"\" formato\"", "Marca C " + sufijo, "30.5"));
+
+		assertEquals(3, resultado.filasLeidas());
+		assertEquals(2, resultado.importadas());
+		assertEquals(List.of(3), lineas(resultado));
+		assertTrue(resultado.errores().get(0).mensaje().startsWith("Valor no numérico en precio de venta"));
+		Producto conComillas = service.buscarPorNombre("Pienso C " + sufijo).get(0);
+		assertEquals("Bolsa; 10 kg, \"gran\" formato", conComillas.getDescripcion());
+	}
+
+	@Test
+	public void rechazaDuplicadosDelCatalogoYDelPropioFichero() {
+		Producto existente = DatosPrueba.producto();
+		String sufijo = sufijo();
+		ResultadoImportacion resultado = importar(existente.getProveedor(),
+				// Iguales para la intercalación: mayúsculas, acentos y espacios finales
+				fila(existente.getNombre().toUpperCase() + " ", "", "Otra " + sufijo, "30"),
+				fila("Nuevo " + sufijo, "", existente.getMarca().replace('a', 'á'), "30"),
+				fila("Cachórro " + sufijo, "", "Marca 1 " + sufijo, "30"),
+				fila("cachorro " + sufijo, "", "Marca 2 " + sufijo, "30"),
+				fila("Adulto " + sufijo, "", "MARCA 1 " + sufijo, "30"));
+
+		assertEquals(1, resultado.importadas());
+		assertEquals(List.of(2, 3, 5, 6), lineas(resultado));
+	}
+
+	/**
+	 * Un precio que pasa la validación pero desborda la columna hace fallar el
+	 * lote en la base de datos: se repite fila a fila, con ids nuevos, y entran
+	 * las demás.
+	 */
+	@Test
+	public void siFallaElLoteSeReintentaFilaAFila() {
+		DatosPrueba.iva();
+		String sufijo = sufijo();
+		long antes = productoDAO.count();
+		ResultadoImportacion resultado = importar(DatosPrueba.proveedor(),
+				fila("Lote A " + sufijo, "", "Marca A " + sufijo, "30"),
+				fila("Lote B " + sufijo, "", "Marca B " + sufijo, "12345678901234.00"),
+				fila("Lote C " + sufijo, "", "Marca C " + sufijo, "30"));
+
+		assertEquals(2, resultado.importadas());
+		assertEquals(List.of(3), lineas(resultado));
+		assertTrue(resultado.errores().get(0).mensaje().startsWith("Error al guardar"));
+		assertEquals(antes + 2, productoDAO.count());
+		for (String nombre : List.of("Lote A " + sufijo, "Lote C " + sufijo)) {
+			List<Producto> encontrados = service.buscarPorNombre(nombre);
+			assertEquals(1, encontrados.size());
+			assertNotNull(encontrados.get(0).getIdProducto());
+		}
+	}
+
+	private ResultadoImportacion importar(Proveedor proveedor, String... filas) {
+		String csv = CABECERA + "\n" + String.join("\n", filas) + "\n";
+		return service.importarCatalogo(new StringReader(csv), proveedor);
+	}
+
+	@Test
+	public void unaRevisionQueDejaPreciosNegativosNoCambiaNingunaFila() {
+		Proveedor proveedor = DatosPrueba.proveedor();
+		Producto barato = DatosPrueba.nuevoProducto(proveedor, DatosPrueba.iva());
+		barato.setPrecioCompra(new BigDecimal("5.00"));
+		barato = DatosPrueba.guardar(barato);
+		Producto caro = DatosPrueba.guardar(DatosPrueba.nuevoProducto(proveedor, barato.getIva()));
+		RevisionPrecios revision = new RevisionPrecios(proveedor.getIdProveedor(), null, null, null,
+				TipoAjustePrecio.IMPORTE, new BigDecimal("-10"), PrecioRevisado.COMPRA, false);
+
+		ServiceException e = assertThrows(ServiceException.class, () -> service.revisarPrecios(revision));
+
+		assertEquals("La revisión dejaría productos con precio negativo.", e.getMessage());
+		for (Producto antes : List.of(barato, caro)) {
+			Producto despues = productoDAO.findById(antes.getIdProducto());
+			assertEquals(0, antes.getPrecioCompra().compareTo(despues.getPrecioCompra()));
+			assertEquals(antes.getVersion(), despues.getVersion());
+		}
+	}
+
+	private static String fila(String nombre, String descripcion, String marca, String precioVenta) {
+		return String.join(";", nombre, descripcion, "PERRO", marca, "15 kg", precioVenta, "20.00", "21", "10", "2");
+	}
+
+	private static List<Integer> lineas(ResultadoImportacion resultado) {
+		return resultado.errores().stream().map(ErrorFila::linea).toList();
+	}
+
+	private static String sufijo() {
+		return Long.toString(System.nanoTime(), 36);
+	}
+
+	/** Producto nuevo con la marca, el formato y el proveedor de otro, y nombre propio. */
+	private static Producto copiaCombinacion(Producto existente) {
+		Producto nuevo = DatosPrueba.nuevoProducto(existente.getProveedor(), existente.getIva());
+		nuevo.setMarca(existente.getMarca());
+		nuevo.setFormato(existente.getFormato());
+		return nuevo;
+	}
+}
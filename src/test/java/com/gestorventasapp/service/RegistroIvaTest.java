@@ -0,0 +1,93 @@
+package com.gestorventasapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.gestorventasapp.dao.IvaDAO;
+import com.gestorventasapp.dto.TipoIva;
+import com.gestorventasapp.enums.Estado;
+import com.gestorventasapp.model.Iva;
+import com.gestorventasapp.model.Producto;
+
+public class RegistroIvaTest {
+
+	private static final Iva GENERAL = iva(1, "General", "21.00");
+	private static final Iva SUPERREDUCIDO = iva(2, "Superreducido", "4.00");
+	private static final Iva REDUCIDO = iva(3, "Reducido", "10.00");
+
+	/** Consultas de la tabla que llegan al DAO. */
+	private final AtomicInteger cargas = new AtomicInteger();
+	private final RegistroIva registro = new RegistroIva(ivaDAO(List.of(GENERAL, SUPERREDUCIDO, REDUCIDO)));
+
+	@Test
+	public void losActivosSalenDeMayorAMenorPorcentaje() {
+		assertEquals(List.of(1, 3, 2), registro.activos().stream().map(TipoIva::idIva).toList());
+	}
+
+	@Test
+	public void buscaPorIdYDevuelveNullSiNoEstaActivo() {
+		assertEquals(new BigDecimal("1.1000"), registro.buscar(3).factor());
+		assertNull(registro.buscar(99));
+		assertNull(registro.buscar(null));
+	}
+
+	@Test
+	public void unProductoConUnIvaDeBajaSigueUsandoSuTipo() {
+		Iva antiguo = iva(4, "Antiguo", "18.00");
+		antiguo.setEstado(Estado.inactivo);
+		TipoIva tipo = registro.deProducto(Producto.builder().iva(antiguo).build());
+		assertEquals(Integer.valueOf(4), tipo.idIva());
+		assertEquals(new BigDecimal("1.1800"), tipo.factor());
+		assertEquals("Reducido", registro.deProducto(Producto.builder().iva(REDUCIDO).build()).descripcion());
+	}
+
+	@Test
+	public void unProductoSinIvaNoTieneTipo() {
+		assertNull(registro.deProducto(Producto.builder().build()));
+		assertNull(registro.deProducto(null));
+	}
+
+	@Test
+	public void laTablaSeCargaUnaVezHastaQueSeInvalida() {
+		registro.activos();
+		registro.buscar(1);
+		registro.buscar(99);
+		assertEquals(1, cargas.get());
+
+		// Fuera de una unidad de trabajo la invalidación es inmediata
+		registro.recargarTrasConfirmar();
+		registro.buscar(1);
+		assertEquals(2, cargas.get());
+	}
+
+	@Test
+	public void elTipoCalculaCuotaImporteYEtiqueta() {
+		TipoIva general = TipoIva.de(GENERAL);
+		assertEquals(0, new BigDecimal("21.00").compareTo(general.cuota(new BigDecimal("100"))));
+		assertEquals(0, new BigDecimal("121.00").compareTo(general.conIva(new BigDecimal("100"))));
+		assertEquals("21%", general.etiqueta());
+		assertEquals("5.5%", TipoIva.de(iva(5, "Francés", "5.50")).etiqueta());
+	}
+
+	private static Iva iva(int id, String descripcion, String porcentaje) {
+		return Iva.builder().idIva(id).descripcion(descripcion).porcentaje(new BigDecimal(porcentaje)).build();
+	}
+
+	/** DAO que solo responde a findAllActivos y cuenta las llamadas. */
+	private IvaDAO ivaDAO(List<Iva> activos) {
+		return (IvaDAO) Proxy.newProxyInstance(IvaDAO.class.getClassLoader(), new Class<?>[] { IvaDAO.class },
+				(proxy, metodo, argumentos) -> {
+					if (!metodo.getName().equals("findAllActivos"))
+						throw new UnsupportedOperationException(metodo.getName());
+					cargas.incrementAndGet();
+					return activos;
+				});
+	}
+}
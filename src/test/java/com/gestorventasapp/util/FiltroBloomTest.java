@@ -0,0 +1,49 @@
+package com.gestorventasapp.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FiltroBloomTest {
+
+	private static final int PREVISTOS = 10_000;
+	private static final int AUSENTES = 100_000;
+
+	@Test
+	public void nuncaDaFalsosNegativos() {
+		FiltroBloom filtro = new FiltroBloom(PREVISTOS, 0.01);
+		for (int i = 0; i < PREVISTOS; i++)
+			filtro.agregar("B" + String.format("%08d", i));
+		for (int i = 0; i < PREVISTOS; i++)
+			assertTrue("Falso negativo en " + i, filtro.puedeContener("B" + String.format("%08d", i)));
+	}
+
+	@Test
+	public void losFalsosPositivosQuedanCercaDeLaProbabilidadPedida() {
+		for (double objetivo : new double[] { 0.01, 0.001 }) {
+			FiltroBloom filtro = new FiltroBloom(PREVISTOS, objetivo);
+			for (int i = 0; i < PREVISTOS; i++)
+				filtro.agregar("cliente" + i + "@prueba.es");
+			int positivos = 0;
+			for (int i = 0; i < AUSENTES; i++) {
+				if (filtro.puedeContener("proveedor" + i + "@prueba.es"))
+					positivos++;
+			}
+			double tasa = positivos / (double) AUSENTES;
+			assertTrue("Tasa de falsos positivos " + tasa + " para un objetivo de " + objetivo, tasa <= objetivo * 2);
+		}
+	}
+
+	@Test
+	public void unFiltroVacioNoContieneNada() {
+		FiltroBloom filtro = new FiltroBloom(1, 0.01);
+		assertFalse(filtro.puedeContener(""));
+		assertFalse(filtro.puedeContener("B12345678"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaUnaProbabilidadFueraDeRango() {
+		new FiltroBloom(100, 1);
+	}
+}
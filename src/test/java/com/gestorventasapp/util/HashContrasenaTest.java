@@ -0,0 +1,106 @@
+package com.gestorventasapp.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class HashContrasenaTest {
+
+	/** Tope por login con el factor de trabajo por defecto, con holgura para máquinas lentas. */
+	private static final long MAXIMO_LOGIN_MS = 2_000;
+
+	@Test
+	public void verificaLaContrasenaCorrectaYRechazaLaIncorrecta() {
+		String hash = HashContrasena.generar("piensos2024");
+		assertTrue(HashContrasena.esHash(hash));
+		assertTrue(HashContrasena.verificar("piensos2024", hash));
+		assertFalse(HashContrasena.verificar("piensos2025", hash));
+		assertFalse(HashContrasena.verificar(null, hash));
+	}
+
+	@Test
+	public void cadaHashLlevaSuPropiaSal() {
+		assertNotEquals(HashContrasena.generar("igual"), HashContrasena.generar("igual"));
+	}
+
+	@Test
+	public void laContrasenaHeredadaEnClaroSeAceptaYSeMarcaParaRehash() {
+		assertTrue(HashContrasena.verificar("1234", "1234"));
+		assertFalse(HashContrasena.verificar("12345", "1234"));
+		assertTrue(HashContrasena.necesitaRehash("1234"));
+		assertFalse(HashContrasena.necesitaRehash(HashContrasena.generar("1234")));
+	}
+
+	@Test
+	public void unHashConMenosIteracionesSeMarcaParaRehash() {
+		String anterior = "pbkdf2$1000$" + HashContrasena.generar("x").split("\\$", 3)[2];
+		assertTrue(HashContrasena.necesitaRehash(anterior));
+	}
+
+	@Test
+	public void unValorCorruptoNuncaAutentica() {
+		assertFalse(HashContrasena.verificar("x", "pbkdf2$210000$%%%$%%%"));
+		assertFalse(HashContrasena.verificar("x", "pbkdf2$210000$abc"));
+	}
+
+	/**
+	 * Latencia de la verificación (lo que cuesta un login) con el factor de
+	 * trabajo por defecto, sola y con varios logins a la vez. PBKDF2 ocupa un
+	 * núcleo entero mientras dura: con más logins simultáneos que núcleos, cada
+	 * uno espera a los demás.
+	 */
+	@Test
+	public void latenciaDeLoginsConcurrentes() throws Exception {
+		String hash = HashContrasena.generar("piensos2024");
+		HashContrasena.verificar("piensos2024", hash); // Calentamiento
+
+		int nucleos = Runtime.getRuntime().availableProcessors();
+		StringBuilder informe = new StringBuilder("Verificación PBKDF2 (" + nucleos + " núcleos):");
+		for (int simultaneos : new int[] { 1, 4, 8 }) {
+			long[] milis = medirConcurrentes(simultaneos, hash);
+			informe.append(String.format("%n  %d a la vez: mediana %d ms, máximo %d ms", simultaneos,
+					milis[milis.length / 2], milis[milis.length - 1]));
+			// Mientras no haya más logins que núcleos, ninguno debería pasar del tope
+			if (simultaneos <= nucleos)
+				assertTrue("Login demasiado lento: " + milis[milis.length - 1] + " ms",
+						milis[milis.length - 1] <= MAXIMO_LOGIN_MS);
+		}
+		System.out.println(informe);
+	}
+
+	private static long[] medirConcurrentes(int simultaneos, String hash) throws Exception {
+		ExecutorService hilos = Executors.newFixedThreadPool(simultaneos);
+		try {
+			CountDownLatch salida = new CountDownLatch(1);
+			List<Future<Long>> tiempos = new ArrayList<>();
+			for (int i = 0; i < simultaneos; i++) {
+				tiempos.add(hilos.submit(() -> {
+					salida.await();
+					long inicio = System.nanoTime();
+					assertTrue(HashContrasena.verificar("piensos2024", hash));
+					return (System.nanoTime() - inicio) / 1_000_000;
+				}));
+			}
+			salida.countDown();
+			long[] milis = new long[simultaneos];
+			for (int i = 0; i < simultaneos; i++)
+				milis[i] = tiempos.get(i).get();
+			Arrays.sort(milis);
+			assertEquals(simultaneos, milis.length);
+			return milis;
+		} finally {
+			hilos.shutdown();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.gestorventasapp.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class IndiceTrigramasTest {
+
+	/** Nombre (peso 3) y marca (peso 1). */
+	private final IndiceTrigramas indice = IndiceTrigramas.de(Map.of(
+			1, new String[] { "Pienso Perro Adulto", "Acana" },
+			2, new String[] { "Acana", "Royal" },
+			3, new String[] { "Snack Gato", "Acana Premium" },
+			4, new String[] { "Bacanal", "x" }), 3, 1);
+
+	@Test
+	public void ordenaPorCampoCoincidenciaExactaYPrincipioDePalabra() {
+		// Nombre idéntico (3·4), marca idéntica (1·4), dentro del nombre (3) y
+		// principio de palabra en la marca (1·2)
+		assertEquals(List.of(2, 1, 4, 3), indice.buscar("acana"));
+	}
+
+	@Test
+	public void aIgualPuntuacionOrdenaPorId() {
+		IndiceTrigramas empates = IndiceTrigramas.de(Map.of(9, new String[] { "Hueso" }, 7, new String[] { "Hueso" },
+				8, new String[] { "Hueso" }), 1);
+		assertEquals(List.of(7, 8, 9), empates.buscar("hueso"));
+	}
+
+	@Test
+	public void todasLasPalabrasDebenAparecerEnAlgunCampo() {
+		assertEquals(List.of(1), indice.buscar("pienso acana"));
+		assertEquals(List.of(), indice.buscar("pienso royal"));
+		assertEquals(List.of(), indice.buscar("zzz"));
+	}
+
+	@Test
+	public void consultasCortasRecorrenTodosLosDocumentos() {
+		// Sin trigramas que intersectar: se comprueban todos los documentos
+		assertEquals(List.of(1, 2), indice.buscar("ro"));
+		assertEquals(List.of(1, 2, 3, 4), indice.buscar("a"));
+		assertEquals(List.of(4), indice.buscar("x"));
+		assertEquals(List.of(1), indice.buscar("ad ro"));
+	}
+
+	@Test
+	public void noDistingueMayusculasAcentosNiEspacios() {
+		assertEquals(List.of(1), indice.buscar("  PÉRRO   adúlto "));
+		assertEquals(List.of(), indice.buscar("   "));
+		assertEquals(List.of(), indice.buscar(null));
+	}
+
+	@Test
+	public void buscaTextoCompletoDentroDeUnCampo() {
+		assertEquals(List.of(2, 4), indice.buscarEnCampo("CANA", 0));
+		assertEquals(List.of(1, 3), indice.buscarEnCampo("cana", 1));
+		assertEquals(List.of(), indice.buscarEnCampo("perro adulto acana", 0));
+		assertEquals(List.of(1), indice.buscarEnCampo("o a", 0));
+	}
+
+	@Test
+	public void actualizarDevuelveOtroIndiceSinTocarElAnterior() {
+		IndiceTrigramas nuevo = indice.con(Map.of(4, new String[] { "Arena Gato", "Catsan" }, 5,
+				new String[] { "Pienso Gato", "Acana" }));
+		assertEquals(List.of(3, 4, 5), nuevo.buscar("gato"));
+		assertEquals(List.of(2, 1, 5, 3), nuevo.buscar("acana"));
+		assertEquals(List.of(2, 1, 4, 3), indice.buscar("acana"));
+		assertEquals(List.of(3), indice.buscar("gato"));
+	}
+}
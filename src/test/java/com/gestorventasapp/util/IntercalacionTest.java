@@ -0,0 +1,26 @@
+package com.gestorventasapp.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class IntercalacionTest {
+
+	@Test
+	public void igualaLoQueIgualaUtf8mb4UnicodeCi() {
+		assertEquals(Intercalacion.clave("cachorro"), Intercalacion.clave("Cachórro"));
+		assertEquals(Intercalacion.clave("strasse"), Intercalacion.clave("STRAßE"));
+		assertEquals(Intercalacion.clave("aero"), Intercalacion.clave("ÆRØ"));
+		assertEquals(Intercalacion.clave("fino"), Intercalacion.clave("ﬁno"));
+		assertEquals(Intercalacion.clave("acana"), Intercalacion.clave("Acána  "));
+		assertEquals(Intercalacion.clave("acana"), Intercalacion.clave("aca​na"));
+	}
+
+	@Test
+	public void distingueLoQueLaIntercalacionDistingue() {
+		assertNotEquals(Intercalacion.clave("pienso perro"), Intercalacion.clave("piensoperro"));
+		assertNotEquals(Intercalacion.clave("acana"), Intercalacion.clave(" acana"));
+		assertNotEquals(Intercalacion.clave("15 kg"), Intercalacion.clave("1,5 kg"));
+	}
+}
@@ -0,0 +1,38 @@
+package com.gestorventasapp.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/** Valores de referencia de Winkler (1990) con el peso de prefijo 0,1. */
+public class SimilitudTest {
+
+	private static final double TOLERANCIA = 0.001;
+
+	@Test
+	public void coincideConLosValoresPublicados() {
+		assertEquals(0.961, Similitud.jaroWinkler("MARTHA", "MARHTA"), TOLERANCIA);
+		assertEquals(0.840, Similitud.jaroWinkler("DWAYNE", "DUANE"), TOLERANCIA);
+		assertEquals(0.813, Similitud.jaroWinkler("DIXON", "DICKSONX"), TOLERANCIA);
+	}
+
+	@Test
+	public void sinPrefijoComunQuedaEnJaro() {
+		assertEquals(0.733, Similitud.jaroWinkler("CRATE", "TRACE"), TOLERANCIA);
+	}
+
+	@Test
+	public void esSimetrica() {
+		assertEquals(Similitud.jaroWinkler("DIXON", "DICKSONX"), Similitud.jaroWinkler("DICKSONX", "DIXON"), 1e-12);
+		assertEquals(Similitud.jaroWinkler("centrl", "central"), Similitud.jaroWinkler("central", "centrl"), 1e-12);
+	}
+
+	@Test
+	public void casosLimite() {
+		assertEquals(1.0, Similitud.jaroWinkler("", ""), 0);
+		assertEquals(1.0, Similitud.jaroWinkler("pienso", "pienso"), 0);
+		assertEquals(0.0, Similitud.jaroWinkler("", "pienso"), 0);
+		assertEquals(0.0, Similitud.jaroWinkler("abc", "xyz"), 0);
+		assertEquals(0.0, Similitud.jaroWinkler("a", "b"), 0);
+	}
+}